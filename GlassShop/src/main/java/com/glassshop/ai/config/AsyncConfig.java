@@ -1,18 +1,29 @@
 package com.glassshop.ai.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    // With spring.threads.virtual.enabled every email gets its own virtual thread. JavaMail
+    // does its socket I/O inside synchronized methods, which pins the carrier thread, so a
+    // semaphore taken inside the task caps concurrent sends; the caller never waits
     @Bean(name = "emailExecutor")
-    public Executor emailExecutor() {
+    public Executor emailExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${notification.email.max-concurrent:2}") int maxConcurrent) {
+        if (virtualThreads) {
+            return virtualThreadExecutor("email-", Math.max(1, maxConcurrent));
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -21,5 +32,48 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
 
+    // PDF rendering is CPU-bound: one thread per core, and the exporting request
+    // renders inline when the queue is full instead of failing
+    @Bean(name = "pdfExportExecutor")
+    public Executor pdfExportExecutor() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("pdf-export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // BCrypt is CPU-bound too: one thread per core and a short queue. When the queue is
+    // full the task is rejected (no CallerRunsPolicy), so a login storm gets 429s instead
+    // of taking over the request threads that serve stock and invoice traffic
+    @Bean(name = "passwordHashExecutor")
+    public Executor passwordHashExecutor(@Value("${auth.hash.queue-capacity:64}") int queueCapacity) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    private static Executor virtualThreadExecutor(String namePrefix, int maxConcurrent) {
+        ThreadFactory threads = Thread.ofVirtual().name(namePrefix, 0).factory();
+        Semaphore permits = new Semaphore(maxConcurrent);
+        return task -> threads.newThread(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        }).start();
+    }
+}
@@ -0,0 +1,34 @@
+package com.glassshop.ai.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopVersionInterceptor;
+import com.glassshop.ai.security.TenantRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+@Configuration
+public class EtagConfig {
+
+    /**
+     * ETag / 304 on the polled listings (@ShopVersioned).
+     */
+    @Bean
+    public WebMvcConfigurer shopVersionEtags(ShopDataVersions shopDataVersions, TenantRateLimiter tenantRateLimiter,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        ShopVersionInterceptor interceptor = new ShopVersionInterceptor(shopDataVersions, tenantRateLimiter,
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.glassshop.ai.config;
+
+import java.util.Locale;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import com.glassshop.ai.security.TenantRateLimiter;
+
+import io.micrometer.common.KeyValues;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Tags http.server.requests with the endpoint class (read / write / heavy),
+     * the same classes the per-shop rate limits use, so latency can be split by them.
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                String endpointClass = TenantRateLimiter.classify(context.getCarrier()).name().toLowerCase(Locale.ROOT);
+                return super.getLowCardinalityKeyValues(context).and("endpoint.class", endpointClass);
+            }
+        };
+    }
+}
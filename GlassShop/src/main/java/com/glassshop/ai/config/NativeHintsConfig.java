@@ -0,0 +1,77 @@
+package com.glassshop.ai.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.type.filter.TypeFilter;
+import org.springframework.util.ClassUtils;
+
+import com.glassshop.ai.config.NativeHintsConfig.GlassShopRuntimeHints;
+import com.glassshop.ai.profiling.JdbcTimingListener;
+
+/**
+ * Reflection and resource hints for the native image (mvn -Pnative native:compile).
+ * Only read during AOT processing; a JVM run ignores them.
+ */
+@Configuration
+@ImportRuntimeHints(GlassShopRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class GlassShopRuntimeHints implements RuntimeHintsRegistrar {
+
+        // JJWT 0.11 creates its implementation by class name from the api jar
+        private static final String[] JJWT_TYPES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        private final BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // PDFBox: standard 14 font metrics, glyph names, ICC profiles; fontbox CMaps
+            hints.resources().registerPattern("org/apache/pdfbox/resources/**");
+            hints.resources().registerPattern("org/apache/fontbox/cmap/*");
+            hints.resources().registerPattern("org/apache/fontbox/unicode/*");
+            // TrueType fonts configured as pdf.font.regular=classpath:fonts/...
+            hints.resources().registerPattern("fonts/*.ttf");
+
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Hibernate instantiates the session listener from its class name (SqlProfilingConfig)
+            hints.reflection().registerType(JdbcTimingListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            // Entities and DTOs are written as JSON, also from ResponseEntity<?> handlers
+            // whose body type the controller hints cannot see
+            registerBindings(hints, classLoader, "com.glassshop.ai.entity");
+            registerBindings(hints, classLoader, "com.glassshop.ai.dto");
+        }
+
+        private void registerBindings(RuntimeHints hints, ClassLoader classLoader, String basePackage) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            TypeFilter any = (reader, factory) -> true;
+            scanner.addIncludeFilter(any);
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                bindings.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+    }
+}
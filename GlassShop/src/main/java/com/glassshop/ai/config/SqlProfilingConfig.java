@@ -0,0 +1,67 @@
+package com.glassshop.ai.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.glassshop.ai.profiling.JdbcTimingListener;
+import com.glassshop.ai.profiling.SqlProfiler;
+import com.glassshop.ai.profiling.SqlProfilingFilter;
+import com.glassshop.ai.profiling.SqlStatementCounter;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Configuration
+public class SqlProfilingConfig {
+
+    @Value("${sql.profiler.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Statement counting and JDBC timing hooks for SqlProfiler.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlProfilingHibernateProperties() {
+        return properties -> {
+            if (enabled) {
+                properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+                properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+            }
+        };
+    }
+
+    /**
+     * Counts entities loaded per request (the rows a request pulls into memory).
+     */
+    @Bean
+    public SmartInitializingSingleton sqlProfilingLoadListener(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            if (enabled) {
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                        .getServiceRegistry()
+                        .getService(EventListenerRegistry.class)
+                        .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> SqlProfiler.entityLoaded());
+            }
+        };
+    }
+
+    /**
+     * Ahead of the security chain, so the JWT filter's user lookups count too.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration =
+                new FilterRegistrationBean<>(new SqlProfilingFilter(sqlProfiler));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
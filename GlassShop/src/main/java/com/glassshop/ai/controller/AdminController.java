@@ -1,17 +1,32 @@
 package com.glassshop.ai.controller;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.glassshop.ai.entity.OutboxMessage;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.enums.OutboxStatus;
+import com.glassshop.ai.profiling.SqlProfiler;
 import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.TenantRateLimiter;
+import com.glassshop.ai.service.MessageOutboxService;
+import com.glassshop.ai.service.OutboxDispatchService;
+import com.glassshop.ai.service.PdfCacheService;
 
 @RestController
 @RequestMapping("/admin")
@@ -24,6 +39,21 @@ public class AdminController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PdfCacheService pdfCacheService;
+
+    @Autowired
+    private TenantRateLimiter tenantRateLimiter;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private MessageOutboxService messageOutboxService;
+
+    @Autowired
+    private OutboxDispatchService outboxDispatchService;
+
     @PostMapping("/create-staff")
     public String createStaff(@RequestBody User staff) {
 
@@ -41,4 +71,67 @@ public class AdminController {
         userRepository.save(staff);
         return "Staff created successfully";
     }
+
+    @GetMapping("/pdf-cache/stats")
+    public Map<String, Object> pdfCacheStats() {
+        return pdfCacheService.getStats();
+    }
+
+    /**
+     * This shop's request budget usage: allowed and throttled counts per request class.
+     */
+    @GetMapping("/rate-limits/stats")
+    public Map<String, Object> rateLimitStats() {
+        Authentication auth =
+            SecurityContextHolder.getContext().getAuthentication();
+
+        User admin = userRepository
+            .findByUserName(auth.getName())
+            .orElseThrow();
+
+        return tenantRateLimiter.getStats(admin.getShop().getId());
+    }
+
+    /**
+     * Endpoints running the most SQL per request, budget violations first.
+     */
+    @GetMapping("/sql-profile/top")
+    public List<Map<String, Object>> sqlTopOffenders(@RequestParam(defaultValue = "20") int limit) {
+        return sqlProfiler.getTopOffenders(Math.max(1, Math.min(limit, 100)));
+    }
+
+    /**
+     * This shop's latest WhatsApp messages and their delivery status, e.g. ?status=FAILED.
+     */
+    @GetMapping("/outbox")
+    public List<OutboxMessage> outbox(@RequestParam(required = false) OutboxStatus status) {
+        return messageOutboxService.recent(currentShopId(), status);
+    }
+
+    @GetMapping("/outbox/stats")
+    public Map<String, Object> outboxStats() {
+        return outboxDispatchService.getStats();
+    }
+
+    /**
+     * Queue a failed (or already sent) message of this shop for delivery again.
+     */
+    @PostMapping("/outbox/{id}/replay")
+    public ResponseEntity<Map<String, Object>> replayOutboxMessage(@PathVariable Long id) {
+        if (!messageOutboxService.replay(currentShopId(), id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(Map.of("id", id, "status", OutboxStatus.PENDING.name()));
+    }
+
+    private Long currentShopId() {
+        Authentication auth =
+            SecurityContextHolder.getContext().getAuthentication();
+
+        User admin = userRepository
+            .findByUserName(auth.getName())
+            .orElseThrow();
+
+        return admin.getShop().getId();
+    }
 }
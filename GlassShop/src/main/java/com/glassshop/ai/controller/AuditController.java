@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.glassshop.ai.entity.AuditLog;
 import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.profiling.QueryBudget;
 import com.glassshop.ai.repository.AuditLogRepository;
 import com.glassshop.ai.repository.UserRepository;
 @RestController
@@ -26,6 +27,8 @@ public class AuditController {
     @Autowired
     private UserRepository userRepository;
 
+    // User lookups and the shop's audit rows
+    @QueryBudget(statements = 4, sameStatement = 2)
     @GetMapping("/recent")
     @PreAuthorize("hasRole('ADMIN')")
     public List<AuditLog> recentLogs() {
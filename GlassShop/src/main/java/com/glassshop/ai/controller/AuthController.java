@@ -7,12 +7,12 @@ import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import com.glassshop.ai.dto.ChangePasswordRequest;
@@ -21,9 +21,15 @@ import com.glassshop.ai.dto.LoginRequest;
 import com.glassshop.ai.dto.RegisterShopRequest;
 import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.profiling.QueryBudget;
 import com.glassshop.ai.repository.ShopRepository;
 import com.glassshop.ai.repository.UserRepository;
 import com.glassshop.ai.security.JwtUtil;
+import com.glassshop.ai.security.LoginThrottle;
+import com.glassshop.ai.security.TooManyRequestsException;
+import com.glassshop.ai.service.PasswordHashService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/auth")
@@ -33,8 +39,12 @@ public class AuthController {
     @Autowired
     private UserRepository userRepository;
 
+    // BCrypt runs on its own bounded pool, not on the request thread
+    @Autowired
+    private PasswordHashService passwordHashService;
+
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private LoginThrottle loginThrottle;
 
     @Autowired
     private JwtUtil jwtUtil;
@@ -80,13 +90,15 @@ public class AuthController {
             // Create admin user
             User admin = new User();
             admin.setUserName(request.getUsername());
-            admin.setPassword(passwordEncoder.encode(request.getPassword()));
+            admin.setPassword(passwordHashService.encode(request.getPassword()));
             admin.setRole("ROLE_ADMIN");
             admin.setShop(shop);
 
             userRepository.save(admin);
 
             return ResponseEntity.ok("Shop registered successfully");
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (DataIntegrityViolationException e) {
             // Handle database constraint violations
             if (e.getMessage() != null && e.getMessage().contains("user_name")) {
@@ -125,7 +137,7 @@ public class AuthController {
 
         User staff = new User();
         staff.setUserName(request.getUsername());
-        staff.setPassword(passwordEncoder.encode(request.getPassword()));
+        staff.setPassword(passwordHashService.encode(request.getPassword()));
         staff.setRole("ROLE_STAFF");
         staff.setShop(admin.getShop());
 
@@ -148,7 +160,7 @@ public class AuthController {
                     .body("Username already exists");
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashService.encode(user.getPassword()));
 
         // ✅ Default role = STAFF
         if (user.getRole() == null || user.getRole().isBlank()) {
@@ -173,7 +185,7 @@ public class AuthController {
        LOGIN USER
        =============================== */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
             // Validate request
             if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
@@ -187,6 +199,9 @@ public class AuthController {
                         .body("Password is required");
             }
 
+            // Throttle before any lookup or hashing
+            loginThrottle.acquire(request.getUsername(), httpRequest.getRemoteAddr());
+
             // Find user
             Optional<User> optionalUser = userRepository.findByUserName(request.getUsername());
             if (optionalUser.isEmpty()) {
@@ -198,7 +213,7 @@ public class AuthController {
             User user = optionalUser.get();
 
             // Verify password
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            if (!passwordHashService.matches(request.getPassword(), user.getPassword())) {
                 return ResponseEntity
                         .status(HttpStatus.UNAUTHORIZED)
                         .body("Invalid username or password");
@@ -217,6 +232,8 @@ public class AuthController {
                             "role", role
                     )
             );
+        } catch (TooManyRequestsException e) {
+            return tooManyRequests(e);
         } catch (Exception e) {
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -290,7 +307,7 @@ public class AuthController {
                 userRepository.findByUserName(auth.getName())
                         .orElseThrow();
 
-        if (!passwordEncoder.matches(
+        if (!passwordHashService.matches(
                 request.getOldPassword(),
                 user.getPassword())) {
             return ResponseEntity
@@ -299,7 +316,7 @@ public class AuthController {
         }
 
         user.setPassword(
-                passwordEncoder.encode(request.getNewPassword())
+                passwordHashService.encode(request.getNewPassword())
         );
 
         userRepository.save(user);
@@ -307,6 +324,8 @@ public class AuthController {
         return ResponseEntity.ok("Password changed successfully");
     }
     
+    // User lookups and the shop's staff
+    @QueryBudget(statements = 4, sameStatement = 2)
     @GetMapping("/staff")
     @PreAuthorize("hasRole('ADMIN')")
     public List<User> getStaff() {
@@ -360,5 +379,15 @@ public class AuthController {
         return ResponseEntity.ok("Staff removed");
     }
 
-    
+    /* ===============================
+       THROTTLING
+       =============================== */
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfterSeconds())))
+                .body(e.getMessage());
+    }
 }
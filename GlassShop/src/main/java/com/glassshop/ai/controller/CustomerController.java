@@ -18,6 +18,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.glassshop.ai.dto.CustomerDto;
+import com.glassshop.ai.etag.ShopResource;
+import com.glassshop.ai.etag.ShopVersioned;
+import com.glassshop.ai.profiling.QueryBudget;
 import com.glassshop.ai.service.CustomerService;
 
 @CrossOrigin(origins = "http://localhost:3000")
@@ -39,6 +42,9 @@ public class CustomerController {
         }
     }
 
+    // User lookups and the customers
+    @QueryBudget(statements = 4, sameStatement = 2)
+    @ShopVersioned(ShopResource.CUSTOMERS)
     @GetMapping
     public ResponseEntity<List<CustomerDto>> getAllCustomers() {
         try {
@@ -49,6 +55,7 @@ public class CustomerController {
         }
     }
 
+    @ShopVersioned(ShopResource.CUSTOMERS)
     @GetMapping("/{id}")
     public ResponseEntity<CustomerDto> getCustomerById(@PathVariable Long id) {
         try {
@@ -73,6 +80,7 @@ public class CustomerController {
         }
     }
 
+    @ShopVersioned(ShopResource.CUSTOMERS)
     @GetMapping("/search")
     public ResponseEntity<List<CustomerDto>> searchCustomers(@RequestParam String query) {
         try {
@@ -1,8 +1,11 @@
 package com.glassshop.ai.controller;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,7 +15,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
@@ -21,7 +26,14 @@ import com.glassshop.ai.dto.CreateInvoiceRequest;
 import com.glassshop.ai.dto.InvoiceResponse;
 import com.glassshop.ai.dto.PaymentDto;
 import com.glassshop.ai.enums.PaymentStatus;
+import com.glassshop.ai.etag.ShopResource;
+import com.glassshop.ai.etag.ShopVersioned;
+import com.glassshop.ai.profiling.QueryBudget;
 import com.glassshop.ai.service.InvoiceService;
+import com.glassshop.ai.service.PdfCacheService.CachedPdf;
+import com.glassshop.ai.service.PdfExportService;
+import com.glassshop.ai.service.StockShortfallException;
+import com.glassshop.ai.service.PdfExportService.ExportJob;
 import com.glassshop.ai.service.PdfService;
 
 import jakarta.validation.Valid;
@@ -38,11 +50,17 @@ public class InvoiceController {
     @Autowired
     private PdfService pdfService;
 
+    @Autowired
+    private PdfExportService pdfExportService;
+
     @PostMapping("/from-quotation")
-    public ResponseEntity<InvoiceResponse> createInvoiceFromQuotation(@Valid @RequestBody CreateInvoiceRequest request) {
+    public ResponseEntity<?> createInvoiceFromQuotation(@Valid @RequestBody CreateInvoiceRequest request) {
         try {
             InvoiceResponse invoice = invoiceService.createInvoiceFromQuotation(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(invoice);
+        } catch (StockShortfallException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage(), "shortfalls", e.getLines()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
@@ -50,6 +68,9 @@ public class InvoiceController {
         }
     }
 
+    // User lookups, the invoices with their items, and their payments
+    @QueryBudget(statements = 5, sameStatement = 2)
+    @ShopVersioned(ShopResource.INVOICES)
     @GetMapping
     public ResponseEntity<List<InvoiceResponse>> getAllInvoices() {
         try {
@@ -60,6 +81,7 @@ public class InvoiceController {
         }
     }
 
+    @ShopVersioned(ShopResource.INVOICES)
     @GetMapping("/payment-status/{status}")
     public ResponseEntity<List<InvoiceResponse>> getInvoicesByPaymentStatus(@PathVariable PaymentStatus status) {
         try {
@@ -70,15 +92,39 @@ public class InvoiceController {
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInvoices(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "zip") String format) {
+        if (!"zip".equalsIgnoreCase(format)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            // Resolve the selection here, while the security context is still available
+            ExportJob job = pdfExportService.prepareInvoiceExport(from, to);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", "invoices-" + from + "-to-" + to + ".zip");
+            return ResponseEntity.ok().headers(headers).body(out -> pdfExportService.writeInvoiceZip(job, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // More specific routes should come before generic /{id} route
     @GetMapping("/{id}/download-invoice")
-    public ResponseEntity<byte[]> downloadInvoice(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadInvoice(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateInvoicePdf(id);
+            CachedPdf pdf = pdfService.getInvoicePdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", "invoice-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -89,13 +135,14 @@ public class InvoiceController {
     }
 
     @GetMapping("/{id}/download-basic-invoice")
-    public ResponseEntity<byte[]> downloadBasicInvoice(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadBasicInvoice(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateBasicInvoicePdf(id);
+            CachedPdf pdf = pdfService.getBasicInvoicePdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", "basic-invoice-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -106,13 +153,14 @@ public class InvoiceController {
     }
 
     @GetMapping("/{id}/print-invoice")
-    public ResponseEntity<byte[]> printInvoice(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> printInvoice(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateInvoicePdf(id);
+            CachedPdf pdf = pdfService.getInvoicePdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("inline", "invoice-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -123,13 +171,14 @@ public class InvoiceController {
     }
 
     @GetMapping("/{id}/print-basic-invoice")
-    public ResponseEntity<byte[]> printBasicInvoice(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> printBasicInvoice(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateBasicInvoicePdf(id);
+            CachedPdf pdf = pdfService.getBasicInvoicePdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("inline", "basic-invoice-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -140,13 +189,14 @@ public class InvoiceController {
     }
 
     @GetMapping("/{id}/download-challan")
-    public ResponseEntity<byte[]> downloadTransportChallan(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadTransportChallan(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateTransportChallanPdf(id);
+            CachedPdf pdf = pdfService.getTransportChallanPdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", "delivery-challan-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -155,13 +205,14 @@ public class InvoiceController {
     }
 
     @GetMapping("/{id}/print-challan")
-    public ResponseEntity<byte[]> printDeliveryChallan(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> printDeliveryChallan(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateDeliveryChallanPrintPdf(id);
+            CachedPdf pdf = pdfService.getDeliveryChallanPrintPdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("inline", "delivery-challan-print-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
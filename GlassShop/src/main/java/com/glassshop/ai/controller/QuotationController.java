@@ -1,8 +1,10 @@
 package com.glassshop.ai.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,15 +16,26 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import com.glassshop.ai.dto.ConfirmQuotationRequest;
 import com.glassshop.ai.dto.CreateQuotationRequest;
+import com.glassshop.ai.dto.CuttingPlanRequest;
 import com.glassshop.ai.dto.QuotationResponse;
+import com.glassshop.ai.cutting.CuttingPlan;
 import com.glassshop.ai.enums.QuotationStatus;
+import com.glassshop.ai.etag.ShopResource;
+import com.glassshop.ai.etag.ShopVersioned;
+import com.glassshop.ai.profiling.QueryBudget;
+import com.glassshop.ai.service.CuttingPlanService;
 import com.glassshop.ai.service.QuotationService;
+import com.glassshop.ai.service.PdfCacheService.CachedPdf;
+import com.glassshop.ai.service.PdfExportService;
+import com.glassshop.ai.service.PdfExportService.ExportJob;
 import com.glassshop.ai.service.PdfService;
 
 import jakarta.validation.Valid;
@@ -39,6 +52,12 @@ public class QuotationController {
     @Autowired
     private PdfService pdfService;
 
+    @Autowired
+    private PdfExportService pdfExportService;
+
+    @Autowired
+    private CuttingPlanService cuttingPlanService;
+
     @PostMapping
     public ResponseEntity<QuotationResponse> createQuotation(@Valid @RequestBody CreateQuotationRequest request) {
         try {
@@ -51,6 +70,9 @@ public class QuotationController {
         }
     }
 
+    // User lookups and the quotations with their items
+    @QueryBudget(statements = 4, sameStatement = 2)
+    @ShopVersioned(ShopResource.QUOTATIONS)
     @GetMapping
     public ResponseEntity<List<QuotationResponse>> getAllQuotations() {
         try {
@@ -61,6 +83,43 @@ public class QuotationController {
         }
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportQuotations(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "zip") String format) {
+        if (!"zip".equalsIgnoreCase(format)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            // Resolve the selection here, while the security context is still available
+            ExportJob job = pdfExportService.prepareQuotationExport(from, to);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType("application/zip"));
+            headers.setContentDispositionFormData("attachment", "quotations-" + from + "-to-" + to + ".zip");
+            return ResponseEntity.ok().headers(headers).body(out -> pdfExportService.writeQuotationZip(job, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/cutting-plan")
+    public ResponseEntity<List<CuttingPlan>> planCutting(@RequestBody CuttingPlanRequest request) {
+        try {
+            return ResponseEntity.ok(cuttingPlanService.planForQuotations(request.getQuotationIds()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @ShopVersioned(ShopResource.QUOTATIONS)
     @GetMapping("/{id}")
     public ResponseEntity<QuotationResponse> getQuotationById(@PathVariable Long id) {
         try {
@@ -73,6 +132,7 @@ public class QuotationController {
         }
     }
 
+    @ShopVersioned(ShopResource.QUOTATIONS)
     @GetMapping("/status/{status}")
     public ResponseEntity<List<QuotationResponse>> getQuotationsByStatus(@PathVariable QuotationStatus status) {
         try {
@@ -110,13 +170,14 @@ public class QuotationController {
     }
 
     @GetMapping("/{id}/download")
-    public ResponseEntity<byte[]> downloadQuotationPdf(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadQuotationPdf(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateQuotationPdf(id);
+            CachedPdf pdf = pdfService.getQuotationPdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", "quotation-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
@@ -125,13 +186,14 @@ public class QuotationController {
     }
 
     @GetMapping("/{id}/print-cutting-pad")
-    public ResponseEntity<byte[]> printCuttingPad(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> printCuttingPad(@PathVariable Long id) {
         try {
-            byte[] pdfBytes = pdfService.generateCuttingPadPrintPdf(id);
+            CachedPdf pdf = pdfService.getCuttingPadPrintPdf(id);
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("inline", "cutting-pad-" + id + ".pdf");
-            return ResponseEntity.ok().headers(headers).body(pdfBytes);
+            headers.setContentLength(pdf.getSize());
+            return ResponseEntity.ok().headers(headers).body(pdf::writeTo);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         } catch (Exception e) {
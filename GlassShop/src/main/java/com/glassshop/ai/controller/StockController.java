@@ -14,18 +14,24 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.glassshop.ai.dto.QuotationItemDto;
 import com.glassshop.ai.dto.StockActivityDto;
 import com.glassshop.ai.dto.StockTransferRequest;
 import com.glassshop.ai.dto.StockUpdateRequest;
 import com.glassshop.ai.entity.Stock;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.etag.ShopResource;
+import com.glassshop.ai.etag.ShopVersioned;
+import com.glassshop.ai.profiling.QueryBudget;
 import com.glassshop.ai.repository.StockRepository;
 import com.glassshop.ai.repository.UserRepository;
 import com.glassshop.ai.service.AiExplanationService;
 import com.glassshop.ai.service.AlertService;
 import com.glassshop.ai.service.ReorderService;
+import com.glassshop.ai.service.StockIndexService;
 import com.glassshop.ai.service.StockService;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -53,6 +59,9 @@ public class StockController {
 	 	@Autowired
 	 	private StockRepository stockRepository;
 
+	 	@Autowired
+	 	private StockIndexService stockIndexService;
+
 	 	@GetMapping("/ai/explain")
 	 	public String aiExplanation() {
 	 	    return aiExplanationService.explainLowStock();
@@ -74,6 +83,9 @@ public class StockController {
 	        return stockService.updateStock(request);
 	    }
 	    
+	    // User lookups (rate limiter, service) and the stock rows with their glass
+	    @QueryBudget(statements = 4, sameStatement = 2)
+	    @ShopVersioned(ShopResource.STOCK)
 	    @GetMapping("/all")
 	    public List<Stock> getAllStock() {
 	        return stockService.getAllStock();
@@ -84,7 +96,38 @@ public class StockController {
 	        return stockService.undoLastAction();
 	    }
 
+	    /**
+	     * Sheets of a glass type at least minHeight x minWidth, e.g.
+	     * /stock/search?glassType=8MM&minHeight=1200&minWidth=900&unit=MM
+	     */
+	    @ShopVersioned(ShopResource.STOCK)
+	    @GetMapping("/search")
+	    public ResponseEntity<?> searchBySize(
+	            @RequestParam String glassType,
+	            @RequestParam double minHeight,
+	            @RequestParam double minWidth,
+	            @RequestParam(defaultValue = "MM") String unit) {
+	        try {
+	            return ResponseEntity.ok(stockService.findSheetsAtLeast(glassType, minHeight, minWidth, unit));
+	        } catch (IllegalArgumentException e) {
+	            return ResponseEntity.badRequest().body(e.getMessage());
+	        }
+	    }
+
+	    /**
+	     * Availability and the least-waste in-stock sheet for each quotation item, in one call.
+	     */
+	    @PostMapping("/best-fit")
+	    public ResponseEntity<?> bestFit(@RequestBody List<QuotationItemDto> items) {
+	        try {
+	            return ResponseEntity.ok(stockIndexService.bestFit(items));
+	        } catch (IllegalArgumentException e) {
+	            return ResponseEntity.badRequest().body(e.getMessage());
+	        }
+	    }
+
 	 // StockController.java
+	    @ShopVersioned(ShopResource.STOCK)
 	    @GetMapping("/recent")
 	    public List<StockActivityDto> recentStockActivity() {
 	        return stockService.getRecentStockActivity(3);
@@ -0,0 +1,54 @@
+package com.glassshop.ai.cutting;
+
+/**
+ * One piece to cut, in whole millimetres, with the position (1-based, as printed)
+ * of the quotation item it belongs to, or 0 if it does not come from one.
+ */
+public class CutPiece {
+
+    private final String label;
+    private final int width;
+    private final int height;
+    private final boolean rotatable;
+    private final int itemNo;
+
+    public CutPiece(String label, int width, int height, boolean rotatable, int itemNo) {
+        this.label = label;
+        this.width = width;
+        this.height = height;
+        this.rotatable = rotatable;
+        this.itemNo = itemNo;
+    }
+
+    public CutPiece(String label, int width, int height, boolean rotatable) {
+        this(label, width, height, rotatable, 0);
+    }
+
+    public CutPiece(String label, int width, int height) {
+        this(label, width, height, true);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isRotatable() {
+        return rotatable;
+    }
+
+    public int getItemNo() {
+        return itemNo;
+    }
+
+    public long getArea() {
+        return (long) width * height;
+    }
+}
@@ -0,0 +1,91 @@
+package com.glassshop.ai.cutting;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cut layouts for one glass type / thickness: the sheets used, pieces that
+ * could not be placed on any stocked sheet, and the overall waste.
+ */
+public class CuttingPlan {
+
+    private String glassType;
+    private String thickness;
+    private final int kerf;
+    private final List<SheetLayout> sheets;
+    private final List<CutPiece> unplaced;
+    private final long planningMillis;
+
+    public CuttingPlan(int kerf, List<SheetLayout> sheets, List<CutPiece> unplaced, long planningMillis) {
+        this.kerf = kerf;
+        this.sheets = sheets;
+        this.unplaced = unplaced;
+        this.planningMillis = planningMillis;
+    }
+
+    public String getGlassType() {
+        return glassType;
+    }
+
+    public void setGlassType(String glassType) {
+        this.glassType = glassType;
+    }
+
+    public String getThickness() {
+        return thickness;
+    }
+
+    public void setThickness(String thickness) {
+        this.thickness = thickness;
+    }
+
+    public int getKerf() {
+        return kerf;
+    }
+
+    public List<SheetLayout> getSheets() {
+        return Collections.unmodifiableList(sheets);
+    }
+
+    public List<CutPiece> getUnplaced() {
+        return Collections.unmodifiableList(unplaced);
+    }
+
+    public long getPlanningMillis() {
+        return planningMillis;
+    }
+
+    public int getPieceCount() {
+        int count = unplaced.size();
+        for (SheetLayout sheet : sheets) {
+            count += sheet.getPlacements().size();
+        }
+        return count;
+    }
+
+    /**
+     * Sheets taken per stock line (stock id to count).
+     */
+    public Map<Long, Integer> getSheetsConsumed() {
+        Map<Long, Integer> consumed = new LinkedHashMap<>();
+        for (SheetLayout sheet : sheets) {
+            consumed.merge(sheet.getStockId(), 1, Integer::sum);
+        }
+        return consumed;
+    }
+
+    /**
+     * Waste over all sheets used, 0-100.
+     */
+    public double getWastePercent() {
+        long total = 0;
+        long used = 0;
+        for (SheetLayout sheet : sheets) {
+            total += (long) sheet.getSheetWidth() * sheet.getSheetHeight();
+            used += sheet.getUsedArea();
+        }
+        return total == 0 ? 0.0 : 100.0 * (total - used) / total;
+    }
+}
@@ -0,0 +1,345 @@
+package com.glassshop.ai.cutting;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Guillotine 2D bin packing of pieces onto stock sheets.
+ *
+ * Every cut runs straight across the remaining part of the sheet, which is what
+ * a glass cutter can actually do. Pieces are placed largest first, each into the
+ * best free rectangle (rotated if that fits better), and the rectangle's
+ * leftover is split in two. No single choice rule wins on every order, so the
+ * order is packed with each combination of fit and split rule and the plan
+ * using the least glass is kept; one run over 2,000 pieces takes tens of
+ * milliseconds.
+ *
+ * Kerf: each piece takes kerf extra millimetres in both directions, and the
+ * sheet is treated as kerf larger, so pieces on the far edges do not pay for a
+ * cut that is never made.
+ *
+ * When no open sheet has room, a new sheet is opened. If several stocked sizes
+ * fit, each is tried on the next pieces and the one with the best utilisation
+ * is taken.
+ */
+public class GuillotinePacker {
+
+    // Pieces tried per candidate sheet size when choosing which size to open
+    private static final int LOOKAHEAD = 400;
+
+    private static final Comparator<CutPiece> LARGEST_FIRST = Comparator
+            .comparingInt((CutPiece p) -> Math.max(p.getWidth(), p.getHeight())).reversed()
+            .thenComparing(Comparator.comparingLong(CutPiece::getArea).reversed());
+
+    /**
+     * Which free rectangle a piece goes into.
+     */
+    enum FitRule {
+        BEST_SHORT_SIDE, BEST_LONG_SIDE, BEST_AREA
+    }
+
+    /**
+     * How the leftover of a used rectangle is divided.
+     */
+    enum SplitRule {
+        SHORTER_LEFTOVER_AXIS, LONGER_LEFTOVER_AXIS, MAX_AREA
+    }
+
+    private final int kerf;
+
+    public GuillotinePacker(int kerf) {
+        if (kerf < 0) {
+            throw new IllegalArgumentException("Kerf must not be negative");
+        }
+        this.kerf = kerf;
+    }
+
+    public int getKerf() {
+        return kerf;
+    }
+
+    private static final class FreeRect {
+        final int x;
+        final int y;
+        final int w;
+        final int h;
+
+        FreeRect(int x, int y, int w, int h) {
+            this.x = x;
+            this.y = y;
+            this.w = w;
+            this.h = h;
+        }
+    }
+
+    private final class OpenSheet {
+        final StockSheet stock;
+        final SheetLayout layout;
+        final List<FreeRect> free = new ArrayList<>();
+        long placedArea;
+
+        OpenSheet(StockSheet stock) {
+            this.stock = stock;
+            this.layout = new SheetLayout(stock);
+            free.add(new FreeRect(0, 0, stock.getWidth() + kerf, stock.getHeight() + kerf));
+        }
+    }
+
+    /**
+     * Best position found so far for one piece.
+     */
+    private static final class Fit {
+        OpenSheet sheet;
+        int rect = -1;
+        boolean rotated;
+        long primary = Long.MAX_VALUE;
+        long secondary = Long.MAX_VALUE;
+    }
+
+    public CuttingPlan pack(List<CutPiece> pieces, List<StockSheet> sheets) {
+        long start = System.nanoTime();
+
+        List<CutPiece> order = new ArrayList<>(pieces.size());
+        List<CutPiece> invalid = new ArrayList<>();
+        int minSide = Integer.MAX_VALUE;
+        for (CutPiece piece : pieces) {
+            if (piece.getWidth() <= 0 || piece.getHeight() <= 0) {
+                invalid.add(piece);
+                continue;
+            }
+            order.add(piece);
+            minSide = Math.min(minSide, Math.min(piece.getWidth(), piece.getHeight()));
+        }
+        order.sort(LARGEST_FIRST);
+        // Free rectangles narrower than this can never take a piece
+        int minFree = minSide == Integer.MAX_VALUE ? 0 : minSide + kerf;
+
+        Run best = null;
+        for (FitRule fitRule : FitRule.values()) {
+            for (SplitRule splitRule : SplitRule.values()) {
+                Run run = new Run(fitRule, splitRule, minFree);
+                run.pack(order, sheets);
+                if (best == null || run.isBetterThan(best)) {
+                    best = run;
+                }
+            }
+        }
+
+        List<SheetLayout> layouts = new ArrayList<>(best.open.size());
+        for (OpenSheet sheet : best.open) {
+            layouts.add(sheet.layout);
+        }
+        List<CutPiece> unplaced = new ArrayList<>(invalid);
+        unplaced.addAll(best.unplaced);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new CuttingPlan(kerf, layouts, unplaced, millis);
+    }
+
+    /**
+     * One packing of the whole order with a fixed pair of rules.
+     */
+    private final class Run {
+        final FitRule fitRule;
+        final SplitRule splitRule;
+        final int minFree;
+        final List<OpenSheet> open = new ArrayList<>();
+        final List<CutPiece> unplaced = new ArrayList<>();
+        long sheetArea;
+
+        Run(FitRule fitRule, SplitRule splitRule, int minFree) {
+            this.fitRule = fitRule;
+            this.splitRule = splitRule;
+            this.minFree = minFree;
+        }
+
+        void pack(List<CutPiece> order, List<StockSheet> sheets) {
+            int[] remaining = new int[sheets.size()];
+            for (int i = 0; i < sheets.size(); i++) {
+                remaining[i] = Math.max(0, sheets.get(i).getAvailable());
+            }
+            for (int i = 0; i < order.size(); i++) {
+                CutPiece piece = order.get(i);
+                Fit fit = bestFit(open, piece);
+                if (fit.sheet == null) {
+                    int choice = chooseSheet(sheets, remaining, order, i);
+                    if (choice < 0) {
+                        unplaced.add(piece);
+                        continue;
+                    }
+                    remaining[choice]--;
+                    OpenSheet sheet = new OpenSheet(sheets.get(choice));
+                    open.add(sheet);
+                    sheetArea += sheet.stock.getArea();
+                    fit = bestFit(List.of(sheet), piece);
+                }
+                place(fit, piece);
+            }
+        }
+
+        boolean isBetterThan(Run other) {
+            if (unplaced.size() != other.unplaced.size()) {
+                return unplaced.size() < other.unplaced.size();
+            }
+            if (sheetArea != other.sheetArea) {
+                return sheetArea < other.sheetArea;
+            }
+            return open.size() < other.open.size();
+        }
+
+        private Fit bestFit(List<OpenSheet> sheets, CutPiece piece) {
+            Fit fit = new Fit();
+            int pw = piece.getWidth() + kerf;
+            int ph = piece.getHeight() + kerf;
+            for (OpenSheet sheet : sheets) {
+                List<FreeRect> free = sheet.free;
+                for (int r = 0; r < free.size(); r++) {
+                    FreeRect rect = free.get(r);
+                    score(fit, sheet, r, rect, pw, ph, false);
+                    if (piece.isRotatable() && pw != ph) {
+                        score(fit, sheet, r, rect, ph, pw, true);
+                    }
+                    if (fit.primary == 0 && fit.secondary == 0) {
+                        // Exact fit, nothing can beat it
+                        return fit;
+                    }
+                }
+            }
+            return fit;
+        }
+
+        private void score(Fit fit, OpenSheet sheet, int r, FreeRect rect, int pw, int ph, boolean rotated) {
+            if (pw > rect.w || ph > rect.h) {
+                return;
+            }
+            int leftoverW = rect.w - pw;
+            int leftoverH = rect.h - ph;
+            long shortSide = Math.min(leftoverW, leftoverH);
+            long longSide = Math.max(leftoverW, leftoverH);
+            long primary;
+            long secondary;
+            switch (fitRule) {
+                case BEST_LONG_SIDE:
+                    primary = longSide;
+                    secondary = shortSide;
+                    break;
+                case BEST_AREA:
+                    primary = (long) rect.w * rect.h - (long) pw * ph;
+                    secondary = shortSide;
+                    break;
+                default:
+                    primary = shortSide;
+                    secondary = longSide;
+                    break;
+            }
+            if (primary < fit.primary || (primary == fit.primary && secondary < fit.secondary)) {
+                fit.sheet = sheet;
+                fit.rect = r;
+                fit.rotated = rotated;
+                fit.primary = primary;
+                fit.secondary = secondary;
+            }
+        }
+
+        private void place(Fit fit, CutPiece piece) {
+            OpenSheet sheet = fit.sheet;
+            FreeRect rect = sheet.free.get(fit.rect);
+            int width = fit.rotated ? piece.getHeight() : piece.getWidth();
+            int height = fit.rotated ? piece.getWidth() : piece.getHeight();
+            int pw = width + kerf;
+            int ph = height + kerf;
+
+            sheet.layout.add(new Placement(piece.getLabel(), rect.x, rect.y, width, height, fit.rotated));
+            sheet.placedArea += (long) width * height;
+
+            // Remove the used rectangle (order of free rectangles does not matter)
+            int last = sheet.free.size() - 1;
+            sheet.free.set(fit.rect, sheet.free.get(last));
+            sheet.free.remove(last);
+
+            int leftoverW = rect.w - pw;
+            int leftoverH = rect.h - ph;
+            boolean acrossFirst;
+            switch (splitRule) {
+                case LONGER_LEFTOVER_AXIS:
+                    acrossFirst = leftoverW > leftoverH;
+                    break;
+                case MAX_AREA:
+                    // Keep the biggest possible offcut in one piece
+                    acrossFirst = (long) rect.w * leftoverH >= (long) leftoverW * rect.h;
+                    break;
+                default:
+                    acrossFirst = leftoverW <= leftoverH;
+                    break;
+            }
+            FreeRect right;
+            FreeRect top;
+            if (acrossFirst) {
+                // Cut across the full width first: the strip above spans the whole rectangle
+                right = new FreeRect(rect.x + pw, rect.y, leftoverW, ph);
+                top = new FreeRect(rect.x, rect.y + ph, rect.w, leftoverH);
+            } else {
+                right = new FreeRect(rect.x + pw, rect.y, leftoverW, rect.h);
+                top = new FreeRect(rect.x, rect.y + ph, pw, leftoverH);
+            }
+            addFree(sheet, right);
+            addFree(sheet, top);
+        }
+
+        private void addFree(OpenSheet sheet, FreeRect rect) {
+            if (rect.w >= minFree && rect.h >= minFree && rect.w > 0 && rect.h > 0) {
+                sheet.free.add(rect);
+            }
+        }
+
+        /**
+         * Index of the stocked size to open for order[index], or -1 if none fits.
+         */
+        private int chooseSheet(List<StockSheet> sheets, int[] remaining, List<CutPiece> order, int index) {
+            CutPiece piece = order.get(index);
+            int best = -1;
+            double bestUtilisation = -1;
+            int candidates = 0;
+            int only = -1;
+            for (int s = 0; s < sheets.size(); s++) {
+                if (remaining[s] > 0 && fits(sheets.get(s), piece)) {
+                    candidates++;
+                    only = s;
+                }
+            }
+            if (candidates <= 1) {
+                return only;
+            }
+
+            int end = Math.min(order.size(), index + LOOKAHEAD);
+            for (int s = 0; s < sheets.size(); s++) {
+                StockSheet candidate = sheets.get(s);
+                if (remaining[s] <= 0 || !fits(candidate, piece)) {
+                    continue;
+                }
+                OpenSheet trial = new OpenSheet(candidate);
+                List<OpenSheet> single = List.of(trial);
+                for (int i = index; i < end; i++) {
+                    Fit fit = bestFit(single, order.get(i));
+                    if (fit.sheet != null) {
+                        place(fit, order.get(i));
+                    }
+                }
+                double utilisation = (double) trial.placedArea / candidate.getArea();
+                if (utilisation > bestUtilisation + 1e-9
+                        || (Math.abs(utilisation - bestUtilisation) <= 1e-9 && candidate.getArea() < sheets.get(best).getArea())) {
+                    best = s;
+                    bestUtilisation = utilisation;
+                }
+            }
+            return best;
+        }
+    }
+
+    private boolean fits(StockSheet sheet, CutPiece piece) {
+        if (piece.getWidth() <= sheet.getWidth() && piece.getHeight() <= sheet.getHeight()) {
+            return true;
+        }
+        return piece.isRotatable() && piece.getHeight() <= sheet.getWidth() && piece.getWidth() <= sheet.getHeight();
+    }
+}
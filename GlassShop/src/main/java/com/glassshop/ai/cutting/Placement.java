@@ -0,0 +1,48 @@
+package com.glassshop.ai.cutting;
+
+/**
+ * Where a piece is cut from a sheet: x/y of its lower-left corner from the
+ * sheet's lower-left corner, and its size as laid out (after rotation).
+ */
+public class Placement {
+
+    private final String label;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    private final boolean rotated;
+
+    public Placement(String label, int x, int y, int width, int height, boolean rotated) {
+        this.label = label;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+        this.rotated = rotated;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isRotated() {
+        return rotated;
+    }
+}
@@ -0,0 +1,146 @@
+package com.glassshop.ai.cutting;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable 2D index over stock sheets answering "smallest sheet at least
+ * W x H, either way round".
+ *
+ * Sheets and queries are normalised to (long side, short side), so a piece
+ * fits a sheet exactly when both sides dominate; rotation comes for free. The
+ * sheets form an implicit k-d tree over the two sides, split on the median of
+ * each range, and every node keeps the largest long side, largest short side
+ * and smallest area in its subtree. A lookup skips any subtree that cannot
+ * hold the piece or cannot beat the best area found so far, which keeps it to
+ * a few dozen nodes on realistic stock.
+ *
+ * Changes are made by building a new index; readers never see a partial one.
+ */
+public final class SheetIndex {
+
+    private static final SheetIndex EMPTY = new SheetIndex(new StockSheet[0]);
+
+    private final StockSheet[] sheets;
+    private final int[] longSide;
+    private final int[] shortSide;
+    private final int[] maxLong;
+    private final int[] maxShort;
+    private final long[] minArea;
+
+    private SheetIndex(StockSheet[] sheets) {
+        int n = sheets.length;
+        this.sheets = sheets;
+        this.longSide = new int[n];
+        this.shortSide = new int[n];
+        this.maxLong = new int[n];
+        this.maxShort = new int[n];
+        this.minArea = new long[n];
+        build(0, n, 0);
+    }
+
+    public static SheetIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Index over the given sheets; sheets with nothing available or no size are left out.
+     */
+    public static SheetIndex of(List<StockSheet> sheets) {
+        StockSheet[] usable = sheets.stream()
+                .filter(s -> s.getAvailable() > 0 && s.getWidth() > 0 && s.getHeight() > 0)
+                .toArray(StockSheet[]::new);
+        return usable.length == 0 ? EMPTY : new SheetIndex(usable);
+    }
+
+    public int size() {
+        return sheets.length;
+    }
+
+    /**
+     * Sheet with the least area that holds a width x height piece (rotated if
+     * need be), or null if none does. Ties go to the lower stock id.
+     */
+    public StockSheet bestFit(int width, int height) {
+        Search search = new Search(Math.max(width, height), Math.min(width, height));
+        search.visit(0, sheets.length, 0);
+        return search.best;
+    }
+
+    private final class Search {
+        final int needLong;
+        final int needShort;
+        StockSheet best;
+        long bestArea = Long.MAX_VALUE;
+
+        Search(int needLong, int needShort) {
+            this.needLong = needLong;
+            this.needShort = needShort;
+        }
+
+        void visit(int lo, int hi, int depth) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (maxLong[mid] < needLong || maxShort[mid] < needShort || minArea[mid] > bestArea) {
+                return;
+            }
+            if (longSide[mid] >= needLong && shortSide[mid] >= needShort) {
+                long area = sheets[mid].getArea();
+                if (area < bestArea || (area == bestArea && sheets[mid].getStockId() < best.getStockId())) {
+                    best = sheets[mid];
+                    bestArea = area;
+                }
+            }
+            // Everything left of mid is no larger on this axis than mid itself
+            int axisValue = depth % 2 == 0 ? longSide[mid] : shortSide[mid];
+            int axisNeed = depth % 2 == 0 ? needLong : needShort;
+            if (axisValue >= axisNeed) {
+                visit(lo, mid, depth + 1);
+            }
+            visit(mid + 1, hi, depth + 1);
+        }
+    }
+
+    private void build(int lo, int hi, int depth) {
+        if (lo >= hi) {
+            return;
+        }
+        Comparator<StockSheet> axis = depth % 2 == 0
+                ? Comparator.comparingInt(SheetIndex::longSide)
+                : Comparator.comparingInt(SheetIndex::shortSide);
+        Arrays.sort(sheets, lo, hi, axis);
+        int mid = (lo + hi) >>> 1;
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+
+        StockSheet sheet = sheets[mid];
+        longSide[mid] = longSide(sheet);
+        shortSide[mid] = shortSide(sheet);
+        maxLong[mid] = longSide[mid];
+        maxShort[mid] = shortSide[mid];
+        minArea[mid] = sheet.getArea();
+        if (lo < mid) {
+            merge(mid, (lo + mid) >>> 1);
+        }
+        if (mid + 1 < hi) {
+            merge(mid, (mid + 1 + hi) >>> 1);
+        }
+    }
+
+    private void merge(int node, int child) {
+        maxLong[node] = Math.max(maxLong[node], maxLong[child]);
+        maxShort[node] = Math.max(maxShort[node], maxShort[child]);
+        minArea[node] = Math.min(minArea[node], minArea[child]);
+    }
+
+    private static int longSide(StockSheet sheet) {
+        return Math.max(sheet.getWidth(), sheet.getHeight());
+    }
+
+    private static int shortSide(StockSheet sheet) {
+        return Math.min(sheet.getWidth(), sheet.getHeight());
+    }
+}
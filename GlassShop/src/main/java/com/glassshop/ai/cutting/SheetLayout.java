@@ -0,0 +1,55 @@
+package com.glassshop.ai.cutting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The pieces cut from one stock sheet.
+ */
+public class SheetLayout {
+
+    private final StockSheet sheet;
+    private final List<Placement> placements = new ArrayList<>();
+    private long usedArea;
+
+    SheetLayout(StockSheet sheet) {
+        this.sheet = sheet;
+    }
+
+    void add(Placement placement) {
+        placements.add(placement);
+        usedArea += (long) placement.getWidth() * placement.getHeight();
+    }
+
+    public Long getStockId() {
+        return sheet.getStockId();
+    }
+
+    public int getStandNo() {
+        return sheet.getStandNo();
+    }
+
+    public int getSheetWidth() {
+        return sheet.getWidth();
+    }
+
+    public int getSheetHeight() {
+        return sheet.getHeight();
+    }
+
+    public List<Placement> getPlacements() {
+        return Collections.unmodifiableList(placements);
+    }
+
+    public long getUsedArea() {
+        return usedArea;
+    }
+
+    /**
+     * Share of the sheet not covered by pieces (offcuts and kerf), 0-100.
+     */
+    public double getWastePercent() {
+        return 100.0 * (sheet.getArea() - usedArea) / sheet.getArea();
+    }
+}
@@ -0,0 +1,46 @@
+package com.glassshop.ai.cutting;
+
+/**
+ * A sheet size available to cut from, in whole millimetres, with how many of
+ * them are in stock.
+ */
+public class StockSheet {
+
+    private final Long stockId;
+    private final int standNo;
+    private final int width;
+    private final int height;
+    private final int available;
+
+    public StockSheet(Long stockId, int standNo, int width, int height, int available) {
+        this.stockId = stockId;
+        this.standNo = standNo;
+        this.width = width;
+        this.height = height;
+        this.available = available;
+    }
+
+    public Long getStockId() {
+        return stockId;
+    }
+
+    public int getStandNo() {
+        return standNo;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public long getArea() {
+        return (long) width * height;
+    }
+}
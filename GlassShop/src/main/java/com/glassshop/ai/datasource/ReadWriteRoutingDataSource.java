@@ -0,0 +1,119 @@
+package com.glassshop.ai.datasource;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions (@Transactional(readOnly = true)) to the read
+ * replica and everything else to the primary. A read-only transaction still
+ * goes to the primary when
+ * - the request's shop wrote within datasource.replica.read-your-writes-seconds,
+ *   so a shop always reads back its own changes, or
+ * - the replica is down or lags by more than datasource.replica.max-lag-seconds
+ *   (ReplicaLagMonitor).
+ *
+ * ReadReplicaConfig wraps it in a LazyConnectionDataSourceProxy, so the route
+ * is chosen at the first statement, once the transaction's read-only flag is set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    enum Reason {
+        READ_WRITE, READ_ONLY, READ_YOUR_WRITES, REPLICA_LAG
+    }
+
+    // Shop of the current request, bound by TenantRateLimitFilter
+    private static final ThreadLocal<Long> TENANT = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long readYourWritesNanos;
+    private final Map<Long, Long> lastWriteAt = new ConcurrentHashMap<>();
+    private final Map<Reason, Counter> routed = new EnumMap<>(Reason.class);
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, long readYourWritesSeconds,
+            MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesNanos = TimeUnit.SECONDS.toNanos(readYourWritesSeconds);
+        for (Reason reason : Reason.values()) {
+            Route route = reason == Reason.READ_ONLY ? Route.REPLICA : Route.PRIMARY;
+            routed.put(reason, Counter.builder("glassshop.datasource.route")
+                    .description("Connections handed out, by database and the reason for the choice")
+                    .tag("route", route.name().toLowerCase(Locale.ROOT))
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .register(meterRegistry));
+        }
+    }
+
+    public static void bindTenant(Long shopId) {
+        if (shopId != null) {
+            TENANT.set(shopId);
+        }
+    }
+
+    public static void clearTenant() {
+        TENANT.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long shopId = TENANT.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (shopId != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                writing(shopId);
+            }
+            return route(Reason.READ_WRITE);
+        }
+        if (shopId != null && wroteRecently(shopId)) {
+            return route(Reason.READ_YOUR_WRITES);
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            return route(Reason.REPLICA_LAG);
+        }
+        return route(Reason.READ_ONLY);
+    }
+
+    private Route route(Reason reason) {
+        routed.get(reason).increment();
+        return reason == Reason.READ_ONLY ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    /**
+     * The window starts when the write transaction takes its connection and again when it commits.
+     */
+    private void writing(Long shopId) {
+        lastWriteAt.put(shopId, System.nanoTime());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lastWriteAt.put(shopId, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private boolean wroteRecently(Long shopId) {
+        Long at = lastWriteAt.get(shopId);
+        if (at == null) {
+            return false;
+        }
+        if (System.nanoTime() - at < readYourWritesNanos) {
+            return true;
+        }
+        lastWriteAt.remove(shopId, at);
+        return false;
+    }
+}
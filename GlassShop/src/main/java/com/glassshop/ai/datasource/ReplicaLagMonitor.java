@@ -0,0 +1,77 @@
+package com.glassshop.ai.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Measures how far the read replica is behind the primary, every
+ * datasource.replica.lag-check-interval-ms. The replica is usable while it
+ * answers and lags by at most datasource.replica.max-lag-seconds; until the
+ * first check succeeds, reads stay on the primary.
+ */
+public class ReplicaLagMonitor {
+
+    /**
+     * Postgres standby: no lag once everything received is replayed, otherwise the age of the last replayed commit.
+     */
+    public static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, double maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("glassshop.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Seconds the read replica is behind the primary; -1 when unreachable")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = lagQuery == null || lagQuery.isBlank() ? Double.valueOf(0)
+                    : replica.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            usable = lagSeconds <= maxLagSeconds;
+            if (!usable && wasUsable) {
+                System.err.println("⚠ Read replica is " + lagSeconds + "s behind, reads go to the primary");
+            }
+        } catch (DataAccessException e) {
+            lagSeconds = -1;
+            usable = false;
+            if (wasUsable) {
+                System.err.println("⚠ Read replica unreachable, reads go to the primary: " + e.getMessage());
+            }
+        }
+        if (usable && !wasUsable) {
+            System.out.println("✅ Read replica in use (lag " + lagSeconds + "s)");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.glassshop.ai.dto;
+
+public class BestFitResponse {
+    private Integer itemIndex; // Position of the item in the request
+    private String glassType;
+    private Integer thickness;
+    private Integer pieceWidthMm;
+    private Integer pieceHeightMm;
+    private Integer quantity;
+    private boolean available; // The sheet line has a sheet for every piece
+    private Integer shortfall; // quantity - sheetsInStock when not enough, otherwise 0
+    private Long stockId;
+    private Integer standNo;
+    private Integer sheetWidthMm;
+    private Integer sheetHeightMm;
+    private Integer sheetsInStock;
+    private Double wastePercent; // Offcut left when one piece is cut from the sheet
+
+    // Getters and Setters
+    public Integer getItemIndex() {
+        return itemIndex;
+    }
+
+    public void setItemIndex(Integer itemIndex) {
+        this.itemIndex = itemIndex;
+    }
+
+    public String getGlassType() {
+        return glassType;
+    }
+
+    public void setGlassType(String glassType) {
+        this.glassType = glassType;
+    }
+
+    public Integer getThickness() {
+        return thickness;
+    }
+
+    public void setThickness(Integer thickness) {
+        this.thickness = thickness;
+    }
+
+    public Integer getPieceWidthMm() {
+        return pieceWidthMm;
+    }
+
+    public void setPieceWidthMm(Integer pieceWidthMm) {
+        this.pieceWidthMm = pieceWidthMm;
+    }
+
+    public Integer getPieceHeightMm() {
+        return pieceHeightMm;
+    }
+
+    public void setPieceHeightMm(Integer pieceHeightMm) {
+        this.pieceHeightMm = pieceHeightMm;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    public Integer getShortfall() {
+        return shortfall;
+    }
+
+    public void setShortfall(Integer shortfall) {
+        this.shortfall = shortfall;
+    }
+
+    public Long getStockId() {
+        return stockId;
+    }
+
+    public void setStockId(Long stockId) {
+        this.stockId = stockId;
+    }
+
+    public Integer getStandNo() {
+        return standNo;
+    }
+
+    public void setStandNo(Integer standNo) {
+        this.standNo = standNo;
+    }
+
+    public Integer getSheetWidthMm() {
+        return sheetWidthMm;
+    }
+
+    public void setSheetWidthMm(Integer sheetWidthMm) {
+        this.sheetWidthMm = sheetWidthMm;
+    }
+
+    public Integer getSheetHeightMm() {
+        return sheetHeightMm;
+    }
+
+    public void setSheetHeightMm(Integer sheetHeightMm) {
+        this.sheetHeightMm = sheetHeightMm;
+    }
+
+    public Integer getSheetsInStock() {
+        return sheetsInStock;
+    }
+
+    public void setSheetsInStock(Integer sheetsInStock) {
+        this.sheetsInStock = sheetsInStock;
+    }
+
+    public Double getWastePercent() {
+        return wastePercent;
+    }
+
+    public void setWastePercent(Double wastePercent) {
+        this.wastePercent = wastePercent;
+    }
+}
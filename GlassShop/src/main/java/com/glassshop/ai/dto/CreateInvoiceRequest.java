@@ -16,6 +16,9 @@ public class CreateInvoiceRequest {
     
     private LocalDate invoiceDate;
 
+    // Take the items out of stock with the invoice (ignored when sheets were held on confirmation)
+    private Boolean deductStock;
+
     // Getters and Setters
     public Long getQuotationId() {
         return quotationId;
@@ -40,5 +43,12 @@ public class CreateInvoiceRequest {
     public void setInvoiceDate(LocalDate invoiceDate) {
         this.invoiceDate = invoiceDate;
     }
-}
 
+    public Boolean getDeductStock() {
+        return deductStock;
+    }
+
+    public void setDeductStock(Boolean deductStock) {
+        this.deductStock = deductStock;
+    }
+}
@@ -0,0 +1,16 @@
+package com.glassshop.ai.dto;
+
+import java.util.List;
+
+public class CuttingPlanRequest {
+    private List<Long> quotationIds; // Confirmed quotations to plan together
+
+    // Getters and Setters
+    public List<Long> getQuotationIds() {
+        return quotationIds;
+    }
+
+    public void setQuotationIds(List<Long> quotationIds) {
+        this.quotationIds = quotationIds;
+    }
+}
@@ -50,6 +50,9 @@ public class InvoiceResponse {
     
     // Payments
     private List<PaymentDto> payments;
+
+    // Stock lines deducted with this invoice, when requested
+    private List<StockDeductionLine> stockDeductions;
     
     // Metadata
     private String createdBy;
@@ -296,5 +299,12 @@ public class InvoiceResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
 
+    public List<StockDeductionLine> getStockDeductions() {
+        return stockDeductions;
+    }
+
+    public void setStockDeductions(List<StockDeductionLine> stockDeductions) {
+        this.stockDeductions = stockDeductions;
+    }
+}
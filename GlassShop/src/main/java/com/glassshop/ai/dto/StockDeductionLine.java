@@ -0,0 +1,86 @@
+package com.glassshop.ai.dto;
+
+public class StockDeductionLine {
+    private Integer itemOrder; // Position of the quotation item (1-based, as printed)
+    private String glassType;
+    private String thickness;
+    private String size; // Requested piece, e.g. "4 × 3 FEET"
+    private Integer quantity;
+    private Long stockId; // Matched stock line, null if nothing of that thickness and size exists
+    private Integer standNo;
+    private Integer available; // Free sheets on the matched line before this item
+    private Integer shortfall; // quantity - available when not enough, otherwise 0
+
+    // Getters and Setters
+    public Integer getItemOrder() {
+        return itemOrder;
+    }
+
+    public void setItemOrder(Integer itemOrder) {
+        this.itemOrder = itemOrder;
+    }
+
+    public String getGlassType() {
+        return glassType;
+    }
+
+    public void setGlassType(String glassType) {
+        this.glassType = glassType;
+    }
+
+    public String getThickness() {
+        return thickness;
+    }
+
+    public void setThickness(String thickness) {
+        this.thickness = thickness;
+    }
+
+    public String getSize() {
+        return size;
+    }
+
+    public void setSize(String size) {
+        this.size = size;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public Long getStockId() {
+        return stockId;
+    }
+
+    public void setStockId(Long stockId) {
+        this.stockId = stockId;
+    }
+
+    public Integer getStandNo() {
+        return standNo;
+    }
+
+    public void setStandNo(Integer standNo) {
+        this.standNo = standNo;
+    }
+
+    public Integer getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(Integer available) {
+        this.available = available;
+    }
+
+    public Integer getShortfall() {
+        return shortfall;
+    }
+
+    public void setShortfall(Integer shortfall) {
+        this.shortfall = shortfall;
+    }
+}
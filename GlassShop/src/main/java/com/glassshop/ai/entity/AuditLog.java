@@ -4,13 +4,19 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.glassshop.ai.util.DimensionParser;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -18,7 +24,8 @@ import jakarta.persistence.Table;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_id_seq")
+    @SequenceGenerator(name = "audit_log_id_seq", sequenceName = "audit_log_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "username")
@@ -51,7 +58,7 @@ public class AuditLog {
     @Column(name = "price")
     private Double price;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id")
     private Shop shop;
 
@@ -64,6 +71,24 @@ public class AuditLog {
     @Column(name = "to_stand")
     private Integer toStand;
 
+    // Normalized from height/width and unit on every write (see normalizeDimensions)
+    @Column(name = "height_mm")
+    private Double heightMm;
+
+    @Column(name = "width_mm")
+    private Double widthMm;
+
+    @Column(name = "area_sqmm")
+    private Double areaSqmm;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeDimensions() {
+        heightMm = DimensionParser.toMillimetresOrNull(height, unit);
+        widthMm = DimensionParser.toMillimetresOrNull(width, unit);
+        areaSqmm = heightMm != null && widthMm != null ? heightMm * widthMm : null;
+    }
+
 
 
     /* ================= GETTERS & SETTERS ================= */
@@ -166,6 +191,18 @@ public class AuditLog {
         this.width = width;
     }
 
+    public Double getHeightMm() {
+        return heightMm;
+    }
+
+    public Double getWidthMm() {
+        return widthMm;
+    }
+
+    public Double getAreaSqmm() {
+        return areaSqmm;
+    }
+
     public String getUnit() {
         return unit;
     }
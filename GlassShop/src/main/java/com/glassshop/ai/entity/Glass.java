@@ -1,18 +1,27 @@
 package com.glassshop.ai.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
+/**
+ * Referenced lazily from Stock, which /stock/all returns as JSON;
+ * the proxy's internals are not serialized.
+ */
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "glass")
 public class Glass {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "glass_id_seq")
+    @SequenceGenerator(name = "glass_id_seq", sequenceName = "glass_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "type", nullable = false, length = 50)
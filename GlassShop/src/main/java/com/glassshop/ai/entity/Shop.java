@@ -4,19 +4,28 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
+/**
+ * Referenced lazily from Stock, User and AuditLog, which some endpoints return as JSON;
+ * the proxy's internals are not serialized.
+ */
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Table(name = "shop")
 public class Shop {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shop_id_seq")
+    @SequenceGenerator(name = "shop_id_seq", sequenceName = "shop_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "shop_name", nullable = false)
@@ -31,6 +40,10 @@ public class Shop {
     @Column(name = "whatsapp_number")
     private String whatsappNumber;
     
+    // Selects the shop's request rate limits (tenant.rate-limit.<plan>.*)
+    @Column(name = "plan", length = 20, columnDefinition = "varchar(20) default 'STANDARD' not null")
+    private String plan = "STANDARD";
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -41,6 +54,12 @@ public class Shop {
 	public void setId(Long id) {
 		this.id = id;
 	}
+	public String getPlan() {
+		return plan;
+	}
+	public void setPlan(String plan) {
+		this.plan = plan;
+	}
 	public String getShopName() {
 		return shopName;
 	}
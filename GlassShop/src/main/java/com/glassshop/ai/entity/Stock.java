@@ -5,17 +5,26 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.glassshop.ai.service.StockIndexListener;
+import com.glassshop.ai.util.DimensionParser;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
 @Entity
+@EntityListeners(StockIndexListener.class)
 @Table(
 		name = "stock",
 		uniqueConstraints = {
@@ -25,10 +34,11 @@ import jakarta.persistence.UniqueConstraint;
 public class Stock {
 
 	@Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_id_seq")
+    @SequenceGenerator(name = "stock_id_seq", sequenceName = "stock_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "glass_id", nullable = false)
     private Glass glass;
 
@@ -40,8 +50,13 @@ public class Stock {
     
     @Column(name = "min_quantity", nullable = false)
     private int minQuantity;
+
+    // Held for confirmed quotations; only ever changed by StockReservationService's SQL, never by JPA writes
+    @Column(name = "reserved", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0 not null")
+    private int reserved;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id", nullable = false)
     private Shop shop;
     
@@ -58,6 +73,25 @@ public class Stock {
     @Column(name = "hsn_no", length = 20)
     private String hsnNo;
 
+    // Normalized from height/width and the glass unit on every write (see normalizeDimensions)
+    @Column(name = "height_mm")
+    private Double heightMm;
+
+    @Column(name = "width_mm")
+    private Double widthMm;
+
+    @Column(name = "area_sqmm")
+    private Double areaSqmm;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeDimensions() {
+        String unit = glass != null ? glass.getUnit() : null;
+        heightMm = DimensionParser.toMillimetresOrNull(height, unit);
+        widthMm = DimensionParser.toMillimetresOrNull(width, unit);
+        areaSqmm = heightMm != null && widthMm != null ? heightMm * widthMm : null;
+    }
+
 	public String getHsnNo() {
 		return hsnNo;
 	}
@@ -78,6 +112,15 @@ public class Stock {
 	public void setWidth(String width) {
 		this.width = width;
 	}
+	public Double getHeightMm() {
+		return heightMm;
+	}
+	public Double getWidthMm() {
+		return widthMm;
+	}
+	public Double getAreaSqmm() {
+		return areaSqmm;
+	}
 	public LocalDateTime getUpdatedAt() {
 		return updatedAt;
 	}
@@ -116,6 +159,18 @@ public class Stock {
 	public void setQuantity(int quantity) {
 		this.quantity = quantity;
 	}
+	public int getReserved() {
+		return reserved;
+	}
+	public void setReserved(int reserved) {
+		this.reserved = reserved;
+	}
+	/**
+	 * Sheets not held for a confirmed quotation.
+	 */
+	public int getAvailable() {
+		return quantity - reserved;
+	}
 	public int getMinQuantity() {
 		return minQuantity;
 	}
@@ -6,11 +6,13 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -18,7 +20,8 @@ import jakarta.persistence.Table;
 public class StockHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_history_id_seq")
+    @SequenceGenerator(name = "stock_history_id_seq", sequenceName = "stock_history_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "glass_id", nullable = false)
@@ -33,7 +36,7 @@ public class StockHistory {
     @Column(name = "action", nullable = false, length = 20)
     private String action; // ADD or REMOVE
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id", nullable = false)
     private Shop shop;
 
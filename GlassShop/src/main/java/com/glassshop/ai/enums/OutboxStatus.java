@@ -0,0 +1,7 @@
+package com.glassshop.ai.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.glassshop.ai.enums;
+
+public enum PdfDocumentType {
+    QUOTATION,
+    CUTTING_PAD,
+    INVOICE,
+    BASIC_INVOICE,
+    TRANSPORT_CHALLAN,
+    DELIVERY_CHALLAN
+}
@@ -0,0 +1,8 @@
+package com.glassshop.ai.enums;
+
+public enum ReservationStatus {
+    ACTIVE,
+    RELEASED,
+    EXPIRED,
+    CONSUMED
+}
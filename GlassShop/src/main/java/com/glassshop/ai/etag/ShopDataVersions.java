@@ -0,0 +1,70 @@
+package com.glassshop.ai.etag;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Monotonic version of each shop's stock, customers, quotations and invoices,
+ * bumped by every service that changes them, and the ETags derived from it.
+ *
+ * A bump is applied once the surrounding transaction commits, and the ETag is
+ * taken before the endpoint queries, so a response is never tagged with a
+ * version newer than its data. Versions are kept in memory, like the stock
+ * index and the PDF cache; the ETag carries this process's start time so tags
+ * issued before a restart never match again.
+ */
+@Component
+public class ShopDataVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLongArray> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Record that the shop's resources changed; applied once the surrounding transaction commits.
+     */
+    public void changed(Long shopId, ShopResource... resources) {
+        if (shopId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            AtomicLongArray shop = versions(shopId);
+            for (ShopResource resource : resources) {
+                shop.incrementAndGet(resource.ordinal());
+            }
+        });
+    }
+
+    /**
+     * Strong ETag over the given resources of one shop, e.g. "m1x2k3-7-12.4".
+     */
+    public String etag(Long shopId, ShopResource... resources) {
+        AtomicLongArray shop = versions(shopId);
+        StringBuilder etag = new StringBuilder("\"").append(epoch).append('-').append(shopId);
+        for (int i = 0; i < resources.length; i++) {
+            etag.append(i == 0 ? '-' : '.').append(shop.get(resources[i].ordinal()));
+        }
+        return etag.append('"').toString();
+    }
+
+    private AtomicLongArray versions(Long shopId) {
+        return versions.computeIfAbsent(shopId, id -> new AtomicLongArray(ShopResource.values().length));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.glassshop.ai.etag;
+
+/**
+ * The per-shop data the frontend polls, each with its own version in ShopDataVersions.
+ */
+public enum ShopResource {
+    STOCK,
+    CUSTOMERS,
+    QUOTATIONS,
+    INVOICES
+}
@@ -0,0 +1,76 @@
+package com.glassshop.ai.etag;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.glassshop.ai.security.TenantRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * ETag / 304 for @ShopVersioned endpoints. The shop comes from the rate
+ * limiter's tenant cache, so a 304 runs no SQL at all. Responses are marked
+ * "private, no-cache": the browser keeps them but revalidates every time.
+ * Registered in EtagConfig.
+ */
+public class ShopVersionInterceptor implements HandlerInterceptor {
+
+    private enum Outcome {
+        NOT_MODIFIED, MODIFIED
+    }
+
+    private final ShopDataVersions shopDataVersions;
+    private final TenantRateLimiter tenantRateLimiter;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    public ShopVersionInterceptor(ShopDataVersions shopDataVersions, TenantRateLimiter tenantRateLimiter,
+            MeterRegistry meterRegistry) {
+        this.shopDataVersions = shopDataVersions;
+        this.tenantRateLimiter = tenantRateLimiter;
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("glassshop.http.etag")
+                    .description("Requests to shop-versioned endpoints, answered 304 or in full")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ShopVersioned versioned = handler instanceof HandlerMethod method
+                ? method.getMethodAnnotation(ShopVersioned.class) : null;
+        if (versioned == null) {
+            return true;
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            return true;
+        }
+        Long shopId = tenantRateLimiter.shopId(auth.getName());
+        if (shopId == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        // Sets the ETag, and 304 for GET/HEAD when If-None-Match matches it
+        if (new ServletWebRequest(request, response).checkNotModified(shopDataVersions.etag(shopId, versioned.value()))) {
+            outcomes.get(Outcome.NOT_MODIFIED).increment();
+            return false;
+        }
+        outcomes.get(Outcome.MODIFIED).increment();
+        return true;
+    }
+}
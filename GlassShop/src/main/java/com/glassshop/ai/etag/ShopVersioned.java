@@ -0,0 +1,18 @@
+package com.glassshop.ai.etag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * GET endpoint whose response only changes when one of these resources of the
+ * caller's shop does. ShopVersionInterceptor answers it with an ETag and
+ * replies 304 to a matching If-None-Match before the handler runs.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShopVersioned {
+
+    ShopResource[] value();
+}
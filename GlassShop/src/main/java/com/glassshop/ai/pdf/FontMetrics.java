@@ -0,0 +1,103 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+/**
+ * Caches glyph advance widths per font so text is measured with array lookups
+ * instead of going through the font's encoding and metrics on every call.
+ *
+ * Widths are kept in 1/1000 text-space units, independent of font size. The
+ * cache is shared by all renders; entries are keyed by font key + style, not by
+ * PDFont instance, so per-document font objects reuse the same table.
+ */
+public class FontMetrics {
+
+    private static final String ELLIPSIS = "...";
+
+    private final ConcurrentHashMap<String, GlyphWidths> fonts = new ConcurrentHashMap<>();
+
+    /**
+     * Width of text in points at the given size.
+     */
+    public float width(String fontKey, PDFont font, String text, float size) {
+        if (text == null || text.isEmpty()) {
+            return 0f;
+        }
+        GlyphWidths widths = fonts.computeIfAbsent(fontKey, k -> new GlyphWidths());
+        float total = 0f;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            total += widths.get(font, codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return total * size / 1000f;
+    }
+
+    /**
+     * Text shortened with "..." so that it fits maxWidth points; unchanged if it already fits.
+     */
+    public String fit(String fontKey, PDFont font, String text, float size, float maxWidth) {
+        if (text == null || text.isEmpty() || width(fontKey, font, text, size) <= maxWidth) {
+            return text;
+        }
+        GlyphWidths widths = fonts.get(fontKey);
+        float budget = maxWidth * 1000f / size - widths.get(font, '.') * ELLIPSIS.length();
+        float used = 0f;
+        int end = 0;
+        while (end < text.length()) {
+            int codePoint = text.codePointAt(end);
+            float w = widths.get(font, codePoint);
+            if (used + w > budget) {
+                break;
+            }
+            used += w;
+            end += Character.charCount(codePoint);
+        }
+        return text.substring(0, end) + ELLIPSIS;
+    }
+
+    public int cachedFonts() {
+        return fonts.size();
+    }
+
+    private static final class GlyphWidths {
+        // Latin-1 covers nearly all invoice text; everything else goes to the map
+        private final float[] latin = new float[256];
+        private final ConcurrentHashMap<Integer, Float> other = new ConcurrentHashMap<>();
+
+        GlyphWidths() {
+            Arrays.fill(latin, Float.NaN);
+        }
+
+        float get(PDFont font, int codePoint) {
+            if (codePoint < latin.length) {
+                float w = latin[codePoint];
+                if (Float.isNaN(w)) {
+                    // Benign race: two threads may measure the same glyph once each
+                    w = measure(font, codePoint);
+                    latin[codePoint] = w;
+                }
+                return w;
+            }
+            return other.computeIfAbsent(codePoint, cp -> measure(font, cp));
+        }
+
+        private static float measure(PDFont font, int codePoint) {
+            try {
+                return font.getStringWidth(new String(Character.toChars(codePoint)));
+            } catch (IOException | IllegalArgumentException e) {
+                // Glyph not in this font's encoding; the canvas substitutes it, so
+                // measure the substitute instead
+                try {
+                    return font.getStringWidth("?");
+                } catch (IOException | IllegalArgumentException ignored) {
+                    return 500f;
+                }
+            }
+        }
+    }
+}
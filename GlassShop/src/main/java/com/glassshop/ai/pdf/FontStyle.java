@@ -0,0 +1,6 @@
+package com.glassshop.ai.pdf;
+
+public enum FontStyle {
+    REGULAR,
+    BOLD
+}
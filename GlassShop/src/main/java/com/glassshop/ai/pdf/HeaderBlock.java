@@ -0,0 +1,23 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+
+/**
+ * Document title in bold followed by a double line gap. Static per document type.
+ */
+public class HeaderBlock implements PdfComponent {
+
+    private final TextBlock block;
+
+    public HeaderBlock(String title, float size) {
+        this.block = new TextBlock()
+                .text(title, FontStyle.BOLD, size)
+                .advance(PdfCanvas.LINE_HEIGHT * 2)
+                .cacheable();
+    }
+
+    @Override
+    public void draw(PdfCanvas canvas) throws IOException {
+        block.draw(canvas);
+    }
+}
@@ -0,0 +1,49 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+/**
+ * Font provider created on first use, so parsing a TrueType font is not part of
+ * startup. The loader runs at most once.
+ */
+public class LazyFontProvider implements PdfFontProvider {
+
+    private final Supplier<PdfFontProvider> loader;
+    private volatile PdfFontProvider delegate;
+
+    public LazyFontProvider(Supplier<PdfFontProvider> loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public PDFont font(PDDocument document, FontStyle style) throws IOException {
+        return get().font(document, style);
+    }
+
+    @Override
+    public String key() {
+        return get().key();
+    }
+
+    public boolean isLoaded() {
+        return delegate != null;
+    }
+
+    PdfFontProvider get() {
+        PdfFontProvider provider = delegate;
+        if (provider == null) {
+            synchronized (this) {
+                provider = delegate;
+                if (provider == null) {
+                    provider = loader.get();
+                    delegate = provider;
+                }
+            }
+        }
+        return provider;
+    }
+}
@@ -0,0 +1,64 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+
+/**
+ * "From:" / "To:" address block: bold label, one line per non-empty field and a
+ * blank line after. The shop block is the same on every document a shop prints,
+ * so it is marked cacheable and compiled once; customer blocks break across pages
+ * line by line.
+ */
+public class PartyBlock implements PdfComponent {
+
+    private static final float FIELD_SIZE = 10f;
+
+    private final TextBlock block = new TextBlock();
+
+    public PartyBlock(String label, float labelSize) {
+        block.text(label, FontStyle.BOLD, labelSize);
+    }
+
+    public PartyBlock line(String text, FontStyle style, float size) {
+        if (text != null && !text.isEmpty()) {
+            block.text(text, style, size);
+        }
+        return this;
+    }
+
+    public PartyBlock line(String text) {
+        return line(text, FontStyle.REGULAR, FIELD_SIZE);
+    }
+
+    /**
+     * prefix + value, skipped when the value is empty (e.g. "Mobile: " + number).
+     */
+    public PartyBlock field(String prefix, String value) {
+        if (value != null && !value.isEmpty()) {
+            block.text(prefix + value, FontStyle.REGULAR, FIELD_SIZE);
+        }
+        return this;
+    }
+
+    /**
+     * Multi-line value such as an address, one text line per input line.
+     */
+    public PartyBlock lines(String value) {
+        if (value != null && !value.isEmpty()) {
+            for (String line : value.split("\n")) {
+                block.text(line, FontStyle.REGULAR, FIELD_SIZE);
+            }
+        }
+        return this;
+    }
+
+    public PartyBlock cacheable() {
+        block.cacheable();
+        return this;
+    }
+
+    @Override
+    public void draw(PdfCanvas canvas) throws IOException {
+        block.draw(canvas);
+        canvas.moveDown(PdfCanvas.LINE_HEIGHT);
+    }
+}
@@ -0,0 +1,254 @@
+package com.glassshop.ai.pdf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.util.Matrix;
+
+/**
+ * Cursor-based drawing surface for one document: A4 pages, 50pt margin, text
+ * from y=750 down, a new page when the cursor passes y=100.
+ *
+ * Owns the current page's content stream, remembers the active font so repeated
+ * runs don't re-emit it, and redraws the continuation header (e.g. a table
+ * header) at the top of every page it starts.
+ */
+public class PdfCanvas implements Closeable {
+
+    public static final float MARGIN = 50f;
+    public static final float TOP = 750f;
+    public static final float BOTTOM = 100f;
+    public static final float LINE_HEIGHT = 20f;
+    public static final float CONTENT_WIDTH = 500f;
+    public static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+
+    private final PDDocument document;
+    private final PdfLayoutEngine engine;
+    private final Map<FontStyle, PDFont> fonts = new EnumMap<>(FontStyle.class);
+    private final Map<String, PDFormXObject> forms = new HashMap<>();
+
+    private PDPageContentStream content;
+    private PDFont currentFont;
+    private float currentSize;
+    private float y;
+    private int pages;
+    private TextBlock continuationHeader;
+
+    PdfCanvas(PDDocument document, PdfLayoutEngine engine) throws IOException {
+        this.document = document;
+        this.engine = engine;
+        newPage();
+    }
+
+    public PDDocument getDocument() {
+        return document;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public int getPageCount() {
+        return pages;
+    }
+
+    public void moveDown(float points) {
+        y -= points;
+    }
+
+    public PDFont font(FontStyle style) throws IOException {
+        PDFont font = fonts.get(style);
+        if (font == null) {
+            font = engine.getFontProvider().font(document, style);
+            fonts.put(style, font);
+        }
+        return font;
+    }
+
+    String fontKey(FontStyle style) {
+        return engine.getFontProvider().key() + ":" + style.name();
+    }
+
+    public float width(String text, FontStyle style, float size) throws IOException {
+        return engine.getMetrics().width(fontKey(style), font(style), text, size);
+    }
+
+    /**
+     * Start a new page if fewer than height points remain above the bottom limit.
+     */
+    public void ensureSpace(float height) throws IOException {
+        if (y - height < BOTTOM) {
+            newPage();
+        }
+    }
+
+    public void newPage() throws IOException {
+        if (content != null) {
+            content.close();
+        }
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        content = new PDPageContentStream(document, page);
+        // A fresh content stream has no font selected
+        currentFont = null;
+        y = TOP;
+        pages++;
+        if (continuationHeader != null) {
+            continuationHeader.draw(this);
+        }
+    }
+
+    /**
+     * Header redrawn at the top of each page this canvas starts; null to stop.
+     */
+    public void setContinuationHeader(TextBlock header) {
+        this.continuationHeader = header;
+    }
+
+    /**
+     * Draw text at x points right of the margin on the cursor line. Null or empty text is skipped.
+     */
+    public void text(float x, String text, FontStyle style, float size) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        PDFont font = font(style);
+        if (font != currentFont || size != currentSize) {
+            content.setFont(font, size);
+            currentFont = font;
+            currentSize = size;
+        }
+        content.beginText();
+        content.newLineAtOffset(MARGIN + x, y);
+        showText(content, font, text);
+        content.endText();
+    }
+
+    /**
+     * Like text, but shortened with "..." to fit maxWidth points so long values
+     * don't run into the next column.
+     */
+    public void fittedText(float x, String text, FontStyle style, float size, float maxWidth) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        text(x, engine.getMetrics().fit(fontKey(style), font(style), text, size, maxWidth), style, size);
+    }
+
+    /**
+     * Draw text with its baseline at an absolute page y, leaving the cursor where it is.
+     */
+    public void textAt(float x, float y, String text, FontStyle style, float size) throws IOException {
+        float cursor = this.y;
+        this.y = y;
+        try {
+            text(x, text, style, size);
+        } finally {
+            this.y = cursor;
+        }
+    }
+
+    /**
+     * Outline of a rectangle; x is relative to the margin, y is the absolute page y of its bottom edge.
+     */
+    public void rect(float x, float y, float width, float height) throws IOException {
+        content.addRect(MARGIN + x, y, width, height);
+        content.stroke();
+    }
+
+    /**
+     * Horizontal rule across the content width on the cursor line.
+     */
+    public void rule() throws IOException {
+        content.moveTo(MARGIN, y);
+        content.lineTo(MARGIN + CONTENT_WIDTH, y);
+        content.stroke();
+    }
+
+    /**
+     * Draw a cacheable block as a form XObject. Within a document each distinct
+     * block becomes one XObject, so a table header repeated on every page is
+     * stored once.
+     */
+    void drawStatic(TextBlock block) throws IOException {
+        float advance = block.totalAdvance();
+        ensureSpace(advance);
+
+        if (!engine.isStaticBlocksEnabled()) {
+            drawLines(block);
+            return;
+        }
+
+        String key = block.cacheKey();
+        PDFormXObject form = forms.get(key);
+        if (form == null) {
+            form = engine.getStaticBlocks().formFor(this, block, key);
+            forms.put(key, form);
+        }
+
+        // Form space starts one line below the block's last advance
+        content.saveGraphicsState();
+        content.transform(Matrix.getTranslateInstance(0, y - advance - LINE_HEIGHT));
+        content.drawForm(form);
+        content.restoreGraphicsState();
+        y -= advance;
+    }
+
+    private void drawLines(TextBlock block) throws IOException {
+        for (TextBlock.Line line : block.lines()) {
+            for (TextBlock.Run run : line.runs) {
+                text(run.x, run.text, run.style, run.size);
+            }
+            if (line.rule) {
+                rule();
+            }
+            y -= line.advance;
+        }
+    }
+
+    /**
+     * showText, substituting '?' for characters the font cannot encode instead
+     * of failing the whole document.
+     */
+    static void showText(PDPageContentStream stream, PDFont font, String text) throws IOException {
+        try {
+            stream.showText(text);
+        } catch (IllegalArgumentException e) {
+            stream.showText(encodable(font, text));
+        }
+    }
+
+    private static String encodable(PDFont font, String text) {
+        StringBuilder safe = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            String glyph = new String(Character.toChars(codePoint));
+            try {
+                font.encode(glyph);
+                safe.append(glyph);
+            } catch (IOException | IllegalArgumentException e) {
+                safe.append('?');
+            }
+            i += Character.charCount(codePoint);
+        }
+        return safe.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        continuationHeader = null;
+        if (content != null) {
+            content.close();
+            content = null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+
+/**
+ * A piece of a document (header, party block, table, totals...) that draws
+ * itself at the canvas cursor and moves the cursor down past what it drew.
+ */
+@FunctionalInterface
+public interface PdfComponent {
+
+    void draw(PdfCanvas canvas) throws IOException;
+}
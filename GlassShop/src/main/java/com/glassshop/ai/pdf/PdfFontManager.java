@@ -0,0 +1,115 @@
+package com.glassshop.ai.pdf;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Installs the configured TrueType fonts on the layout engine. Without
+ * pdf.font.regular (or if it cannot be read) PDFs keep using Helvetica, which
+ * cannot show the rupee sign or Indian-language text.
+ *
+ * The fonts are parsed on first use rather than during startup; once the
+ * application is ready a background thread loads them (and PDFBox's standard
+ * font metrics) so the first PDF does not pay for it either.
+ */
+@Component
+public class PdfFontManager {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    @Autowired
+    private PdfLayoutEngine layoutEngine;
+
+    @Value("${pdf.font.regular:}")
+    private String regularLocation = "";
+
+    @Value("${pdf.font.bold:}")
+    private String boldLocation = "";
+
+    @Value("${pdf.font.warm-up:true}")
+    private boolean warmUp = true;
+
+    @PostConstruct
+    void init() {
+        if (regularLocation == null || regularLocation.isBlank()) {
+            System.out.println("⚠ pdf.font.regular not set, PDFs will use Helvetica (no ₹ or Indian scripts)");
+            return;
+        }
+        layoutEngine.setFontProvider(new LazyFontProvider(this::loadFonts));
+    }
+
+    /**
+     * Load the fonts off the request path once the application serves traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUp) {
+            return;
+        }
+        Thread.ofPlatform().name("pdf-font-warm-up").daemon().start(() -> {
+            try {
+                // Standard 14 metrics are read when PDType1Font is first touched
+                new StandardFontProvider().font(null, FontStyle.REGULAR);
+                layoutEngine.getFontProvider().key();
+            } catch (RuntimeException e) {
+                System.err.println("⚠ PDF font warm-up failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private PdfFontProvider loadFonts() {
+        try {
+            TrueTypeFont regular = load(regularLocation);
+            TrueTypeFont bold = boldLocation == null || boldLocation.isBlank() ? regular : load(boldLocation);
+            System.out.println("✅ PDF fonts loaded: " + regular.getName() + " / " + bold.getName());
+            return new TrueTypeFontProvider(regular, bold);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("⚠ Could not load PDF font, falling back to Helvetica: " + e.getMessage());
+            return new StandardFontProvider();
+        }
+    }
+
+    static TrueTypeFont load(String location) throws IOException {
+        byte[] data;
+        if (location.startsWith(CLASSPATH_PREFIX)) {
+            try (InputStream in = new ClassPathResource(location.substring(CLASSPATH_PREFIX.length())).getInputStream()) {
+                data = in.readAllBytes();
+            }
+        } else {
+            data = Files.readAllBytes(Path.of(location));
+        }
+        return parse(data);
+    }
+
+    /**
+     * Parse a font held in memory and read every table used while embedding, so
+     * concurrent renders only read already-parsed data.
+     */
+    static TrueTypeFont parse(byte[] data) throws IOException {
+        TrueTypeFont font = new TTFParser().parse(new ByteArrayInputStream(data));
+        font.getHeader();
+        font.getHorizontalHeader();
+        font.getHorizontalMetrics();
+        font.getMaximumProfile();
+        font.getNaming();
+        font.getOS2Windows();
+        font.getPostScript();
+        font.getGlyph();
+        font.getUnicodeCmapLookup();
+        return font;
+    }
+}
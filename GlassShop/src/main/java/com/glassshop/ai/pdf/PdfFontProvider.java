@@ -0,0 +1,19 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+/**
+ * Supplies the fonts a document is drawn with. Called once per style per document.
+ */
+public interface PdfFontProvider {
+
+    PDFont font(PDDocument document, FontStyle style) throws IOException;
+
+    /**
+     * Identifies the font set; part of every static block cache key.
+     */
+    String key();
+}
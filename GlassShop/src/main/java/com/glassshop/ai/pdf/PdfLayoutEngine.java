@@ -0,0 +1,59 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders a list of components into a document. Holds the state shared across
+ * renders: font width cache, compiled static blocks and the font provider.
+ */
+@Component
+public class PdfLayoutEngine {
+
+    private final FontMetrics metrics = new FontMetrics();
+    private final StaticBlockCache staticBlocks = new StaticBlockCache(1024);
+    private PdfFontProvider fontProvider = new StandardFontProvider();
+    private boolean staticBlocksEnabled = true;
+
+    public void render(PDDocument document, List<PdfComponent> components) throws IOException {
+        try (PdfCanvas canvas = open(document)) {
+            for (PdfComponent component : components) {
+                component.draw(canvas);
+            }
+        }
+    }
+
+    public PdfCanvas open(PDDocument document) throws IOException {
+        return new PdfCanvas(document, this);
+    }
+
+    public FontMetrics getMetrics() {
+        return metrics;
+    }
+
+    public StaticBlockCache getStaticBlocks() {
+        return staticBlocks;
+    }
+
+    public PdfFontProvider getFontProvider() {
+        return fontProvider;
+    }
+
+    public void setFontProvider(PdfFontProvider fontProvider) {
+        this.fontProvider = fontProvider;
+    }
+
+    public boolean isStaticBlocksEnabled() {
+        return staticBlocksEnabled;
+    }
+
+    /**
+     * Draw static blocks inline instead of through cached form XObjects (benchmark baseline).
+     */
+    public void setStaticBlocksEnabled(boolean staticBlocksEnabled) {
+        this.staticBlocksEnabled = staticBlocksEnabled;
+    }
+}
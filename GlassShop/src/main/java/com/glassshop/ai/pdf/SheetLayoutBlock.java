@@ -0,0 +1,77 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scaled drawing of a sheet and the pieces cut from it, under a one-line title.
+ * Sizes are in any unit (millimetres in practice); the drawing is fitted to the
+ * content width and at most MAX_HEIGHT points tall, and never split across pages.
+ */
+public class SheetLayoutBlock implements PdfComponent {
+
+    private static final float MAX_HEIGHT = 260f;
+    private static final float LABEL_SIZE = 6f;
+
+    private static final class Piece {
+        final float x;
+        final float y;
+        final float width;
+        final float height;
+        final String label;
+
+        Piece(float x, float y, float width, float height, String label) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.label = label;
+        }
+    }
+
+    private final String title;
+    private final float sheetWidth;
+    private final float sheetHeight;
+    private final List<Piece> pieces = new ArrayList<>();
+
+    public SheetLayoutBlock(String title, float sheetWidth, float sheetHeight) {
+        this.title = title;
+        this.sheetWidth = sheetWidth;
+        this.sheetHeight = sheetHeight;
+    }
+
+    /**
+     * A piece with its lower-left corner at x/y from the sheet's lower-left corner.
+     */
+    public SheetLayoutBlock piece(float x, float y, float width, float height, String label) {
+        pieces.add(new Piece(x, y, width, height, label));
+        return this;
+    }
+
+    @Override
+    public void draw(PdfCanvas canvas) throws IOException {
+        float scale = Math.min(PdfCanvas.CONTENT_WIDTH / sheetWidth, MAX_HEIGHT / sheetHeight);
+        float drawingHeight = sheetHeight * scale;
+        canvas.ensureSpace(PdfCanvas.LINE_HEIGHT + drawingHeight + PdfCanvas.LINE_HEIGHT);
+
+        canvas.text(0, title, FontStyle.BOLD, 10);
+        canvas.moveDown(PdfCanvas.LINE_HEIGHT / 2);
+
+        float bottom = canvas.getY() - drawingHeight;
+        canvas.rect(0, bottom, sheetWidth * scale, drawingHeight);
+        for (Piece piece : pieces) {
+            float x = piece.x * scale;
+            float y = bottom + piece.y * scale;
+            float width = piece.width * scale;
+            float height = piece.height * scale;
+            canvas.rect(x, y, width, height);
+            // Label only pieces big enough to hold it
+            if (piece.label != null && height >= LABEL_SIZE * 2
+                    && canvas.width(piece.label, FontStyle.REGULAR, LABEL_SIZE) <= width - 2) {
+                canvas.textAt(x + 1, y + height - LABEL_SIZE - 1, piece.label, FontStyle.REGULAR, LABEL_SIZE);
+            }
+        }
+        canvas.moveDown(drawingHeight + PdfCanvas.LINE_HEIGHT);
+    }
+}
@@ -0,0 +1,21 @@
+package com.glassshop.ai.pdf;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+/**
+ * Standard 14 Helvetica fonts: nothing embedded, WinAnsi characters only.
+ */
+public class StandardFontProvider implements PdfFontProvider {
+
+    @Override
+    public PDFont font(PDDocument document, FontStyle style) {
+        return style == FontStyle.BOLD ? PDType1Font.HELVETICA_BOLD : PDType1Font.HELVETICA;
+    }
+
+    @Override
+    public String key() {
+        return "helvetica";
+    }
+}
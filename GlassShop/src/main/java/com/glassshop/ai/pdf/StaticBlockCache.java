@@ -0,0 +1,200 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+
+/**
+ * Compiled content of static blocks (titles, shop letterheads, table headers,
+ * signature blocks), shared across documents.
+ *
+ * The first time a block is seen it is drawn into a form XObject with PDFBox and
+ * the resulting operator bytes are kept. Form XObjects belong to one document,
+ * so later documents get a new form filled with those bytes: the text is not
+ * laid out or encoded again. Only the font resources are re-bound, under the
+ * same resource names, and glyphs used by the block are added to each
+ * document's font subset.
+ */
+public class StaticBlockCache {
+
+    private static final class CompiledBlock {
+        final byte[] operators;
+        final float height;
+        final Map<String, FontStyle> fontNames;
+        final Map<FontStyle, int[]> codePoints;
+
+        CompiledBlock(byte[] operators, float height, Map<String, FontStyle> fontNames,
+                      Map<FontStyle, int[]> codePoints) {
+            this.operators = operators;
+            this.height = height;
+            this.fontNames = fontNames;
+            this.codePoints = codePoints;
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, CompiledBlock> compiled;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public StaticBlockCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.compiled = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledBlock> eldest) {
+                return size() > StaticBlockCache.this.maxEntries;
+            }
+        };
+    }
+
+    PDFormXObject formFor(PdfCanvas canvas, TextBlock block, String blockKey) throws IOException {
+        String key = canvas.fontKey(FontStyle.REGULAR) + "\n" + blockKey;
+        CompiledBlock cached;
+        synchronized (compiled) {
+            cached = compiled.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return replay(canvas, cached);
+        }
+
+        misses.incrementAndGet();
+        PDFormXObject form = compile(canvas, block);
+        CompiledBlock entry = capture(canvas, block, form);
+        synchronized (compiled) {
+            compiled.put(key, entry);
+        }
+        return form;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        synchronized (compiled) {
+            return compiled.size();
+        }
+    }
+
+    private PDFormXObject compile(PdfCanvas canvas, TextBlock block) throws IOException {
+        PDDocument document = canvas.getDocument();
+        float height = block.totalAdvance() + 2 * PdfCanvas.LINE_HEIGHT;
+
+        PDAppearanceStream form = new PDAppearanceStream(document);
+        form.setResources(new PDResources());
+        form.setBBox(new PDRectangle(0, 0, PdfCanvas.PAGE_WIDTH, height));
+
+        try (PDPageContentStream stream = new PDPageContentStream(document, form)) {
+            PDFont current = null;
+            float currentSize = 0f;
+            // First baseline one line below the top of the form, see PdfCanvas.drawStatic
+            float baseline = height - PdfCanvas.LINE_HEIGHT;
+            for (TextBlock.Line line : block.lines()) {
+                for (TextBlock.Run run : line.runs) {
+                    if (run.text == null || run.text.isEmpty()) {
+                        continue;
+                    }
+                    PDFont font = canvas.font(run.style);
+                    if (font != current || run.size != currentSize) {
+                        stream.setFont(font, run.size);
+                        current = font;
+                        currentSize = run.size;
+                    }
+                    stream.beginText();
+                    stream.newLineAtOffset(PdfCanvas.MARGIN + run.x, baseline);
+                    PdfCanvas.showText(stream, font, run.text);
+                    stream.endText();
+                }
+                if (line.rule) {
+                    stream.moveTo(PdfCanvas.MARGIN, baseline);
+                    stream.lineTo(PdfCanvas.MARGIN + PdfCanvas.CONTENT_WIDTH, baseline);
+                    stream.stroke();
+                }
+                baseline -= line.advance;
+            }
+        }
+        return form;
+    }
+
+    private CompiledBlock capture(PdfCanvas canvas, TextBlock block, PDFormXObject form) throws IOException {
+        byte[] operators;
+        try (InputStream in = form.getStream().createInputStream()) {
+            operators = in.readAllBytes();
+        }
+
+        // Map resource names (/F1...) back to styles so they can be re-bound per document
+        Map<String, FontStyle> fontNames = new LinkedHashMap<>();
+        COSDictionary fontDicts = (COSDictionary) form.getResources().getCOSObject().getDictionaryObject(COSName.FONT);
+        for (COSName name : form.getResources().getFontNames()) {
+            COSBase dict = fontDicts.getDictionaryObject(name);
+            for (FontStyle style : FontStyle.values()) {
+                if (canvas.font(style).getCOSObject() == dict) {
+                    fontNames.put(name.getName(), style);
+                }
+            }
+        }
+
+        // Subset fonts only embed glyphs passed to showText; replayed bytes bypass it
+        Map<FontStyle, TreeSet<Integer>> used = new EnumMap<>(FontStyle.class);
+        for (TextBlock.Line line : block.lines()) {
+            for (TextBlock.Run run : line.runs) {
+                if (run.text != null) {
+                    run.text.codePoints().forEach(cp ->
+                            used.computeIfAbsent(run.style, s -> new TreeSet<>()).add(cp));
+                }
+            }
+        }
+        Map<FontStyle, int[]> codePoints = new EnumMap<>(FontStyle.class);
+        for (Map.Entry<FontStyle, TreeSet<Integer>> entry : used.entrySet()) {
+            codePoints.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        return new CompiledBlock(operators, form.getBBox().getHeight(), fontNames, codePoints);
+    }
+
+    private PDFormXObject replay(PdfCanvas canvas, CompiledBlock block) throws IOException {
+        PDDocument document = canvas.getDocument();
+        PDAppearanceStream form = new PDAppearanceStream(document);
+        form.setBBox(new PDRectangle(0, 0, PdfCanvas.PAGE_WIDTH, block.height));
+
+        PDResources resources = new PDResources();
+        for (Map.Entry<String, FontStyle> font : block.fontNames.entrySet()) {
+            resources.put(COSName.getPDFName(font.getKey()), canvas.font(font.getValue()));
+        }
+        form.setResources(resources);
+
+        for (Map.Entry<FontStyle, int[]> used : block.codePoints.entrySet()) {
+            PDFont font = canvas.font(used.getKey());
+            if (font.willBeSubset()) {
+                for (int codePoint : used.getValue()) {
+                    font.addToSubset(codePoint);
+                }
+            }
+        }
+
+        try (OutputStream out = form.getStream().createOutputStream(COSName.FLATE_DECODE)) {
+            out.write(block.operators);
+        }
+        return form;
+    }
+}
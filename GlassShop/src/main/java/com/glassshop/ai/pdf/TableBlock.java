@@ -0,0 +1,79 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Item table: bold header row with a rule under it, then one line per row.
+ * Rows flow onto new pages as needed and the header is repeated at the top of
+ * each continuation page. Cells are clipped to their column width.
+ */
+public class TableBlock implements PdfComponent {
+
+    private static final float HEADER_SIZE = 10f;
+    private static final float ROW_SIZE = 9f;
+    private static final float CELL_PADDING = 4f;
+
+    private final List<String> headers = new ArrayList<>();
+    private final List<Float> offsets = new ArrayList<>();
+    private final List<String[]> rows = new ArrayList<>();
+
+    /**
+     * Column starting x points right of the margin; it extends to the next column.
+     */
+    public TableBlock column(String header, float x) {
+        headers.add(header);
+        offsets.add(x);
+        return this;
+    }
+
+    public TableBlock row(String... cells) {
+        rows.add(cells);
+        return this;
+    }
+
+    public int rowCount() {
+        return rows.size();
+    }
+
+    private TextBlock header() {
+        TextBlock header = new TextBlock();
+        for (int i = 0; i < headers.size(); i++) {
+            header.with(offsets.get(i), headers.get(i), FontStyle.BOLD, HEADER_SIZE);
+        }
+        return header.rule(5f).cacheable();
+    }
+
+    private float[] columnWidths() {
+        float[] widths = new float[offsets.size()];
+        for (int i = 0; i < widths.length; i++) {
+            float end = i + 1 < widths.length
+                    ? offsets.get(i + 1)
+                    // Last column may use the right margin area, as the old layout did
+                    : PdfCanvas.PAGE_WIDTH - PdfCanvas.MARGIN - 20f;
+            widths[i] = end - offsets.get(i) - CELL_PADDING;
+        }
+        return widths;
+    }
+
+    @Override
+    public void draw(PdfCanvas canvas) throws IOException {
+        TextBlock header = header();
+        float[] widths = columnWidths();
+
+        header.draw(canvas);
+        canvas.setContinuationHeader(header);
+        try {
+            for (String[] row : rows) {
+                canvas.ensureSpace(0f);
+                for (int i = 0; i < row.length && i < widths.length; i++) {
+                    canvas.fittedText(offsets.get(i), row[i], FontStyle.REGULAR, ROW_SIZE, widths[i]);
+                }
+                canvas.moveDown(PdfCanvas.LINE_HEIGHT);
+            }
+        } finally {
+            canvas.setContinuationHeader(null);
+        }
+    }
+}
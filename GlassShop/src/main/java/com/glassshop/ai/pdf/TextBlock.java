@@ -0,0 +1,173 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lines of text (and horizontal rules) drawn top-down from the canvas cursor.
+ * Each line moves the cursor down by its advance, LINE_HEIGHT unless changed.
+ *
+ * A cacheable block has no per-document data. It is compiled once into a form
+ * XObject and then replayed, see StaticBlockCache.
+ */
+public class TextBlock implements PdfComponent {
+
+    static final class Run {
+        final float x;
+        final String text;
+        final FontStyle style;
+        final float size;
+
+        Run(float x, String text, FontStyle style, float size) {
+            this.x = x;
+            this.text = text;
+            this.style = style;
+            this.size = size;
+        }
+    }
+
+    static final class Line {
+        final List<Run> runs = new ArrayList<>(2);
+        boolean rule;
+        float advance;
+
+        Line(float advance) {
+            this.advance = advance;
+        }
+    }
+
+    private final List<Line> lines = new ArrayList<>();
+    private boolean cacheable;
+    private boolean keepTogether;
+
+    /**
+     * New line with one run at the left margin.
+     */
+    public TextBlock text(String text, FontStyle style, float size) {
+        return text(0f, text, style, size);
+    }
+
+    /**
+     * New line with one run at x points right of the left margin.
+     */
+    public TextBlock text(float x, String text, FontStyle style, float size) {
+        Line line = new Line(PdfCanvas.LINE_HEIGHT);
+        line.runs.add(new Run(x, text, style, size));
+        lines.add(line);
+        return this;
+    }
+
+    /**
+     * Another run on the current line, e.g. the value next to a label.
+     */
+    public TextBlock with(float x, String text, FontStyle style, float size) {
+        if (lines.isEmpty()) {
+            return text(x, text, style, size);
+        }
+        lines.get(lines.size() - 1).runs.add(new Run(x, text, style, size));
+        return this;
+    }
+
+    /**
+     * Horizontal rule across the content width.
+     */
+    public TextBlock rule(float advance) {
+        Line line = new Line(advance);
+        line.rule = true;
+        lines.add(line);
+        return this;
+    }
+
+    /**
+     * Extra vertical space after the current line.
+     */
+    public TextBlock space(float points) {
+        if (lines.isEmpty()) {
+            lines.add(new Line(points));
+        } else {
+            lines.get(lines.size() - 1).advance += points;
+        }
+        return this;
+    }
+
+    /**
+     * Sets the advance of the current line (e.g. a title followed by a double gap).
+     */
+    public TextBlock advance(float points) {
+        if (!lines.isEmpty()) {
+            lines.get(lines.size() - 1).advance = points;
+        }
+        return this;
+    }
+
+    public TextBlock cacheable() {
+        this.cacheable = true;
+        this.keepTogether = true;
+        return this;
+    }
+
+    public TextBlock keepTogether() {
+        this.keepTogether = true;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    List<Line> lines() {
+        return Collections.unmodifiableList(lines);
+    }
+
+    float totalAdvance() {
+        float total = 0f;
+        for (Line line : lines) {
+            total += line.advance;
+        }
+        return total;
+    }
+
+    /**
+     * Content-derived key: changing any text (e.g. a shop's phone number) yields a new key.
+     */
+    String cacheKey() {
+        StringBuilder key = new StringBuilder(128);
+        for (Line line : lines) {
+            key.append(line.rule ? 'R' : 'L').append(line.advance);
+            for (Run run : line.runs) {
+                key.append('|').append(run.x).append(',').append(run.style.ordinal())
+                        .append(',').append(run.size).append(',').append(run.text);
+            }
+            key.append('\n');
+        }
+        return key.toString();
+    }
+
+    @Override
+    public void draw(PdfCanvas canvas) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        if (cacheable) {
+            canvas.drawStatic(this);
+            return;
+        }
+        if (keepTogether) {
+            canvas.ensureSpace(totalAdvance());
+        }
+        for (Line line : lines) {
+            if (!keepTogether) {
+                canvas.ensureSpace(0f);
+            }
+            for (Run run : line.runs) {
+                canvas.text(run.x, run.text, run.style, run.size);
+            }
+            if (line.rule) {
+                canvas.rule();
+            }
+            canvas.moveDown(line.advance);
+        }
+    }
+}
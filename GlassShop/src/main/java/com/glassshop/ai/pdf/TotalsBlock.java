@@ -0,0 +1,44 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+
+/**
+ * Closing rule under a table followed by label / amount rows and a larger grand
+ * total line. Kept together on one page.
+ */
+public class TotalsBlock implements PdfComponent {
+
+    private static final float ROW_SIZE = 10f;
+    private static final float GRAND_TOTAL_SIZE = 12f;
+
+    private final float labelX;
+    private final float valueX;
+    private final TextBlock block = new TextBlock();
+
+    public TotalsBlock(float labelX, float valueX) {
+        this.labelX = labelX;
+        this.valueX = valueX;
+        block.space(PdfCanvas.LINE_HEIGHT)
+                .rule(PdfCanvas.LINE_HEIGHT)
+                .keepTogether();
+    }
+
+    public TotalsBlock row(String label, String value) {
+        block.text(labelX, label, FontStyle.BOLD, ROW_SIZE)
+                .with(valueX, value, FontStyle.BOLD, ROW_SIZE);
+        return this;
+    }
+
+    public TotalsBlock grandTotal(String label, String value) {
+        block.space(PdfCanvas.LINE_HEIGHT)
+                .text(labelX, label, FontStyle.BOLD, GRAND_TOTAL_SIZE)
+                .with(valueX, value, FontStyle.BOLD, GRAND_TOTAL_SIZE)
+                .advance(PdfCanvas.LINE_HEIGHT * 2);
+        return this;
+    }
+
+    @Override
+    public void draw(PdfCanvas canvas) throws IOException {
+        block.draw(canvas);
+    }
+}
@@ -0,0 +1,36 @@
+package com.glassshop.ai.pdf;
+
+import java.io.IOException;
+
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+
+/**
+ * Unicode TrueType fonts, parsed once and shared by all renders. Each document
+ * embeds its own subset holding only the glyphs it actually shows.
+ */
+public class TrueTypeFontProvider implements PdfFontProvider {
+
+    private final TrueTypeFont regular;
+    private final TrueTypeFont bold;
+    private final String key;
+
+    public TrueTypeFontProvider(TrueTypeFont regular, TrueTypeFont bold) throws IOException {
+        this.regular = regular;
+        this.bold = bold;
+        this.key = "ttf:" + regular.getName() + "/" + bold.getName();
+    }
+
+    @Override
+    public PDFont font(PDDocument document, FontStyle style) throws IOException {
+        // Subset is built when the document is saved, from the glyphs passed to showText
+        return PDType0Font.load(document, style == FontStyle.BOLD ? bold : regular, true);
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,30 @@
+package com.glassshop.ai.profiling;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times JDBC executions for the current request. Hibernate creates one per
+ * session (hibernate.session.events.auto), so the state lives in SqlProfiler.
+ */
+public class JdbcTimingListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlProfiler.executeStart();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlProfiler.executeEnd();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        SqlProfiler.executeStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlProfiler.executeEnd();
+    }
+}
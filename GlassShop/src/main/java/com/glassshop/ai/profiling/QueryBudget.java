@@ -0,0 +1,21 @@
+package com.glassshop.ai.profiling;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * SQL budget for one endpoint, checked by SqlProfiler after every request.
+ * Endpoints without it get sql.profiler.default-budget and sql.profiler.repeat-limit.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    /** Most SQL statements one request may run. */
+    int statements();
+
+    /** Most times one statement shape may run in a request (N+1 guard); 0 = the default limit. */
+    int sameStatement() default 0;
+}
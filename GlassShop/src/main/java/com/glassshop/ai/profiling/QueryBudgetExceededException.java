@@ -0,0 +1,12 @@
+package com.glassshop.ai.profiling;
+
+/**
+ * Thrown after a request that broke its SQL budget when sql.profiler.fail-on-violation
+ * is on (the test profile), so the integration test that made the request fails.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,225 @@
+package com.glassshop.ai.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * SQL cost of every HTTP request: statements run, entities loaded and JDBC
+ * time, counted by Hibernate hooks against the request's thread.
+ *
+ * After each request the counts are checked against the endpoint's budget
+ * (@QueryBudget, else sql.profiler.default-budget) and against the N+1
+ * guard: no statement shape, i.e. the SQL with its literals and IN lists
+ * folded, may run more than sql.profiler.repeat-limit times. Violations are
+ * logged; totals per endpoint feed the admin top-offenders list.
+ */
+@Component
+public class SqlProfiler {
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${sql.profiler.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${sql.profiler.default-budget:40}")
+    private int defaultBudget = 40;
+
+    @Value("${sql.profiler.repeat-limit:10}")
+    private int repeatLimit = 10;
+
+    @Value("${sql.profiler.fail-on-violation:false}")
+    private boolean failOnViolation;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * One request's counts; only its own thread touches it.
+     */
+    static final class RequestProfile {
+        int statements;
+        long entities;
+        long jdbcNanos;
+        long executeStartedAt;
+        final Map<String, Integer> shapes = new HashMap<>();
+    }
+
+    private static final class EndpointStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder entities = new LongAdder();
+        final LongAdder jdbcNanos = new LongAdder();
+        final LongAdder violations = new LongAdder();
+        final AtomicInteger maxStatements = new AtomicInteger();
+        String worstShape;
+        int worstShapeCount;
+    }
+
+    /* ===============================
+       HIBERNATE HOOKS (request thread)
+       =============================== */
+
+    static void statement(String sql) {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.statements++;
+            profile.shapes.merge(shape(sql), 1, Integer::sum);
+        }
+    }
+
+    static void executeStart() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.executeStartedAt = System.nanoTime();
+        }
+    }
+
+    static void executeEnd() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null && profile.executeStartedAt != 0) {
+            profile.jdbcNanos += System.nanoTime() - profile.executeStartedAt;
+            profile.executeStartedAt = 0;
+        }
+    }
+
+    public static void entityLoaded() {
+        RequestProfile profile = CURRENT.get();
+        if (profile != null) {
+            profile.entities++;
+        }
+    }
+
+    /**
+     * SQL with literals and IN lists folded, so every run of one query has the same shape.
+     */
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /* ===============================
+       REQUEST LIFECYCLE
+       =============================== */
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isFailOnViolation() {
+        return failOnViolation;
+    }
+
+    public void begin() {
+        CURRENT.set(new RequestProfile());
+    }
+
+    /**
+     * Ends the current request's profile and records it for the endpoint,
+     * e.g. "GET /api/invoices/{id}". Returns the budget violations, empty when within budget.
+     */
+    public List<String> end(String endpoint, QueryBudget budget) {
+        RequestProfile profile = CURRENT.get();
+        CURRENT.remove();
+        if (profile == null) {
+            return List.of();
+        }
+
+        String worstShape = null;
+        int worstCount = 0;
+        for (Map.Entry<String, Integer> entry : profile.shapes.entrySet()) {
+            if (entry.getValue() > worstCount) {
+                worstShape = entry.getKey();
+                worstCount = entry.getValue();
+            }
+        }
+
+        int statementBudget = budget != null ? budget.statements() : defaultBudget;
+        int sameStatementLimit = budget != null && budget.sameStatement() > 0 ? budget.sameStatement() : repeatLimit;
+        List<String> violations = new ArrayList<>();
+        if (profile.statements > statementBudget) {
+            violations.add(endpoint + " ran " + profile.statements + " SQL statements (budget "
+                    + statementBudget + ")");
+        }
+        if (worstCount > sameStatementLimit) {
+            violations.add(endpoint + " ran the same statement " + worstCount + " times (limit "
+                    + sameStatementLimit + "): " + abbreviate(worstShape));
+        }
+
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.requests.increment();
+        stats.statements.add(profile.statements);
+        stats.entities.add(profile.entities);
+        stats.jdbcNanos.add(profile.jdbcNanos);
+        stats.maxStatements.accumulateAndGet(profile.statements, Math::max);
+        if (worstCount > 1) {
+            synchronized (stats) {
+                if (worstCount > stats.worstShapeCount) {
+                    stats.worstShape = worstShape;
+                    stats.worstShapeCount = worstCount;
+                }
+            }
+        }
+        if (!violations.isEmpty()) {
+            stats.violations.increment();
+            for (String violation : violations) {
+                System.err.println("⚠ SQL budget: " + violation);
+            }
+        }
+        return violations;
+    }
+
+    /* ===============================
+       REPORTING
+       =============================== */
+
+    /**
+     * Endpoints by budget violations, then by most statements in one request.
+     */
+    public List<Map<String, Object>> getTopOffenders(int limit) {
+        List<Map.Entry<String, EndpointStats>> entries = new ArrayList<>(endpoints.entrySet());
+        entries.sort(Comparator
+                .comparingLong((Map.Entry<String, EndpointStats> e) -> e.getValue().violations.sum()).reversed()
+                .thenComparing(e -> e.getValue().maxStatements.get(), Comparator.reverseOrder()));
+
+        List<Map<String, Object>> top = new ArrayList<>();
+        for (Map.Entry<String, EndpointStats> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            EndpointStats stats = entry.getValue();
+            long requests = Math.max(1, stats.requests.sum());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey());
+            row.put("requests", stats.requests.sum());
+            row.put("violations", stats.violations.sum());
+            row.put("avgStatements", (double) stats.statements.sum() / requests);
+            row.put("maxStatements", stats.maxStatements.get());
+            row.put("avgEntitiesLoaded", (double) stats.entities.sum() / requests);
+            row.put("avgJdbcMillis", stats.jdbcNanos.sum() / 1_000_000.0 / requests);
+            synchronized (stats) {
+                row.put("mostRepeatedStatement", stats.worstShape);
+                row.put("mostRepeatedCount", stats.worstShapeCount);
+            }
+            top.add(row);
+        }
+        return top;
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= 200 ? sql : sql.substring(0, 200) + "...";
+    }
+}
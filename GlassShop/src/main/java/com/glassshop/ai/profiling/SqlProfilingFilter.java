@@ -0,0 +1,64 @@
+package com.glassshop.ai.profiling;
+
+import java.io.IOException;
+import java.util.List;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Profiles the SQL of each request (SqlProfiler), including the security
+ * filters' own lookups. Registered in SqlProfilingConfig ahead of the
+ * security chain.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private final SqlProfiler sqlProfiler;
+
+    public SqlProfilingFilter(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!sqlProfiler.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        sqlProfiler.begin();
+        List<String> violations;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            violations = sqlProfiler.end(endpoint(request), budget(request));
+        }
+        if (!violations.isEmpty() && sqlProfiler.isFailOnViolation()) {
+            throw new QueryBudgetExceededException(String.join("; ", violations));
+        }
+    }
+
+    /**
+     * "GET /api/invoices/{id}": the matched mapping, so ids do not make every request its own endpoint.
+     */
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+    }
+
+    private static QueryBudget budget(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        return handler instanceof HandlerMethod method ? method.getMethodAnnotation(QueryBudget.class) : null;
+    }
+}
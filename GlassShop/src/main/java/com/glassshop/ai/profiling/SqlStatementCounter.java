@@ -0,0 +1,16 @@
+package com.glassshop.ai.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate hands every SQL statement it prepares to this inspector; it is
+ * counted against the current request and passed through unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlProfiler.statement(sql);
+        return sql;
+    }
+}
@@ -6,10 +6,12 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.AuditLog;
 import com.glassshop.ai.entity.Shop;
 
+@Transactional(readOnly = true)
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
 	List<AuditLog> findTop10ByShopIdOrderByTimestampDesc(Long shopId);
@@ -33,6 +35,18 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             LocalDateTime end
     );
 
+    // 🔹 Movements of a glass type by piece size (mm), newest first
+    @Query("""
+        SELECT a
+        FROM AuditLog a
+        WHERE a.shop = :shop AND a.glassType = :glassType
+          AND a.heightMm BETWEEN :minHeightMm AND :maxHeightMm
+          AND a.widthMm BETWEEN :minWidthMm AND :maxWidthMm
+        ORDER BY a.timestamp DESC
+    """)
+    List<AuditLog> findBySizeRange(Shop shop, String glassType,
+            double minHeightMm, double maxHeightMm, double minWidthMm, double maxWidthMm);
+
     // 🔹 Most used glass types
     @Query("""
         SELECT a.glassType, SUM(a.quantity)
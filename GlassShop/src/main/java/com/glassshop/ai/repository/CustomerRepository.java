@@ -5,11 +5,13 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Customer;
 import com.glassshop.ai.entity.Shop;
 
 @Repository
+@Transactional(readOnly = true)
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     List<Customer> findByShop(Shop shop);
     List<Customer> findByShopOrderByNameAsc(Shop shop);
@@ -3,9 +3,11 @@ package com.glassshop.ai.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Glass;
 
+@Transactional(readOnly = true)
 public interface GlassRepository extends JpaRepository<Glass, Long> {
 
 	Glass findByType(String type);
@@ -2,15 +2,19 @@ package com.glassshop.ai.repository;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Installation;
 
 @Repository
+@Transactional(readOnly = true)
 public interface InstallationRepository extends JpaRepository<Installation, Long> {
 
+	@EntityGraph(attributePaths = "glass")
 	List<Installation> findBySite_ClientName(String clientName);
 	
 	 @Query(value = """
@@ -4,14 +4,17 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Invoice;
 import com.glassshop.ai.entity.InvoiceItem;
 
 @Repository
+@Transactional(readOnly = true)
 public interface InvoiceItemRepository extends JpaRepository<InvoiceItem, Long> {
     List<InvoiceItem> findByInvoice(Invoice invoice);
     List<InvoiceItem> findByInvoiceOrderByItemOrderAsc(Invoice invoice);
+    @Transactional
     void deleteByInvoice(Invoice invoice);
 }
 
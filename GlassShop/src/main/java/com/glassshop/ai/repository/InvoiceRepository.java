@@ -1,10 +1,14 @@
 package com.glassshop.ai.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Customer;
 import com.glassshop.ai.entity.Invoice;
@@ -15,10 +19,17 @@ import com.glassshop.ai.enums.InvoiceType;
 import com.glassshop.ai.enums.PaymentStatus;
 
 @Repository
+@Transactional(readOnly = true)
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     List<Invoice> findByShop(Shop shop);
+
+    // Listings: items fetched with the invoices, payments by fetchPayments (two bags cannot share one join)
+    @EntityGraph(attributePaths = "items")
     List<Invoice> findByShopOrderByCreatedAtDesc(Shop shop);
+
+    @EntityGraph(attributePaths = "items")
     List<Invoice> findByShopAndPaymentStatus(Shop shop, PaymentStatus paymentStatus);
+
     List<Invoice> findByShopAndBillingType(Shop shop, BillingType billingType);
     List<Invoice> findByShopAndInvoiceType(Shop shop, InvoiceType invoiceType);
     List<Invoice> findByCustomer(Customer customer);
@@ -26,5 +37,31 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     Optional<Invoice> findByInvoiceNumberAndShop(String invoiceNumber, Shop shop);
     List<Invoice> findByShopAndCustomerOrderByCreatedAtDesc(Shop shop, Customer customer);
+
+    // Id + invoice number only, so bulk export does not load every invoice up front
+    @Query("""
+        SELECT i.id, i.invoiceNumber
+        FROM Invoice i
+        WHERE i.shop = :shop AND i.invoiceDate BETWEEN :from AND :to
+        ORDER BY i.invoiceDate, i.id
+    """)
+    List<Object[]> findExportRowsByShopAndInvoiceDateBetween(Shop shop, LocalDate from, LocalDate to);
+
+    // Loads the payments of already-loaded invoices in one query
+    @Query("""
+        SELECT DISTINCT i FROM Invoice i
+        LEFT JOIN FETCH i.payments
+        WHERE i IN :invoices
+    """)
+    List<Invoice> fetchPayments(List<Invoice> invoices);
+
+    // Everything the invoice PDF reads: shop header and items
+    @Query("""
+        SELECT DISTINCT i FROM Invoice i
+        JOIN FETCH i.shop
+        LEFT JOIN FETCH i.items
+        WHERE i.id = :id
+    """)
+    Optional<Invoice> findWithItemsById(Long id);
 }
 
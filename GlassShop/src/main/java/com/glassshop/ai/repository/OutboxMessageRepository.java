@@ -0,0 +1,19 @@
+package com.glassshop.ai.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.glassshop.ai.entity.OutboxMessage;
+import com.glassshop.ai.enums.OutboxStatus;
+
+@Repository
+@Transactional(readOnly = true)
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+	List<OutboxMessage> findTop50ByShopIdOrderByCreatedAtDesc(Long shopId);
+
+	List<OutboxMessage> findTop50ByShopIdAndStatusOrderByCreatedAtDesc(Long shopId, OutboxStatus status);
+}
@@ -4,14 +4,17 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Invoice;
 import com.glassshop.ai.entity.Payment;
 
 @Repository
+@Transactional(readOnly = true)
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByInvoice(Invoice invoice);
     List<Payment> findByInvoiceOrderByPaymentDateDesc(Invoice invoice);
+    @Transactional
     void deleteByInvoice(Invoice invoice);
 }
 
@@ -4,14 +4,17 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Quotation;
 import com.glassshop.ai.entity.QuotationItem;
 
 @Repository
+@Transactional(readOnly = true)
 public interface QuotationItemRepository extends JpaRepository<QuotationItem, Long> {
     List<QuotationItem> findByQuotation(Quotation quotation);
     List<QuotationItem> findByQuotationOrderByItemOrderAsc(Quotation quotation);
+    @Transactional
     void deleteByQuotation(Quotation quotation);
 }
 
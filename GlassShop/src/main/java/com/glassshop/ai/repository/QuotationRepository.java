@@ -1,10 +1,14 @@
 package com.glassshop.ai.repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Customer;
 import com.glassshop.ai.entity.Quotation;
@@ -13,14 +17,39 @@ import com.glassshop.ai.enums.BillingType;
 import com.glassshop.ai.enums.QuotationStatus;
 
 @Repository
+@Transactional(readOnly = true)
 public interface QuotationRepository extends JpaRepository<Quotation, Long> {
     List<Quotation> findByShop(Shop shop);
+
+    // Listings: items fetched with the quotations
+    @EntityGraph(attributePaths = "items")
     List<Quotation> findByShopOrderByCreatedAtDesc(Shop shop);
+
+    @EntityGraph(attributePaths = "items")
     List<Quotation> findByShopAndStatus(Shop shop, QuotationStatus status);
+
     List<Quotation> findByShopAndBillingType(Shop shop, BillingType billingType);
     List<Quotation> findByCustomer(Customer customer);
     Optional<Quotation> findByQuotationNumber(String quotationNumber);
     Optional<Quotation> findByQuotationNumberAndShop(String quotationNumber, Shop shop);
     List<Quotation> findByShopAndCustomerOrderByCreatedAtDesc(Shop shop, Customer customer);
+
+    // Id + quotation number only, so bulk export does not load every quotation up front
+    @Query("""
+        SELECT q.id, q.quotationNumber
+        FROM Quotation q
+        WHERE q.shop = :shop AND q.quotationDate BETWEEN :from AND :to
+        ORDER BY q.quotationDate, q.id
+    """)
+    List<Object[]> findExportRowsByShopAndQuotationDateBetween(Shop shop, LocalDate from, LocalDate to);
+
+    // Everything the quotation PDF reads: shop header and items
+    @Query("""
+        SELECT DISTINCT q FROM Quotation q
+        JOIN FETCH q.shop
+        LEFT JOIN FETCH q.items
+        WHERE q.id = :id
+    """)
+    Optional<Quotation> findWithItemsById(Long id);
 }
 
@@ -1,9 +1,11 @@
 package com.glassshop.ai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Shop;
 
+@Transactional(readOnly = true)
 public interface ShopRepository extends JpaRepository<Shop, Long> {
 
 }
@@ -1,8 +1,10 @@
 package com.glassshop.ai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import com.glassshop.ai.entity.StockHistory;
 
+@Transactional(readOnly = true)
 public interface StockHistoryRepository extends JpaRepository<StockHistory, Long> {
 
     StockHistory findTopByShopIdOrderByCreatedAtDesc(Long shopId);
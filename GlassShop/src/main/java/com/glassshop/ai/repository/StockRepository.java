@@ -1,19 +1,27 @@
 package com.glassshop.ai.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.Glass;
 import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.Stock;
 
 @Repository
+@Transactional(readOnly = true)
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
+	// Stock listings read the glass (type, thickness, unit) of every line, so they
+	// fetch it in the same query; the low-stock alert across shops also needs the shop.
+	@EntityGraph(attributePaths = {"glass", "shop"})
 	@Query("""
 		    SELECT s FROM Stock s
 		    WHERE s.quantity < s.minQuantity
@@ -25,6 +33,8 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
 	Optional<Stock> findByGlass_Id(Long glassId);
 	
 	List<Stock> findAll();
+
+	@EntityGraph(attributePaths = "glass")
 	@Query("""
 		    SELECT s FROM Stock s
 		    WHERE s.shop.id = :shopId
@@ -32,8 +42,45 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
 		""")
 		List<Stock> findLowStockByShopId(Long shopId);
 
+	@EntityGraph(attributePaths = "glass")
 	List<Stock> findByShopId(Long shopId);
+
+	@EntityGraph(attributePaths = "glass")
+	@Query("""
+		    SELECT s FROM Stock s
+		    WHERE s.shop.id = :shopId
+		      AND s.quantity > 0
+		""")
+		List<Stock> findInStockByShopId(Long shopId);
+
+	@Query("""
+		    SELECT MAX(s.updatedAt) FROM Stock s
+		    WHERE s.shop.id = :shopId
+		""")
+		LocalDateTime findLastUpdatedAtByShopId(Long shopId);
+
+	/**
+	 * In-stock sheets of a glass type at least minHeightMm x minWidthMm, either way round,
+	 * smallest first. Runs on the indexed height_mm / width_mm columns.
+	 */
+	@EntityGraph(attributePaths = "glass")
+	@Query("""
+		    SELECT s FROM Stock s
+		    WHERE s.shop.id = :shopId
+		      AND s.glass.type = :glassType
+		      AND s.quantity > 0
+		      AND ((s.heightMm >= :minHeightMm AND s.widthMm >= :minWidthMm)
+		        OR (s.heightMm >= :minWidthMm AND s.widthMm >= :minHeightMm))
+		    ORDER BY s.areaSqmm ASC
+		""")
+		List<Stock> findSheetsAtLeast(Long shopId, String glassType, double minHeightMm, double minWidthMm);
+
+	@EntityGraph(attributePaths = "glass")
 	List<Stock> findByShop(Shop shop);
+
+	@EntityGraph(attributePaths = "glass")
+	List<Stock> findByIdIn(Collection<Long> ids);
+
 	Optional<Stock> findByGlass_IdAndShop_Id(Long glassId, Long shopId);
 	
 
@@ -0,0 +1,19 @@
+package com.glassshop.ai.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.glassshop.ai.entity.StockReservation;
+import com.glassshop.ai.enums.ReservationStatus;
+
+@Repository
+@Transactional(readOnly = true)
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+	List<StockReservation> findByQuotationIdAndStatus(Long quotationId, ReservationStatus status);
+
+	List<StockReservation> findByShopIdAndStatus(Long shopId, ReservationStatus status);
+}
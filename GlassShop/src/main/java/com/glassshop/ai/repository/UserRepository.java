@@ -3,13 +3,25 @@ package com.glassshop.ai.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.User;
 
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
 
+	// Every caller goes on to the user's shop: fetched in the same query.
+	// Not read-only: login, sign-up and the tenant lookup run before any shop is bound,
+	// so a replica read could miss a user just registered or see an old password.
+	// Inside a read-only service transaction it follows the caller.
+	@Transactional(propagation = Propagation.SUPPORTS)
+	@EntityGraph(attributePaths = "shop")
 	Optional<User> findByUserName(String username);
+
+	@EntityGraph(attributePaths = "shop")
 	List<User> findByShopIdAndRole(Long shopId, String role);
 
 }
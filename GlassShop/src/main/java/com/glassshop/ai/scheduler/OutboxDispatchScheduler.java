@@ -0,0 +1,31 @@
+package com.glassshop.ai.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.glassshop.ai.service.OutboxDispatchService;
+
+/**
+ * Sends queued WhatsApp messages. A run only claims and starts requests, so it
+ * never holds the scheduler thread for a slow provider.
+ */
+@Component
+public class OutboxDispatchScheduler {
+
+    @Autowired
+    private OutboxDispatchService outboxDispatchService;
+
+    /**
+     * Every 2 seconds by default (whatsapp.outbox.poll-interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${whatsapp.outbox.poll-interval-ms:2000}",
+            initialDelayString = "${whatsapp.outbox.initial-delay-ms:10000}")
+    public void dispatch() {
+        try {
+            outboxDispatchService.dispatch();
+        } catch (Exception e) {
+            System.err.println("❌ Error dispatching WhatsApp messages: " + e.getMessage());
+        }
+    }
+}
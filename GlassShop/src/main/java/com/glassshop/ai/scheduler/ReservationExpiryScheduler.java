@@ -0,0 +1,33 @@
+package com.glassshop.ai.scheduler;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.glassshop.ai.service.StockReservationService;
+
+/**
+ * Releases stock holds whose quotation is no longer valid.
+ * One indexed query per run (active holds ordered by expires_at), not a check per hold.
+ */
+@Component
+public class ReservationExpiryScheduler {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    /**
+     * Every minute by default (reservation.sweep-interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${reservation.sweep-interval-ms:60000}", initialDelay = 30000)
+    public void expireHolds() {
+        try {
+            int expired = stockReservationService.expireDue();
+            if (expired > 0) {
+                System.out.println("✅ Expired " + expired + " stock hold(s)");
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error expiring stock holds: " + e.getMessage());
+        }
+    }
+}
@@ -2,10 +2,17 @@ package com.glassshop.ai.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class JwtUtil {
@@ -15,6 +22,48 @@ public class JwtUtil {
 
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // Immutable and thread-safe, so one parser serves every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // Recently verified tokens (SHA-256 of the token -> its claims); 0 disables
+    @Value("${jwt.verified-cache-size:1024}")
+    private int verifiedCacheSize = 1024;
+
+    // Access-ordered map = LRU; guarded by its own monitor
+    private final LinkedHashMap<String, VerifiedToken> verified = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > verifiedCacheSize;
+        }
+    };
+
+    /**
+     * The claims the filter needs from a token whose signature and expiry were checked.
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final String role;
+        private final long expiresAtMillis;
+
+        VerifiedToken(String username, String role, long expiresAtMillis) {
+            this.username = username;
+            this.role = role;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+
     public String generateToken(String username, String role) {
         return Jwts.builder()
                 .setSubject(username)
@@ -25,9 +74,36 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verify the token once and return its subject and role. A token verified
+     * recently is answered from the cache until it expires, without checking
+     * the signature again. Throws JwtException for an invalid or expired token.
+     */
+    public VerifiedToken verify(String token) {
+        if (verifiedCacheSize <= 0) {
+            return parse(token);
+        }
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+        synchronized (verified) {
+            VerifiedToken cached = verified.get(digest);
+            if (cached != null) {
+                if (now < cached.expiresAtMillis) {
+                    return cached;
+                }
+                verified.remove(digest);
+            }
+        }
+        VerifiedToken parsed = parse(token); // outside the lock; throws when expired
+        synchronized (verified) {
+            verified.put(digest, parsed);
+        }
+        return parsed;
+    }
+
     public boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
+            verify(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -35,18 +111,26 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return verify(token).getUsername();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
+        return verify(token).getRole();
+    }
+
+    private VerifiedToken parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Date expiration = claims.getExpiration();
+        return new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String digest(String token) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
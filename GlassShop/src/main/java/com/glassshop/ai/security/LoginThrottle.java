@@ -0,0 +1,105 @@
+package com.glassshop.ai.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token-bucket throttling of login attempts, per username and per client IP.
+ *
+ * Each key gets a bucket holding up to "capacity" attempts that refills at
+ * "refill-per-minute"; an attempt takes one token from both buckets or is
+ * refused with TooManyRequestsException. Buckets that have refilled to full
+ * carry no state worth keeping and are dropped when the map grows past
+ * max-keys, so a spray of usernames cannot grow it without bound.
+ */
+@Component
+public class LoginThrottle {
+
+    @Value("${auth.throttle.user.capacity:10}")
+    private int userCapacity = 10;
+
+    @Value("${auth.throttle.user.refill-per-minute:10}")
+    private int userRefillPerMinute = 10;
+
+    @Value("${auth.throttle.ip.capacity:30}")
+    private int ipCapacity = 30;
+
+    @Value("${auth.throttle.ip.refill-per-minute:30}")
+    private int ipRefillPerMinute = 30;
+
+    @Value("${auth.throttle.max-keys:10000}")
+    private int maxKeys = 10000;
+
+    private final Map<String, Bucket> users = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> ips = new ConcurrentHashMap<>();
+
+    static final class Bucket {
+        private final int capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int capacity, int refillPerMinute, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized boolean tryTake(long now) {
+            refill(now);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized void giveBack() {
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        synchronized long secondsUntilToken(long now) {
+            refill(now);
+            return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000_000.0);
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+
+    /**
+     * Take one attempt for the username and the IP, or throw TooManyRequestsException.
+     */
+    public void acquire(String username, String ip) {
+        long now = System.nanoTime();
+        Bucket ipBucket = bucket(ips, ip, ipCapacity, ipRefillPerMinute, now);
+        if (!ipBucket.tryTake(now)) {
+            throw new TooManyRequestsException("Too many login attempts. Please wait and try again.",
+                    ipBucket.secondsUntilToken(now));
+        }
+        Bucket userBucket = bucket(users, username.trim().toLowerCase(), userCapacity, userRefillPerMinute, now);
+        if (!userBucket.tryTake(now)) {
+            ipBucket.giveBack();
+            throw new TooManyRequestsException("Too many login attempts for this user. Please wait and try again.",
+                    userBucket.secondsUntilToken(now));
+        }
+    }
+
+    private Bucket bucket(Map<String, Bucket> buckets, String key, int capacity, int refillPerMinute, long now) {
+        if (buckets.size() > maxKeys) {
+            buckets.values().removeIf(b -> b.isFull(now));
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(capacity, refillPerMinute, now));
+    }
+}
@@ -26,6 +26,9 @@ public class SecurityConfig {
     @Autowired
     private JwtFilter jwtFilter;
 
+    @Autowired
+    private TenantRateLimiter tenantRateLimiter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -49,6 +52,12 @@ public class SecurityConfig {
                     "/auth/register-shop"
                 ).permitAll()
 
+                // ✅ METRICS - scraped by Prometheus; keep /actuator reachable only from the monitoring network
+                .requestMatchers(
+                    "/actuator/health",
+                    "/actuator/prometheus"
+                ).permitAll()
+
                 // ✅ PROFILE (ANY LOGGED IN USER)
                 .requestMatchers("/auth/profile")
                 .authenticated()
@@ -82,7 +91,10 @@ public class SecurityConfig {
             )
 
             // ✅ JWT FILTER
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+
+            // ✅ PER-SHOP RATE LIMITS (needs the user JwtFilter just set)
+            .addFilterAfter(new TenantRateLimitFilter(tenantRateLimiter), JwtFilter.class);
 
         return http.build();
     }
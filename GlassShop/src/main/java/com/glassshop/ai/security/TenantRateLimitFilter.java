@@ -0,0 +1,63 @@
+package com.glassshop.ai.security;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.glassshop.ai.datasource.ReadWriteRoutingDataSource;
+
+/**
+ * Applies the shop's request budget (TenantRateLimiter) once JwtFilter has
+ * authenticated the request; over budget gets 429 with Retry-After.
+ *
+ * Deliberately not a bean: it is added to the security chain in
+ * SecurityConfig, right after JwtFilter, and must not also be registered as a
+ * servlet filter ahead of authentication.
+ */
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+
+    private final TenantRateLimiter tenantRateLimiter;
+
+    public TenantRateLimitFilter(TenantRateLimiter tenantRateLimiter) {
+        this.tenantRateLimiter = tenantRateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = tenantRateLimiter.tryAcquire(auth.getName(), TenantRateLimiter.classify(request));
+        if (retryAfter > 0) {
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many requests for this shop. Please try again shortly.");
+            return;
+        }
+
+        // The shop's own writes are read back from the primary for a while (read-replica routing)
+        ReadWriteRoutingDataSource.bindTenant(tenantRateLimiter.shopId(auth.getName()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearTenant();
+        }
+    }
+}
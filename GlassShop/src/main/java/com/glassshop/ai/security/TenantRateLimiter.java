@@ -0,0 +1,237 @@
+package com.glassshop.ai.security;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Per-shop request budgets, so one shop's runaway client cannot use up the
+ * request threads and database connections every shop shares.
+ *
+ * Each shop has one bucket per request class (read, write, heavy), sized by
+ * its plan: tenant.rate-limit.<plan>.<class>.per-minute and .burst, falling
+ * back to the "standard" plan. Buckets use GCRA: a single AtomicLong holds the
+ * time the bucket is next empty, updated by compare-and-set, so the request
+ * path takes no lock. Counters of allowed and throttled requests are kept per
+ * shop and class, and exported as glassshop.ratelimit.requests.
+ */
+@Component
+public class TenantRateLimiter {
+
+    public enum RequestClass {
+        READ, WRITE, HEAVY
+    }
+
+    private static final String DEFAULT_PLAN = "standard";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Value("${tenant.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    // How long a user's shop and plan are remembered before they are looked up again
+    @Value("${tenant.rate-limit.tenant-cache-seconds:300}")
+    private long tenantCacheSeconds = 300;
+
+    private final Map<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final Map<Long, ShopBudget> budgets = new ConcurrentHashMap<>();
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    private record Tenant(Long shopId, String plan, long loadedAt) {
+    }
+
+    /**
+     * GCRA parameters: one request every intervalNanos, up to burst at once.
+     */
+    private record Limit(long intervalNanos, long toleranceNanos) {
+    }
+
+    private static final class ShopBudget {
+        final String plan;
+        final Map<RequestClass, AtomicLong> emptyAt = new EnumMap<>(RequestClass.class);
+        final Map<RequestClass, LongAdder> allowed = new EnumMap<>(RequestClass.class);
+        final Map<RequestClass, LongAdder> throttled = new EnumMap<>(RequestClass.class);
+
+        ShopBudget(String plan) {
+            this.plan = plan;
+            for (RequestClass requestClass : RequestClass.values()) {
+                emptyAt.put(requestClass, new AtomicLong(Long.MIN_VALUE));
+                allowed.put(requestClass, new LongAdder());
+                throttled.put(requestClass, new LongAdder());
+            }
+        }
+    }
+
+    /**
+     * PDFs, exports and AI calls are heavy; other GETs are reads; everything else writes.
+     */
+    public static RequestClass classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith("/ai/") || path.endsWith("/export") || path.contains("/download")
+                || path.contains("/print") || path.endsWith("/pdf") || path.endsWith("/cutting-plan")) {
+            return RequestClass.HEAVY;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? RequestClass.READ : RequestClass.WRITE;
+    }
+
+    /**
+     * Take one request from the user's shop budget. Returns 0 if allowed,
+     * otherwise the seconds until the next request of this class would be.
+     * Users without a shop are not limited.
+     */
+    public long tryAcquire(String username, RequestClass requestClass) {
+        if (!enabled) {
+            return 0;
+        }
+        Tenant tenant = tenant(username);
+        if (tenant == null) {
+            return 0;
+        }
+        ShopBudget budget = budgets.get(tenant.shopId());
+        if (budget == null || !budget.plan.equals(tenant.plan())) {
+            budget = budgets.compute(tenant.shopId(), (id, current) ->
+                    current != null && current.plan.equals(tenant.plan()) ? current : new ShopBudget(tenant.plan()));
+            registerMeters(tenant.shopId());
+        }
+        Limit limit = limit(tenant.plan(), requestClass);
+        AtomicLong emptyAt = budget.emptyAt.get(requestClass);
+
+        long now = System.nanoTime();
+        while (true) {
+            long current = emptyAt.get();
+            long base = current == Long.MIN_VALUE || current < now ? now : current;
+            if (base - now > limit.toleranceNanos()) {
+                budget.throttled.get(requestClass).increment();
+                long waitNanos = base - now - limit.toleranceNanos();
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            }
+            if (emptyAt.compareAndSet(current, base + limit.intervalNanos())) {
+                budget.allowed.get(requestClass).increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * The user's shop id, from the same cache as the plan; null for users without a shop.
+     */
+    public Long shopId(String username) {
+        Tenant tenant = tenant(username);
+        return tenant != null ? tenant.shopId() : null;
+    }
+
+    /**
+     * Allowed and throttled request counts of one shop, by request class.
+     */
+    public Map<String, Object> getStats(Long shopId) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("shopId", shopId);
+        ShopBudget budget = budgets.get(shopId);
+        stats.put("plan", budget != null ? budget.plan : null);
+        for (RequestClass requestClass : RequestClass.values()) {
+            String name = requestClass.name().toLowerCase(Locale.ROOT);
+            Limit limit = limit(budget != null ? budget.plan : DEFAULT_PLAN, requestClass);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("perMinute", TimeUnit.MINUTES.toNanos(1) / limit.intervalNanos());
+            entry.put("allowed", budget != null ? budget.allowed.get(requestClass).sum() : 0L);
+            entry.put("throttled", budget != null ? budget.throttled.get(requestClass).sum() : 0L);
+            stats.put(name, entry);
+        }
+        return stats;
+    }
+
+    /**
+     * Allowed and throttled counts of every shop seen so far, for metrics.
+     */
+    public Map<Long, Map<String, Object>> getAllStats() {
+        Map<Long, Map<String, Object>> all = new LinkedHashMap<>();
+        budgets.keySet().forEach(shopId -> all.put(shopId, getStats(shopId)));
+        return all;
+    }
+
+    /**
+     * Counters read the shop's current budget, so a plan change (new budget) keeps the same meters.
+     * Registering an existing meter again is a no-op.
+     */
+    private void registerMeters(Long shopId) {
+        for (RequestClass requestClass : RequestClass.values()) {
+            String name = requestClass.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("glassshop.ratelimit.requests", this,
+                            limiter -> limiter.count(shopId, requestClass, false))
+                    .tag("shop", String.valueOf(shopId)).tag("class", name).tag("outcome", "allowed")
+                    .register(meterRegistry);
+            FunctionCounter.builder("glassshop.ratelimit.requests", this,
+                            limiter -> limiter.count(shopId, requestClass, true))
+                    .tag("shop", String.valueOf(shopId)).tag("class", name).tag("outcome", "throttled")
+                    .register(meterRegistry);
+        }
+    }
+
+    private double count(Long shopId, RequestClass requestClass, boolean throttled) {
+        ShopBudget budget = budgets.get(shopId);
+        if (budget == null) {
+            return 0;
+        }
+        return (throttled ? budget.throttled : budget.allowed).get(requestClass).sum();
+    }
+
+    private Tenant tenant(String username) {
+        long now = System.nanoTime();
+        Tenant cached = tenants.get(username);
+        if (cached != null && now - cached.loadedAt() < TimeUnit.SECONDS.toNanos(tenantCacheSeconds)) {
+            return cached.shopId() != null ? cached : null;
+        }
+        Shop shop = userRepository.findByUserName(username).map(User::getShop).orElse(null);
+        String plan = shop != null && shop.getPlan() != null ? shop.getPlan().toLowerCase(Locale.ROOT) : DEFAULT_PLAN;
+        Tenant tenant = new Tenant(shop != null ? shop.getId() : null, plan, now);
+        tenants.put(username, tenant);
+        return tenant.shopId() != null ? tenant : null;
+    }
+
+    private Limit limit(String plan, RequestClass requestClass) {
+        return limits.computeIfAbsent(plan + "." + requestClass, key -> {
+            String name = requestClass.name().toLowerCase(Locale.ROOT);
+            long perMinute = property(plan, name + ".per-minute");
+            long burst = property(plan, name + ".burst");
+            long interval = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            return new Limit(interval, interval * Math.max(0, burst - 1));
+        });
+    }
+
+    private long property(String plan, String key) {
+        String value = environment.getProperty("tenant.rate-limit." + plan + "." + key);
+        if (value == null) {
+            value = environment.getProperty("tenant.rate-limit." + DEFAULT_PLAN + "." + key, "60");
+        }
+        return Long.parseLong(value.trim());
+    }
+}
@@ -0,0 +1,18 @@
+package com.glassshop.ai.security;
+
+/**
+ * Thrown when a login is throttled or the password hashing pool is full; answered with 429.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.glassshop.ai.entity.AuditLog;
 import com.glassshop.ai.entity.Shop;
@@ -48,6 +49,7 @@ public class AiStockAdvisorService {
      * @param question Natural language question from user
      * @return Human-readable response with insights
      */
+    @Transactional(readOnly = true)
     public String getAdvice(String question) {
         if (question == null || question.trim().isEmpty()) {
             return "Please ask a question about your stock. For example: 'What should I reorder?'";
@@ -13,6 +13,8 @@ import com.glassshop.ai.dto.CustomerDto;
 import com.glassshop.ai.entity.Customer;
 import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
 import com.glassshop.ai.repository.CustomerRepository;
 import com.glassshop.ai.repository.UserRepository;
 
@@ -25,6 +27,9 @@ public class CustomerService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ShopDataVersions shopDataVersions;
+
     private Shop getCurrentShop() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
@@ -56,9 +61,11 @@ public class CustomerService {
         customer.setPincode(customerDto.getPincode());
         
         Customer saved = customerRepository.save(customer);
+        shopDataVersions.changed(shop.getId(), ShopResource.CUSTOMERS);
         return convertToDto(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<CustomerDto> getAllCustomers() {
         Shop shop = getCurrentShop();
         return customerRepository.findByShopOrderByNameAsc(shop)
@@ -67,6 +74,7 @@ public class CustomerService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public CustomerDto getCustomerById(Long id) {
         Shop shop = getCurrentShop();
         Customer customer = customerRepository.findById(id)
@@ -99,9 +107,11 @@ public class CustomerService {
         customer.setPincode(customerDto.getPincode());
         
         Customer saved = customerRepository.save(customer);
+        shopDataVersions.changed(shop.getId(), ShopResource.CUSTOMERS);
         return convertToDto(saved);
     }
 
+    @Transactional(readOnly = true)
     public List<CustomerDto> searchCustomers(String query) {
         Shop shop = getCurrentShop();
         return customerRepository.findByShopAndNameContainingIgnoreCase(shop, query)
@@ -121,6 +131,7 @@ public class CustomerService {
         }
         
         customerRepository.delete(customer);
+        shopDataVersions.changed(shop.getId(), ShopResource.CUSTOMERS);
     }
 
     private CustomerDto convertToDto(Customer customer) {
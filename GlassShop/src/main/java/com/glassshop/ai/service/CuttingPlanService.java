@@ -0,0 +1,244 @@
+package com.glassshop.ai.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.glassshop.ai.cutting.CutPiece;
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.cutting.GuillotinePacker;
+import com.glassshop.ai.cutting.StockSheet;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.entity.StockReservation;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.enums.QuotationStatus;
+import com.glassshop.ai.enums.ReservationStatus;
+import com.glassshop.ai.repository.QuotationRepository;
+import com.glassshop.ai.repository.StockRepository;
+import com.glassshop.ai.repository.StockReservationRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.util.DimensionParser;
+
+/**
+ * Plans how quotation pieces are cut from the sheets in stock.
+ *
+ * Items are grouped by glass type and thickness; each group is packed onto the
+ * in-stock sheets of that thickness with GuillotinePacker. All sizes are
+ * converted to whole millimetres: pieces are rounded up, sheets down.
+ *
+ * Only sheets not held for other quotations count as in stock; the planned
+ * quotations' own holds are added back.
+ */
+@Service
+public class CuttingPlanService {
+
+    @Autowired
+    private QuotationRepository quotationRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Value("${cutting.kerf-mm:3}")
+    private int kerfMm = 3;
+
+    private Shop getCurrentShop() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            throw new RuntimeException("User not authenticated");
+        }
+        String username = auth.getName();
+        User user = userRepository.findByUserName(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Shop shop = user.getShop();
+        if (shop == null) {
+            throw new RuntimeException("Shop not found");
+        }
+        return shop;
+    }
+
+    /**
+     * Combined plan for several confirmed quotations of the current shop.
+     */
+    @Transactional(readOnly = true)
+    public List<CuttingPlan> planForQuotations(List<Long> quotationIds) {
+        if (quotationIds == null || quotationIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one quotation is required");
+        }
+        Shop shop = getCurrentShop();
+        List<Quotation> quotations = new ArrayList<>();
+        for (Long id : quotationIds) {
+            Quotation quotation = quotationRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Quotation not found"));
+            if (!quotation.getShop().getId().equals(shop.getId())) {
+                throw new RuntimeException("Unauthorized access to quotation");
+            }
+            if (quotation.getStatus() != QuotationStatus.CONFIRMED) {
+                throw new IllegalArgumentException("Quotation " + quotation.getQuotationNumber() + " is not confirmed");
+            }
+            quotations.add(quotation);
+        }
+        return plan(quotations, stockRepository.findInStockByShopId(shop.getId()), ownHolds(quotations));
+    }
+
+    /**
+     * Plan for a single quotation (any status), as printed on its cutting pad.
+     */
+    @Transactional(readOnly = true)
+    public List<CuttingPlan> planForQuotation(Quotation quotation) {
+        return plan(List.of(quotation), stockRepository.findInStockByShopId(quotation.getShop().getId()),
+                ownHolds(List.of(quotation)));
+    }
+
+    /**
+     * Plan a quotation onto the sheets held for it only; its unplaced pieces are
+     * the ones those holds do not cover.
+     */
+    @Transactional(readOnly = true)
+    public List<CuttingPlan> planOnHolds(Quotation quotation) {
+        Map<Long, Integer> held = ownHolds(List.of(quotation));
+        return plan(List.of(quotation), stockRepository.findInStockByShopId(quotation.getShop().getId()),
+                line -> held.getOrDefault(line.getId(), 0));
+    }
+
+    /**
+     * Sheets per stock line currently held for the given quotations.
+     */
+    private Map<Long, Integer> ownHolds(List<Quotation> quotations) {
+        Map<Long, Integer> held = new LinkedHashMap<>();
+        for (Quotation quotation : quotations) {
+            if (quotation.getId() == null) {
+                continue;
+            }
+            for (StockReservation hold : reservationRepository.findByQuotationIdAndStatus(quotation.getId(),
+                    ReservationStatus.ACTIVE)) {
+                held.merge(hold.getStockId(), hold.getQuantity(), Integer::sum);
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Last stock change of the shop; a cached cutting pad older than this may show sheets no longer in stock.
+     */
+    public LocalDateTime lastStockChange(Shop shop) {
+        return stockRepository.findLastUpdatedAtByShopId(shop.getId());
+    }
+
+    /**
+     * Pack the items of the given quotations onto the given stock lines.
+     */
+    public List<CuttingPlan> plan(List<Quotation> quotations, List<Stock> stock) {
+        return plan(quotations, stock, Map.of());
+    }
+
+    /**
+     * Pack onto the given stock lines, counting ownHolds (stock id to sheets) as available again.
+     */
+    public List<CuttingPlan> plan(List<Quotation> quotations, List<Stock> stock, Map<Long, Integer> ownHolds) {
+        return plan(quotations, stock, line -> line.getAvailable() + ownHolds.getOrDefault(line.getId(), 0));
+    }
+
+    /**
+     * Pack onto the given stock lines, with the number of sheets usable from each line.
+     */
+    private List<CuttingPlan> plan(List<Quotation> quotations, List<Stock> stock, ToIntFunction<Stock> sheetsUsable) {
+        boolean prefixNumbers = quotations.size() > 1;
+        Map<String, List<CutPiece>> pieces = new LinkedHashMap<>();
+        Map<String, QuotationItem> firstItem = new LinkedHashMap<>();
+        for (Quotation quotation : quotations) {
+            int srNo = 0;
+            for (QuotationItem item : quotation.getItems()) {
+                srNo++;
+                String label = (prefixNumbers ? quotation.getQuotationNumber() + " " : "") + "#" + srNo;
+                String key = groupKey(item);
+                firstItem.putIfAbsent(key, item);
+                List<CutPiece> group = pieces.computeIfAbsent(key, k -> new ArrayList<>());
+                int width = (int) Math.ceil(DimensionParser.itemMillimetres(item.getWidth(), item.getWidthUnit()));
+                int height = (int) Math.ceil(DimensionParser.itemMillimetres(item.getHeight(), item.getHeightUnit()));
+                int quantity = item.getQuantity() != null ? item.getQuantity() : 1;
+                for (int i = 1; i <= quantity; i++) {
+                    group.add(new CutPiece(quantity > 1 ? label + "." + i : label, width, height, true, srNo));
+                }
+            }
+        }
+
+        GuillotinePacker packer = new GuillotinePacker(kerfMm);
+        List<CuttingPlan> plans = new ArrayList<>();
+        for (Map.Entry<String, List<CutPiece>> group : pieces.entrySet()) {
+            QuotationItem item = firstItem.get(group.getKey());
+            CuttingPlan plan = packer.pack(group.getValue(), sheetsFor(thickness(item), stock, sheetsUsable));
+            plan.setGlassType(item.getGlassType());
+            plan.setThickness(item.getThickness());
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    private List<StockSheet> sheetsFor(Integer thickness, List<Stock> stock, ToIntFunction<Stock> sheetsUsable) {
+        List<StockSheet> sheets = new ArrayList<>();
+        if (thickness == null) {
+            return sheets;
+        }
+        for (Stock line : stock) {
+            int available = sheetsUsable.applyAsInt(line);
+            if (available <= 0 || line.getGlass() == null || line.getGlass().getThickness() != thickness
+                    || line.getWidthMm() == null || line.getHeightMm() == null) {
+                continue;
+            }
+            int width = (int) Math.floor(line.getWidthMm());
+            int height = (int) Math.floor(line.getHeightMm());
+            if (width > 0 && height > 0) {
+                sheets.add(new StockSheet(line.getId(), line.getStandNo(), width, height, available));
+            }
+        }
+        return sheets;
+    }
+
+    private static String groupKey(QuotationItem item) {
+        String type = item.getGlassType() != null ? item.getGlassType().trim().toUpperCase() : "";
+        return type + "|" + thickness(item);
+    }
+
+    /**
+     * Thickness in mm from the item's thickness ("8", "8mm") or, failing that, its glass type ("8MM").
+     */
+    static Integer thickness(QuotationItem item) {
+        return thickness(item.getThickness(), item.getGlassType());
+    }
+
+    static Integer thickness(String thickness, String glassType) {
+        Integer parsed = parseThickness(thickness);
+        return parsed != null ? parsed : parseThickness(glassType);
+    }
+
+    private static Integer parseThickness(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = value.toUpperCase().replace("MM", "").trim();
+        try {
+            return Integer.parseInt(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
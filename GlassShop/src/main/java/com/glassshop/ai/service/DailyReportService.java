@@ -10,6 +10,11 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 
 import com.glassshop.ai.entity.AuditLog;
 import com.glassshop.ai.entity.Shop;
@@ -17,6 +22,8 @@ import com.glassshop.ai.entity.User;
 import com.glassshop.ai.repository.AuditLogRepository;
 import com.glassshop.ai.repository.ShopRepository;
 import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.util.DimensionParser;
+import com.glassshop.ai.util.Instrumentation;
 
 @Service
 public class DailyReportService {
@@ -33,10 +40,20 @@ public class DailyReportService {
     @Autowired
     private WhatsAppService whatsAppService;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     /**
      * Generate and send daily sales report for a specific shop
+     * Writes the WhatsApp message to the outbox, so it is not read-only
      */
+    @Transactional
     public void generateAndSendDailyReport(Long shopId) {
+        Instrumentation.run(meterRegistry, "glassshop.report.daily", "background",
+                Tags.of("shop", String.valueOf(shopId)), () -> sendDailyReport(shopId));
+    }
+
+    private void sendDailyReport(Long shopId) {
         Shop shop = shopRepository.findById(shopId)
                 .orElseThrow(() -> new RuntimeException("Shop not found: " + shopId));
 
@@ -77,8 +94,8 @@ public class DailyReportService {
         // Generate report message
         String report = generateReportMessage(shop, todaySales, today);
 
-        // Send via WhatsApp
-        whatsAppService.sendMessage(whatsappNumber, report);
+        // Send via WhatsApp (queued; delivered by OutboxDispatchService)
+        whatsAppService.sendMessage(shopId, whatsappNumber, report);
     }
 
     /**
@@ -89,9 +106,8 @@ public class DailyReportService {
         
         for (Shop shop : shops) {
             try {
+                // Only queues the message; the outbox dispatcher paces delivery
                 generateAndSendDailyReport(shop.getId());
-                // Add delay between messages to avoid rate limiting
-                Thread.sleep(2000); // 2 seconds delay
             } catch (Exception e) {
                 System.err.println("❌ Error generating report for shop " + shop.getShopName() + ": " + e.getMessage());
                 e.printStackTrace();
@@ -216,43 +232,10 @@ public class DailyReportService {
         return h * w;
     }
     /**
-     * Converts dimension string to double
-     * Supports:
-     *  - 26
-     *  - 26.5
-     *  - 26 1/4
+     * Converts dimension string to double ("26", "26.5", "26 1/4"); 0 if unparseable
      */
     private double parseDimension(String value) {
-        try {
-            value = value.trim();
-
-            // Case: "26 1/4"
-            if (value.contains(" ")) {
-                String[] parts = value.split(" ");
-                double whole = Double.parseDouble(parts[0]);
-
-                if (parts.length > 1 && parts[1].contains("/")) {
-                    String[] fraction = parts[1].split("/");
-                    double num = Double.parseDouble(fraction[0]);
-                    double den = Double.parseDouble(fraction[1]);
-                    return whole + (num / den);
-                }
-                return whole;
-            }
-
-            // Case: "1/4"
-            if (value.contains("/")) {
-                String[] fraction = value.split("/");
-                return Double.parseDouble(fraction[0]) /
-                       Double.parseDouble(fraction[1]);
-            }
-
-            // Case: "26" or "26.5"
-            return Double.parseDouble(value);
-
-        } catch (Exception e) {
-            return 0.0; // safe fallback
-        }
+        return DimensionParser.parse(value);
     }
 
 
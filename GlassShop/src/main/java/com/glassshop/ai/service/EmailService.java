@@ -1,22 +1,35 @@
 package com.glassshop.ai.service;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.glassshop.ai.util.Instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
 @Service
 public class EmailService {
 
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     /**
      * Send low stock alert to shop admin email (Async - non-blocking)
      */
     @Async("emailExecutor")
     public void sendLowStockAlert(String toEmail, String message) {
+        long start = System.nanoTime();
+        String outcome = "failure";
         try {
             SimpleMailMessage mail = new SimpleMailMessage();
             mail.setTo(toEmail);
@@ -25,8 +38,12 @@ public class EmailService {
 
             mailSender.send(mail);
             System.out.println("✅ Low stock alert email sent to: " + toEmail);
+            outcome = "success";
         } catch (Exception e) {
             System.err.println("❌ Failed to send email to " + toEmail + ": " + e.getMessage());
+        } finally {
+            Instrumentation.timer(meterRegistry, "glassshop.notification.send", "background",
+                    Tags.of("channel", "email"), outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 }
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,7 @@ import com.glassshop.ai.dto.CreateInvoiceRequest;
 import com.glassshop.ai.dto.InvoiceItemDto;
 import com.glassshop.ai.dto.InvoiceResponse;
 import com.glassshop.ai.dto.PaymentDto;
+import com.glassshop.ai.dto.StockDeductionLine;
 import com.glassshop.ai.entity.Invoice;
 import com.glassshop.ai.entity.InvoiceItem;
 import com.glassshop.ai.entity.Payment;
@@ -25,6 +27,8 @@ import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.User;
 import com.glassshop.ai.enums.InvoiceType;
 import com.glassshop.ai.enums.PaymentStatus;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
 import com.glassshop.ai.repository.InvoiceRepository;
 import com.glassshop.ai.repository.QuotationRepository;
 import com.glassshop.ai.repository.UserRepository;
@@ -41,6 +45,15 @@ public class InvoiceService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockDeductionService stockDeductionService;
+
+    @Autowired
+    private ShopDataVersions shopDataVersions;
+
     private Shop getCurrentShop() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
@@ -151,9 +164,32 @@ public class InvoiceService {
         invoice.setItems(items);
 
         Invoice saved = invoiceRepository.save(invoice);
-        return convertToResponse(saved);
+
+        // Pieces the holds do not cover (nothing in stock could supply them at confirmation)
+        boolean deductStock = Boolean.TRUE.equals(request.getDeductStock());
+        Map<Integer, Integer> uncovered = deductStock ? stockReservationService.uncoveredPieces(quotation) : Map.of();
+
+        // Sheets held since confirmation now leave stock
+        String role = userRepository.findByUserName(getCurrentUsername()).map(User::getRole).orElse("SYSTEM");
+        int consumed = stockReservationService.consume(quotation, getCurrentUsername(), role);
+
+        // Take the rest out of stock now if asked: every item without holds, otherwise
+        // just the uncovered pieces; a shortfall rolls the invoice back
+        List<StockDeductionLine> deductions = null;
+        if (deductStock && consumed == 0) {
+            deductions = stockDeductionService.deduct(quotation, getCurrentUsername(), role);
+        } else if (deductStock && !uncovered.isEmpty()) {
+            deductions = stockDeductionService.deductPieces(quotation, uncovered, getCurrentUsername(), role);
+        }
+
+        shopDataVersions.changed(shop.getId(), ShopResource.INVOICES);
+
+        InvoiceResponse response = convertToResponse(saved);
+        response.setStockDeductions(deductions);
+        return response;
     }
 
+    @Transactional(readOnly = true)
     public InvoiceResponse getInvoiceById(Long id) {
         Shop shop = getCurrentShop();
         Invoice invoice = invoiceRepository.findById(id)
@@ -166,22 +202,35 @@ public class InvoiceService {
         return convertToResponse(invoice);
     }
 
+    @Transactional(readOnly = true)
     public List<InvoiceResponse> getAllInvoices() {
         Shop shop = getCurrentShop();
-        return invoiceRepository.findByShopOrderByCreatedAtDesc(shop)
+        return withPayments(invoiceRepository.findByShopOrderByCreatedAtDesc(shop))
                 .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<InvoiceResponse> getInvoicesByPaymentStatus(PaymentStatus paymentStatus) {
         Shop shop = getCurrentShop();
-        return invoiceRepository.findByShopAndPaymentStatus(shop, paymentStatus)
+        return withPayments(invoiceRepository.findByShopAndPaymentStatus(shop, paymentStatus))
                 .stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Fills the payments of listed invoices with one query, so a listing costs
+     * the same number of statements however many invoices it returns.
+     */
+    private List<Invoice> withPayments(List<Invoice> invoices) {
+        if (!invoices.isEmpty()) {
+            invoiceRepository.fetchPayments(invoices);
+        }
+        return invoices;
+    }
+
     @Transactional
     public PaymentDto addPayment(Long invoiceId, AddPaymentRequest request) {
         Shop shop = getCurrentShop();
@@ -210,6 +259,10 @@ public class InvoiceService {
         // Update invoice payment status
         updateInvoicePaymentStatus(invoice);
 
+        // Paid/due amounts are printed on the invoice and challans
+        pdfCacheService.evictInvoice(invoice.getId());
+        shopDataVersions.changed(shop.getId(), ShopResource.INVOICES);
+
         return convertPaymentToDto(saved);
     }
 
@@ -235,6 +288,9 @@ public class InvoiceService {
     @Autowired
     private com.glassshop.ai.repository.PaymentRepository paymentRepository;
 
+    @Autowired
+    private PdfCacheService pdfCacheService;
+
     private InvoiceResponse convertToResponse(Invoice invoice) {
         InvoiceResponse response = new InvoiceResponse();
         response.setId(invoice.getId());
@@ -0,0 +1,178 @@
+package com.glassshop.ai.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.glassshop.ai.entity.OutboxMessage;
+import com.glassshop.ai.enums.OutboxStatus;
+import com.glassshop.ai.repository.OutboxMessageRepository;
+
+/**
+ * The message_outbox table. Messages are inserted in the caller's transaction,
+ * so a message exists exactly when the change that produced it committed.
+ *
+ * The dispatcher claims due messages by pushing next_attempt_at out by a lease
+ * with a conditional UPDATE, so two instances never send the same message at
+ * once, and a message whose sender died is picked up again when the lease runs
+ * out. Only the oldest pending message of each destination is ever due, which
+ * keeps a destination's messages in order across retries.
+ */
+@Service
+public class MessageOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String DUE_SQL = """
+            SELECT m.id, m.shop_id, m.destination, m.payload, m.attempts FROM message_outbox m
+            WHERE m.channel = ? AND m.status = 'PENDING' AND m.next_attempt_at <= ?
+              AND NOT EXISTS (
+                SELECT 1 FROM message_outbox e
+                WHERE e.channel = m.channel AND e.destination = m.destination AND e.status = 'PENDING'
+                  AND (e.created_at < m.created_at OR (e.created_at = m.created_at AND e.id < m.id)))
+            ORDER BY m.next_attempt_at
+            LIMIT ?
+            """;
+
+    private static final String CLAIM_SQL = """
+            UPDATE message_outbox SET next_attempt_at = ?
+            WHERE id = ? AND status = 'PENDING' AND next_attempt_at <= ?
+            """;
+
+    private static final String SENT_SQL = """
+            UPDATE message_outbox SET status = 'SENT', attempts = attempts + 1, sent_at = ?,
+                last_status_code = ?, last_error = NULL
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String RETRY_SQL = """
+            UPDATE message_outbox SET attempts = attempts + 1, next_attempt_at = ?, last_status_code = ?, last_error = ?
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String FAILED_SQL = """
+            UPDATE message_outbox SET status = 'FAILED', attempts = attempts + 1, last_status_code = ?, last_error = ?
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE message_outbox SET next_attempt_at = ?
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String REPLAY_SQL = """
+            UPDATE message_outbox SET status = 'PENDING', attempts = 0, next_attempt_at = ?, last_error = NULL
+            WHERE id = ? AND shop_id = ? AND status <> 'PENDING'
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    // How long a claimed message is left to its sender before another dispatch may retry it
+    @Value("${whatsapp.outbox.lease-ms:60000}")
+    private long leaseMillis = 60000;
+
+    /**
+     * Queue a message; joins the caller's transaction.
+     */
+    @Transactional
+    public OutboxMessage enqueue(Long shopId, String channel, String destination, String payload) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxMessage message = new OutboxMessage();
+        message.setShopId(shopId);
+        message.setChannel(channel);
+        message.setDestination(destination);
+        message.setPayload(payload);
+        message.setStatus(OutboxStatus.PENDING);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        return outboxMessageRepository.save(message);
+    }
+
+    /**
+     * Lease up to limit due messages of the channel to this caller.
+     */
+    @Transactional
+    public List<OutboxMessage> claimDue(String channel, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        List<OutboxMessage> due = jdbcTemplate.query(DUE_SQL, (rs, rowNum) -> {
+            OutboxMessage message = new OutboxMessage();
+            message.setId(rs.getLong("id"));
+            message.setShopId(rs.getObject("shop_id", Long.class));
+            message.setChannel(channel);
+            message.setDestination(rs.getString("destination"));
+            message.setPayload(rs.getString("payload"));
+            message.setAttempts(rs.getInt("attempts"));
+            return message;
+        }, channel, nowTs, limit);
+        if (due.isEmpty()) {
+            return due;
+        }
+
+        Timestamp lease = Timestamp.valueOf(now.plus(leaseMillis, ChronoUnit.MILLIS));
+        List<Object[]> args = new ArrayList<>();
+        for (OutboxMessage message : due) {
+            args.add(new Object[] { lease, message.getId(), nowTs });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, args);
+        List<OutboxMessage> won = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                won.add(due.get(i));
+            }
+        }
+        return won;
+    }
+
+    public void markSent(Long id, int statusCode) {
+        jdbcTemplate.update(SENT_SQL, Timestamp.valueOf(LocalDateTime.now()), statusCode, id);
+    }
+
+    public void markRetry(Long id, Integer statusCode, String error, LocalDateTime nextAttemptAt) {
+        jdbcTemplate.update(RETRY_SQL, Timestamp.valueOf(nextAttemptAt), statusCode, truncate(error), id);
+    }
+
+    public void markFailed(Long id, Integer statusCode, String error) {
+        jdbcTemplate.update(FAILED_SQL, statusCode, truncate(error), id);
+    }
+
+    /**
+     * Hand a claimed message back unsent, e.g. when the circuit breaker refused it.
+     */
+    public void release(Long id) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+
+    /**
+     * Queue a sent or failed message of the shop again; false if there is no such message.
+     */
+    public boolean replay(Long shopId, Long id) {
+        return jdbcTemplate.update(REPLAY_SQL, Timestamp.valueOf(LocalDateTime.now()), id, shopId) > 0;
+    }
+
+    /**
+     * The shop's 50 most recent messages, optionally only those with the given status.
+     */
+    @Transactional(readOnly = true)
+    public List<OutboxMessage> recent(Long shopId, OutboxStatus status) {
+        return status == null
+                ? outboxMessageRepository.findTop50ByShopIdOrderByCreatedAtDesc(shopId)
+                : outboxMessageRepository.findTop50ByShopIdAndStatusOrderByCreatedAtDesc(shopId, status);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,194 @@
+package com.glassshop.ai.service;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.glassshop.ai.entity.OutboxMessage;
+import com.glassshop.ai.util.CircuitBreaker;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Delivers queued WhatsApp messages (MessageOutboxService) without blocking:
+ * each dispatch claims what is due and posts it with HttpClient.sendAsync, and
+ * the outcome is written back when the response or timeout arrives.
+ *
+ * Network errors, timeouts, 429 and 5xx are retried with exponential backoff
+ * and jitter until maxAttempts, then the message is FAILED; any other status
+ * fails it at once. Consecutive retryable failures open a circuit breaker, so
+ * a provider outage costs one trial request per openMillis instead of a
+ * timeout per message.
+ */
+@Service
+public class OutboxDispatchService {
+
+    @Autowired
+    private MessageOutboxService messageOutboxService;
+
+    @Autowired
+    private WhatsAppService whatsAppService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    // Requests in flight at once
+    @Value("${whatsapp.outbox.batch-size:10}")
+    private int batchSize = 10;
+
+    @Value("${whatsapp.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${whatsapp.outbox.backoff-initial-ms:2000}")
+    private long backoffInitialMillis = 2000;
+
+    @Value("${whatsapp.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMillis = 600000;
+
+    @Value("${whatsapp.outbox.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold = 5;
+
+    @Value("${whatsapp.outbox.breaker.open-ms:60000}")
+    private long breakerOpenMillis = 60000;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private CircuitBreaker circuitBreaker;
+
+    @PostConstruct
+    void init() {
+        circuitBreaker = new CircuitBreaker(breakerFailureThreshold, breakerOpenMillis);
+        Gauge.builder("glassshop.notification.breaker.open", circuitBreaker,
+                        breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while WhatsApp delivery is paused by the circuit breaker")
+                .tag("channel", WhatsAppService.CHANNEL)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start sending the due messages; returns how many were sent off.
+     */
+    public int dispatch() {
+        if (!whatsAppService.isEnabled()) {
+            return 0;
+        }
+        int free = batchSize - inFlight.get();
+        if (free <= 0 || circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            return 0;
+        }
+        // While half-open only the trial request goes out
+        int limit = circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN ? 1 : free;
+
+        List<OutboxMessage> claimed = messageOutboxService.claimDue(WhatsAppService.CHANNEL, limit);
+        int started = 0;
+        for (OutboxMessage message : claimed) {
+            if (!circuitBreaker.tryAcquire()) {
+                messageOutboxService.release(message.getId());
+                continue;
+            }
+            send(message);
+            started++;
+        }
+        return started;
+    }
+
+    private void send(OutboxMessage message) {
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            whatsAppService.post(message.getPayload()).whenComplete((response, error) -> {
+                try {
+                    complete(message, response, error, System.nanoTime() - start);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Request could not even be built, e.g. a malformed URL
+            try {
+                complete(message, null, e, System.nanoTime() - start);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void complete(OutboxMessage message, HttpResponse<String> response, Throwable error, long nanos) {
+        try {
+            if (error == null && response.statusCode() >= 200 && response.statusCode() < 300) {
+                circuitBreaker.onSuccess();
+                messageOutboxService.markSent(message.getId(), response.statusCode());
+                whatsAppService.record("success", nanos);
+                System.out.println("✅ WhatsApp message sent successfully to " + message.getDestination());
+                return;
+            }
+
+            Integer status = response == null ? null : response.statusCode();
+            String reason = error != null ? describe(error) : "HTTP " + status + ": " + response.body();
+            if (error == null && status != 429 && status < 500) {
+                // The provider answered and refused this message; retrying will not help
+                circuitBreaker.onSuccess();
+                messageOutboxService.markFailed(message.getId(), status, reason);
+                whatsAppService.record("failure", nanos);
+                System.err.println("❌ WhatsApp message " + message.getId() + " rejected: " + reason);
+                return;
+            }
+
+            circuitBreaker.onFailure();
+            int attempts = message.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                messageOutboxService.markFailed(message.getId(), status, reason);
+                whatsAppService.record("failure", nanos);
+                System.err.println("❌ WhatsApp message " + message.getId() + " failed after " + attempts
+                        + " attempts: " + reason);
+                return;
+            }
+            long delay = backoffMillis(attempts, backoffInitialMillis, backoffMaxMillis);
+            messageOutboxService.markRetry(message.getId(), status, reason,
+                    LocalDateTime.now().plus(delay, ChronoUnit.MILLIS));
+            whatsAppService.record("retry", nanos);
+            System.err.println("⚠ WhatsApp message " + message.getId() + " attempt " + attempts + " failed ("
+                    + reason + "), retrying in " + delay + " ms");
+        } catch (RuntimeException e) {
+            // The claim's lease runs out and the message is tried again
+            System.err.println("❌ Could not record WhatsApp delivery of message " + message.getId() + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Delay before the next try after the given number of failed attempts: doubling
+     * from initialMillis up to maxMillis, of which a random half is taken off
+     * so messages that failed together do not all retry together.
+     */
+    static long backoffMillis(int attempts, long initialMillis, long maxMillis) {
+        long ceiling = Math.min(maxMillis, initialMillis << Math.min(Math.max(attempts - 1, 0), 30));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", whatsAppService.isEnabled());
+        stats.put("breaker", circuitBreaker.getState().name());
+        stats.put("inFlight", inFlight.get());
+        return stats;
+    }
+}
@@ -0,0 +1,494 @@
+package com.glassshop.ai.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.glassshop.ai.enums.PdfDocumentType;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Two-tier cache for rendered PDF documents.
+ *
+ * Entries are content-addressed by (document type, id, updatedAt, template version),
+ * so any change to the invoice or quotation produces a new key. Small documents are
+ * kept in an in-memory LRU; every document is rendered straight into a size-bounded
+ * directory and streamed from there, without copying it into the heap.
+ */
+@Service
+public class PdfCacheService {
+
+    @FunctionalInterface
+    public interface PdfRenderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    @Value("${pdf.cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${pdf.cache.memory.max-bytes:33554432}")
+    private long memoryMaxBytes = 32L * 1024 * 1024;
+
+    @Value("${pdf.cache.disk.max-bytes:536870912}")
+    private long diskMaxBytes = 512L * 1024 * 1024;
+
+    @Value("${pdf.cache.disk.dir:${java.io.tmpdir}/glassshop-pdf-cache}")
+    private String diskDir;
+
+    // Access-ordered map = LRU; guarded by its own monitor
+    private final LinkedHashMap<String, MemoryEntry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    private final ConcurrentHashMap<String, DiskEntry> disk = new ConcurrentHashMap<>();
+    private final AtomicLong diskBytes = new AtomicLong();
+
+    // Single-flight: concurrent download + print of the same document render once
+    private final ConcurrentHashMap<String, CompletableFuture<CachedPdf>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong coalescedHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+    private final AtomicLong savedNanos = new AtomicLong();
+
+    private Path diskRoot;
+
+    @PostConstruct
+    void init() {
+        if (diskDir == null || diskDir.isBlank()) {
+            diskDir = System.getProperty("java.io.tmpdir") + "/glassshop-pdf-cache";
+        }
+        diskRoot = Paths.get(diskDir);
+        try {
+            Files.createDirectories(diskRoot);
+            // Half-written renders left by a crash or kill are never indexed, so drop them
+            try (DirectoryStream<Path> partial = Files.newDirectoryStream(diskRoot, "render-*.tmp")) {
+                for (Path file : partial) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            // Re-index what survived a restart so the disk tier stays warm
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(diskRoot, "*.pdf")) {
+                for (Path file : files) {
+                    long size = Files.size(file);
+                    String name = file.getFileName().toString();
+                    disk.put(name, new DiskEntry(file, size, Files.getLastModifiedTime(file).toMillis(), 0L));
+                    diskBytes.addAndGet(size);
+                }
+            }
+            evictDiskIfNeeded();
+        } catch (IOException e) {
+            System.err.println("⚠ PDF disk cache unavailable at " + diskRoot + ": " + e.getMessage());
+            diskRoot = null;
+        }
+    }
+
+    /**
+     * Return the cached PDF for this document version, rendering it on a miss.
+     */
+    public CachedPdf getOrRender(PdfDocumentType type, Long id, LocalDateTime updatedAt,
+                                 int templateVersion, PdfRenderer renderer) throws IOException {
+        if (!enabled) {
+            return renderToMemory(renderer);
+        }
+
+        String key = cacheKey(type, id, updatedAt, templateVersion);
+
+        CachedPdf hit = lookup(key);
+        if (hit != null) {
+            return hit;
+        }
+
+        CompletableFuture<CachedPdf> mine = new CompletableFuture<>();
+        CompletableFuture<CachedPdf> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            CachedPdf shared = await(existing);
+            coalescedHits.incrementAndGet();
+            if (!shared.isFileBacked()) {
+                return shared;
+            }
+            // Each caller streams from its own handle
+            try {
+                return CachedPdf.ofFile(shared.getPath(), shared.getSize());
+            } catch (NoSuchFileException e) {
+                // Evicted before we got to it: render again
+                return getOrRender(type, id, updatedAt, templateVersion, renderer);
+            }
+        }
+
+        try {
+            long start = System.nanoTime();
+            CachedPdf rendered = diskRoot != null ? renderToDisk(key, renderer) : renderToMemory(renderer);
+            long elapsed = System.nanoTime() - start;
+            misses.incrementAndGet();
+            renderNanos.addAndGet(elapsed);
+
+            CachedPdf pdf = store(key, rendered, elapsed);
+            mine.complete(pdf);
+            return pdf;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Drop every cached version of one document.
+     */
+    public void evict(PdfDocumentType type, Long id) {
+        String prefix = keyPrefix(type, id);
+        synchronized (memory) {
+            Iterator<Map.Entry<String, MemoryEntry>> it = memory.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, MemoryEntry> entry = it.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    memoryBytes -= entry.getValue().bytes.length;
+                    it.remove();
+                }
+            }
+        }
+        for (String name : new ArrayList<>(disk.keySet())) {
+            if (name.startsWith(prefix)) {
+                removeDiskEntry(name);
+            }
+        }
+    }
+
+    /**
+     * Invoice, payment and challan documents all render from the invoice row.
+     */
+    public void evictInvoice(Long invoiceId) {
+        evict(PdfDocumentType.INVOICE, invoiceId);
+        evict(PdfDocumentType.BASIC_INVOICE, invoiceId);
+        evict(PdfDocumentType.TRANSPORT_CHALLAN, invoiceId);
+        evict(PdfDocumentType.DELIVERY_CHALLAN, invoiceId);
+    }
+
+    public void evictQuotation(Long quotationId) {
+        evict(PdfDocumentType.QUOTATION, quotationId);
+        evict(PdfDocumentType.CUTTING_PAD, quotationId);
+    }
+
+    /**
+     * Hit rate and render time saved since startup.
+     */
+    public Map<String, Object> getStats() {
+        long memHits = memoryHits.get();
+        long dskHits = diskHits.get();
+        long shared = coalescedHits.get();
+        long miss = misses.get();
+        long lookups = memHits + dskHits + shared + miss;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        synchronized (memory) {
+            stats.put("memoryEntries", memory.size());
+            stats.put("memoryBytes", memoryBytes);
+        }
+        stats.put("diskEntries", disk.size());
+        stats.put("diskBytes", diskBytes.get());
+        stats.put("memoryHits", memHits);
+        stats.put("diskHits", dskHits);
+        stats.put("coalescedHits", shared);
+        stats.put("misses", miss);
+        stats.put("hitRate", lookups == 0 ? 0.0 : (double) (memHits + dskHits + shared) / lookups);
+        stats.put("averageRenderMillis", miss == 0 ? 0.0 : renderNanos.get() / 1_000_000.0 / miss);
+        stats.put("renderTimeSavedMillis", savedNanos.get() / 1_000_000);
+        return stats;
+    }
+
+    /* ===============================
+       INTERNALS
+       =============================== */
+
+    private CachedPdf lookup(String key) {
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(key);
+            if (entry != null) {
+                memoryHits.incrementAndGet();
+                savedNanos.addAndGet(entry.renderNanos);
+                return CachedPdf.ofBytes(entry.bytes);
+            }
+        }
+
+        DiskEntry entry = disk.get(key);
+        if (entry != null) {
+            CachedPdf pdf;
+            try {
+                // Opened here so a later eviction cannot cut the download short
+                pdf = CachedPdf.ofFile(entry.path, entry.size);
+            } catch (IOException e) {
+                removeDiskEntry(key);
+                return null;
+            }
+            entry.lastAccess = System.currentTimeMillis();
+            diskHits.incrementAndGet();
+            savedNanos.addAndGet(entry.renderNanos > 0 ? entry.renderNanos : averageRenderNanos());
+            return pdf;
+        }
+        return null;
+    }
+
+    private CachedPdf renderToMemory(PdfRenderer renderer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        renderer.render(out);
+        return CachedPdf.ofBytes(out.toByteArray());
+    }
+
+    /**
+     * Stream the document straight into the cache directory so large PDFs never
+     * exist as a byte[]; the temp file is renamed into place once complete.
+     */
+    private CachedPdf renderToDisk(String key, PdfRenderer renderer) throws IOException {
+        Path tmp = Files.createTempFile(diskRoot, "render-", ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+                renderer.render(out);
+            }
+            Path target = diskRoot.resolve(key);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return CachedPdf.ofFile(target, Files.size(target));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    private CachedPdf store(String key, CachedPdf rendered, long elapsedNanos) throws IOException {
+        if (rendered.isFileBacked()) {
+            DiskEntry previous = disk.put(key, new DiskEntry(rendered.getPath(), rendered.getSize(),
+                    System.currentTimeMillis(), elapsedNanos));
+            diskBytes.addAndGet(rendered.getSize() - (previous != null ? previous.size : 0));
+        }
+
+        // Only keep documents that are small relative to the tier in memory
+        if (rendered.getSize() <= memoryMaxBytes / 4) {
+            byte[] bytes = rendered.getBytes();
+            rendered.close();
+            synchronized (memory) {
+                MemoryEntry previous = memory.put(key, new MemoryEntry(bytes, elapsedNanos));
+                memoryBytes += bytes.length - (previous != null ? previous.bytes.length : 0);
+                Iterator<Map.Entry<String, MemoryEntry>> it = memory.entrySet().iterator();
+                while (memoryBytes > memoryMaxBytes && it.hasNext()) {
+                    memoryBytes -= it.next().getValue().bytes.length;
+                    it.remove();
+                }
+            }
+            rendered = CachedPdf.ofBytes(bytes);
+        }
+
+        evictDiskIfNeeded();
+        return rendered;
+    }
+
+    private void evictDiskIfNeeded() {
+        if (diskBytes.get() <= diskMaxBytes) {
+            return;
+        }
+        List<Map.Entry<String, DiskEntry>> entries = new ArrayList<>(disk.entrySet());
+        entries.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<String, DiskEntry> entry : entries) {
+            if (diskBytes.get() <= diskMaxBytes) {
+                break;
+            }
+            removeDiskEntry(entry.getKey());
+        }
+    }
+
+    private void removeDiskEntry(String name) {
+        DiskEntry removed = disk.remove(name);
+        if (removed != null) {
+            diskBytes.addAndGet(-removed.size);
+            try {
+                Files.deleteIfExists(removed.path);
+            } catch (IOException e) {
+                System.err.println("⚠ Could not delete cached PDF " + removed.path + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private long averageRenderNanos() {
+        long miss = misses.get();
+        return miss == 0 ? 0L : renderNanos.get() / miss;
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for PDF render", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    static String keyPrefix(PdfDocumentType type, Long id) {
+        return type.name().toLowerCase() + "-" + id + "-";
+    }
+
+    /**
+     * File-name safe key: readable prefix for invalidation plus a digest of the version.
+     */
+    static String cacheKey(PdfDocumentType type, Long id, LocalDateTime updatedAt, int templateVersion) {
+        long version = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        String material = type.name() + "|" + id + "|" + version + "|" + templateVersion;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return keyPrefix(type, id) + HexFormat.of().formatHex(digest, 0, 12) + ".pdf";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class MemoryEntry {
+        final byte[] bytes;
+        final long renderNanos;
+
+        MemoryEntry(byte[] bytes, long renderNanos) {
+            this.bytes = bytes;
+            this.renderNanos = renderNanos;
+        }
+    }
+
+    private static final class DiskEntry {
+        final Path path;
+        final long size;
+        final long renderNanos;
+        volatile long lastAccess;
+
+        DiskEntry(Path path, long size, long lastAccess, long renderNanos) {
+            this.path = path;
+            this.size = size;
+            this.lastAccess = lastAccess;
+            this.renderNanos = renderNanos;
+        }
+    }
+
+    /**
+     * A rendered PDF, either held in memory or backed by a cache file.
+     * File-backed entries hold the file open from lookup, so the cache may delete
+     * the file (eviction, invalidation) while a response is still being written;
+     * writeTo closes the handle when it is done.
+     */
+    public static final class CachedPdf implements Closeable {
+        private final byte[] bytes;
+        private final Path path;
+        private final FileChannel channel;
+        private final long size;
+
+        private CachedPdf(byte[] bytes, Path path, FileChannel channel, long size) {
+            this.bytes = bytes;
+            this.path = path;
+            this.channel = channel;
+            this.size = size;
+        }
+
+        public static CachedPdf ofBytes(byte[] bytes) {
+            return new CachedPdf(bytes, null, null, bytes.length);
+        }
+
+        public static CachedPdf ofFile(Path path, long size) throws IOException {
+            return new CachedPdf(null, path, FileChannel.open(path, StandardOpenOption.READ), size);
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isFileBacked() {
+            return path != null;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public byte[] getBytes() throws IOException {
+            if (bytes != null) {
+                return bytes;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(size));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) < 0) {
+                    throw new EOFException("Cached PDF " + path.getFileName() + " is truncated");
+                }
+            }
+            return buffer.array();
+        }
+
+        /**
+         * Copy the document to a response stream without loading file-backed entries into the heap.
+         */
+        public void writeTo(OutputStream out) throws IOException {
+            if (bytes != null) {
+                out.write(bytes);
+                return;
+            }
+            try {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = 0;
+                while (position < size) {
+                    long written = channel.transferTo(position, size - position, target);
+                    if (written <= 0) {
+                        throw new EOFException("Cached PDF " + path.getFileName() + " is truncated");
+                    }
+                    position += written;
+                }
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+}
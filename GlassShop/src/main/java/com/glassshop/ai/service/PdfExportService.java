@@ -0,0 +1,243 @@
+package com.glassshop.ai.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.repository.InvoiceRepository;
+import com.glassshop.ai.repository.QuotationRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.service.PdfCacheService.CachedPdf;
+
+/**
+ * Bulk export of invoice / quotation PDFs as a single ZIP.
+ *
+ * Documents are rendered in parallel on the pdfExportExecutor and written to the
+ * ZIP in completion order. At most max-in-flight documents are pending at a time,
+ * so heap use does not grow with the size of the period being exported.
+ */
+@Service
+public class PdfExportService {
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private QuotationRepository quotationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PdfService pdfService;
+
+    @Autowired
+    @Qualifier("pdfExportExecutor")
+    private Executor pdfExportExecutor;
+
+    @Value("${pdf.export.max-in-flight:8}")
+    private int maxInFlight = 8;
+
+    @FunctionalInterface
+    interface ExportRenderer {
+        CachedPdf render(Long id, Long shopId) throws IOException;
+    }
+
+    /**
+     * The documents selected for one export. Resolved on the request thread, where the
+     * security context is available; rendering happens later on pool threads.
+     */
+    public static final class ExportJob {
+        private final Long shopId;
+        private final List<Long> ids;
+        private final List<String> entryNames;
+
+        ExportJob(Long shopId, List<Long> ids, List<String> entryNames) {
+            this.shopId = shopId;
+            this.ids = ids;
+            this.entryNames = entryNames;
+        }
+
+        public int size() {
+            return ids.size();
+        }
+    }
+
+    private Shop getCurrentShop() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            throw new RuntimeException("User not authenticated");
+        }
+        String username = auth.getName();
+        User user = userRepository.findByUserName(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Shop shop = user.getShop();
+        if (shop == null) {
+            throw new RuntimeException("Shop not found");
+        }
+        return shop;
+    }
+
+    public ExportJob prepareInvoiceExport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        Shop shop = getCurrentShop();
+        return toJob(shop, invoiceRepository.findExportRowsByShopAndInvoiceDateBetween(shop, from, to), "invoice");
+    }
+
+    public ExportJob prepareQuotationExport(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        Shop shop = getCurrentShop();
+        return toJob(shop, quotationRepository.findExportRowsByShopAndQuotationDateBetween(shop, from, to), "quotation");
+    }
+
+    public void writeInvoiceZip(ExportJob job, OutputStream out) throws IOException {
+        writeZip(job, pdfService::getInvoicePdfForExport, out);
+    }
+
+    public void writeQuotationZip(ExportJob job, OutputStream out) throws IOException {
+        writeZip(job, pdfService::getQuotationPdfForExport, out);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from date must not be after to date");
+        }
+    }
+
+    private ExportJob toJob(Shop shop, List<Object[]> rows, String prefix) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        List<String> names = new ArrayList<>(rows.size());
+        Set<String> used = new HashSet<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            String number = row[1] != null ? row[1].toString() : null;
+            String base = number != null && !number.isBlank()
+                    ? number.replaceAll("[^A-Za-z0-9._-]", "_")
+                    : prefix + "-" + id;
+            // Numbers are unique per shop, but keep entry names unique regardless
+            String name = used.add(base) ? base + ".pdf" : base + "-" + id + ".pdf";
+            ids.add(id);
+            names.add(name);
+        }
+        return new ExportJob(shop.getId(), ids, names);
+    }
+
+    void writeZip(ExportJob job, ExportRenderer renderer, OutputStream out) throws IOException {
+        CompletionService<Integer> completion = new ExecutorCompletionService<>(pdfExportExecutor);
+        List<Future<Integer>> submitted = new ArrayList<>();
+        // Finished documents not yet written; whoever takes one out of its slot closes it
+        AtomicReferenceArray<CachedPdf> rendered = new AtomicReferenceArray<>(job.size());
+        AtomicBoolean abandoned = new AtomicBoolean();
+        String[] errors = new String[job.size()];
+        List<String> failures = new ArrayList<>();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDF content streams are already compressed; don't spend CPU re-deflating them
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        int next = 0;
+        int pending = 0;
+        boolean completed = false;
+        try {
+            while (next < job.size() || pending > 0) {
+                while (pending < maxInFlight && next < job.size()) {
+                    final int index = next++;
+                    submitted.add(completion.submit(() -> {
+                        try {
+                            rendered.set(index, renderer.render(job.ids.get(index), job.shopId));
+                            if (abandoned.get()) {
+                                // Finished after the export gave up: nobody will write it
+                                close(rendered.getAndSet(index, null));
+                            }
+                        } catch (Exception e) {
+                            errors[index] = e.getMessage() != null ? e.getMessage() : e.toString();
+                        }
+                        return index;
+                    }));
+                    pending++;
+                }
+
+                Future<Integer> done = completion.take();
+                pending--;
+
+                int index = done.get();
+                if (errors[index] != null) {
+                    // One bad document should not abort the whole archive
+                    failures.add(job.entryNames.get(index) + ": " + errors[index]);
+                    System.err.println("⚠ PDF export failed for " + job.entryNames.get(index) + ": " + errors[index]);
+                    continue;
+                }
+
+                try (CachedPdf pdf = rendered.getAndSet(index, null)) {
+                    zip.putNextEntry(new ZipEntry(job.entryNames.get(index)));
+                    pdf.writeTo(zip);
+                    zip.closeEntry();
+                }
+                // Push each finished document to the client straight away
+                zip.flush();
+            }
+
+            if (!failures.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("export-errors.txt"));
+                zip.write(String.join("\n", failures).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("PDF export failed", e.getCause());
+        } finally {
+            if (!completed) {
+                // Client went away or the stream failed: stop rendering the rest
+                abandoned.set(true);
+                for (Future<Integer> future : submitted) {
+                    future.cancel(true);
+                }
+                for (int i = 0; i < rendered.length(); i++) {
+                    close(rendered.getAndSet(i, null));
+                }
+            }
+        }
+    }
+
+    private static void close(CachedPdf pdf) {
+        if (pdf == null) {
+            return;
+        }
+        try {
+            pdf.close();
+        } catch (IOException e) {
+            System.err.println("⚠ Could not close rendered PDF: " + e.getMessage());
+        }
+    }
+}
@@ -2,23 +2,51 @@ package com.glassshop.ai.service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import com.glassshop.ai.cutting.CutPiece;
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.cutting.Placement;
+import com.glassshop.ai.cutting.SheetLayout;
 import com.glassshop.ai.entity.Invoice;
+import com.glassshop.ai.entity.InvoiceItem;
 import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
 import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.enums.PdfDocumentType;
+import com.glassshop.ai.pdf.FontStyle;
+import com.glassshop.ai.pdf.HeaderBlock;
+import com.glassshop.ai.pdf.PartyBlock;
+import com.glassshop.ai.pdf.PdfCanvas;
+import com.glassshop.ai.pdf.PdfComponent;
+import com.glassshop.ai.pdf.PdfLayoutEngine;
+import com.glassshop.ai.pdf.SheetLayoutBlock;
+import com.glassshop.ai.pdf.TableBlock;
+import com.glassshop.ai.pdf.TextBlock;
+import com.glassshop.ai.pdf.TotalsBlock;
 import com.glassshop.ai.repository.InvoiceRepository;
 import com.glassshop.ai.repository.QuotationRepository;
 import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.service.PdfCacheService.CachedPdf;
+import com.glassshop.ai.util.Instrumentation;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -35,6 +63,48 @@ public class PdfService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PdfCacheService pdfCacheService;
+
+    @Autowired
+    private PdfLayoutEngine layoutEngine;
+
+    @Autowired
+    private CuttingPlanService cuttingPlanService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    // Bump whenever the layout changes so previously cached PDFs are not served
+    static final int TEMPLATE_VERSION = 3;
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    // PDFBox keeps document streams in heap up to this size, then spills to temp files
+    @Value("${pdf.render.max-main-memory-bytes:4194304}")
+    private long maxMainMemoryBytes = 4L * 1024 * 1024;
+
+    private PDDocument newDocument() {
+        return new PDDocument(MemoryUsageSetting.setupMixed(maxMainMemoryBytes));
+    }
+
+    @FunctionalInterface
+    private interface Layout {
+        void layout(PDDocument document) throws IOException;
+    }
+
+    /**
+     * Lay out and save one document; every render (direct, cache miss or export) is timed as glassshop.pdf.render.
+     */
+    private void render(PdfDocumentType type, Layout layout, OutputStream out) throws IOException {
+        Instrumentation.run(meterRegistry, "glassshop.pdf.render", "heavy", Tags.of("document", type.name()), () -> {
+            try (PDDocument document = newDocument()) {
+                layout.layout(document);
+                document.save(out);
+            }
+        });
+    }
+
     private Shop getCurrentShop() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
@@ -50,1636 +120,542 @@ public class PdfService {
         return shop;
     }
 
-    /**
-     * Generate PDF for Quotation/Cutting-Pad
-     */
-    public byte[] generateQuotationPdf(Long quotationId) throws IOException {
-        Quotation quotation = quotationRepository.findById(quotationId)
+    private Quotation loadQuotation(Long quotationId) {
+        Quotation quotation = quotationRepository.findWithItemsById(quotationId)
                 .orElseThrow(() -> new RuntimeException("Quotation not found"));
-        
+
         Shop shop = getCurrentShop();
         if (!quotation.getShop().getId().equals(shop.getId())) {
             throw new RuntimeException("Unauthorized access to quotation");
         }
+        return quotation;
+    }
 
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-        float margin = 50;
-        float yPosition = 750;
-        float lineHeight = 20;
-        float currentY = yPosition;
-
-        // Title
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 20);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("QUOTATION / CUTTING-PAD");
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Shop Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("From:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        if (shop.getShopName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText(shop.getShopName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getOwnerName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Owner: " + shop.getOwnerName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getEmail() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Email: " + shop.getEmail());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getWhatsappNumber() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + shop.getWhatsappNumber());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
+    private Invoice loadInvoice(Long invoiceId) {
+        Invoice invoice = invoiceRepository.findWithItemsById(invoiceId)
+                .orElseThrow(() -> new RuntimeException("Invoice not found"));
 
-        currentY -= lineHeight;
-
-        // Customer Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("To:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText(quotation.getCustomerName());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        if (quotation.getCustomerMobile() != null && !quotation.getCustomerMobile().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + quotation.getCustomerMobile());
-            contentStream.endText();
-            currentY -= lineHeight;
+        Shop shop = getCurrentShop();
+        if (!invoice.getShop().getId().equals(shop.getId())) {
+            throw new RuntimeException("Unauthorized access to invoice");
         }
+        return invoice;
+    }
 
-        if (quotation.getCustomerAddress() != null && !quotation.getCustomerAddress().isEmpty()) {
-            String[] addressLines = quotation.getCustomerAddress().split("\n");
-            for (String line : addressLines) {
-                if (currentY < 100) {
-                    contentStream.close();
-                    page = new PDPage(PDRectangle.A4);
-                    document.addPage(page);
-                    contentStream = new PDPageContentStream(document, page);
-                    currentY = 750;
-                }
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, currentY);
-                contentStream.showText(line);
-                contentStream.endText();
-                currentY -= lineHeight;
-            }
-        }
+    /**
+     * Generate PDF for Quotation/Cutting-Pad
+     */
+    @Transactional(readOnly = true)
+    public byte[] generateQuotationPdf(Long quotationId) throws IOException {
+        return renderQuotationPdf(loadQuotation(quotationId));
+    }
+
+    /**
+     * Cached variant of generateQuotationPdf; the entry is keyed on the quotation's updatedAt.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getQuotationPdf(Long quotationId) throws IOException {
+        return getQuotationPdf(loadQuotation(quotationId));
+    }
 
-        if (quotation.getCustomerGstin() != null && !quotation.getCustomerGstin().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("GSTIN: " + quotation.getCustomerGstin());
-            contentStream.endText();
-            currentY -= lineHeight;
+    /**
+     * Used by bulk export on worker threads: no security context there, so the
+     * caller passes the shop and the items are fetched in this transaction.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getQuotationPdfForExport(Long quotationId, Long shopId) throws IOException {
+        Quotation quotation = quotationRepository.findWithItemsById(quotationId)
+                .orElseThrow(() -> new RuntimeException("Quotation not found"));
+        if (!quotation.getShop().getId().equals(shopId)) {
+            throw new RuntimeException("Unauthorized access to quotation");
         }
+        return getQuotationPdf(quotation);
+    }
 
-        currentY -= lineHeight;
+    private CachedPdf getQuotationPdf(Quotation quotation) throws IOException {
+        return pdfCacheService.getOrRender(PdfDocumentType.QUOTATION, quotation.getId(), quotation.getUpdatedAt(),
+                TEMPLATE_VERSION, out -> renderQuotationPdf(quotation, out));
+    }
 
-        // Quotation Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Quotation Number: " + quotation.getQuotationNumber());
-        contentStream.endText();
-        currentY -= lineHeight;
+    public byte[] renderQuotationPdf(Quotation quotation) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderQuotationPdf(quotation, baos);
+        return baos.toByteArray();
+    }
 
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Date: " + quotation.getQuotationDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-        contentStream.endText();
-        currentY -= lineHeight;
+    public void renderQuotationPdf(Quotation quotation, OutputStream out) throws IOException {
+        render(PdfDocumentType.QUOTATION, document -> layoutQuotationPdf(quotation, document), out);
+    }
 
+    private void layoutQuotationPdf(Quotation quotation, PDDocument document) throws IOException {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new HeaderBlock("QUOTATION / CUTTING-PAD", 20));
+        components.add(shopBlock(quotation.getShop(), 12, false, true));
+        components.add(new PartyBlock("To:", 12)
+                .line(quotation.getCustomerName())
+                .field("Mobile: ", quotation.getCustomerMobile())
+                .lines(quotation.getCustomerAddress())
+                .field("GSTIN: ", quotation.getCustomerGstin()));
+
+        TextBlock details = new TextBlock()
+                .text("Quotation Number: " + quotation.getQuotationNumber(), FontStyle.BOLD, 12)
+                .text("Date: " + formatDate(quotation.getQuotationDate()), FontStyle.REGULAR, 10);
         if (quotation.getValidUntil() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Valid Until: " + quotation.getValidUntil().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-            contentStream.endText();
-            currentY -= lineHeight;
+            details.text("Valid Until: " + formatDate(quotation.getValidUntil()), FontStyle.REGULAR, 10);
         }
+        components.add(details.space(PdfCanvas.LINE_HEIGHT));
 
-        currentY -= lineHeight;
-
-        // Items Table Header
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        float tableY = currentY;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Item");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 150, tableY);
-        contentStream.showText("Size");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 250, tableY);
-        contentStream.showText("Qty");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Rate");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 400, tableY);
-        contentStream.showText("Amount");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        // Draw line
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= 5;
-
-        // Items
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-        for (var item : quotation.getItems()) {
-            if (tableY < 100) {
-                contentStream.close();
-                page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                tableY = 750;
-            }
-
-            String itemDesc = item.getGlassType() != null ? item.getGlassType() : "";
-            if (item.getThickness() != null) {
-                itemDesc += " (" + item.getThickness() + "mm)";
-            }
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableY);
-            contentStream.showText(itemDesc);
-            contentStream.endText();
-
+        TableBlock table = new TableBlock()
+                .column("Item", 0)
+                .column("Size", 150)
+                .column("Qty", 250)
+                .column("Rate", 300)
+                .column("Amount", 400);
+        for (QuotationItem item : quotation.getItems()) {
             String size = "";
             if (item.getHeight() != null && item.getWidth() != null) {
-                size = String.format("%.2f", item.getHeight()) + " × " + String.format("%.2f", item.getWidth());
+                size = dimensions(item.getHeight(), item.getWidth());
                 if (item.getHeightUnit() != null) {
                     size += " " + item.getHeightUnit();
                 }
             }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 150, tableY);
-            contentStream.showText(size);
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 250, tableY);
-            contentStream.showText(String.valueOf(item.getQuantity()));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText(String.format("%.2f", item.getRatePerSqft() != null ? item.getRatePerSqft() : 0.0));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText(String.format("%.2f", item.getSubtotal() != null ? item.getSubtotal() : 0.0));
-            contentStream.endText();
-
-            tableY -= lineHeight;
-        }
-
-        tableY -= lineHeight;
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= lineHeight;
-
-        // Totals
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Subtotal:");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 400, tableY);
-        contentStream.showText(String.format("%.2f", quotation.getSubtotal() != null ? quotation.getSubtotal() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        if (quotation.getInstallationCharge() != null && quotation.getInstallationCharge() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText("Installation:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText(String.format("%.2f", quotation.getInstallationCharge()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
-
-        if (quotation.getTransportCharge() != null && quotation.getTransportCharge() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText("Transport:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText(String.format("%.2f", quotation.getTransportCharge()));
-            contentStream.endText();
-            tableY -= lineHeight;
+            table.row(itemDescription(item.getGlassType(), item.getThickness()), size,
+                    String.valueOf(item.getQuantity()), money(item.getRatePerSqft()), money(item.getSubtotal()));
         }
+        components.add(table);
 
-        if (quotation.getDiscount() != null && quotation.getDiscount() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText("Discount:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText("-" + String.format("%.2f", quotation.getDiscount()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
-
-        if (quotation.getBillingType().toString().equals("GST") && quotation.getGstAmount() != null && quotation.getGstAmount() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText("GST (" + (quotation.getGstPercentage() != null ? quotation.getGstPercentage() : 0) + "%):");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText(String.format("%.2f", quotation.getGstAmount()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
-
-        tableY -= lineHeight;
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Grand Total:");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 400, tableY);
-        contentStream.showText("Rs. " + String.format("%.2f", quotation.getGrandTotal() != null ? quotation.getGrandTotal() : 0.0));
-        contentStream.endText();
-
-        contentStream.close();
+        components.add(totals(300, 400, quotation.getSubtotal(), quotation.getInstallationCharge(),
+                quotation.getTransportCharge(), quotation.getDiscount(), quotation.getBillingType(),
+                quotation.getGstPercentage(), quotation.getGstAmount(), quotation.getGrandTotal()));
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        document.save(baos);
-        document.close();
-
-        return baos.toByteArray();
+        layoutEngine.render(document, components);
     }
 
     /**
      * Generate PDF for Delivery Challan
      */
+    @Transactional(readOnly = true)
     public byte[] generateTransportChallanPdf(Long invoiceId) throws IOException {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new RuntimeException("Invoice not found"));
-        
-        Shop shop = getCurrentShop();
-        if (!invoice.getShop().getId().equals(shop.getId())) {
-            throw new RuntimeException("Unauthorized access to invoice");
-        }
-
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-        float margin = 50;
-        float yPosition = 750;
-        float lineHeight = 20;
-        float currentY = yPosition;
-
-        // Title
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 24);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("DELIVERY CHALLAN");
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Invoice/Challan Number
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Challan No: " + invoice.getInvoiceNumber());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Date: " + invoice.getInvoiceDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // From (Shop) Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("From:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        if (shop.getShopName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText(shop.getShopName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getOwnerName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Owner: " + shop.getOwnerName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getEmail() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Email: " + shop.getEmail());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getWhatsappNumber() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + shop.getWhatsappNumber());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-
-        currentY -= lineHeight;
-
-        // To (Customer) Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("To:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText(invoice.getCustomerName());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        if (invoice.getCustomerMobile() != null && !invoice.getCustomerMobile().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + invoice.getCustomerMobile());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-
-        if (invoice.getCustomerAddress() != null && !invoice.getCustomerAddress().isEmpty()) {
-            String[] addressLines = invoice.getCustomerAddress().split("\n");
-            for (String line : addressLines) {
-                if (currentY < 100) {
-                    contentStream.close();
-                    page = new PDPage(PDRectangle.A4);
-                    document.addPage(page);
-                    contentStream = new PDPageContentStream(document, page);
-                    currentY = 750;
-                }
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, currentY);
-                contentStream.showText(line);
-                contentStream.endText();
-                currentY -= lineHeight;
-            }
-        }
-
-        currentY -= lineHeight;
-
-        // Items Table Header
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        float tableY = currentY;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Sr.");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 50, tableY);
-        contentStream.showText("Description");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 250, tableY);
-        contentStream.showText("Size");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Qty");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 400, tableY);
-        contentStream.showText("Remarks");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        // Draw line
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= 5;
-
-        // Items
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-        int srNo = 1;
-        for (var item : invoice.getItems()) {
-            if (tableY < 100) {
-                contentStream.close();
-                page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                tableY = 750;
-            }
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableY);
-            contentStream.showText(String.valueOf(srNo++));
-            contentStream.endText();
-
-            String itemDesc = item.getGlassType() != null ? item.getGlassType() : "";
-            if (item.getThickness() != null) {
-                itemDesc += " (" + item.getThickness() + "mm)";
-            }
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 50, tableY);
-            contentStream.showText(itemDesc);
-            contentStream.endText();
-
-            String size = "";
-            if (item.getHeight() != null && item.getWidth() != null) {
-                size = String.format("%.2f", item.getHeight()) + " × " + String.format("%.2f", item.getWidth());
-            }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 250, tableY);
-            contentStream.showText(size);
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText(String.valueOf(item.getQuantity()));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText("Good Condition");
-            contentStream.endText();
-
-            tableY -= lineHeight;
-        }
+        return renderTransportChallanPdf(loadInvoice(invoiceId));
+    }
 
-        tableY -= lineHeight * 2;
-
-        // Signature Section
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Received By:");
-        contentStream.endText();
-        tableY -= lineHeight * 3;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("_____________________");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("(Signature & Stamp)");
-        contentStream.endText();
-        tableY -= lineHeight * 2;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Delivered By:");
-        contentStream.endText();
-        tableY -= lineHeight * 3;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("_____________________");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("(Signature & Stamp)");
-        contentStream.endText();
-
-        contentStream.close();
+    /**
+     * Cached variant of generateTransportChallanPdf; the entry is keyed on the invoice's updatedAt.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getTransportChallanPdf(Long invoiceId) throws IOException {
+        Invoice invoice = loadInvoice(invoiceId);
+        return pdfCacheService.getOrRender(PdfDocumentType.TRANSPORT_CHALLAN, invoice.getId(), invoice.getUpdatedAt(),
+                TEMPLATE_VERSION, out -> renderTransportChallanPdf(invoice, out));
+    }
 
+    public byte[] renderTransportChallanPdf(Invoice invoice) throws IOException {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        document.save(baos);
-        document.close();
-
+        renderTransportChallanPdf(invoice, baos);
         return baos.toByteArray();
     }
 
+    public void renderTransportChallanPdf(Invoice invoice, OutputStream out) throws IOException {
+        render(PdfDocumentType.TRANSPORT_CHALLAN, document -> layoutTransportChallanPdf(invoice, document), out);
+    }
+
+    private void layoutTransportChallanPdf(Invoice invoice, PDDocument document) throws IOException {
+        layoutChallan(invoice, document, true);
+    }
+
     /**
      * Generate PDF for Delivery Challan Print (Order details only, no prices)
      */
+    @Transactional(readOnly = true)
     public byte[] generateDeliveryChallanPrintPdf(Long invoiceId) throws IOException {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new RuntimeException("Invoice not found"));
-        
-        Shop shop = getCurrentShop();
-        if (!invoice.getShop().getId().equals(shop.getId())) {
-            throw new RuntimeException("Unauthorized access to invoice");
-        }
-
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-        float margin = 50;
-        float yPosition = 750;
-        float lineHeight = 20;
-        float currentY = yPosition;
-
-        // Title
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 24);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("DELIVERY CHALLAN");
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Challan Number
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Challan No: " + invoice.getInvoiceNumber());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Date: " + invoice.getInvoiceDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // From (Shop) Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("From:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        if (shop.getShopName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText(shop.getShopName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getOwnerName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Owner: " + shop.getOwnerName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getWhatsappNumber() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + shop.getWhatsappNumber());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-
-        currentY -= lineHeight;
-
-        // To (Customer) Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("To:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText(invoice.getCustomerName());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        if (invoice.getCustomerMobile() != null && !invoice.getCustomerMobile().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + invoice.getCustomerMobile());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-
-        if (invoice.getCustomerAddress() != null && !invoice.getCustomerAddress().isEmpty()) {
-            String[] addressLines = invoice.getCustomerAddress().split("\n");
-            for (String line : addressLines) {
-                if (currentY < 100) {
-                    contentStream.close();
-                    page = new PDPage(PDRectangle.A4);
-                    document.addPage(page);
-                    contentStream = new PDPageContentStream(document, page);
-                    currentY = 750;
-                }
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, currentY);
-                contentStream.showText(line);
-                contentStream.endText();
-                currentY -= lineHeight;
-            }
-        }
+        return renderDeliveryChallanPrintPdf(loadInvoice(invoiceId));
+    }
 
-        currentY -= lineHeight;
-
-        // Items Table Header (NO PRICE COLUMNS)
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        float tableY = currentY;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Sr.");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 50, tableY);
-        contentStream.showText("Description");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 250, tableY);
-        contentStream.showText("Size");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Qty");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 400, tableY);
-        contentStream.showText("Remarks");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        // Draw line
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= 5;
-
-        // Items (NO PRICES)
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-        int srNo = 1;
-        for (var item : invoice.getItems()) {
-            if (tableY < 100) {
-                contentStream.close();
-                page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                tableY = 750;
-            }
+    /**
+     * Cached variant of generateDeliveryChallanPrintPdf; the entry is keyed on the invoice's updatedAt.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getDeliveryChallanPrintPdf(Long invoiceId) throws IOException {
+        Invoice invoice = loadInvoice(invoiceId);
+        return pdfCacheService.getOrRender(PdfDocumentType.DELIVERY_CHALLAN, invoice.getId(), invoice.getUpdatedAt(),
+                TEMPLATE_VERSION, out -> renderDeliveryChallanPrintPdf(invoice, out));
+    }
 
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableY);
-            contentStream.showText(String.valueOf(srNo++));
-            contentStream.endText();
+    public byte[] renderDeliveryChallanPrintPdf(Invoice invoice) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderDeliveryChallanPrintPdf(invoice, baos);
+        return baos.toByteArray();
+    }
 
-            String itemDesc = item.getGlassType() != null ? item.getGlassType() : "";
-            if (item.getThickness() != null) {
-                itemDesc += " (" + item.getThickness() + "mm)";
-            }
+    public void renderDeliveryChallanPrintPdf(Invoice invoice, OutputStream out) throws IOException {
+        render(PdfDocumentType.DELIVERY_CHALLAN, document -> layoutDeliveryChallanPrintPdf(invoice, document), out);
+    }
 
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 50, tableY);
-            contentStream.showText(itemDesc);
-            contentStream.endText();
+    private void layoutDeliveryChallanPrintPdf(Invoice invoice, PDDocument document) throws IOException {
+        // Same as the transport challan, without the shop email
+        layoutChallan(invoice, document, false);
+    }
 
+    private void layoutChallan(Invoice invoice, PDDocument document, boolean withShopEmail) throws IOException {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new HeaderBlock("DELIVERY CHALLAN", 24));
+        components.add(new TextBlock()
+                .text("Challan No: " + invoice.getInvoiceNumber(), FontStyle.BOLD, 12)
+                .text("Date: " + formatDate(invoice.getInvoiceDate()), FontStyle.REGULAR, 10)
+                .advance(PdfCanvas.LINE_HEIGHT * 2));
+        components.add(shopBlock(invoice.getShop(), 12, false, withShopEmail));
+        components.add(new PartyBlock("To:", 12)
+                .line(invoice.getCustomerName())
+                .field("Mobile: ", invoice.getCustomerMobile())
+                .lines(invoice.getCustomerAddress()));
+
+        // No price columns on challans
+        TableBlock table = new TableBlock()
+                .column("Sr.", 0)
+                .column("Description", 50)
+                .column("Size", 250)
+                .column("Qty", 350)
+                .column("Remarks", 400);
+        int srNo = 1;
+        for (InvoiceItem item : invoice.getItems()) {
             String size = "";
             if (item.getHeight() != null && item.getWidth() != null) {
-                size = String.format("%.2f", item.getHeight()) + " × " + String.format("%.2f", item.getWidth());
+                size = dimensions(item.getHeight(), item.getWidth());
             }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 250, tableY);
-            contentStream.showText(size);
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText(String.valueOf(item.getQuantity()));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText("Good Condition");
-            contentStream.endText();
-
-            tableY -= lineHeight;
+            table.row(String.valueOf(srNo++), itemDescription(item.getGlassType(), item.getThickness()), size,
+                    String.valueOf(item.getQuantity()), "Good Condition");
         }
+        components.add(table);
+        components.add(signatureBlock());
 
-        tableY -= lineHeight * 2;
-
-        // Signature Section
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Received By:");
-        contentStream.endText();
-        tableY -= lineHeight * 3;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("_____________________");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("(Signature & Stamp)");
-        contentStream.endText();
-        tableY -= lineHeight * 2;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Delivered By:");
-        contentStream.endText();
-        tableY -= lineHeight * 3;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("_____________________");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("(Signature & Stamp)");
-        contentStream.endText();
-
-        contentStream.close();
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        document.save(baos);
-        document.close();
-
-        return baos.toByteArray();
+        layoutEngine.render(document, components);
     }
 
     /**
      * Generate PDF for Cutting-Pad Print (Dimensions only, no prices)
      */
+    @Transactional(readOnly = true)
     public byte[] generateCuttingPadPrintPdf(Long quotationId) throws IOException {
-        Quotation quotation = quotationRepository.findById(quotationId)
-                .orElseThrow(() -> new RuntimeException("Quotation not found"));
-        
-        Shop shop = getCurrentShop();
-        if (!quotation.getShop().getId().equals(shop.getId())) {
-            throw new RuntimeException("Unauthorized access to quotation");
-        }
+        return renderCuttingPadPrintPdf(loadQuotation(quotationId));
+    }
 
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-        float margin = 50;
-        float yPosition = 750;
-        float lineHeight = 20;
-        float currentY = yPosition;
-
-        // Title
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 20);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("CUTTING-PAD");
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Quotation Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Quotation Number: " + quotation.getQuotationNumber());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Date: " + quotation.getQuotationDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Customer: " + quotation.getCustomerName());
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Items Table Header (DIMENSIONS ONLY, NO PRICES)
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        float tableY = currentY;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Sr.");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 50, tableY);
-        contentStream.showText("Glass Type");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 200, tableY);
-        contentStream.showText("Height");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Width");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 400, tableY);
-        contentStream.showText("Qty");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText("Design");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        // Draw line
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= 5;
-
-        // Items (DIMENSIONS ONLY, NO PRICES)
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-        int srNo = 1;
-        for (var item : quotation.getItems()) {
-            if (tableY < 100) {
-                contentStream.close();
-                page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                tableY = 750;
-            }
+    /**
+     * Cached variant of generateCuttingPadPrintPdf. The cutting plan depends on the sheets in
+     * stock, so the entry is keyed on the later of the quotation's and the shop's stock updatedAt.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getCuttingPadPrintPdf(Long quotationId) throws IOException {
+        Quotation quotation = loadQuotation(quotationId);
+        LocalDateTime version = quotation.getUpdatedAt();
+        LocalDateTime stockChange = cuttingPlanService.lastStockChange(quotation.getShop());
+        if (stockChange != null && (version == null || stockChange.isAfter(version))) {
+            version = stockChange;
+        }
+        return pdfCacheService.getOrRender(PdfDocumentType.CUTTING_PAD, quotation.getId(), version,
+                TEMPLATE_VERSION, out -> renderCuttingPadPrintPdf(quotation, out));
+    }
 
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableY);
-            contentStream.showText(String.valueOf(srNo++));
-            contentStream.endText();
+    public byte[] renderCuttingPadPrintPdf(Quotation quotation) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderCuttingPadPrintPdf(quotation, baos);
+        return baos.toByteArray();
+    }
 
-            String itemDesc = item.getGlassType() != null ? item.getGlassType() : "";
-            if (item.getThickness() != null) {
-                itemDesc += " (" + item.getThickness() + "mm)";
-            }
+    public void renderCuttingPadPrintPdf(Quotation quotation, OutputStream out) throws IOException {
+        renderCuttingPadPrintPdf(quotation, cuttingPlanService.planForQuotation(quotation), out);
+    }
 
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 50, tableY);
-            contentStream.showText(itemDesc);
-            contentStream.endText();
+    public void renderCuttingPadPrintPdf(Quotation quotation, List<CuttingPlan> plans, OutputStream out) throws IOException {
+        render(PdfDocumentType.CUTTING_PAD, document -> layoutCuttingPadPrintPdf(quotation, plans, document), out);
+    }
 
-            // Height with unit
-            String heightStr = "";
-            if (item.getHeight() != null) {
-                heightStr = String.format("%.2f", item.getHeight());
-                if (item.getHeightUnit() != null) {
-                    heightStr += " " + item.getHeightUnit();
-                }
-            }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 200, tableY);
-            contentStream.showText(heightStr);
-            contentStream.endText();
-
-            // Width with unit
-            String widthStr = "";
-            if (item.getWidth() != null) {
-                widthStr = String.format("%.2f", item.getWidth());
-                if (item.getWidthUnit() != null) {
-                    widthStr += " " + item.getWidthUnit();
+    private void layoutCuttingPadPrintPdf(Quotation quotation, List<CuttingPlan> plans, PDDocument document) throws IOException {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new HeaderBlock("CUTTING-PAD", 20));
+        components.add(new TextBlock()
+                .text("Quotation Number: " + quotation.getQuotationNumber(), FontStyle.BOLD, 12)
+                .text("Date: " + formatDate(quotation.getQuotationDate()), FontStyle.REGULAR, 10)
+                .text("Customer: " + quotation.getCustomerName(), FontStyle.REGULAR, 10)
+                .advance(PdfCanvas.LINE_HEIGHT * 2));
+
+        // Dimensions only, no prices
+        TableBlock table = new TableBlock()
+                .column("Sr.", 0)
+                .column("Glass Type", 50)
+                .column("Height", 200)
+                .column("Width", 300)
+                .column("Qty", 400)
+                .column("Design", 450);
+        int srNo = 1;
+        for (QuotationItem item : quotation.getItems()) {
+            table.row(String.valueOf(srNo++), itemDescription(item.getGlassType(), item.getThickness()),
+                    measurement(item.getHeight(), item.getHeightUnit()),
+                    measurement(item.getWidth(), item.getWidthUnit()),
+                    String.valueOf(item.getQuantity()), designLabel(item.getDesign()));
+        }
+        components.add(table);
+        addCuttingPlans(components, plans);
+
+        layoutEngine.render(document, components);
+    }
+
+    /**
+     * Cut layouts after the piece list: a summary per glass type, then one drawing per sheet.
+     */
+    private static void addCuttingPlans(List<PdfComponent> components, List<CuttingPlan> plans) {
+        if (plans == null || plans.isEmpty()) {
+            return;
+        }
+        components.add(new TextBlock()
+                .space(PdfCanvas.LINE_HEIGHT)
+                .text("CUTTING PLAN", FontStyle.BOLD, 14)
+                .cacheable());
+        for (CuttingPlan plan : plans) {
+            TextBlock summary = new TextBlock()
+                    .text(itemDescription(plan.getGlassType(), plan.getThickness()) + ": "
+                            + plan.getSheets().size() + " sheet(s), waste "
+                            + String.format("%.1f", plan.getWastePercent()) + "%, kerf " + plan.getKerf() + " mm",
+                            FontStyle.BOLD, 10);
+            if (!plan.getUnplaced().isEmpty()) {
+                StringBuilder labels = new StringBuilder();
+                for (CutPiece piece : plan.getUnplaced()) {
+                    labels.append(labels.length() > 0 ? ", " : "").append(piece.getLabel());
                 }
+                summary.text("No stock sheet fits: " + labels, FontStyle.REGULAR, 9);
             }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText(widthStr);
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 400, tableY);
-            contentStream.showText(String.valueOf(item.getQuantity()));
-            contentStream.endText();
-
-            String design = "";
-            if (item.getDesign() != null) {
-                if ("POLISH".equals(item.getDesign())) {
-                    design = "Polish";
-                } else if ("BEVELING".equals(item.getDesign())) {
-                    design = "Beveling";
-                } else if ("HALF_ROUND".equals(item.getDesign())) {
-                    design = "Half Round";
-                } else {
-                    design = item.getDesign();
+            components.add(summary.keepTogether());
+
+            int sheetNo = 1;
+            for (SheetLayout sheet : plan.getSheets()) {
+                SheetLayoutBlock drawing = new SheetLayoutBlock("Sheet " + sheetNo++ + " of " + plan.getSheets().size()
+                        + ": " + sheet.getSheetWidth() + " × " + sheet.getSheetHeight() + " mm, stand "
+                        + sheet.getStandNo() + ", waste " + String.format("%.1f", sheet.getWastePercent()) + "%",
+                        sheet.getSheetWidth(), sheet.getSheetHeight());
+                for (Placement placement : sheet.getPlacements()) {
+                    drawing.piece(placement.getX(), placement.getY(), placement.getWidth(), placement.getHeight(),
+                            placement.getLabel() + " " + placement.getWidth() + "×" + placement.getHeight());
                 }
+                components.add(drawing);
             }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(design);
-            contentStream.endText();
-
-            tableY -= lineHeight;
         }
-
-        contentStream.close();
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        document.save(baos);
-        document.close();
-
-        return baos.toByteArray();
     }
 
     /**
      * Generate Final Original Invoice PDF (with shop name and all details)
      */
+    @Transactional(readOnly = true)
     public byte[] generateInvoicePdf(Long invoiceId) throws IOException {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
+        return renderInvoicePdf(loadInvoice(invoiceId));
+    }
+
+    /**
+     * Cached variant of generateInvoicePdf; the entry is keyed on the invoice's updatedAt.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getInvoicePdf(Long invoiceId) throws IOException {
+        return getInvoicePdf(loadInvoice(invoiceId));
+    }
+
+    /**
+     * Bulk export variant of getInvoicePdf, see getQuotationPdfForExport.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getInvoicePdfForExport(Long invoiceId, Long shopId) throws IOException {
+        Invoice invoice = invoiceRepository.findWithItemsById(invoiceId)
                 .orElseThrow(() -> new RuntimeException("Invoice not found"));
-        
-        Shop shop = getCurrentShop();
-        if (!invoice.getShop().getId().equals(shop.getId())) {
+        if (!invoice.getShop().getId().equals(shopId)) {
             throw new RuntimeException("Unauthorized access to invoice");
         }
+        return getInvoicePdf(invoice);
+    }
 
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-        float margin = 50;
-        float yPosition = 750;
-        float lineHeight = 20;
-        float currentY = yPosition;
-
-        // Title
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 24);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        String title = invoice.getBillingType().toString().equals("GST") ? "TAX INVOICE" : "BILL / CASH MEMO";
-        contentStream.showText(title);
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Shop Details (From)
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 14);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("From:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        if (shop.getShopName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText(shop.getShopName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        if (shop.getOwnerName() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Owner: " + shop.getOwnerName());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getEmail() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Email: " + shop.getEmail());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
-        if (shop.getWhatsappNumber() != null) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + shop.getWhatsappNumber());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
+    private CachedPdf getInvoicePdf(Invoice invoice) throws IOException {
+        return pdfCacheService.getOrRender(PdfDocumentType.INVOICE, invoice.getId(), invoice.getUpdatedAt(),
+                TEMPLATE_VERSION, out -> renderInvoicePdf(invoice, out));
+    }
 
-        currentY -= lineHeight;
-
-        // Customer Details (To)
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("To:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText(invoice.getCustomerName());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        if (invoice.getCustomerMobile() != null && !invoice.getCustomerMobile().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + invoice.getCustomerMobile());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
+    public byte[] renderInvoicePdf(Invoice invoice) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderInvoicePdf(invoice, baos);
+        return baos.toByteArray();
+    }
 
-        if (invoice.getCustomerAddress() != null && !invoice.getCustomerAddress().isEmpty()) {
-            String[] addressLines = invoice.getCustomerAddress().split("\n");
-            for (String line : addressLines) {
-                if (currentY < 100) {
-                    contentStream.close();
-                    page = new PDPage(PDRectangle.A4);
-                    document.addPage(page);
-                    contentStream = new PDPageContentStream(document, page);
-                    currentY = 750;
-                }
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, currentY);
-                contentStream.showText(line);
-                contentStream.endText();
-                currentY -= lineHeight;
-            }
-        }
+    public void renderInvoicePdf(Invoice invoice, OutputStream out) throws IOException {
+        render(PdfDocumentType.INVOICE, document -> layoutInvoicePdf(invoice, document), out);
+    }
 
-        if (invoice.getCustomerGstin() != null && !invoice.getCustomerGstin().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("GSTIN: " + invoice.getCustomerGstin());
-            contentStream.endText();
-            currentY -= lineHeight;
-        }
+    private void layoutInvoicePdf(Invoice invoice, PDDocument document) throws IOException {
+        layoutInvoice(invoice, document, true);
+    }
 
-        currentY -= lineHeight;
-
-        // Invoice Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Invoice Number: " + invoice.getInvoiceNumber());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Date: " + invoice.getInvoiceDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Invoice Type: " + invoice.getInvoiceType().toString());
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Items Table Header
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        float tableY = currentY;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Sr.");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 50, tableY);
-        contentStream.showText("Item");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 200, tableY);
-        contentStream.showText("Size");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Qty");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Rate");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText("Amount");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        // Draw line
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= 5;
-
-        // Items
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-        int srNo = 1;
-        for (var item : invoice.getItems()) {
-            if (tableY < 100) {
-                contentStream.close();
-                page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                tableY = 750;
-            }
+    /**
+     * Generate Basic Invoice PDF (without shop name and logo)
+     */
+    @Transactional(readOnly = true)
+    public byte[] generateBasicInvoicePdf(Long invoiceId) throws IOException {
+        return renderBasicInvoicePdf(loadInvoice(invoiceId));
+    }
 
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableY);
-            contentStream.showText(String.valueOf(srNo++));
-            contentStream.endText();
+    /**
+     * Cached variant of generateBasicInvoicePdf; the entry is keyed on the invoice's updatedAt.
+     */
+    @Transactional(readOnly = true)
+    public CachedPdf getBasicInvoicePdf(Long invoiceId) throws IOException {
+        Invoice invoice = loadInvoice(invoiceId);
+        return pdfCacheService.getOrRender(PdfDocumentType.BASIC_INVOICE, invoice.getId(), invoice.getUpdatedAt(),
+                TEMPLATE_VERSION, out -> renderBasicInvoicePdf(invoice, out));
+    }
 
-            String itemDesc = item.getGlassType() != null ? item.getGlassType() : "";
-            if (item.getThickness() != null) {
-                itemDesc += " (" + item.getThickness() + "mm)";
-            }
+    public byte[] renderBasicInvoicePdf(Invoice invoice) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        renderBasicInvoicePdf(invoice, baos);
+        return baos.toByteArray();
+    }
+
+    public void renderBasicInvoicePdf(Invoice invoice, OutputStream out) throws IOException {
+        render(PdfDocumentType.BASIC_INVOICE, document -> layoutBasicInvoicePdf(invoice, document), out);
+    }
 
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 50, tableY);
-            contentStream.showText(itemDesc);
-            contentStream.endText();
+    private void layoutBasicInvoicePdf(Invoice invoice, PDDocument document) throws IOException {
+        // No shop name and no "From" section
+        layoutInvoice(invoice, document, false);
+    }
 
+    private void layoutInvoice(Invoice invoice, PDDocument document, boolean withShop) throws IOException {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new HeaderBlock(invoice.getBillingType() == BillingType.GST ? "TAX INVOICE" : "BILL / CASH MEMO", 24));
+        if (withShop) {
+            components.add(shopBlock(invoice.getShop(), 14, true, true));
+        }
+        components.add(new PartyBlock("To:", 12)
+                .line(invoice.getCustomerName())
+                .field("Mobile: ", invoice.getCustomerMobile())
+                .lines(invoice.getCustomerAddress())
+                .field("GSTIN: ", invoice.getCustomerGstin()));
+        components.add(new TextBlock()
+                .text("Invoice Number: " + invoice.getInvoiceNumber(), FontStyle.BOLD, 12)
+                .text("Date: " + formatDate(invoice.getInvoiceDate()), FontStyle.REGULAR, 10)
+                .text("Invoice Type: " + invoice.getInvoiceType(), FontStyle.REGULAR, 10)
+                .advance(PdfCanvas.LINE_HEIGHT * 2));
+
+        TableBlock table = new TableBlock()
+                .column("Sr.", 0)
+                .column("Item", 50)
+                .column("Size", 200)
+                .column("Qty", 300)
+                .column("Rate", 350)
+                .column("Amount", 450);
+        int srNo = 1;
+        for (InvoiceItem item : invoice.getItems()) {
             String size = "";
             if (item.getHeight() != null && item.getWidth() != null) {
-                size = String.format("%.2f", item.getHeight()) + " × " + String.format("%.2f", item.getWidth()) + " ft";
+                size = dimensions(item.getHeight(), item.getWidth()) + " ft";
             }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 200, tableY);
-            contentStream.showText(size);
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText(String.valueOf(item.getQuantity()));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText(String.format("%.2f", item.getRatePerSqft() != null ? item.getRatePerSqft() : 0.0));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", item.getSubtotal() != null ? item.getSubtotal() : 0.0));
-            contentStream.endText();
-
-            tableY -= lineHeight;
+            table.row(String.valueOf(srNo++), itemDescription(item.getGlassType(), item.getThickness()), size,
+                    String.valueOf(item.getQuantity()), money(item.getRatePerSqft()), money(item.getSubtotal()));
         }
+        components.add(table);
 
-        tableY -= lineHeight;
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= lineHeight;
-
-        // Totals
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Subtotal:");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText(String.format("%.2f", invoice.getSubtotal() != null ? invoice.getSubtotal() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        if (invoice.getInstallationCharge() != null && invoice.getInstallationCharge() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("Installation:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", invoice.getInstallationCharge()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
+        components.add(totals(350, 450, invoice.getSubtotal(), invoice.getInstallationCharge(),
+                invoice.getTransportCharge(), invoice.getDiscount(), invoice.getBillingType(),
+                invoice.getGstPercentage(), invoice.getGstAmount(), invoice.getGrandTotal()));
+        components.add(new TextBlock()
+                .text("Payment Status: " + invoice.getPaymentStatus(), FontStyle.REGULAR, 10)
+                .text("Paid: Rs. " + money(invoice.getPaidAmount()), FontStyle.REGULAR, 10)
+                .text("Due: Rs. " + money(invoice.getDueAmount()), FontStyle.REGULAR, 10)
+                .keepTogether());
 
-        if (invoice.getTransportCharge() != null && invoice.getTransportCharge() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("Transport:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", invoice.getTransportCharge()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
+        layoutEngine.render(document, components);
+    }
 
-        if (invoice.getDiscount() != null && invoice.getDiscount() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("Discount:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText("-" + String.format("%.2f", invoice.getDiscount()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
+    /* ===============================
+       SHARED BLOCKS
+       =============================== */
 
-        if (invoice.getBillingType().toString().equals("GST") && invoice.getGstAmount() != null && invoice.getGstAmount() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("GST (" + (invoice.getGstPercentage() != null ? invoice.getGstPercentage() : 0) + "%):");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", invoice.getGstAmount()));
-            contentStream.endText();
-            tableY -= lineHeight;
+    private static PartyBlock shopBlock(Shop shop, float labelSize, boolean boldName, boolean withEmail) {
+        PartyBlock from = new PartyBlock("From:", labelSize)
+                .line(shop.getShopName(), boldName ? FontStyle.BOLD : FontStyle.REGULAR, boldName ? 12 : 10)
+                .field("Owner: ", shop.getOwnerName());
+        if (withEmail) {
+            from.field("Email: ", shop.getEmail());
         }
-
-        tableY -= lineHeight;
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Grand Total:");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText("Rs. " + String.format("%.2f", invoice.getGrandTotal() != null ? invoice.getGrandTotal() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight * 2;
-
-        // Payment Status
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Payment Status: " + invoice.getPaymentStatus().toString());
-        contentStream.endText();
-        tableY -= lineHeight;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Paid: Rs. " + String.format("%.2f", invoice.getPaidAmount() != null ? invoice.getPaidAmount() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Due: Rs. " + String.format("%.2f", invoice.getDueAmount() != null ? invoice.getDueAmount() : 0.0));
-        contentStream.endText();
-
-        contentStream.close();
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        document.save(baos);
-        document.close();
-
-        return baos.toByteArray();
+        // Same for every document the shop prints: compiled once, replayed after that
+        return from.field("Mobile: ", shop.getWhatsappNumber()).cacheable();
     }
 
-    /**
-     * Generate Basic Invoice PDF (without shop name and logo)
-     */
-    public byte[] generateBasicInvoicePdf(Long invoiceId) throws IOException {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new RuntimeException("Invoice not found"));
-        
-        Shop shop = getCurrentShop();
-        if (!invoice.getShop().getId().equals(shop.getId())) {
-            throw new RuntimeException("Unauthorized access to invoice");
+    private static TotalsBlock totals(float labelX, float valueX, Double subtotal, Double installation,
+                                      Double transport, Double discount, BillingType billingType,
+                                      Double gstPercentage, Double gstAmount, Double grandTotal) {
+        TotalsBlock totals = new TotalsBlock(labelX, valueX).row("Subtotal:", money(subtotal));
+        if (installation != null && installation > 0) {
+            totals.row("Installation:", money(installation));
         }
-
-        PDDocument document = new PDDocument();
-        PDPage page = new PDPage(PDRectangle.A4);
-        document.addPage(page);
-
-        PDPageContentStream contentStream = new PDPageContentStream(document, page);
-
-        float margin = 50;
-        float yPosition = 750;
-        float lineHeight = 20;
-        float currentY = yPosition;
-
-        // Title (NO SHOP NAME)
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 24);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        String title = invoice.getBillingType().toString().equals("GST") ? "TAX INVOICE" : "BILL / CASH MEMO";
-        contentStream.showText(title);
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Customer Details (To) - NO "From" section
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("To:");
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText(invoice.getCustomerName());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        if (invoice.getCustomerMobile() != null && !invoice.getCustomerMobile().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("Mobile: " + invoice.getCustomerMobile());
-            contentStream.endText();
-            currentY -= lineHeight;
+        if (transport != null && transport > 0) {
+            totals.row("Transport:", money(transport));
         }
-
-        if (invoice.getCustomerAddress() != null && !invoice.getCustomerAddress().isEmpty()) {
-            String[] addressLines = invoice.getCustomerAddress().split("\n");
-            for (String line : addressLines) {
-                if (currentY < 100) {
-                    contentStream.close();
-                    page = new PDPage(PDRectangle.A4);
-                    document.addPage(page);
-                    contentStream = new PDPageContentStream(document, page);
-                    currentY = 750;
-                }
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, currentY);
-                contentStream.showText(line);
-                contentStream.endText();
-                currentY -= lineHeight;
-            }
+        if (discount != null && discount > 0) {
+            totals.row("Discount:", "-" + money(discount));
         }
-
-        if (invoice.getCustomerGstin() != null && !invoice.getCustomerGstin().isEmpty()) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, currentY);
-            contentStream.showText("GSTIN: " + invoice.getCustomerGstin());
-            contentStream.endText();
-            currentY -= lineHeight;
+        if (billingType == BillingType.GST && gstAmount != null && gstAmount > 0) {
+            totals.row("GST (" + (gstPercentage != null ? gstPercentage : 0) + "%):", money(gstAmount));
         }
+        return totals.grandTotal("Grand Total:", "Rs. " + money(grandTotal));
+    }
 
-        currentY -= lineHeight;
-
-        // Invoice Details
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Invoice Number: " + invoice.getInvoiceNumber());
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Date: " + invoice.getInvoiceDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-        contentStream.endText();
-        currentY -= lineHeight;
-
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, currentY);
-        contentStream.showText("Invoice Type: " + invoice.getInvoiceType().toString());
-        contentStream.endText();
-        currentY -= lineHeight * 2;
-
-        // Items Table Header
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        float tableY = currentY;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Sr.");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 50, tableY);
-        contentStream.showText("Item");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 200, tableY);
-        contentStream.showText("Size");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 300, tableY);
-        contentStream.showText("Qty");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Rate");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText("Amount");
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        // Draw line
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= 5;
-
-        // Items
-        contentStream.setFont(PDType1Font.HELVETICA, 9);
-        int srNo = 1;
-        for (var item : invoice.getItems()) {
-            if (tableY < 100) {
-                contentStream.close();
-                page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                tableY = 750;
-            }
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, tableY);
-            contentStream.showText(String.valueOf(srNo++));
-            contentStream.endText();
-
-            String itemDesc = item.getGlassType() != null ? item.getGlassType() : "";
-            if (item.getThickness() != null) {
-                itemDesc += " (" + item.getThickness() + "mm)";
-            }
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 50, tableY);
-            contentStream.showText(itemDesc);
-            contentStream.endText();
+    private static TextBlock signatureBlock() {
+        return new TextBlock()
+                .space(PdfCanvas.LINE_HEIGHT * 2)
+                .text("Received By:", FontStyle.REGULAR, 10).advance(PdfCanvas.LINE_HEIGHT * 3)
+                .text("_____________________", FontStyle.REGULAR, 10)
+                .text("(Signature & Stamp)", FontStyle.REGULAR, 10).advance(PdfCanvas.LINE_HEIGHT * 2)
+                .text(300, "Delivered By:", FontStyle.REGULAR, 10).advance(PdfCanvas.LINE_HEIGHT * 3)
+                .text(300, "_____________________", FontStyle.REGULAR, 10)
+                .text(300, "(Signature & Stamp)", FontStyle.REGULAR, 10)
+                .cacheable();
+    }
 
-            String size = "";
-            if (item.getHeight() != null && item.getWidth() != null) {
-                size = String.format("%.2f", item.getHeight()) + " × " + String.format("%.2f", item.getWidth()) + " ft";
-            }
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 200, tableY);
-            contentStream.showText(size);
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 300, tableY);
-            contentStream.showText(String.valueOf(item.getQuantity()));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText(String.format("%.2f", item.getRatePerSqft() != null ? item.getRatePerSqft() : 0.0));
-            contentStream.endText();
-
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", item.getSubtotal() != null ? item.getSubtotal() : 0.0));
-            contentStream.endText();
-
-            tableY -= lineHeight;
+    private static String itemDescription(String glassType, String thickness) {
+        String description = glassType != null ? glassType : "";
+        if (thickness != null) {
+            description += " (" + thickness + "mm)";
         }
+        return description;
+    }
 
-        tableY -= lineHeight;
-        contentStream.moveTo(margin, tableY);
-        contentStream.lineTo(margin + 500, tableY);
-        contentStream.stroke();
-        tableY -= lineHeight;
-
-        // Totals
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Subtotal:");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText(String.format("%.2f", invoice.getSubtotal() != null ? invoice.getSubtotal() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight;
-
-        if (invoice.getInstallationCharge() != null && invoice.getInstallationCharge() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("Installation:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", invoice.getInstallationCharge()));
-            contentStream.endText();
-            tableY -= lineHeight;
-        }
+    private static String dimensions(Double height, Double width) {
+        return String.format("%.2f", height) + " × " + String.format("%.2f", width);
+    }
 
-        if (invoice.getTransportCharge() != null && invoice.getTransportCharge() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("Transport:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", invoice.getTransportCharge()));
-            contentStream.endText();
-            tableY -= lineHeight;
+    private static String measurement(Double value, String unit) {
+        if (value == null) {
+            return "";
         }
+        String text = String.format("%.2f", value);
+        return unit != null ? text + " " + unit : text;
+    }
 
-        if (invoice.getDiscount() != null && invoice.getDiscount() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("Discount:");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText("-" + String.format("%.2f", invoice.getDiscount()));
-            contentStream.endText();
-            tableY -= lineHeight;
+    private static String designLabel(String design) {
+        if (design == null) {
+            return "";
         }
-
-        if (invoice.getBillingType().toString().equals("GST") && invoice.getGstAmount() != null && invoice.getGstAmount() > 0) {
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 350, tableY);
-            contentStream.showText("GST (" + (invoice.getGstPercentage() != null ? invoice.getGstPercentage() : 0) + "%):");
-            contentStream.endText();
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin + 450, tableY);
-            contentStream.showText(String.format("%.2f", invoice.getGstAmount()));
-            contentStream.endText();
-            tableY -= lineHeight;
+        switch (design) {
+            case "POLISH":
+                return "Polish";
+            case "BEVELING":
+                return "Beveling";
+            case "HALF_ROUND":
+                return "Half Round";
+            default:
+                return design;
         }
+    }
 
-        tableY -= lineHeight;
-        contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 350, tableY);
-        contentStream.showText("Grand Total:");
-        contentStream.endText();
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin + 450, tableY);
-        contentStream.showText("Rs. " + String.format("%.2f", invoice.getGrandTotal() != null ? invoice.getGrandTotal() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight * 2;
-
-        // Payment Status
-        contentStream.setFont(PDType1Font.HELVETICA, 10);
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Payment Status: " + invoice.getPaymentStatus().toString());
-        contentStream.endText();
-        tableY -= lineHeight;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Paid: Rs. " + String.format("%.2f", invoice.getPaidAmount() != null ? invoice.getPaidAmount() : 0.0));
-        contentStream.endText();
-        tableY -= lineHeight;
-        contentStream.beginText();
-        contentStream.newLineAtOffset(margin, tableY);
-        contentStream.showText("Due: Rs. " + String.format("%.2f", invoice.getDueAmount() != null ? invoice.getDueAmount() : 0.0));
-        contentStream.endText();
-
-        contentStream.close();
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        document.save(baos);
-        document.close();
+    private static String money(Double value) {
+        return String.format("%.2f", value != null ? value : 0.0);
+    }
 
-        return baos.toByteArray();
+    private static String formatDate(LocalDate date) {
+        return date != null ? date.format(DATE_FORMAT) : "";
     }
 }
 
@@ -23,6 +23,8 @@ import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.User;
 import com.glassshop.ai.enums.BillingType;
 import com.glassshop.ai.enums.QuotationStatus;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
 import com.glassshop.ai.repository.CustomerRepository;
 import com.glassshop.ai.repository.QuotationRepository;
 import com.glassshop.ai.repository.UserRepository;
@@ -39,6 +41,15 @@ public class QuotationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PdfCacheService pdfCacheService;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ShopDataVersions shopDataVersions;
+
     private Shop getCurrentShop() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
@@ -111,11 +122,30 @@ public class QuotationService {
         quotation.setCustomerState(customer.getState() != null ? customer.getState() : request.getCustomerState());
 
         // Process items and calculate amounts
+        double subtotal = addItems(quotation, request.getItems());
+        quotation.setSubtotal(subtotal);
+        quotation.setInstallationCharge(request.getInstallationCharge() != null ? request.getInstallationCharge() : 0.0);
+        quotation.setTransportCharge(request.getTransportCharge() != null ? request.getTransportCharge() : 0.0);
+        quotation.setTransportationRequired(request.getTransportationRequired() != null ? request.getTransportationRequired() : false);
+        quotation.setDiscount(request.getDiscount() != null ? request.getDiscount() : 0.0);
+
+        // Calculate GST and grand total
+        calculateGstAndGrandTotal(quotation, request.getBillingType(), request.getGstPercentage(), request.getCustomerState(), shop);
+
+        Quotation saved = quotationRepository.save(quotation);
+        shopDataVersions.changed(shop.getId(), ShopResource.QUOTATIONS);
+        return convertToResponse(saved);
+    }
+
+    /**
+     * Build the quotation's items from the request lines; returns the items' subtotal
+     */
+    private double addItems(Quotation quotation, List<QuotationItemDto> itemDtos) {
         List<QuotationItem> items = new ArrayList<>();
         double subtotal = 0.0;
 
-        for (int i = 0; i < request.getItems().size(); i++) {
-            QuotationItemDto itemDto = request.getItems().get(i);
+        for (int i = 0; i < itemDtos.size(); i++) {
+            QuotationItemDto itemDto = itemDtos.get(i);
             
             // Use area provided by frontend (already in feet) or calculate from height*width if not provided
             double area = itemDto.getArea() != null ? itemDto.getArea() : (itemDto.getHeight() * itemDto.getWidth());
@@ -145,17 +175,7 @@ public class QuotationService {
         }
 
         quotation.setItems(items);
-        quotation.setSubtotal(subtotal);
-        quotation.setInstallationCharge(request.getInstallationCharge() != null ? request.getInstallationCharge() : 0.0);
-        quotation.setTransportCharge(request.getTransportCharge() != null ? request.getTransportCharge() : 0.0);
-        quotation.setTransportationRequired(request.getTransportationRequired() != null ? request.getTransportationRequired() : false);
-        quotation.setDiscount(request.getDiscount() != null ? request.getDiscount() : 0.0);
-
-        // Calculate GST and grand total
-        calculateGstAndGrandTotal(quotation, request.getBillingType(), request.getGstPercentage(), request.getCustomerState(), shop);
-
-        Quotation saved = quotationRepository.save(quotation);
-        return convertToResponse(saved);
+        return subtotal;
     }
 
     private void calculateGstAndGrandTotal(Quotation quotation, BillingType billingType, Double gstPercentage, String customerState, Shop shop) {
@@ -200,6 +220,7 @@ public class QuotationService {
         }
     }
 
+    @Transactional(readOnly = true)
     public QuotationResponse getQuotationById(Long id) {
         Shop shop = getCurrentShop();
         Quotation quotation = quotationRepository.findById(id)
@@ -212,6 +233,7 @@ public class QuotationService {
         return convertToResponse(quotation);
     }
 
+    @Transactional(readOnly = true)
     public List<QuotationResponse> getAllQuotations() {
         Shop shop = getCurrentShop();
         return quotationRepository.findByShopOrderByCreatedAtDesc(shop)
@@ -220,6 +242,7 @@ public class QuotationService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<QuotationResponse> getQuotationsByStatus(QuotationStatus status) {
         Shop shop = getCurrentShop();
         return quotationRepository.findByShopAndStatus(shop, status)
@@ -260,6 +283,14 @@ public class QuotationService {
         }
 
         Quotation saved = quotationRepository.save(quotation);
+        // Hold the sheets this quotation will be cut from; released again on reject
+        if (saved.getStatus() == QuotationStatus.CONFIRMED) {
+            stockReservationService.reserve(saved);
+        } else {
+            stockReservationService.release(saved.getId());
+        }
+        pdfCacheService.evictQuotation(saved.getId());
+        shopDataVersions.changed(shop.getId(), ShopResource.QUOTATIONS);
         return convertToResponse(saved);
     }
 
@@ -349,7 +380,10 @@ public class QuotationService {
             // For now, we'll allow deletion but warn the user
         }
 
+        stockReservationService.release(quotation.getId());
         quotationRepository.delete(quotation);
+        pdfCacheService.evictQuotation(id);
+        shopDataVersions.changed(shop.getId(), ShopResource.QUOTATIONS);
     }
 
     private QuotationItemDto convertItemToDto(QuotationItem item) {
@@ -0,0 +1,264 @@
+package com.glassshop.ai.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.glassshop.ai.dto.StockDeductionLine;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
+import com.glassshop.ai.repository.StockRepository;
+import com.glassshop.ai.util.DimensionParser;
+
+/**
+ * Takes an invoice's items out of stock in one go.
+ *
+ * Each quotation item is matched to a stock line of the same thickness (glass
+ * types are "<thickness>MM"): a line of the piece's own size first, otherwise
+ * the smallest line the piece can be cut from, and only lines with enough free
+ * (unreserved) sheets left. If any item cannot be covered nothing is deducted
+ * and a StockShortfallException carries the per-line report.
+ *
+ * The writes are three batched statements whatever the number of lines: the
+ * stock UPDATEs (one per stock line, guarded by "quantity - reserved >= n"),
+ * the audit_log INSERTs and the stock_history INSERTs.
+ */
+@Service
+public class StockDeductionService {
+
+    // Stock sizes within this many mm of the piece count as the piece's own size
+    private static final double SAME_SIZE_MM = 1.0;
+
+    private static final String DEDUCT_SQL = """
+            UPDATE stock SET quantity = quantity - ?, updated_at = ?
+            WHERE id = ? AND quantity - reserved >= ?
+            """;
+
+    private static final String AUDIT_SQL = """
+            INSERT INTO audit_log (username, role, action, glass_type, quantity, stand_no, height, width, unit,
+                                   shop_id, timestamp, height_mm, width_mm, area_sqmm)
+            VALUES (?, ?, 'REMOVE', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String HISTORY_SQL = """
+            INSERT INTO stock_history (glass_id, shop_id, stand_no, quantity, action, created_at)
+            VALUES (?, ?, ?, ?, 'REMOVE', ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockIndexService stockIndexService;
+
+    @Autowired
+    private ShopDataVersions shopDataVersions;
+
+    /**
+     * Deduct every item of the quotation from the shop's stock, or throw StockShortfallException.
+     */
+    @Transactional
+    public List<StockDeductionLine> deduct(Quotation quotation, String username, String role) {
+        return deduct(quotation, quotation.getItems(), null, username, role);
+    }
+
+    /**
+     * Deduct only some pieces of the quotation: for each item position (1-based, as
+     * printed) that many of its pieces, e.g. the ones its stock holds do not cover.
+     * All or nothing, like deduct.
+     */
+    @Transactional
+    public List<StockDeductionLine> deductPieces(Quotation quotation, Map<Integer, Integer> piecesByItem,
+                                                 String username, String role) {
+        List<QuotationItem> items = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        piecesByItem.forEach((position, pieces) -> {
+            QuotationItem item = quotation.getItems().get(position - 1);
+            QuotationItem part = new QuotationItem();
+            part.setGlassType(item.getGlassType());
+            part.setThickness(item.getThickness());
+            part.setHeight(item.getHeight());
+            part.setWidth(item.getWidth());
+            part.setHeightUnit(item.getHeightUnit());
+            part.setWidthUnit(item.getWidthUnit());
+            part.setQuantity(pieces);
+            items.add(part);
+            positions.add(position);
+        });
+        return deduct(quotation, items, positions, username, role);
+    }
+
+    private List<StockDeductionLine> deduct(Quotation quotation, List<QuotationItem> items, List<Integer> positions,
+                                            String username, String role) {
+        List<Stock> stock = stockRepository.findInStockByShopId(quotation.getShop().getId());
+        List<StockDeductionLine> lines = match(items, stock);
+        if (positions != null) {
+            for (int i = 0; i < lines.size(); i++) {
+                lines.get(i).setItemOrder(positions.get(i));
+            }
+        }
+        if (lines.stream().anyMatch(l -> l.getShortfall() > 0)) {
+            throw new StockShortfallException(lines);
+        }
+
+        Map<Long, Stock> byId = new HashMap<>();
+        stock.forEach(s -> byId.put(s.getId(), s));
+        Map<Long, Integer> perStock = new TreeMap<>(); // stock-id order, so concurrent invoices lock rows alike
+        List<Removal> removals = new ArrayList<>();
+        for (StockDeductionLine line : lines) {
+            perStock.merge(line.getStockId(), line.getQuantity(), Integer::sum);
+            removals.add(new Removal(byId.get(line.getStockId()), line.getQuantity()));
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = new ArrayList<>(perStock.keySet());
+        List<Object[]> updates = new ArrayList<>();
+        perStock.forEach((stockId, quantity) -> updates.add(new Object[] { quantity, now, stockId, quantity }));
+        int[] counts = jdbcTemplate.batchUpdate(DEDUCT_SQL, updates);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new RuntimeException("Stock changed while invoicing (stock line " + ids.get(i)
+                        + " no longer has enough free sheets). Please try again.");
+            }
+        }
+
+        recordRemovals(removals, username, role);
+        stockIndexService.evict(quotation.getShop().getId());
+        shopDataVersions.changed(quotation.getShop().getId(), ShopResource.STOCK);
+        System.out.println("✅ Deducted " + lines.size() + " line(s) from " + perStock.size()
+                + " stock line(s) for quotation " + quotation.getQuotationNumber());
+        return lines;
+    }
+
+    /**
+     * Sheets taken from one stock line, for the audit trail.
+     */
+    static final class Removal {
+        final Stock stock;
+        final int quantity;
+
+        Removal(Stock stock, int quantity) {
+            this.stock = stock;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * Audit log and undo history for removals already applied to stock, as two batched INSERTs.
+     */
+    void recordRemovals(List<Removal> removals, String username, String role) {
+        if (removals.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> audit = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        for (Removal removal : removals) {
+            Stock stock = removal.stock;
+            Double areaSqmm = stock.getHeightMm() != null && stock.getWidthMm() != null
+                    ? stock.getHeightMm() * stock.getWidthMm() : null;
+            audit.add(new Object[] { username, role, stock.getGlass().getType(), removal.quantity,
+                    stock.getStandNo(), stock.getHeight(), stock.getWidth(), stock.getGlass().getUnit(),
+                    stock.getShop().getId(), now, stock.getHeightMm(), stock.getWidthMm(), areaSqmm });
+            history.add(new Object[] { stock.getGlass().getId(), stock.getShop().getId(), stock.getStandNo(),
+                    removal.quantity, now });
+        }
+        jdbcTemplate.batchUpdate(AUDIT_SQL, audit);
+        jdbcTemplate.batchUpdate(HISTORY_SQL, history);
+    }
+
+    /**
+     * Match items to stock lines, drawing down a running count of free sheets per line.
+     */
+    List<StockDeductionLine> match(List<QuotationItem> items, List<Stock> stock) {
+        Map<Long, Integer> free = new HashMap<>();
+        stock.forEach(s -> free.put(s.getId(), s.getAvailable()));
+
+        List<StockDeductionLine> lines = new ArrayList<>();
+        int order = 1;
+        for (QuotationItem item : items) {
+            int quantity = item.getQuantity() != null ? item.getQuantity() : 1;
+            StockDeductionLine line = new StockDeductionLine();
+            line.setItemOrder(order++);
+            line.setGlassType(item.getGlassType());
+            line.setThickness(item.getThickness());
+            line.setSize(size(item));
+            line.setQuantity(quantity);
+
+            List<Stock> candidates = candidates(item, stock);
+            Stock chosen = candidates.stream()
+                    .filter(s -> free.get(s.getId()) >= quantity)
+                    .findFirst()
+                    .orElse(candidates.isEmpty() ? null : candidates.get(0));
+            int available = chosen != null ? Math.max(free.get(chosen.getId()), 0) : 0;
+            if (chosen != null) {
+                line.setStockId(chosen.getId());
+                line.setStandNo(chosen.getStandNo());
+                free.merge(chosen.getId(), -quantity, Integer::sum);
+            }
+            line.setAvailable(available);
+            line.setShortfall(Math.max(quantity - available, 0));
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    /**
+     * Stock lines the item can come from: same thickness, at least the piece's size
+     * either way round; own-size lines first, then by area.
+     */
+    private static List<Stock> candidates(QuotationItem item, List<Stock> stock) {
+        Integer thickness = CuttingPlanService.thickness(item);
+        double height = DimensionParser.itemMillimetres(item.getHeight(), item.getHeightUnit());
+        double width = DimensionParser.itemMillimetres(item.getWidth(), item.getWidthUnit());
+        double needLong = Math.max(height, width);
+        double needShort = Math.min(height, width);
+        List<Stock> candidates = new ArrayList<>();
+        if (thickness == null || needShort <= 0) {
+            return candidates;
+        }
+        for (Stock line : stock) {
+            if (line.getGlass() == null || line.getGlass().getThickness() != thickness
+                    || line.getHeightMm() == null || line.getWidthMm() == null) {
+                continue;
+            }
+            double longSide = Math.max(line.getHeightMm(), line.getWidthMm());
+            double shortSide = Math.min(line.getHeightMm(), line.getWidthMm());
+            if (longSide + SAME_SIZE_MM >= needLong && shortSide + SAME_SIZE_MM >= needShort) {
+                candidates.add(line);
+            }
+        }
+        candidates.sort(Comparator
+                .comparing((Stock s) -> !sameSize(s, needLong, needShort))
+                .thenComparingDouble(s -> s.getHeightMm() * s.getWidthMm())
+                .thenComparing(Stock::getId));
+        return candidates;
+    }
+
+    private static boolean sameSize(Stock line, double needLong, double needShort) {
+        double longSide = Math.max(line.getHeightMm(), line.getWidthMm());
+        double shortSide = Math.min(line.getHeightMm(), line.getWidthMm());
+        return Math.abs(longSide - needLong) <= SAME_SIZE_MM && Math.abs(shortSide - needShort) <= SAME_SIZE_MM;
+    }
+
+    private static String size(QuotationItem item) {
+        String unit = item.getHeightUnit() != null ? item.getHeightUnit() : DimensionParser.ITEM_UNIT;
+        return item.getHeight() + " × " + item.getWidth() + " " + unit;
+    }
+}
@@ -0,0 +1,34 @@
+package com.glassshop.ai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.glassshop.ai.entity.Stock;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on Stock that keeps StockIndexService current, whichever service changed the row.
+ * Hibernate obtains it from Spring, so it can be injected; @Lazy breaks the cycle through the EntityManagerFactory.
+ */
+@Component
+public class StockIndexListener {
+
+    @Autowired
+    @Lazy
+    private StockIndexService stockIndexService;
+
+    @PostPersist
+    @PostUpdate
+    void stockSaved(Stock stock) {
+        stockIndexService.stockSaved(stock);
+    }
+
+    @PostRemove
+    void stockRemoved(Stock stock) {
+        stockIndexService.stockRemoved(stock);
+    }
+}
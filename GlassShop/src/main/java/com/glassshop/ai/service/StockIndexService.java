@@ -0,0 +1,271 @@
+package com.glassshop.ai.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.glassshop.ai.cutting.SheetIndex;
+import com.glassshop.ai.cutting.StockSheet;
+import com.glassshop.ai.dto.BestFitResponse;
+import com.glassshop.ai.dto.QuotationItemDto;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.repository.StockRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.util.DimensionParser;
+
+/**
+ * In-memory best-fit index over the available (unreserved) stock of each shop, one
+ * SheetIndex per glass thickness (glass types are "<thickness>MM").
+ *
+ * A shop's index is loaded on its first lookup and then kept current by
+ * StockIndexListener: every saved or deleted Stock row updates its line after
+ * the transaction commits and rebuilds only that thickness's tree.
+ *
+ * The load runs outside the map. A change or eviction for a shop that is not
+ * in the map bumps the shop's generation, and a load only goes into the map if
+ * the generation is unchanged, so an index that missed a change is never kept.
+ */
+@Service
+public class StockIndexService {
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, ShopIndex> shops = new ConcurrentHashMap<>();
+
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private static final class Line {
+        final int thickness;
+        final StockSheet sheet;
+
+        Line(int thickness, StockSheet sheet) {
+            this.thickness = thickness;
+            this.sheet = sheet;
+        }
+    }
+
+    /**
+     * Lines are only touched inside shops.compute for the shop; trees are swapped in whole so lookups need no lock.
+     */
+    private static final class ShopIndex {
+        final Map<Long, Line> lines = new HashMap<>();
+        final Map<Integer, SheetIndex> trees = new ConcurrentHashMap<>();
+    }
+
+    private Shop getCurrentShop() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            throw new RuntimeException("User not authenticated");
+        }
+        User user = userRepository.findByUserName(auth.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Shop shop = user.getShop();
+        if (shop == null) {
+            throw new RuntimeException("Shop not found");
+        }
+        return shop;
+    }
+
+    /**
+     * Best-fitting in-stock sheet for each item of the current shop, in request order.
+     */
+    public List<BestFitResponse> bestFit(List<QuotationItemDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("At least one item is required");
+        }
+        Shop shop = getCurrentShop();
+        List<BestFitResponse> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(bestFit(shop.getId(), i, items.get(i)));
+        }
+        return results;
+    }
+
+    BestFitResponse bestFit(Long shopId, int itemIndex, QuotationItemDto item) {
+        BestFitResponse result = new BestFitResponse();
+        result.setItemIndex(itemIndex);
+        result.setGlassType(item.getGlassType());
+
+        Integer thickness = CuttingPlanService.thickness(item.getThickness(), item.getGlassType());
+        int width = pieceMillimetres(item.getWidth(), item.getWidthUnit());
+        int height = pieceMillimetres(item.getHeight(), item.getHeightUnit());
+        result.setThickness(thickness);
+        result.setPieceWidthMm(width);
+        result.setPieceHeightMm(height);
+        int quantity = item.getQuantity() != null && item.getQuantity() > 0 ? item.getQuantity() : 1;
+        result.setQuantity(quantity);
+        result.setShortfall(quantity);
+        if (thickness == null || width <= 0 || height <= 0) {
+            return result;
+        }
+
+        StockSheet sheet = bestFit(shopId, thickness, width, height);
+        if (sheet != null) {
+            int shortfall = Math.max(0, quantity - sheet.getAvailable());
+            result.setAvailable(shortfall == 0);
+            result.setShortfall(shortfall);
+            result.setStockId(sheet.getStockId());
+            result.setStandNo(sheet.getStandNo());
+            result.setSheetWidthMm(sheet.getWidth());
+            result.setSheetHeightMm(sheet.getHeight());
+            result.setSheetsInStock(sheet.getAvailable());
+            result.setWastePercent(100.0 * (sheet.getArea() - (long) width * height) / sheet.getArea());
+        }
+        return result;
+    }
+
+    /**
+     * Smallest in-stock sheet of the thickness holding a width x height mm piece, or null.
+     */
+    public StockSheet bestFit(Long shopId, int thickness, int width, int height) {
+        SheetIndex tree = index(shopId).trees.get(thickness);
+        return tree != null ? tree.bestFit(width, height) : null;
+    }
+
+    /**
+     * The shop's index, loaded if need be. A load that raced a change still answers this lookup but is not kept.
+     */
+    private ShopIndex index(Long shopId) {
+        ShopIndex index = shops.get(shopId);
+        if (index != null) {
+            return index;
+        }
+        long generation = generation(shopId).get();
+        ShopIndex loaded = load(shopId);
+        index = shops.compute(shopId, (id, current) -> current != null ? current
+                : generation(id).get() == generation ? loaded : null);
+        return index != null ? index : loaded;
+    }
+
+    private AtomicLong generation(Long shopId) {
+        return generations.computeIfAbsent(shopId, id -> new AtomicLong());
+    }
+
+    /**
+     * Called for every inserted or updated Stock row; applied once the surrounding transaction commits.
+     */
+    public void stockSaved(Stock stock) {
+        afterCommit(() -> apply(stock, false));
+    }
+
+    /**
+     * Called for every deleted Stock row; applied once the surrounding transaction commits.
+     */
+    public void stockRemoved(Stock stock) {
+        afterCommit(() -> apply(stock, true));
+    }
+
+    /**
+     * Drop a shop's index once the surrounding transaction commits; it is reloaded on the next lookup.
+     * For changes made with SQL, which the entity listener does not see.
+     */
+    public void evict(Long shopId) {
+        afterCommit(() -> shops.compute(shopId, (id, index) -> {
+            generation(id).incrementAndGet();
+            return null;
+        }));
+    }
+
+    private ShopIndex load(Long shopId) {
+        ShopIndex index = new ShopIndex();
+        for (Stock stock : stockRepository.findInStockByShopId(shopId)) {
+            Line line = line(stock);
+            if (line != null) {
+                index.lines.put(stock.getId(), line);
+            }
+        }
+        Map<Integer, List<StockSheet>> byThickness = new HashMap<>();
+        for (Line line : index.lines.values()) {
+            byThickness.computeIfAbsent(line.thickness, t -> new ArrayList<>()).add(line.sheet);
+        }
+        byThickness.forEach((thickness, sheets) -> index.trees.put(thickness, SheetIndex.of(sheets)));
+        return index;
+    }
+
+    private void apply(Stock stock, boolean removed) {
+        if (stock.getShop() == null || stock.getId() == null) {
+            return;
+        }
+        shops.compute(stock.getShop().getId(), (shopId, index) -> {
+            if (index == null) {
+                generation(shopId).incrementAndGet(); // a load in progress may have read the row before this change
+                return null;
+            }
+            Line old = index.lines.remove(stock.getId());
+            Line line = removed ? null : line(stock);
+            if (line != null) {
+                index.lines.put(stock.getId(), line);
+                rebuild(index, line.thickness);
+            }
+            if (old != null && (line == null || old.thickness != line.thickness)) {
+                rebuild(index, old.thickness);
+            }
+            return index;
+        });
+    }
+
+    private static void rebuild(ShopIndex index, int thickness) {
+        List<StockSheet> sheets = new ArrayList<>();
+        for (Line line : index.lines.values()) {
+            if (line.thickness == thickness) {
+                sheets.add(line.sheet);
+            }
+        }
+        if (sheets.isEmpty()) {
+            index.trees.remove(thickness);
+        } else {
+            index.trees.put(thickness, SheetIndex.of(sheets));
+        }
+    }
+
+    /**
+     * Index entry for a stock row, or null if nothing is available or it has no usable size.
+     * Sheet sizes come from the normalized mm columns, rounded down.
+     */
+    private static Line line(Stock stock) {
+        if (stock.getAvailable() <= 0 || stock.getGlass() == null
+                || stock.getHeightMm() == null || stock.getWidthMm() == null) {
+            return null;
+        }
+        int width = (int) Math.floor(stock.getWidthMm());
+        int height = (int) Math.floor(stock.getHeightMm());
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        return new Line(stock.getGlass().getThickness(),
+                new StockSheet(stock.getId(), stock.getStandNo(), width, height, stock.getAvailable()));
+    }
+
+    private static int pieceMillimetres(Double value, String unit) {
+        return (int) Math.ceil(DimensionParser.itemMillimetres(value, unit));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
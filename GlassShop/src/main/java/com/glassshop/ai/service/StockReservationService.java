@@ -0,0 +1,287 @@
+package com.glassshop.ai.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.glassshop.ai.cutting.CutPiece;
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.entity.StockReservation;
+import com.glassshop.ai.enums.ReservationStatus;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
+import com.glassshop.ai.repository.StockRepository;
+import com.glassshop.ai.repository.StockReservationRepository;
+
+/**
+ * Holds stock sheets for confirmed quotations so two quotations cannot promise
+ * the same sheets. Available stock is quantity - reserved.
+ *
+ * The sheets to hold come from the quotation's cutting plan. Each change to
+ * stock.reserved is one batched, conditional UPDATE; a hold is only taken if
+ * enough unreserved sheets are left at that moment, so concurrent
+ * confirmations cannot over-reserve. Holds end by release (reject/delete),
+ * expiry after the quotation's validUntil (swept by ReservationExpiryScheduler
+ * over the partial expires_at index), or consumption when the quotation is
+ * invoiced, which turns them into REMOVEs. Every transition first flips the
+ * hold's status with "AND status = 'ACTIVE'", so only one of them wins.
+ */
+@Service
+public class StockReservationService {
+
+    private static final String RESERVE_SQL = """
+            UPDATE stock SET reserved = reserved + ?, updated_at = ?
+            WHERE id = ? AND shop_id = ? AND quantity - reserved >= ?
+            """;
+
+    private static final String INSERT_HOLD_SQL = """
+            INSERT INTO stock_reservation (shop_id, quotation_id, stock_id, quantity, status, expires_at, created_at)
+            VALUES (?, ?, ?, ?, 'ACTIVE', ?, ?)
+            """;
+
+    private static final String END_HOLD_SQL = """
+            UPDATE stock_reservation SET status = ?, released_at = ?
+            WHERE id = ? AND status = 'ACTIVE'
+            """;
+
+    private static final String UNRESERVE_SQL = """
+            UPDATE stock SET reserved = reserved - ?, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String CONSUME_SQL = """
+            UPDATE stock SET reserved = reserved - ?, quantity = quantity - ?, updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final String DUE_HOLDS_SQL = """
+            SELECT id, shop_id, stock_id, quantity FROM stock_reservation
+            WHERE status = 'ACTIVE' AND expires_at <= ?
+            ORDER BY expires_at
+            LIMIT ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockDeductionService stockDeductionService;
+
+    @Autowired
+    private CuttingPlanService cuttingPlanService;
+
+    @Autowired
+    private StockIndexService stockIndexService;
+
+    @Autowired
+    private ShopDataVersions shopDataVersions;
+
+    // Hold length for quotations without a validUntil date
+    @Value("${reservation.default-hold-days:7}")
+    private int defaultHoldDays = 7;
+
+    @Value("${reservation.sweep-batch-size:500}")
+    private int sweepBatchSize = 500;
+
+    /**
+     * Hold the sheets the quotation's cutting plan needs. Pieces no stocked sheet
+     * can supply are not held (they will be bought in); see uncoveredPieces for
+     * how invoicing deals with them.
+     * Throws if the stock changed underneath, so the whole confirmation rolls back.
+     */
+    @Transactional
+    public int reserve(Quotation quotation) {
+        Map<Long, Integer> sheets = new TreeMap<>(); // by stock id, so concurrent confirmations lock rows in the same order
+        int unplaced = 0;
+        for (CuttingPlan plan : cuttingPlanService.planForQuotation(quotation)) {
+            plan.getSheetsConsumed().forEach((stockId, count) -> sheets.merge(stockId, count, Integer::sum));
+            unplaced += plan.getUnplaced().size();
+        }
+        if (unplaced > 0) {
+            System.out.println("⚠ Quotation " + quotation.getQuotationNumber() + ": " + unplaced
+                    + " piece(s) not covered by stock, nothing held for them");
+        }
+        if (sheets.isEmpty()) {
+            return 0;
+        }
+
+        Long shopId = quotation.getShop().getId();
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTs = Timestamp.valueOf(now);
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> holds = new ArrayList<>();
+        Timestamp expiresAt = Timestamp.valueOf(expiresAt(quotation, now));
+        sheets.forEach((stockId, count) -> {
+            updates.add(new Object[] { count, nowTs, stockId, shopId, count });
+            holds.add(new Object[] { shopId, quotation.getId(), stockId, count, expiresAt, nowTs });
+        });
+
+        int[] counts = jdbcTemplate.batchUpdate(RESERVE_SQL, updates);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new RuntimeException("Stock changed while confirming (stock line " + updates.get(i)[2]
+                        + " no longer has enough free sheets). Please try again.");
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_HOLD_SQL, holds);
+        stockIndexService.evict(shopId);
+        shopDataVersions.changed(shopId, ShopResource.STOCK);
+
+        int total = sheets.values().stream().mapToInt(Integer::intValue).sum();
+        System.out.println("✅ Reserved " + total + " sheet(s) for quotation " + quotation.getQuotationNumber());
+        return total;
+    }
+
+    /**
+     * Pieces of the quotation its active holds do not cover, per item position
+     * (1-based, as printed), found by planning the quotation onto the held sheets
+     * only. Invoicing with stock deduction takes these from stock the usual way.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, Integer> uncoveredPieces(Quotation quotation) {
+        Map<Integer, Integer> pieces = new TreeMap<>();
+        for (CuttingPlan plan : cuttingPlanService.planOnHolds(quotation)) {
+            for (CutPiece piece : plan.getUnplaced()) {
+                pieces.merge(piece.getItemNo(), 1, Integer::sum);
+            }
+        }
+        return pieces;
+    }
+
+    /**
+     * Release the quotation's active holds (rejected or deleted quotation).
+     */
+    @Transactional
+    public int release(Long quotationId) {
+        return end(reservationRepository.findByQuotationIdAndStatus(quotationId, ReservationStatus.ACTIVE),
+                ReservationStatus.RELEASED);
+    }
+
+    /**
+     * Expire holds past their expires_at, oldest first, in batches. Returns how many were expired.
+     */
+    @Transactional
+    public int expireDue() {
+        int expired = 0;
+        while (true) {
+            List<StockReservation> due = jdbcTemplate.query(DUE_HOLDS_SQL, (rs, rowNum) -> {
+                StockReservation hold = new StockReservation();
+                hold.setId(rs.getLong("id"));
+                hold.setShopId(rs.getLong("shop_id"));
+                hold.setStockId(rs.getLong("stock_id"));
+                hold.setQuantity(rs.getInt("quantity"));
+                return hold;
+            }, Timestamp.valueOf(LocalDateTime.now()), sweepBatchSize);
+            expired += end(due, ReservationStatus.EXPIRED);
+            if (due.size() < sweepBatchSize) {
+                return expired;
+            }
+        }
+    }
+
+    /**
+     * Turn the quotation's active holds into stock removals when it is invoiced,
+     * with the same audit trail as a manual REMOVE.
+     */
+    @Transactional
+    public int consume(Quotation quotation, String username, String role) {
+        List<StockReservation> won = claim(
+                reservationRepository.findByQuotationIdAndStatus(quotation.getId(), ReservationStatus.ACTIVE),
+                ReservationStatus.CONSUMED);
+        if (won.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        for (StockReservation hold : won) {
+            updates.add(new Object[] { hold.getQuantity(), hold.getQuantity(), now, hold.getStockId() });
+        }
+        jdbcTemplate.batchUpdate(CONSUME_SQL, updates);
+
+        Map<Long, Stock> stock = new TreeMap<>();
+        stockRepository.findByIdIn(won.stream().map(StockReservation::getStockId).toList())
+                .forEach(s -> stock.put(s.getId(), s));
+        List<StockDeductionService.Removal> removals = new ArrayList<>();
+        for (StockReservation hold : won) {
+            Stock line = stock.get(hold.getStockId());
+            if (line != null) {
+                removals.add(new StockDeductionService.Removal(line, hold.getQuantity()));
+            }
+        }
+        stockDeductionService.recordRemovals(removals, username, role);
+        stockIndexService.evict(quotation.getShop().getId());
+        shopDataVersions.changed(quotation.getShop().getId(), ShopResource.STOCK);
+        return won.size();
+    }
+
+    /**
+     * End the given holds and give their sheets back to available stock.
+     */
+    private int end(List<StockReservation> holds, ReservationStatus status) {
+        List<StockReservation> won = claim(holds, status);
+        if (won.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>();
+        for (StockReservation hold : won) {
+            updates.add(new Object[] { hold.getQuantity(), now, hold.getStockId() });
+        }
+        jdbcTemplate.batchUpdate(UNRESERVE_SQL, updates);
+        won.stream().map(StockReservation::getShopId).distinct().forEach(shopId -> {
+            stockIndexService.evict(shopId);
+            shopDataVersions.changed(shopId, ShopResource.STOCK);
+        });
+        return won.size();
+    }
+
+    /**
+     * Move holds out of ACTIVE; returns those this call moved (another transition may have got there first).
+     */
+    private List<StockReservation> claim(List<StockReservation> holds, ReservationStatus status) {
+        if (holds.isEmpty()) {
+            return holds;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>();
+        for (StockReservation hold : holds) {
+            args.add(new Object[] { status.name(), now, hold.getId() });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(END_HOLD_SQL, args);
+        List<StockReservation> won = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                won.add(holds.get(i));
+            }
+        }
+        return won;
+    }
+
+    /**
+     * End of the quotation's validUntil day, or defaultHoldDays from now.
+     */
+    LocalDateTime expiresAt(Quotation quotation, LocalDateTime now) {
+        if (quotation.getValidUntil() != null) {
+            return quotation.getValidUntil().plusDays(1).atStartOfDay();
+        }
+        return now.plusDays(defaultHoldDays);
+    }
+}
@@ -9,6 +9,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
 
 import com.glassshop.ai.dto.StockActivityDto;
 import com.glassshop.ai.dto.StockTransferRequest;
@@ -19,11 +24,15 @@ import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.Stock;
 import com.glassshop.ai.entity.StockHistory;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
 import com.glassshop.ai.repository.AuditLogRepository;
 import com.glassshop.ai.repository.GlassRepository;
 import com.glassshop.ai.repository.StockHistoryRepository;
 import com.glassshop.ai.repository.StockRepository;
 import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.util.DimensionParser;
+import com.glassshop.ai.util.Instrumentation;
 
 @Service
 public class StockService {
@@ -46,10 +55,21 @@ public class StockService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ShopDataVersions shopDataVersions;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
     /* ===============================
        ADD / REMOVE STOCK
        =============================== */
     public String updateStock(StockUpdateRequest request) {
+        return Instrumentation.time(meterRegistry, "glassshop.stock.update", "write", Tags.empty(),
+                () -> applyStockUpdate(request));
+    }
+
+    private String applyStockUpdate(StockUpdateRequest request) {
 
 //        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 //        User user = userRepository.findByUserName(auth.getName()).orElseThrow();
@@ -135,8 +155,10 @@ public class StockService {
             stock.setQuantity(stock.getQuantity() + request.getQuantity());
         }
         else if ("REMOVE".equalsIgnoreCase(request.getAction())) {
-            if (stock.getQuantity() < request.getQuantity()) {
-                return "❌ Not enough stock";
+            if (stock.getAvailable() < request.getQuantity()) {
+                return stock.getReserved() > 0
+                        ? "❌ Not enough stock (" + stock.getReserved() + " held for confirmed quotations)"
+                        : "❌ Not enough stock";
             }
             stock.setQuantity(stock.getQuantity() - request.getQuantity());
         }
@@ -190,6 +212,7 @@ public class StockService {
         history.setShop(shop);
 
         historyRepository.save(history);
+        shopDataVersions.changed(shop.getId(), ShopResource.STOCK);
 
         /* ---------- LOW STOCK EMAIL (ASYNC - NON-BLOCKING) ---------- */
         if (stock.getQuantity() < stock.getMinQuantity()) {
@@ -214,6 +237,7 @@ public class StockService {
     /* ===============================
        VIEW STOCK (SHOP ISOLATED)
        =============================== */
+    @Transactional(readOnly = true)
     public List<Stock> getAllStock() {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -239,6 +263,43 @@ public class StockService {
         return stockRepository.findByShopId(shop.getId());
     }
 
+    /* ===============================
+       SIZE SEARCH (SHOP ISOLATED)
+       =============================== */
+    /**
+     * In-stock sheets of a glass type (e.g. 8MM) at least minHeight x minWidth in the given unit,
+     * either way round, smallest first. Filtered in SQL on the normalized mm columns.
+     */
+    @Transactional(readOnly = true)
+    public List<Stock> findSheetsAtLeast(String glassType, double minHeight, double minWidth, String unit) {
+
+        if (glassType == null || glassType.isBlank()) {
+            throw new IllegalArgumentException("Glass type is required");
+        }
+        if (minHeight < 0 || minWidth < 0) {
+            throw new IllegalArgumentException("Sizes cannot be negative");
+        }
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        if (auth == null || !auth.isAuthenticated()
+                || "anonymousUser".equals(auth.getName())) {
+            return List.of();
+        }
+
+        User user = userRepository.findByUserName(auth.getName()).orElse(null);
+        if (user == null || user.getShop() == null) {
+            return List.of();
+        }
+
+        return stockRepository.findSheetsAtLeast(
+                user.getShop().getId(),
+                glassType.trim().toUpperCase(),
+                DimensionParser.toMillimetres(minHeight, unit),
+                DimensionParser.toMillimetres(minWidth, unit)
+        );
+    }
+
     public String getLowStockData() {
 
         Authentication auth =
@@ -350,6 +411,7 @@ public class StockService {
 
         stockRepository.save(stock);
         historyRepository.delete(last);
+        shopDataVersions.changed(shop.getId(), ShopResource.STOCK);
 
         return "✅ Last action undone successfully";
     }
@@ -384,6 +446,7 @@ public class StockService {
 //                .toList();
 //    }
     
+    @Transactional(readOnly = true)
     public List<StockActivityDto> getRecentStockActivity(int limit) {
 
         Authentication auth =
@@ -483,7 +546,7 @@ public class StockService {
 
 
         if (fromStock == null ||
-            fromStock.getQuantity() < request.getQuantity()) {
+            fromStock.getAvailable() < request.getQuantity()) {
             return "❌ Not enough stock in source stand";
         }
 
@@ -558,12 +621,14 @@ public class StockService {
         log.setShop(shop);
 
         auditLogRepository.save(log);
+        shopDataVersions.changed(shop.getId(), ShopResource.STOCK);
 
 
 
         return "✅ Stock transferred successfully";
     }
     
+    @Transactional(readOnly = true)
     public List<AuditLog> getAllAuditLogs() {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,22 @@
+package com.glassshop.ai.service;
+
+import java.util.List;
+
+import com.glassshop.ai.dto.StockDeductionLine;
+
+/**
+ * Thrown when stock cannot cover every line of an invoice; carries the per-line report.
+ */
+public class StockShortfallException extends RuntimeException {
+
+    private final List<StockDeductionLine> lines;
+
+    public StockShortfallException(List<StockDeductionLine> lines) {
+        super("Not enough stock for " + lines.stream().filter(l -> l.getShortfall() > 0).count() + " line(s)");
+        this.lines = lines;
+    }
+
+    public List<StockDeductionLine> getLines() {
+        return lines;
+    }
+}
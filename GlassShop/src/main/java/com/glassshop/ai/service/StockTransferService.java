@@ -9,6 +9,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
 import com.glassshop.ai.dto.StockTransferRequest;
 import com.glassshop.ai.entity.AuditLog;
 import com.glassshop.ai.entity.Glass;
@@ -16,12 +20,15 @@ import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.Stock;
 import com.glassshop.ai.entity.StockHistory;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
 import com.glassshop.ai.repository.AuditLogRepository;
 import com.glassshop.ai.repository.GlassRepository;
 import com.glassshop.ai.repository.StockHistoryRepository;
 import com.glassshop.ai.repository.StockRepository;
 import com.glassshop.ai.repository.UserRepository;
 import com.glassshop.ai.service.EmailService;
+import com.glassshop.ai.util.Instrumentation;
 
 @Service
 public class StockTransferService {
@@ -32,9 +39,16 @@ public class StockTransferService {
     @Autowired private StockHistoryRepository stockHistoryRepository;
     @Autowired private UserRepository userRepository;
     @Autowired private EmailService emailService;
+    @Autowired private ShopDataVersions shopDataVersions;
+    @Autowired(required = false) private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
     @Transactional
     public String transferStock(StockTransferRequest request) {
+        return Instrumentation.time(meterRegistry, "glassshop.stock.transfer", "write", Tags.empty(),
+                () -> applyTransfer(request));
+    }
+
+    private String applyTransfer(StockTransferRequest request) {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         User user = userRepository.findByUserName(auth.getName()).orElse(null);
@@ -88,8 +102,8 @@ public class StockTransferService {
         }
         
         // Validate sufficient quantity
-        if (fromStock.getQuantity() < request.getQuantity()) {
-            return "❌ Not enough stock in source stand. Available: " + fromStock.getQuantity() + ", Requested: " + request.getQuantity();
+        if (fromStock.getAvailable() < request.getQuantity()) {
+            return "❌ Not enough stock in source stand. Available: " + fromStock.getAvailable() + ", Requested: " + request.getQuantity();
         }
         
         // Validate quantity is positive
@@ -204,6 +218,7 @@ public class StockTransferService {
         toHistory.setAction("ADD");
         toHistory.setShop(shop);
         stockHistoryRepository.save(toHistory);
+        shopDataVersions.changed(shop.getId(), ShopResource.STOCK);
 
         // ✅ LOW STOCK EMAIL ALERTS (ASYNC - NON-BLOCKING)
         // Check if source stand is now low on stock
@@ -4,13 +4,32 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.glassshop.ai.util.Instrumentation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * WhatsApp messages go through the message outbox: sendMessage only queues the
+ * message (in the caller's transaction), and OutboxDispatchService delivers it
+ * with post(), retrying with backoff behind a circuit breaker.
+ */
 @Service
 public class WhatsAppService {
 
+    public static final String CHANNEL = "whatsapp";
+
     @Value("${whatsapp.api.url:}")
     private String whatsappApiUrl;
 
@@ -20,51 +39,83 @@ public class WhatsAppService {
     @Value("${whatsapp.api.enabled:false}")
     private boolean whatsappEnabled;
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    @Value("${whatsapp.api.connect-timeout-ms:5000}")
+    private long connectTimeoutMillis = 5000;
+
+    @Value("${whatsapp.api.request-timeout-ms:15000}")
+    private long requestTimeoutMillis = 15000;
+
+    @Autowired
+    private MessageOutboxService messageOutboxService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return whatsappEnabled && whatsappApiUrl != null && !whatsappApiUrl.isEmpty();
+    }
 
     /**
      * Send WhatsApp message using configured API
      * Supports multiple providers: Twilio, WhatsApp Business API, etc.
      */
     public void sendMessage(String phoneNumber, String message) {
+        sendMessage(null, phoneNumber, message);
+    }
+
+    /**
+     * Queue a WhatsApp message for the shop; it is sent once the caller's transaction commits.
+     */
+    public void sendMessage(Long shopId, String phoneNumber, String message) {
         if (!whatsappEnabled) {
             System.out.println("⚠ WhatsApp service is disabled. Message would be:");
             System.out.println("To: " + phoneNumber);
             System.out.println("Message: " + message);
+            record("skipped", 0);
             return;
         }
 
         if (whatsappApiUrl == null || whatsappApiUrl.isEmpty()) {
             System.err.println("❌ WhatsApp API URL not configured");
+            record("failure", 0);
             return;
         }
 
-        try {
-            // Format phone number (remove + if present, ensure proper format)
-            String formattedNumber = formatPhoneNumber(phoneNumber);
-
-            // Build request based on API provider
-            String requestBody = buildRequestBody(formattedNumber, message);
-            
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(whatsappApiUrl))
-                    .header("Content-Type", "application/json")
-                    .header("Authorization", "Bearer " + whatsappApiKey)
-                    .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                System.out.println("✅ WhatsApp message sent successfully to " + formattedNumber);
-            } else {
-                System.err.println("❌ Failed to send WhatsApp message. Status: " + response.statusCode());
-                System.err.println("Response: " + response.body());
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Error sending WhatsApp message: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // Format phone number (remove + if present, ensure proper format)
+        String formattedNumber = formatPhoneNumber(phoneNumber);
+        messageOutboxService.enqueue(shopId, CHANNEL, formattedNumber, buildRequestBody(formattedNumber, message));
+        System.out.println("✅ WhatsApp message queued for " + formattedNumber);
+    }
+
+    /**
+     * POST a queued message body to the provider, with connect and request timeouts.
+     */
+    public CompletableFuture<HttpResponse<String>> post(String requestBody) {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(whatsappApiUrl))
+                .timeout(Duration.ofMillis(requestTimeoutMillis))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + whatsappApiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Delivery metrics: success, failure, retry, or skipped when sending is disabled.
+     */
+    void record(String outcome, long nanos) {
+        Instrumentation.timer(meterRegistry, "glassshop.notification.send", "background",
+                Tags.of("channel", CHANNEL), outcome).record(nanos, TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -111,10 +162,3 @@ public class WhatsAppService {
         );
     }
 }
-
-
-
-
-
-
-
@@ -0,0 +1,105 @@
+package com.glassshop.ai.util;
+
+/**
+ * Parses the free-text sizes entered for stock ("26", "26.5", "26 1/4", "1/4")
+ * and converts them between the units the app uses (MM, CM, INCH, FEET).
+ */
+public final class DimensionParser {
+
+    /** Unit of a quotation item size when none is recorded, as on QuotationItem. */
+    public static final String ITEM_UNIT = "FEET";
+
+    private DimensionParser() {
+    }
+
+    /**
+     * Numeric value of a size string; 0 if it is empty or cannot be parsed.
+     */
+    public static double parse(String value) {
+        if (value == null) {
+            return 0.0;
+        }
+        try {
+            value = value.trim();
+            if (value.isEmpty()) {
+                return 0.0;
+            }
+
+            // Case: "26 1/4"
+            if (value.contains(" ")) {
+                String[] parts = value.split("\\s+");
+                double whole = Double.parseDouble(parts[0]);
+                if (parts.length > 1 && parts[1].contains("/")) {
+                    return whole + fraction(parts[1]);
+                }
+                return whole;
+            }
+
+            // Case: "1/4"
+            if (value.contains("/")) {
+                return fraction(value);
+            }
+
+            // Case: "26" or "26.5"
+            return Double.parseDouble(value);
+        } catch (RuntimeException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Millimetres for a value in the given unit. Unknown or missing units are taken as MM.
+     */
+    public static double toMillimetres(double value, String unit) {
+        if (unit == null) {
+            return value;
+        }
+        switch (unit.trim().toUpperCase()) {
+            case "CM":
+                return value * 10.0;
+            case "INCH":
+            case "IN":
+                return value * 25.4;
+            case "FEET":
+            case "FT":
+                return value * 304.8;
+            case "M":
+                return value * 1000.0;
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Millimetres for a size string in the given unit; 0 if it cannot be parsed.
+     */
+    public static double toMillimetres(String value, String unit) {
+        return toMillimetres(parse(value), unit);
+    }
+
+    /**
+     * Millimetres for a quotation item size; a missing unit is taken as FEET and a missing value as 0.
+     * Stock sizes use the stored height_mm / width_mm instead.
+     */
+    public static double itemMillimetres(Double value, String unit) {
+        return value != null ? toMillimetres(value.doubleValue(), unit != null ? unit : ITEM_UNIT) : 0.0;
+    }
+
+    /**
+     * Millimetres for a size string in the given unit, or null if it is empty or cannot be parsed.
+     * Used for the normalized height_mm / width_mm columns, where null keeps a bad size out of range queries.
+     */
+    public static Double toMillimetresOrNull(String value, String unit) {
+        double mm = toMillimetres(value, unit);
+        return mm > 0 ? mm : null;
+    }
+
+    private static double fraction(String value) {
+        String[] fraction = value.split("/");
+        double den = Double.parseDouble(fraction[1]);
+        if (den == 0) {
+            return 0.0;
+        }
+        return Double.parseDouble(fraction[0]) / den;
+    }
+}
@@ -0,0 +1,69 @@
+package com.glassshop.ai.util;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers for service calls, all built the same way: tagged with the endpoint
+ * class (read / write / heavy / background) and the outcome (success /
+ * failure, failure meaning the call threw), and published as percentile
+ * histograms so p95/p99 can be computed across instances.
+ *
+ * Services take the MeterRegistry as an optional bean and default to
+ * Micrometer's global registry, so unit tests and benchmarks that build them
+ * by hand need no registry.
+ */
+public final class Instrumentation {
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface TimedRun<E extends Exception> {
+        void run() throws E;
+    }
+
+    private Instrumentation() {
+    }
+
+    public static <T, E extends Exception> T time(MeterRegistry registry, String name, String endpointClass,
+            Tags tags, TimedCall<T, E> call) throws E {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            record(registry, name, endpointClass, tags, success, System.nanoTime() - start);
+        }
+    }
+
+    public static <E extends Exception> void run(MeterRegistry registry, String name, String endpointClass,
+            Tags tags, TimedRun<E> run) throws E {
+        time(registry, name, endpointClass, tags, () -> {
+            run.run();
+            return null;
+        });
+    }
+
+    public static void record(MeterRegistry registry, String name, String endpointClass, Tags tags,
+            boolean success, long nanos) {
+        timer(registry, name, endpointClass, tags, success ? "success" : "failure")
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public static Timer timer(MeterRegistry registry, String name, String endpointClass, Tags tags, String outcome) {
+        return Timer.builder(name)
+                .tag("class", endpointClass)
+                .tag("outcome", outcome)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+-- Pooled id generation: every entity takes ids from its BIGSERIAL sequence in
+-- blocks of 50 (@SequenceGenerator allocationSize = 50), so Hibernate can batch inserts.
+-- Each nextval is the top of a 50-id block, so the sequence continues at MAX(id) + 50.
+-- Plain SQL inserts that use the column default still work; they take one block each.
+DO $$
+DECLARE
+    t TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['shop', 'users', 'glass', 'stock', 'stock_history', 'audit_log', 'site',
+                             'installation', 'customers', 'quotations', 'quotation_items', 'invoices',
+                             'invoice_items', 'payments', 'stock_reservation']
+    LOOP
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_id_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', t || '_id_seq', t);
+    END LOOP;
+END $$;
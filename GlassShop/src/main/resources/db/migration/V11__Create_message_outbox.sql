@@ -0,0 +1,27 @@
+-- Outbox for WhatsApp messages: written in the sender's transaction, delivered by
+-- OutboxDispatchService with retries, oldest first and one at a time per destination
+CREATE TABLE IF NOT EXISTS message_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    shop_id BIGINT REFERENCES shop(id) ON DELETE CASCADE,
+    channel VARCHAR(20) NOT NULL,
+    destination VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_status_code INTEGER,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+-- Pooled ids, as for every other table (V10)
+ALTER SEQUENCE message_outbox_id_seq INCREMENT BY 50;
+
+-- The dispatcher only reads pending rows: due ones, and the head of each destination's queue
+CREATE INDEX idx_message_outbox_pending_due ON message_outbox(next_attempt_at) WHERE status = 'PENDING';
+CREATE INDEX idx_message_outbox_pending_destination ON message_outbox(channel, destination, created_at)
+    WHERE status = 'PENDING';
+CREATE INDEX idx_message_outbox_shop_created ON message_outbox(shop_id, created_at);
+
+COMMENT ON TABLE message_outbox IS 'Outgoing messages and their delivery status; FAILED rows can be replayed by an admin';
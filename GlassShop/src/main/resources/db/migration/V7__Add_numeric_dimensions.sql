@@ -0,0 +1,74 @@
+-- Normalized sizes in millimetres next to the free-text height/width,
+-- so size questions ("8MM sheets of at least 1200 x 900") run in SQL.
+-- The application keeps them in sync on every write (Stock / AuditLog @PrePersist, @PreUpdate).
+ALTER TABLE stock
+ADD COLUMN IF NOT EXISTS height_mm DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS width_mm DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS area_sqmm DOUBLE PRECISION;
+
+ALTER TABLE audit_log
+ADD COLUMN IF NOT EXISTS height_mm DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS width_mm DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS area_sqmm DOUBLE PRECISION;
+
+-- Same rules as DimensionParser: "26", "26.5", "26 1/4", "1/4"; NULL when empty or unparseable
+CREATE OR REPLACE FUNCTION pg_temp.parse_dimension(value TEXT) RETURNS DOUBLE PRECISION AS $$
+DECLARE
+    parts TEXT[];
+    result DOUBLE PRECISION;
+BEGIN
+    value := trim(value);
+    IF value IS NULL OR value = '' THEN
+        RETURN NULL;
+    END IF;
+    parts := regexp_split_to_array(value, '\s+');
+    IF array_length(parts, 1) > 1 THEN
+        result := parts[1]::DOUBLE PRECISION;
+        IF position('/' IN parts[2]) > 0 THEN
+            result := result + split_part(parts[2], '/', 1)::DOUBLE PRECISION
+                             / NULLIF(split_part(parts[2], '/', 2)::DOUBLE PRECISION, 0);
+        END IF;
+    ELSIF position('/' IN value) > 0 THEN
+        result := split_part(value, '/', 1)::DOUBLE PRECISION
+                / NULLIF(split_part(value, '/', 2)::DOUBLE PRECISION, 0);
+    ELSE
+        result := value::DOUBLE PRECISION;
+    END IF;
+    RETURN CASE WHEN result > 0 THEN result END;
+EXCEPTION WHEN OTHERS THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION pg_temp.unit_to_mm(unit TEXT) RETURNS DOUBLE PRECISION AS $$
+    SELECT CASE upper(trim(coalesce(unit, 'MM')))
+        WHEN 'CM' THEN 10.0
+        WHEN 'INCH' THEN 25.4
+        WHEN 'IN' THEN 25.4
+        WHEN 'FEET' THEN 304.8
+        WHEN 'FT' THEN 304.8
+        WHEN 'M' THEN 1000.0
+        ELSE 1.0
+    END;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Backfill existing rows
+UPDATE stock s
+SET height_mm = pg_temp.parse_dimension(s.height) * pg_temp.unit_to_mm(g.unit),
+    width_mm = pg_temp.parse_dimension(s.width) * pg_temp.unit_to_mm(g.unit)
+FROM glass g
+WHERE g.id = s.glass_id;
+
+UPDATE audit_log
+SET height_mm = pg_temp.parse_dimension(height) * pg_temp.unit_to_mm(unit),
+    width_mm = pg_temp.parse_dimension(width) * pg_temp.unit_to_mm(unit);
+
+UPDATE stock SET area_sqmm = height_mm * width_mm;
+UPDATE audit_log SET area_sqmm = height_mm * width_mm;
+
+CREATE INDEX IF NOT EXISTS idx_stock_shop_glass_size ON stock(shop_id, glass_id, height_mm, width_mm);
+CREATE INDEX IF NOT EXISTS idx_audit_log_shop_glass_size ON audit_log(shop_id, glass_type, height_mm, width_mm);
+
+COMMENT ON COLUMN stock.height_mm IS 'height parsed from the free-text column, in mm (NULL if unparseable)';
+COMMENT ON COLUMN stock.width_mm IS 'width parsed from the free-text column, in mm (NULL if unparseable)';
+COMMENT ON COLUMN stock.area_sqmm IS 'height_mm * width_mm';
@@ -0,0 +1,25 @@
+-- Stock holds for confirmed quotations: available = quantity - reserved
+ALTER TABLE stock
+ADD COLUMN IF NOT EXISTS reserved INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE stock
+ADD CONSTRAINT chk_stock_reserved_non_negative CHECK (reserved >= 0);
+
+CREATE TABLE IF NOT EXISTS stock_reservation (
+    id BIGSERIAL PRIMARY KEY,
+    shop_id BIGINT NOT NULL REFERENCES shop(id),
+    quotation_id BIGINT REFERENCES quotations(id) ON DELETE SET NULL,
+    stock_id BIGINT NOT NULL REFERENCES stock(id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    released_at TIMESTAMP
+);
+
+-- Only active holds are ever looked up; the expiry sweep reads the head of the first index
+CREATE INDEX idx_stock_reservation_active_expiry ON stock_reservation(expires_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_stock_reservation_active_quotation ON stock_reservation(quotation_id) WHERE status = 'ACTIVE';
+CREATE INDEX idx_stock_reservation_shop_id ON stock_reservation(shop_id);
+
+COMMENT ON TABLE stock_reservation IS 'Sheets held for confirmed quotations until invoiced, released or expired';
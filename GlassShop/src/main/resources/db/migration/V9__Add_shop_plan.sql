@@ -0,0 +1,3 @@
+-- Subscription plan of a shop; selects its request rate limits (tenant.rate-limit.<plan>.*)
+ALTER TABLE shop
+ADD COLUMN IF NOT EXISTS plan VARCHAR(20) NOT NULL DEFAULT 'STANDARD';
@@ -13,11 +13,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glassshop.ai.config.AsyncConfig;
 import com.glassshop.ai.dto.ChangePasswordRequest;
 import com.glassshop.ai.dto.CreateStaffRequest;
 import com.glassshop.ai.dto.LoginRequest;
@@ -27,12 +29,18 @@ import com.glassshop.ai.entity.User;
 import com.glassshop.ai.repository.ShopRepository;
 import com.glassshop.ai.repository.UserRepository;
 import com.glassshop.ai.security.JwtUtil;
+import com.glassshop.ai.security.LoginThrottle;
+import com.glassshop.ai.security.SecurityConfig;
+import com.glassshop.ai.security.TenantRateLimiter;
+import com.glassshop.ai.security.TooManyRequestsException;
+import com.glassshop.ai.service.PasswordHashService;
 
 /**
  * Unit Tests for AuthController
  * Tests authentication endpoints: login, register, profile, change password, staff management
  */
 @WebMvcTest(AuthController.class)
+@Import({ PasswordHashService.class, AsyncConfig.class, SecurityConfig.class })
 @DisplayName("AuthController Unit Tests")
 class AuthControllerTest {
 
@@ -54,6 +62,12 @@ class AuthControllerTest {
     @MockBean
     private org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
 
+    @MockBean
+    private LoginThrottle loginThrottle;
+
+    @MockBean
+    private TenantRateLimiter tenantRateLimiter;
+
     private User testUser;
     private Shop testShop;
     private String testToken;
@@ -149,6 +163,28 @@ class AuthControllerTest {
         verify(jwtUtil, never()).generateToken(anyString(), anyString());
     }
 
+    @Test
+    @DisplayName("POST /auth/login - Failure: Throttled login gets 429 before any password check")
+    void testLogin_Throttled() throws Exception {
+        // Arrange
+        LoginRequest request = new LoginRequest();
+        request.setUsername("testuser");
+        request.setPassword("password123");
+
+        doThrow(new TooManyRequestsException("Too many login attempts for this user. Please wait and try again.", 30))
+                .when(loginThrottle).acquire(eq("testuser"), anyString());
+
+        // Act & Assert
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+
+        verify(userRepository, never()).findByUserName(anyString());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
     /* ===============================
        REGISTER SHOP TESTS
        =============================== */
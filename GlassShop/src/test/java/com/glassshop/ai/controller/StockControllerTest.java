@@ -2,6 +2,7 @@ package com.glassshop.ai.controller;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -19,12 +20,16 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glassshop.ai.dto.BestFitResponse;
+import com.glassshop.ai.dto.QuotationItemDto;
 import com.glassshop.ai.dto.StockUpdateRequest;
 import com.glassshop.ai.entity.Stock;
 import com.glassshop.ai.repository.StockRepository;
 import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.JwtUtil;
 import com.glassshop.ai.service.AlertService;
 import com.glassshop.ai.service.ReorderService;
+import com.glassshop.ai.service.StockIndexService;
 import com.glassshop.ai.service.StockService;
 import com.glassshop.ai.service.AiExplanationService;
 
@@ -60,6 +65,12 @@ class StockControllerTest {
     @MockBean
     private StockRepository stockRepository;
 
+    @MockBean
+    private StockIndexService stockIndexService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
     private Stock testStock;
 
     @BeforeEach
@@ -89,7 +100,7 @@ class StockControllerTest {
                 .thenReturn("✅ Stock updated successfully");
 
         // Act & Assert
-        mockMvc.perform(post("/stock/update")
+        mockMvc.perform(post("/stock/update").with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk());
@@ -115,7 +126,7 @@ class StockControllerTest {
                 .thenReturn("✅ Stock updated successfully");
 
         // Act & Assert
-        mockMvc.perform(post("/stock/update")
+        mockMvc.perform(post("/stock/update").with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk());
@@ -138,7 +149,7 @@ class StockControllerTest {
                 .thenReturn("❌ Invalid action");
 
         // Act & Assert
-        mockMvc.perform(post("/stock/update")
+        mockMvc.perform(post("/stock/update").with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk());
@@ -188,7 +199,7 @@ class StockControllerTest {
                 .thenReturn("✅ Last action undone successfully");
 
         // Act & Assert
-        mockMvc.perform(post("/stock/undo"))
+        mockMvc.perform(post("/stock/undo").with(csrf()))
                 .andExpect(status().isOk());
 
         verify(stockService, times(1)).undoLastAction();
@@ -257,5 +268,32 @@ class StockControllerTest {
 
         verify(alertService, times(1)).checkLowStockOnly();
     }
-}
 
+    @Test
+    @DisplayName("POST /stock/best-fit - Success: Returns the best sheet per item")
+    @WithMockUser(username = "testuser", roles = {"ADMIN"})
+    void testBestFit_Success() throws Exception {
+        // Arrange
+        QuotationItemDto item = new QuotationItemDto();
+        item.setGlassType("8MM");
+        item.setHeight(4.0);
+        item.setWidth(3.0);
+
+        BestFitResponse fit = new BestFitResponse();
+        fit.setItemIndex(0);
+        fit.setAvailable(true);
+        fit.setStockId(1L);
+
+        when(stockIndexService.bestFit(anyList())).thenReturn(List.of(fit));
+
+        // Act & Assert
+        mockMvc.perform(post("/stock/best-fit").with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(item))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[0].stockId").value(1));
+
+        verify(stockIndexService, times(1)).bestFit(anyList());
+    }
+}
@@ -0,0 +1,170 @@
+package com.glassshop.ai.cutting;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for GuillotinePacker
+ * Tests kerf, rotation, stock limits, layout validity and waste on fixed
+ * reference orders (quality regression)
+ */
+@DisplayName("GuillotinePacker Unit Tests")
+class GuillotinePackerTest {
+
+    private static final StockSheet JUMBO = new StockSheet(1L, 1, 3210, 2250, 1000);
+    private static final StockSheet STANDARD = new StockSheet(2L, 2, 2440, 1830, 1000);
+    private static final StockSheet SMALL = new StockSheet(3L, 3, 1830, 1220, 1000);
+
+    private static List<CutPiece> quarters(int count) {
+        List<CutPiece> pieces = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pieces.add(new CutPiece("#" + i, 1220, 915));
+        }
+        return pieces;
+    }
+
+    /**
+     * Random builder order: windows and doors between 200 and 1200 mm.
+     */
+    private static List<CutPiece> builderOrder(long seed, int count) {
+        Random random = new Random(seed);
+        List<CutPiece> pieces = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pieces.add(new CutPiece("#" + i, 200 + random.nextInt(1000), 200 + random.nextInt(1000)));
+        }
+        return pieces;
+    }
+
+    /**
+     * Every piece inside its sheet and at least kerf away from every other piece.
+     */
+    private static void assertValid(CuttingPlan plan, int kerf) {
+        for (SheetLayout sheet : plan.getSheets()) {
+            List<Placement> placements = sheet.getPlacements();
+            for (Placement p : placements) {
+                assertTrue(p.getX() >= 0 && p.getY() >= 0, "Piece outside sheet: " + p.getLabel());
+                assertTrue(p.getX() + p.getWidth() <= sheet.getSheetWidth(), "Piece past right edge: " + p.getLabel());
+                assertTrue(p.getY() + p.getHeight() <= sheet.getSheetHeight(), "Piece past top edge: " + p.getLabel());
+            }
+            for (int i = 0; i < placements.size(); i++) {
+                for (int j = i + 1; j < placements.size(); j++) {
+                    Placement a = placements.get(i);
+                    Placement b = placements.get(j);
+                    boolean apart = a.getX() + a.getWidth() + kerf <= b.getX()
+                            || b.getX() + b.getWidth() + kerf <= a.getX()
+                            || a.getY() + a.getHeight() + kerf <= b.getY()
+                            || b.getY() + b.getHeight() + kerf <= a.getY();
+                    assertTrue(apart, "Pieces overlap: " + a.getLabel() + " / " + b.getLabel());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should fit four quarter sheets on one sheet without kerf")
+    void testPack_ExactFit() {
+        CuttingPlan plan = new GuillotinePacker(0).pack(quarters(4), List.of(STANDARD));
+
+        assertEquals(1, plan.getSheets().size());
+        assertEquals(0.0, plan.getWastePercent(), 1e-9);
+        assertValid(plan, 0);
+    }
+
+    @Test
+    @DisplayName("Should need a second sheet once kerf is allowed for")
+    void testPack_Kerf() {
+        CuttingPlan plan = new GuillotinePacker(3).pack(quarters(4), List.of(STANDARD));
+
+        assertEquals(2, plan.getSheets().size());
+        assertTrue(plan.getUnplaced().isEmpty());
+        assertValid(plan, 3);
+    }
+
+    @Test
+    @DisplayName("Should rotate pieces that only fit turned, unless rotation is not allowed")
+    void testPack_Rotation() {
+        StockSheet tall = new StockSheet(4L, 4, 1000, 2000, 5);
+
+        CuttingPlan rotated = new GuillotinePacker(3).pack(List.of(new CutPiece("A", 1800, 600)), List.of(tall));
+        CuttingPlan fixed = new GuillotinePacker(3).pack(List.of(new CutPiece("A", 1800, 600, false)), List.of(tall));
+
+        assertTrue(rotated.getSheets().get(0).getPlacements().get(0).isRotated());
+        assertEquals(600, rotated.getSheets().get(0).getPlacements().get(0).getWidth());
+        assertEquals(1, fixed.getUnplaced().size());
+        assertTrue(fixed.getSheets().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not use more sheets than are in stock")
+    void testPack_StockLimit() {
+        StockSheet two = new StockSheet(2L, 2, 2440, 1830, 2);
+
+        CuttingPlan plan = new GuillotinePacker(0).pack(quarters(12), List.of(two));
+
+        assertEquals(2, plan.getSheets().size());
+        assertEquals(4, plan.getUnplaced().size());
+        assertEquals(2, plan.getSheetsConsumed().get(2L));
+    }
+
+    @Test
+    @DisplayName("Should report pieces larger than every sheet as unplaced")
+    void testPack_TooLarge() {
+        CuttingPlan plan = new GuillotinePacker(3).pack(
+                List.of(new CutPiece("big", 4000, 3000), new CutPiece("ok", 500, 500)), List.of(STANDARD));
+
+        assertEquals(1, plan.getUnplaced().size());
+        assertEquals("big", plan.getUnplaced().get(0).getLabel());
+        assertEquals(1, plan.getPieceCount() - plan.getUnplaced().size());
+    }
+
+    @Test
+    @DisplayName("Should choose the smaller sheet when it holds the order just as well")
+    void testPack_ChoosesSheetSize() {
+        CuttingPlan plan = new GuillotinePacker(0).pack(
+                List.of(new CutPiece("A", 1830, 1220)), List.of(JUMBO, SMALL));
+
+        assertEquals(1, plan.getSheets().size());
+        assertEquals(3L, plan.getSheets().get(0).getStockId());
+    }
+
+    @Test
+    @DisplayName("Quality: waste on reference builder orders stays within the recorded limits")
+    void testPack_ReferenceOrdersWaste() {
+        // seed, pieces, maximum waste % (measured 15.5 / 10.4 / 8.0, plus headroom)
+        long[][] references = {
+                { 1L, 50, 20 },
+                { 7L, 200, 14 },
+                { 42L, 2000, 11 },
+        };
+        for (long[] reference : references) {
+            List<CutPiece> order = builderOrder(reference[0], (int) reference[1]);
+
+            CuttingPlan plan = new GuillotinePacker(3).pack(order, List.of(JUMBO, STANDARD, SMALL));
+
+            assertTrue(plan.getUnplaced().isEmpty());
+            assertEquals(order.size(), plan.getPieceCount());
+            assertValid(plan, 3);
+            assertTrue(plan.getWastePercent() <= reference[2],
+                    "Seed " + reference[0] + ": waste " + plan.getWastePercent() + "% above " + reference[2] + "%");
+        }
+    }
+
+    @Test
+    @DisplayName("Performance Test: 2,000-piece builder order plans in under two seconds")
+    void testPack_Performance() {
+        List<CutPiece> order = builderOrder(42L, 2000);
+
+        long start = System.nanoTime();
+        CuttingPlan plan = new GuillotinePacker(3).pack(order, List.of(JUMBO, STANDARD, SMALL));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(millis < 2000, "Planning took " + millis + " ms");
+        assertEquals(2000, plan.getPieceCount());
+    }
+}
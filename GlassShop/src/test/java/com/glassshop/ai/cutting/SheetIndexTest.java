@@ -0,0 +1,109 @@
+package com.glassshop.ai.cutting;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for SheetIndex
+ * Tests best-fit lookups against a linear scan, rotation, empty lines and lookup time
+ */
+@DisplayName("SheetIndex Unit Tests")
+class SheetIndexTest {
+
+    private static List<StockSheet> randomStock(long seed, int count) {
+        Random random = new Random(seed);
+        List<StockSheet> sheets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            sheets.add(new StockSheet((long) i, i % 40, 300 + random.nextInt(3000), 300 + random.nextInt(2500),
+                    random.nextInt(5)));
+        }
+        return sheets;
+    }
+
+    private static StockSheet linearScan(List<StockSheet> sheets, int width, int height) {
+        StockSheet best = null;
+        for (StockSheet s : sheets) {
+            boolean fits = (s.getWidth() >= width && s.getHeight() >= height)
+                    || (s.getWidth() >= height && s.getHeight() >= width);
+            if (s.getAvailable() > 0 && fits && (best == null || s.getArea() < best.getArea()
+                    || (s.getArea() == best.getArea() && s.getStockId() < best.getStockId()))) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    @DisplayName("Should return the smallest sheet that holds the piece")
+    void testBestFit_Smallest() {
+        SheetIndex index = SheetIndex.of(List.of(
+                new StockSheet(1L, 1, 3210, 2250, 5),
+                new StockSheet(2L, 2, 2440, 1830, 5),
+                new StockSheet(3L, 3, 1830, 1220, 5)));
+
+        assertEquals(3L, index.bestFit(1200, 900).getStockId());
+        assertEquals(2L, index.bestFit(2000, 1500).getStockId());
+        assertNull(index.bestFit(3300, 100));
+    }
+
+    @Test
+    @DisplayName("Should match pieces to sheets either way round")
+    void testBestFit_Rotation() {
+        SheetIndex index = SheetIndex.of(List.of(new StockSheet(1L, 1, 1000, 2000, 1)));
+
+        assertEquals(1L, index.bestFit(1800, 600).getStockId());
+        assertEquals(1L, index.bestFit(600, 1800).getStockId());
+    }
+
+    @Test
+    @DisplayName("Should leave out lines with nothing in stock")
+    void testOf_SkipsEmptyLines() {
+        SheetIndex index = SheetIndex.of(List.of(
+                new StockSheet(1L, 1, 1830, 1220, 0),
+                new StockSheet(2L, 2, 2440, 1830, 3)));
+
+        assertEquals(1, index.size());
+        assertEquals(2L, index.bestFit(1200, 900).getStockId());
+        assertNull(SheetIndex.empty().bestFit(1, 1));
+    }
+
+    @Test
+    @DisplayName("Should agree with a linear scan on random stock")
+    void testBestFit_MatchesLinearScan() {
+        List<StockSheet> stock = randomStock(7L, 5000);
+        SheetIndex index = SheetIndex.of(stock);
+        Random random = new Random(11L);
+
+        for (int i = 0; i < 2000; i++) {
+            int width = 100 + random.nextInt(3300);
+            int height = 100 + random.nextInt(3000);
+            assertSame(linearScan(stock, width, height), index.bestFit(width, height),
+                    "Mismatch for " + width + " x " + height);
+        }
+    }
+
+    @Test
+    @DisplayName("Performance Test: 100,000 lookups on 50,000 stock lines in under a second")
+    void testBestFit_Performance() {
+        SheetIndex index = SheetIndex.of(randomStock(42L, 50_000));
+        Random random = new Random(3L);
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (index.bestFit(100 + random.nextInt(3300), 100 + random.nextInt(3000)) != null) {
+                found++;
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(found > 0);
+        assertTrue(millis < 1000, "100,000 lookups took " + millis + " ms");
+    }
+}
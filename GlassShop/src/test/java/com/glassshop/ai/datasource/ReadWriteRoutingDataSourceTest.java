@@ -0,0 +1,148 @@
+package com.glassshop.ai.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.glassshop.ai.datasource.ReadWriteRoutingDataSource.Route;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit Tests for ReadWriteRoutingDataSource
+ * Tests read-only routing to the replica, read-your-writes per shop and the lag fallback
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadWriteRoutingDataSource Unit Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLagMonitor lagMonitor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routing = new ReadWriteRoutingDataSource(lagMonitor, 10, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearTenant();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private Object inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return routing.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private double routed(String route, String reason) {
+        return meterRegistry.get("glassshop.datasource.route").tag("route", route).tag("reason", reason)
+                .counter().count();
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - Outside a transaction uses the primary")
+    void testDetermineCurrentLookupKey_NoTransaction() {
+        assertEquals(Route.PRIMARY, routing.determineCurrentLookupKey());
+        verifyNoInteractions(lagMonitor);
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - Read-only transaction uses the replica")
+    void testDetermineCurrentLookupKey_ReadOnly() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        ReadWriteRoutingDataSource.bindTenant(1L);
+
+        assertEquals(Route.REPLICA, inTransaction(true));
+        assertEquals(1.0, routed("replica", "read-only"));
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - Shop reads its own writes from the primary")
+    void testDetermineCurrentLookupKey_ReadYourWrites() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        ReadWriteRoutingDataSource.bindTenant(1L);
+
+        assertEquals(Route.PRIMARY, inTransaction(false));
+        assertEquals(Route.PRIMARY, inTransaction(true));
+        assertEquals(1.0, routed("primary", "read-your-writes"));
+
+        // Another shop is unaffected
+        ReadWriteRoutingDataSource.bindTenant(2L);
+        assertEquals(Route.REPLICA, inTransaction(true));
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - Write window expires")
+    void testDetermineCurrentLookupKey_WindowExpires() {
+        routing = new ReadWriteRoutingDataSource(lagMonitor, 0, meterRegistry);
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        ReadWriteRoutingDataSource.bindTenant(1L);
+
+        inTransaction(false);
+
+        assertEquals(Route.REPLICA, inTransaction(true));
+    }
+
+    @Test
+    @DisplayName("determineCurrentLookupKey - Lagging replica falls back to the primary")
+    void testDetermineCurrentLookupKey_ReplicaLagging() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+
+        assertEquals(Route.PRIMARY, inTransaction(true));
+        assertEquals(1.0, routed("primary", "replica-lag"));
+    }
+
+    @Test
+    @DisplayName("ReplicaLagMonitor - Unreachable replica is not used")
+    void testLagMonitor_Unreachable() throws SQLException {
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0", 5, meterRegistry);
+
+        monitor.check();
+
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1.0, monitor.getLagSeconds());
+    }
+
+    @Test
+    @DisplayName("ReplicaLagMonitor - Without a lag query the replica is used")
+    void testLagMonitor_NoLagQuery() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(mock(DataSource.class), "", 5, meterRegistry);
+        assertFalse(monitor.isReplicaUsable());
+
+        monitor.check();
+
+        assertTrue(monitor.isReplicaUsable());
+        assertEquals(0.0, meterRegistry.get("glassshop.datasource.replica.lag").gauge().value());
+    }
+}
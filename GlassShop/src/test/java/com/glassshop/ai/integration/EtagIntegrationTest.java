@@ -0,0 +1,149 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.profiling.SqlProfiler;
+import com.glassshop.ai.repository.CustomerRepository;
+import com.glassshop.ai.repository.ShopRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.JwtUtil;
+
+/**
+ * Integration Tests for ETag / 304 on the polled listings
+ * Tests that an unchanged listing is answered 304 without SQL and that a
+ * change through the services moves only that resource's ETag
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("ETag Integration Tests")
+class EtagIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    private String tag;
+    private Shop shop;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tag = Long.toString(System.nanoTime(), 36);
+
+        shop = new Shop();
+        shop.setShopName("Etag Shop " + tag);
+        shop.setEmail("etag-" + tag + "@shop.com");
+        shop = shopRepository.save(shop);
+
+        User admin = new User();
+        admin.setUserName("etag-" + tag);
+        admin.setPassword("not-used");
+        admin.setRole("ROLE_ADMIN");
+        admin.setShop(shop);
+        users.add(userRepository.save(admin));
+
+        token = jwtUtil.generateToken(admin.getUserName(), "ROLE_ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll(customerRepository.findByShopOrderByNameAsc(shop));
+        userRepository.deleteAll(users);
+        shopRepository.delete(shop);
+    }
+
+    @Test
+    @DisplayName("Customers - 304 without SQL while unchanged")
+    void testCustomers_NotModifiedWithoutSql() throws Exception {
+        String etag = mockMvc.perform(get("/api/customers").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "private, no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        long before = totalStatements("GET /api/customers");
+        mockMvc.perform(get("/api/customers")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertEquals(0, totalStatements("GET /api/customers") - before);
+    }
+
+    @Test
+    @DisplayName("Customers - Adding a customer changes the customers ETag only")
+    void testCustomers_ChangeMovesOwnEtag() throws Exception {
+        String customersEtag = etag("/api/customers");
+        String quotationsEtag = etag("/api/quotations");
+
+        mockMvc.perform(post("/api/customers")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Etag Customer\",\"mobile\":\"9000000001\"}"))
+                .andExpect(status().isCreated());
+
+        String changed = mockMvc.perform(get("/api/customers")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, customersEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Etag Customer"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(customersEtag, changed);
+
+        mockMvc.perform(get("/api/quotations")
+                        .header("Authorization", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, quotationsEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etag(String path) throws Exception {
+        return mockMvc.perform(get(path).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private long totalStatements(String endpoint) {
+        return sqlProfiler.getTopOffenders(100).stream()
+                .filter(row -> endpoint.equals(row.get("endpoint")))
+                .findFirst()
+                .map(row -> Math.round((Double) row.get("avgStatements") * (Long) row.get("requests")))
+                .orElse(0L);
+    }
+}
@@ -0,0 +1,293 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.glassshop.ai.entity.AuditLog;
+import com.glassshop.ai.entity.Customer;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Invoice;
+import com.glassshop.ai.entity.InvoiceItem;
+import com.glassshop.ai.entity.Payment;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.enums.InvoiceType;
+import com.glassshop.ai.enums.PaymentMode;
+import com.glassshop.ai.profiling.SqlProfiler;
+import com.glassshop.ai.repository.AuditLogRepository;
+import com.glassshop.ai.repository.CustomerRepository;
+import com.glassshop.ai.repository.GlassRepository;
+import com.glassshop.ai.repository.InvoiceRepository;
+import com.glassshop.ai.repository.QuotationRepository;
+import com.glassshop.ai.repository.ShopRepository;
+import com.glassshop.ai.repository.StockRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.JwtUtil;
+
+/**
+ * Integration Tests for the listing fetch plans
+ * Tests that each listing endpoint runs the same number of SQL statements
+ * whether the shop has one row or many, counted by SqlProfiler
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Fetch Plan Integration Tests")
+class FetchPlanIntegrationTest {
+
+    private static final Map<String, String> LISTINGS = new LinkedHashMap<>();
+
+    static {
+        LISTINGS.put("GET /stock/all", "/stock/all");
+        LISTINGS.put("GET /api/invoices", "/api/invoices");
+        LISTINGS.put("GET /api/quotations", "/api/quotations");
+        LISTINGS.put("GET /api/customers", "/api/customers");
+        LISTINGS.put("GET /audit/recent", "/audit/recent");
+        LISTINGS.put("GET /auth/staff", "/auth/staff");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GlassRepository glassRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private QuotationRepository quotationRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Glass> glasses = new ArrayList<>();
+    private final List<Stock> stock = new ArrayList<>();
+    private final List<Customer> customers = new ArrayList<>();
+    private final List<Quotation> quotations = new ArrayList<>();
+    private final List<Invoice> invoices = new ArrayList<>();
+    private final List<AuditLog> auditLogs = new ArrayList<>();
+
+    private String tag;
+    private Shop shop;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        tag = Long.toString(System.nanoTime(), 36);
+
+        shop = new Shop();
+        shop.setShopName("Fetch Plan Shop " + tag);
+        shop.setEmail("fetchplan-" + tag + "@shop.com");
+        shop = shopRepository.save(shop);
+
+        User admin = new User();
+        admin.setUserName("fetchplan-" + tag);
+        admin.setPassword("not-used");
+        admin.setRole("ROLE_ADMIN");
+        admin.setShop(shop);
+        users.add(userRepository.save(admin));
+
+        token = jwtUtil.generateToken(admin.getUserName(), "ROLE_ADMIN");
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAll(invoices);
+        quotationRepository.deleteAll(quotations);
+        customerRepository.deleteAll(customers);
+        auditLogRepository.deleteAll(auditLogs);
+        stockRepository.deleteAll(stock);
+        glassRepository.deleteAll(glasses);
+        userRepository.deleteAll(users);
+        shopRepository.delete(shop);
+    }
+
+    @Test
+    @DisplayName("Listings - Same statement count for one row and for twelve")
+    void testListings_ConstantStatementCount() throws Exception {
+        seed(1);
+        Map<String, Long> oneRow = statementCounts();
+
+        seed(11);
+        Map<String, Long> twelveRows = statementCounts();
+
+        for (String endpoint : LISTINGS.keySet()) {
+            assertEquals(oneRow.get(endpoint), twelveRows.get(endpoint),
+                    endpoint + " statement count grew with its rows");
+        }
+    }
+
+    /**
+     * Statements each listing ran, after one warm-up request for the rate limiter's tenant cache.
+     * A listing over its @QueryBudget fails the request itself (sql.profiler.fail-on-violation).
+     */
+    private Map<String, Long> statementCounts() throws Exception {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, String> listing : LISTINGS.entrySet()) {
+            mockMvc.perform(get(listing.getValue()).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            long before = totalStatements(listing.getKey());
+            mockMvc.perform(get(listing.getValue()).header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            counts.put(listing.getKey(), totalStatements(listing.getKey()) - before);
+        }
+        return counts;
+    }
+
+    private long totalStatements(String endpoint) {
+        return sqlProfiler.getTopOffenders(100).stream()
+                .filter(row -> endpoint.equals(row.get("endpoint")))
+                .findFirst()
+                .map(row -> Math.round((Double) row.get("avgStatements") * (Long) row.get("requests")))
+                .orElse(0L);
+    }
+
+    /**
+     * Adds rows to every listing, each stock line on its own glass type and each
+     * document with two items, so a per-row association load would show up.
+     */
+    private void seed(int rows) {
+        for (int i = 0; i < rows; i++) {
+            int n = stock.size();
+
+            Glass glass = new Glass();
+            glass.setType("FP" + tag + "-" + n);
+            glass.setThickness(4 + n % 8);
+            glass.setUnit("MM");
+            glasses.add(glassRepository.save(glass));
+
+            Stock line = new Stock();
+            line.setGlass(glass);
+            line.setShop(shop);
+            line.setStandNo(1 + n % 5);
+            line.setQuantity(10);
+            line.setMinQuantity(2);
+            line.setHeight("2440");
+            line.setWidth("1830");
+            stock.add(stockRepository.save(line));
+
+            Customer customer = new Customer();
+            customer.setShop(shop);
+            customer.setName("Customer " + n);
+            customer.setMobile(String.format("9%09d", n));
+            customers.add(customerRepository.save(customer));
+
+            quotations.add(quotationRepository.save(quotation(customer, n)));
+            invoices.add(invoiceRepository.save(invoice(customer, n)));
+
+            AuditLog log = new AuditLog();
+            log.setShop(shop);
+            log.setUsername(users.get(0).getUserName());
+            log.setRole("ROLE_ADMIN");
+            log.setAction("ADD");
+            log.setGlassType(glass.getType());
+            log.setQuantity(10);
+            log.setStandNo(line.getStandNo());
+            log.setTimestamp(LocalDateTime.now());
+            auditLogs.add(auditLogRepository.save(log));
+
+            User staff = new User();
+            staff.setUserName("fetchplan-" + tag + "-staff-" + n);
+            staff.setPassword("not-used");
+            staff.setRole("ROLE_STAFF");
+            staff.setShop(shop);
+            users.add(userRepository.save(staff));
+        }
+    }
+
+    private Quotation quotation(Customer customer, int n) {
+        Quotation quotation = new Quotation();
+        quotation.setShop(shop);
+        quotation.setCustomer(customer);
+        quotation.setQuotationNumber("FPQ-" + tag + "-" + n);
+        quotation.setBillingType(BillingType.NON_GST);
+        quotation.setCustomerName(customer.getName());
+        for (int item = 0; item < 2; item++) {
+            QuotationItem line = new QuotationItem();
+            line.setQuotation(quotation);
+            line.setGlassType("8MM");
+            line.setHeight(4.0);
+            line.setWidth(3.0);
+            line.setRatePerSqft(50.0);
+            line.setArea(12.0);
+            line.setSubtotal(600.0);
+            line.setItemOrder(item);
+            quotation.getItems().add(line);
+        }
+        quotation.setSubtotal(1200.0);
+        quotation.setGrandTotal(1200.0);
+        return quotation;
+    }
+
+    private Invoice invoice(Customer customer, int n) {
+        Invoice invoice = new Invoice();
+        invoice.setShop(shop);
+        invoice.setCustomer(customer);
+        invoice.setInvoiceNumber("FPI-" + tag + "-" + n);
+        invoice.setInvoiceType(InvoiceType.FINAL);
+        invoice.setBillingType(BillingType.NON_GST);
+        invoice.setCustomerName(customer.getName());
+        for (int item = 0; item < 2; item++) {
+            InvoiceItem line = new InvoiceItem();
+            line.setInvoice(invoice);
+            line.setGlassType("8MM");
+            line.setHeight(4.0);
+            line.setWidth(3.0);
+            line.setRatePerSqft(50.0);
+            line.setArea(12.0);
+            line.setSubtotal(600.0);
+            line.setItemOrder(item);
+            invoice.getItems().add(line);
+        }
+        Payment payment = new Payment();
+        payment.setInvoice(invoice);
+        payment.setPaymentMode(PaymentMode.CASH);
+        payment.setAmount(1200.0);
+        invoice.getPayments().add(payment);
+        invoice.setSubtotal(1200.0);
+        invoice.setGrandTotal(1200.0);
+        invoice.setPaidAmount(1200.0);
+        return invoice;
+    }
+}
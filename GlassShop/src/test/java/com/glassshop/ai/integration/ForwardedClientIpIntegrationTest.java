@@ -0,0 +1,82 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.glassshop.ai.security.LoginThrottle;
+import com.glassshop.ai.security.TooManyRequestsException;
+
+/**
+ * Integration Tests for client addresses behind the reverse proxy
+ * Tests that the login throttle sees the client from X-Forwarded-For, not the proxy
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Forwarded Client IP Integration Tests")
+class ForwardedClientIpIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    void setUp() {
+        // Refuse every attempt, so nothing past the throttle runs
+        doThrow(new TooManyRequestsException("Too many login attempts. Please wait and try again.", 30))
+                .when(loginThrottle).acquire(anyString(), anyString());
+    }
+
+    private ResponseEntity<String> login(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (forwardedFor != null) {
+            headers.set("X-Forwarded-For", forwardedFor);
+        }
+        Map<String, String> body = Map.of("username", "nobody", "password", "password123");
+        return restTemplate.postForEntity("/auth/login", new HttpEntity<>(body, headers), String.class);
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Throttled by the forwarded client IP")
+    void testLogin_ForwardedClientIp() {
+        ResponseEntity<String> response = login("203.0.113.7");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        verify(loginThrottle).acquire("nobody", "203.0.113.7");
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Proxies in the chain are skipped")
+    void testLogin_ProxyChain() {
+        login("198.51.100.4, 10.0.0.2");
+
+        verify(loginThrottle).acquire("nobody", "198.51.100.4");
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Direct request keeps the connection address")
+    void testLogin_NoForwardedHeader() {
+        login(null);
+
+        verify(loginThrottle).acquire("nobody", "127.0.0.1");
+    }
+}
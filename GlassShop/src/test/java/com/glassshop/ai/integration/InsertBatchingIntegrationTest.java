@@ -0,0 +1,220 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.glassshop.ai.entity.AuditLog;
+import com.glassshop.ai.entity.Customer;
+import com.glassshop.ai.entity.Invoice;
+import com.glassshop.ai.entity.InvoiceItem;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.enums.InvoiceType;
+import com.glassshop.ai.repository.AuditLogRepository;
+import com.glassshop.ai.repository.CustomerRepository;
+import com.glassshop.ai.repository.InvoiceRepository;
+import com.glassshop.ai.repository.QuotationRepository;
+import com.glassshop.ai.repository.ShopRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration Tests for insert batching
+ * Tests that quotation items, invoice items and audit rows are sent as JDBC
+ * batches, which pooled sequence ids make possible
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Insert Batching Integration Tests")
+class InsertBatchingIntegrationTest {
+
+    private static final int LINES = 40;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private QuotationRepository quotationRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private final List<Long> quotationIds = new ArrayList<>();
+    private final List<Long> invoiceIds = new ArrayList<>();
+    private final List<Long> auditIds = new ArrayList<>();
+
+    private String tag;
+    private Shop shop;
+    private Customer customer;
+
+    /**
+     * JDBC executions of one session: batches, and statements run on their own.
+     */
+    static class ExecutionCounter extends BaseSessionEventListener {
+        int batches;
+        int statements;
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches++;
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tag = Long.toString(System.nanoTime(), 36);
+
+        shop = new Shop();
+        shop.setShopName("Batching Shop " + tag);
+        shop.setEmail("batching-" + tag + "@shop.com");
+        shop = shopRepository.save(shop);
+
+        customer = new Customer();
+        customer.setShop(shop);
+        customer.setName("Batching Customer");
+        customer = customerRepository.save(customer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAllById(invoiceIds);
+        quotationRepository.deleteAllById(quotationIds);
+        auditLogRepository.deleteAllById(auditIds);
+        customerRepository.delete(customer);
+        shopRepository.delete(shop);
+    }
+
+    @Test
+    @DisplayName("Quotation - 40 items inserted in one batch")
+    void testQuotationItems_Batched() {
+        Quotation quotation = new Quotation();
+        quotation.setShop(shop);
+        quotation.setCustomer(customer);
+        quotation.setQuotationNumber("BQ-" + tag);
+        quotation.setBillingType(BillingType.NON_GST);
+        quotation.setCustomerName(customer.getName());
+        for (int i = 0; i < LINES; i++) {
+            QuotationItem item = new QuotationItem();
+            item.setQuotation(quotation);
+            item.setGlassType("8MM");
+            item.setHeight(4.0);
+            item.setWidth(3.0);
+            item.setRatePerSqft(50.0);
+            item.setArea(12.0);
+            item.setSubtotal(600.0);
+            item.setItemOrder(i);
+            quotation.getItems().add(item);
+        }
+
+        ExecutionCounter counter = persist(session -> session.persist(quotation));
+        quotationIds.add(quotation.getId());
+
+        assertBatched(counter);
+        assertEquals(LINES, quotationRepository.findWithItemsById(quotation.getId()).orElseThrow().getItems().size());
+    }
+
+    @Test
+    @DisplayName("Invoice - 40 items inserted in one batch")
+    void testInvoiceItems_Batched() {
+        Invoice invoice = new Invoice();
+        invoice.setShop(shop);
+        invoice.setCustomer(customer);
+        invoice.setInvoiceNumber("BI-" + tag);
+        invoice.setInvoiceType(InvoiceType.FINAL);
+        invoice.setBillingType(BillingType.NON_GST);
+        invoice.setCustomerName(customer.getName());
+        for (int i = 0; i < LINES; i++) {
+            InvoiceItem item = new InvoiceItem();
+            item.setInvoice(invoice);
+            item.setGlassType("8MM");
+            item.setHeight(4.0);
+            item.setWidth(3.0);
+            item.setRatePerSqft(50.0);
+            item.setArea(12.0);
+            item.setSubtotal(600.0);
+            item.setItemOrder(i);
+            invoice.getItems().add(item);
+        }
+
+        ExecutionCounter counter = persist(session -> session.persist(invoice));
+        invoiceIds.add(invoice.getId());
+
+        assertBatched(counter);
+        assertEquals(LINES, invoiceRepository.findWithItemsById(invoice.getId()).orElseThrow().getItems().size());
+    }
+
+    @Test
+    @DisplayName("Audit log - 40 rows inserted in one batch")
+    void testAuditRows_Batched() {
+        List<AuditLog> logs = new ArrayList<>();
+        for (int i = 0; i < LINES; i++) {
+            AuditLog log = new AuditLog();
+            log.setShop(shop);
+            log.setUsername("batching-" + tag);
+            log.setRole("ROLE_ADMIN");
+            log.setAction("ADD");
+            log.setGlassType("8MM");
+            log.setQuantity(1);
+            log.setStandNo(1 + i % 5);
+            log.setTimestamp(LocalDateTime.now());
+            logs.add(log);
+        }
+
+        ExecutionCounter counter = persist(session -> logs.forEach(session::persist));
+        logs.forEach(log -> auditIds.add(log.getId()));
+
+        assertBatched(counter);
+        assertEquals(LINES, auditLogRepository.findAllById(auditIds).size());
+    }
+
+    private ExecutionCounter persist(Consumer<Session> work) {
+        ExecutionCounter counter = new ExecutionCounter();
+        try (Session session = entityManagerFactory.unwrap(SessionFactory.class)
+                .withOptions().eventListeners(counter).openSession()) {
+            session.beginTransaction();
+            work.accept(session);
+            session.getTransaction().commit();
+        }
+        return counter;
+    }
+
+    /**
+     * At most a batch for the parent row and one for the 40 lines; the only statements run
+     * on their own are the few sequence calls (one per block of 50 ids), not one per line.
+     */
+    private static void assertBatched(ExecutionCounter counter) {
+        assertTrue(counter.batches >= 1 && counter.batches <= 2, "batches: " + counter.batches);
+        assertTrue(counter.statements <= 4, "statements outside batches: " + counter.statements);
+    }
+}
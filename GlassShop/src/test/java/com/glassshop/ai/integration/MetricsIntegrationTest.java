@@ -0,0 +1,132 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.glassshop.ai.dto.StockUpdateRequest;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.repository.ShopRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.JwtUtil;
+import com.glassshop.ai.service.StockService;
+import com.glassshop.ai.service.WhatsAppService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Integration Tests for metrics
+ * Tests that the key service, security and connection-pool meters are registered
+ * and exported on the Prometheus endpoint
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private WhatsAppService whatsAppService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        shopRepository.deleteAll();
+
+        Shop shop = new Shop();
+        shop.setShopName("Metrics Shop");
+        shop.setEmail("metrics@shop.com");
+        shop = shopRepository.save(shop);
+
+        User user = new User();
+        user.setUserName("metricsuser");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole("ROLE_ADMIN");
+        user.setShop(shop);
+        userRepository.save(user);
+
+        token = jwtUtil.generateToken("metricsuser", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Connection pool - Hikari meters are bound")
+    void testHikariMeters_Registered() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").timer());
+    }
+
+    @Test
+    @DisplayName("JWT filter and HTTP requests - Timed with outcome and endpoint class")
+    void testRequestMeters_Registered() throws Exception {
+        mockMvc.perform(get("/stock/all").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/stock/all").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+
+        assertTrue(meterRegistry.get("glassshop.jwt.filter").tag("outcome", "authenticated").timer().count() >= 1);
+        assertTrue(meterRegistry.get("glassshop.jwt.filter").tag("outcome", "rejected").timer().count() >= 1);
+        assertNotNull(meterRegistry.find("http.server.requests").tag("endpoint.class", "read").timer());
+        assertNotNull(meterRegistry.find("glassshop.ratelimit.requests").tag("outcome", "allowed").functionCounter());
+    }
+
+    @Test
+    @DisplayName("Services - Stock update and notification timers are registered")
+    void testServiceMeters_Registered() {
+        stockService.updateStock(new StockUpdateRequest());
+        whatsAppService.sendMessage("9876543210", "test");
+
+        assertNotNull(meterRegistry.find("glassshop.stock.update").tag("class", "write").timer());
+        assertNotNull(meterRegistry.find("glassshop.notification.send")
+                .tags("channel", "whatsapp", "outcome", "skipped").timer());
+    }
+
+    @Test
+    @DisplayName("Prometheus endpoint - Exposes service and pool meters without a token")
+    void testPrometheusEndpoint() throws Exception {
+        whatsAppService.sendMessage("9876543210", "test");
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.contains("hikaricp_connections_active"));
+        assertTrue(body.contains("glassshop_notification_send_seconds_bucket"));
+    }
+}
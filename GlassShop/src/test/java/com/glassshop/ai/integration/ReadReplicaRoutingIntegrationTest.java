@@ -0,0 +1,120 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.glassshop.ai.datasource.ReplicaLagMonitor;
+import com.glassshop.ai.dto.LoginRequest;
+import com.glassshop.ai.dto.RegisterShopRequest;
+
+/**
+ * Integration Tests for read replica routing of the unauthenticated auth endpoints
+ * Tests that sign-up and login read users from the primary. The replica is an empty
+ * database, like one that has not caught up yet; it only counts as usable once the
+ * test creates its lag table, so startup runs on the primary
+ */
+@SpringBootTest(properties = {
+        // Own primary too: closing this context drops its schema
+        "spring.datasource.url=jdbc:h2:mem:routingdb",
+        "datasource.replica.url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "datasource.replica.lag-query=SELECT lag FROM replica_lag"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @BeforeEach
+    void useReplica() throws Exception {
+        replica("CREATE TABLE IF NOT EXISTS replica_lag AS SELECT 0 AS lag");
+        replicaLagMonitor.check();
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+    }
+
+    @AfterEach
+    void dropReplica() throws Exception {
+        replica("DROP TABLE IF EXISTS replica_lag");
+        replicaLagMonitor.check();
+    }
+
+    private static void replica(String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private RegisterShopRequest shop(String username) {
+        RegisterShopRequest request = new RegisterShopRequest();
+        request.setUsername(username);
+        request.setPassword("password123");
+        request.setShopName("Replica Glass");
+        request.setEmail("replica@shop.com");
+        return request;
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Works straight after /auth/register-shop")
+    void testLogin_AfterRegisterShop() throws Exception {
+        mockMvc.perform(post("/auth/register-shop")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(shop("newowner"))))
+                .andExpect(status().isOk());
+
+        LoginRequest login = new LoginRequest();
+        login.setUsername("newowner");
+        login.setPassword("password123");
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentAsString().contains("token"));
+    }
+
+    @Test
+    @DisplayName("POST /auth/register-shop - Duplicate username seen straight away")
+    void testRegisterShop_DuplicateStraightAfter() throws Exception {
+        mockMvc.perform(post("/auth/register-shop")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(shop("sameowner"))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/register-shop")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(shop("sameowner"))))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,236 @@
+package com.glassshop.ai.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.glassshop.ai.entity.OutboxMessage;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.enums.OutboxStatus;
+import com.glassshop.ai.repository.OutboxMessageRepository;
+import com.glassshop.ai.repository.ShopRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.JwtUtil;
+import com.glassshop.ai.service.OutboxDispatchService;
+import com.glassshop.ai.service.WhatsAppService;
+import com.glassshop.ai.util.CircuitBreaker;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Integration Tests for WhatsApp delivery through the message outbox
+ * Tests retries, per-destination ordering, the circuit breaker and the admin
+ * replay endpoint against a local stub of the provider
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("WhatsApp Outbox Integration Tests")
+class WhatsAppOutboxIntegrationTest {
+
+    private static HttpServer provider;
+    private static final List<String> received = new ArrayList<>();
+    // Status codes the stub answers with, in order; 200 once empty
+    private static final Queue<Integer> script = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private WhatsAppService whatsAppService;
+
+    @Autowired
+    private OutboxDispatchService outboxDispatchService;
+
+    private Object originalBreaker;
+    private Shop shop;
+    private User admin;
+
+    @BeforeAll
+    static void startProvider() throws IOException {
+        provider = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        provider.createContext("/send", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            synchronized (received) {
+                received.add(body);
+            }
+            Integer status = script.poll();
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status == null ? 200 : status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        provider.start();
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        synchronized (received) {
+            received.clear();
+        }
+        script.clear();
+        ReflectionTestUtils.setField(whatsAppService, "whatsappEnabled", true);
+        ReflectionTestUtils.setField(whatsAppService, "whatsappApiUrl",
+                "http://127.0.0.1:" + provider.getAddress().getPort() + "/send");
+        ReflectionTestUtils.setField(outboxDispatchService, "backoffInitialMillis", 1L);
+        ReflectionTestUtils.setField(outboxDispatchService, "backoffMaxMillis", 5L);
+        originalBreaker = ReflectionTestUtils.getField(outboxDispatchService, "circuitBreaker");
+
+        String tag = Long.toString(System.nanoTime(), 36);
+        shop = new Shop();
+        shop.setShopName("Outbox Shop " + tag);
+        shop.setEmail("outbox-" + tag + "@shop.com");
+        shop = shopRepository.save(shop);
+
+        admin = new User();
+        admin.setUserName("outbox-" + tag);
+        admin.setPassword("not-used");
+        admin.setRole("ROLE_ADMIN");
+        admin.setShop(shop);
+        admin = userRepository.save(admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(whatsAppService, "whatsappEnabled", false);
+        ReflectionTestUtils.setField(whatsAppService, "whatsappApiUrl", "");
+        ReflectionTestUtils.setField(outboxDispatchService, "backoffInitialMillis", 2000L);
+        ReflectionTestUtils.setField(outboxDispatchService, "backoffMaxMillis", 600000L);
+        ReflectionTestUtils.setField(outboxDispatchService, "circuitBreaker", originalBreaker);
+        outboxMessageRepository.deleteAll(outboxMessageRepository.findTop50ByShopIdOrderByCreatedAtDesc(shop.getId()));
+        userRepository.delete(admin);
+        shopRepository.delete(shop);
+    }
+
+    @Test
+    @DisplayName("Delivery - Retries a 503 and keeps each destination's messages in order")
+    void testDelivery_RetryKeepsOrder() throws Exception {
+        script.add(503);
+        whatsAppService.sendMessage(shop.getId(), "9876500001", "first");
+        whatsAppService.sendMessage(shop.getId(), "9876500001", "second");
+        assertEquals(2, outboxMessageRepository.findTop50ByShopIdOrderByCreatedAtDesc(shop.getId()).size());
+
+        OutboxMessage first = awaitStatus(message("first"), OutboxStatus.SENT);
+        awaitStatus(message("second"), OutboxStatus.SENT);
+
+        assertEquals(2, first.getAttempts());
+        assertEquals(Integer.valueOf(200), first.getLastStatusCode());
+        assertEquals(List.of("first", "first", "second"), receivedMessages());
+    }
+
+    @Test
+    @DisplayName("Replay - A message the provider rejected fails at once and an admin can replay it")
+    void testReplay_RejectedMessage() throws Exception {
+        script.add(400);
+        whatsAppService.sendMessage(shop.getId(), "9876500002", "rejected");
+
+        OutboxMessage failed = awaitStatus(message("rejected"), OutboxStatus.FAILED);
+        assertEquals(1, failed.getAttempts());
+        assertEquals(Integer.valueOf(400), failed.getLastStatusCode());
+
+        String token = jwtUtil.generateToken(admin.getUserName(), "ROLE_ADMIN");
+        mockMvc.perform(get("/admin/outbox").param("status", "FAILED").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(failed.getId()));
+        mockMvc.perform(post("/admin/outbox/" + failed.getId() + "/replay").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        awaitStatus(failed.getId(), OutboxStatus.SENT);
+        assertEquals(List.of("rejected", "rejected"), receivedMessages());
+    }
+
+    @Test
+    @DisplayName("Circuit breaker - No requests while open, one trial afterwards")
+    void testCircuitBreaker_PausesDelivery() throws Exception {
+        ReflectionTestUtils.setField(outboxDispatchService, "circuitBreaker", new CircuitBreaker(2, 300));
+        script.add(503);
+        script.add(503);
+        whatsAppService.sendMessage(shop.getId(), "9876500003", "a");
+        whatsAppService.sendMessage(shop.getId(), "9876500004", "b");
+
+        outboxDispatchService.dispatch();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"OPEN".equals(outboxDispatchService.getStats().get("breaker"))) {
+            assertTrue(System.currentTimeMillis() < deadline, "Breaker did not open");
+            Thread.sleep(10);
+        }
+        Thread.sleep(20);
+        assertEquals(0, outboxDispatchService.dispatch());
+
+        awaitStatus(message("a"), OutboxStatus.SENT);
+        awaitStatus(message("b"), OutboxStatus.SENT);
+
+        assertEquals(4, receivedMessages().size());
+        assertEquals("CLOSED", outboxDispatchService.getStats().get("breaker"));
+    }
+
+    private Long message(String text) {
+        return outboxMessageRepository.findTop50ByShopIdOrderByCreatedAtDesc(shop.getId()).stream()
+                .filter(m -> m.getPayload().contains("\"message\":\"" + text + "\""))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+    }
+
+    private OutboxMessage awaitStatus(Long id, OutboxStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            outboxDispatchService.dispatch();
+            OutboxMessage message = outboxMessageRepository.findById(id).orElseThrow();
+            if (message.getStatus() == status) {
+                return message;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Message " + id + " did not reach " + status);
+    }
+
+    private List<String> receivedMessages() {
+        synchronized (received) {
+            return received.stream()
+                    .map(body -> body.substring(body.indexOf("\"message\":\"") + 11, body.lastIndexOf('"')))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.glassshop.ai.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Tests for PdfFontManager and TrueTypeFontProvider
+ * Tests Unicode text, subset embedding and output size. Uses the DejaVu Sans
+ * system font and is skipped where it is not installed.
+ */
+@DisplayName("PDF Font Pipeline Tests")
+class PdfFontManagerTest {
+
+    private static final Path FONT = Path.of("/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf");
+
+    private TrueTypeFont ttf;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(Files.exists(FONT), "DejaVu Sans not installed");
+        ttf = PdfFontManager.load(FONT.toString());
+    }
+
+    private List<PdfComponent> invoice(int rows) {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new HeaderBlock("TAX INVOICE", 24));
+        components.add(new PartyBlock("From:", 14)
+                .line("Crystal Glass House", FontStyle.BOLD, 12)
+                .field("Mobile: ", "9876543210")
+                .cacheable());
+        TableBlock table = new TableBlock()
+                .column("Sr.", 0)
+                .column("Item", 50)
+                .column("Amount", 450);
+        for (int i = 1; i <= rows; i++) {
+            table.row(String.valueOf(i), "Toughened (8mm)", "1200.00");
+        }
+        components.add(table);
+        components.add(new TotalsBlock(350, 450).grandTotal("Grand Total:", "₹ " + (rows * 1200) + ".00"));
+        return components;
+    }
+
+    private byte[] render(PdfLayoutEngine engine, List<PdfComponent> components) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            engine.render(document, components);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        }
+    }
+
+    private PdfLayoutEngine engine(PdfFontProvider provider) {
+        PdfLayoutEngine engine = new PdfLayoutEngine();
+        engine.setFontProvider(provider);
+        return engine;
+    }
+
+    @Test
+    @DisplayName("Should render the rupee sign with the configured font")
+    void testRender_Rupee() throws Exception {
+        PdfLayoutEngine engine = engine(new TrueTypeFontProvider(ttf, ttf));
+
+        byte[] pdf = render(engine, invoice(3));
+
+        try (PDDocument document = PDDocument.load(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("₹ 3600.00"), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should embed only a subset, also for static blocks replayed from the cache")
+    void testRender_Subset() throws Exception {
+        PdfLayoutEngine engine = engine(new TrueTypeFontProvider(ttf, ttf));
+        render(engine, invoice(3));
+
+        // Second render replays the header and shop block
+        byte[] pdf = render(engine, invoice(3));
+
+        assertTrue(engine.getStaticBlocks().getHits() > 0);
+        try (PDDocument document = PDDocument.load(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("TAX INVOICE"), text);
+            assertTrue(text.contains("Crystal Glass House"), text);
+            for (COSName name : document.getPage(0).getResources().getFontNames()) {
+                PDFont font = document.getPage(0).getResources().getFont(name);
+                // Subset fonts are tagged with a six-letter prefix, e.g. ABCDEF+DejaVuSans
+                assertTrue(font.getName().matches("[A-Z]{6}\\+.*"), font.getName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Performance Test: subset PDF size and render time vs Helvetica and full embedding")
+    void testRender_SizeReport() throws Exception {
+        PdfFontProvider fullEmbed = new PdfFontProvider() {
+            @Override
+            public PDFont font(PDDocument document, FontStyle style) throws IOException {
+                return PDType0Font.load(document, ttf, false);
+            }
+
+            @Override
+            public String key() {
+                return "ttf-full";
+            }
+        };
+        List<PdfComponent> components = invoice(20);
+
+        long[] helvetica = measure(engine(new StandardFontProvider()), components);
+        long[] full = measure(engine(fullEmbed), components);
+        long[] subset = measure(engine(new TrueTypeFontProvider(ttf, ttf)), components);
+
+        System.out.println("20-line invoice: helvetica=" + helvetica[0] + " bytes/" + helvetica[1] + "ms"
+                + ", full embed=" + full[0] + " bytes/" + full[1] + "ms"
+                + ", subset=" + subset[0] + " bytes/" + subset[1] + "ms");
+        assertTrue(subset[0] * 10 < full[0], "Subset should be a fraction of the full font");
+        assertTrue(subset[0] < 100 * 1024, "Invoice should stay under 100 KB for sharing");
+    }
+
+    private long[] measure(PdfLayoutEngine engine, List<PdfComponent> components) throws IOException {
+        // Warm up, then average over a few renders
+        render(engine, components);
+        int runs = 5;
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            bytes = render(engine, components).length;
+        }
+        return new long[] { bytes, (System.nanoTime() - start) / runs / 1_000_000 };
+    }
+
+    @Test
+    @DisplayName("Should keep Helvetica when no font is configured")
+    void testInit_NoFontConfigured() {
+        PdfLayoutEngine engine = new PdfLayoutEngine();
+        PdfFontManager manager = new PdfFontManager();
+        ReflectionTestUtils.setField(manager, "layoutEngine", engine);
+
+        manager.init();
+
+        assertEquals("helvetica", engine.getFontProvider().key());
+    }
+
+    @Test
+    @DisplayName("Should parse the configured font on first use, not at startup")
+    void testInit_LoadsOnFirstUse() {
+        PdfLayoutEngine engine = new PdfLayoutEngine();
+        PdfFontManager manager = new PdfFontManager();
+        ReflectionTestUtils.setField(manager, "layoutEngine", engine);
+        ReflectionTestUtils.setField(manager, "regularLocation", FONT.toString());
+
+        manager.init();
+
+        LazyFontProvider provider = assertInstanceOf(LazyFontProvider.class, engine.getFontProvider());
+        assertFalse(provider.isLoaded());
+        assertNotEquals("helvetica", provider.key());
+        assertTrue(provider.isLoaded());
+    }
+
+    @Test
+    @DisplayName("Should fall back to Helvetica when the font file is missing")
+    void testInit_MissingFont() {
+        PdfLayoutEngine engine = new PdfLayoutEngine();
+        PdfFontManager manager = new PdfFontManager();
+        ReflectionTestUtils.setField(manager, "layoutEngine", engine);
+        ReflectionTestUtils.setField(manager, "regularLocation", "/nonexistent/font.ttf");
+
+        manager.init();
+
+        assertEquals("helvetica", engine.getFontProvider().key());
+    }
+}
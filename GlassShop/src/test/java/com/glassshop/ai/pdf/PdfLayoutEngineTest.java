@@ -0,0 +1,161 @@
+package com.glassshop.ai.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for PdfLayoutEngine
+ * Tests page breaks, repeated table headers, static block reuse and text fitting
+ */
+@DisplayName("PdfLayoutEngine Unit Tests")
+class PdfLayoutEngineTest {
+
+    private PdfLayoutEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new PdfLayoutEngine();
+    }
+
+    private List<PdfComponent> document(int rows) {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new HeaderBlock("TAX INVOICE", 24));
+        components.add(new PartyBlock("From:", 14)
+                .line("Crystal Glass House", FontStyle.BOLD, 12)
+                .field("Owner: ", "R. Sharma")
+                .field("Mobile: ", "9876543210")
+                .cacheable());
+        TableBlock table = new TableBlock()
+                .column("Sr.", 0)
+                .column("Item", 50)
+                .column("Qty", 300)
+                .column("Amount", 450);
+        for (int i = 1; i <= rows; i++) {
+            table.row(String.valueOf(i), "Toughened (8mm)", "2", "1200.00");
+        }
+        components.add(table);
+        components.add(new TotalsBlock(350, 450)
+                .row("Subtotal:", "1200.00")
+                .grandTotal("Grand Total:", "Rs. 1200.00"));
+        return components;
+    }
+
+    private String render(List<PdfComponent> components, int[] pages) throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            engine.render(document, components);
+            pages[0] = document.getNumberOfPages();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            try (PDDocument saved = PDDocument.load(out.toByteArray())) {
+                return new PDFTextStripper().getText(saved);
+            }
+        }
+    }
+
+    private List<String> pageTexts(List<PdfComponent> components) throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            engine.render(document, components);
+            PDFTextStripper stripper = new PDFTextStripper();
+            List<String> texts = new ArrayList<>();
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                texts.add(stripper.getText(document));
+            }
+            return texts;
+        }
+    }
+
+    @Test
+    @DisplayName("Should break long tables across pages and repeat the header")
+    void testRender_MultiPage() throws Exception {
+        int[] pages = new int[1];
+        String text = render(document(120), pages);
+
+        assertTrue(pages[0] > 1, "120 rows should not fit on one page");
+        assertTrue(text.contains("120"));
+        assertTrue(text.contains("Grand Total:"));
+
+        // The totals block may spill onto a page of its own; count the pages the table spans
+        List<String> pageTexts = pageTexts(document(120));
+        int tablePages = 0;
+        for (int page = 0; page < pageTexts.size(); page++) {
+            if (pageTexts.get(page).contains("Toughened (8mm)")) {
+                tablePages++;
+                assertTrue(pageTexts.get(page).contains("Amount"), "Table header missing on page " + (page + 1));
+            }
+        }
+        assertTrue(tablePages > 1, "120 rows should span several pages");
+    }
+
+    @Test
+    @DisplayName("Should compile static blocks once and replay them for later documents")
+    void testRender_StaticBlocksReused() throws Exception {
+        int[] pages = new int[1];
+        render(document(5), pages);
+        long misses = engine.getStaticBlocks().getMisses();
+
+        String text = render(document(5), pages);
+
+        assertEquals(misses, engine.getStaticBlocks().getMisses());
+        assertTrue(engine.getStaticBlocks().getHits() >= misses);
+        assertTrue(text.contains("Crystal Glass House"));
+        assertTrue(text.contains("TAX INVOICE"));
+    }
+
+    @Test
+    @DisplayName("Should lay out the same pages with static blocks disabled")
+    void testRender_StaticBlocksDisabled() throws Exception {
+        int[] pages = new int[1];
+        String cached = render(document(60), pages);
+        int cachedPages = pages[0];
+
+        engine.setStaticBlocksEnabled(false);
+        String inline = render(document(60), pages);
+
+        assertEquals(cachedPages, pages[0]);
+        assertEquals(cached.split("Amount", -1).length, inline.split("Amount", -1).length);
+        assertTrue(inline.contains("Crystal Glass House"));
+        assertTrue(inline.contains("Grand Total:"));
+    }
+
+    @Test
+    @DisplayName("Should substitute characters the font cannot encode")
+    void testRender_UnencodableText() throws Exception {
+        List<PdfComponent> components = new ArrayList<>();
+        components.add(new TextBlock().text("Total ₹ 500", FontStyle.REGULAR, 10));
+
+        int[] pages = new int[1];
+        String text = render(components, pages);
+
+        assertTrue(text.contains("Total ? 500"));
+    }
+
+    @Test
+    @DisplayName("Should shorten text to fit a column width")
+    void testFit() throws Exception {
+        try (PDDocument document = new PDDocument()) {
+            PdfCanvas canvas = engine.open(document);
+            FontMetrics metrics = engine.getMetrics();
+            String key = canvas.fontKey(FontStyle.REGULAR);
+            String longText = "Extra clear toughened glass with polished edges";
+
+            String fitted = metrics.fit(key, canvas.font(FontStyle.REGULAR), longText, 9, 80);
+
+            assertTrue(fitted.endsWith("..."));
+            assertTrue(canvas.width(fitted, FontStyle.REGULAR, 9) <= 80);
+            assertEquals("Qty", metrics.fit(key, canvas.font(FontStyle.REGULAR), "Qty", 9, 80));
+            assertEquals(1, metrics.cachedFonts());
+            canvas.close();
+        }
+    }
+}
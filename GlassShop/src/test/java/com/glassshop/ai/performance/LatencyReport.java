@@ -0,0 +1,99 @@
+package com.glassshop.ai.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency per operation for the load-test harness, in HdrHistogram
+ * (microseconds, 3 significant digits, up to one minute), with error counts.
+ * Prints throughput and p50/p95/p99/max per operation and checks them against
+ * latency budgets.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String operation, long nanos, boolean ok) {
+        long micros = Math.min(HIGHEST_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        histograms.computeIfAbsent(operation, key -> new ConcurrentHistogram(HIGHEST_MICROS, 3)).recordValue(micros);
+        if (!ok) {
+            errors.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        }
+    }
+
+    long count(String operation) {
+        Histogram histogram = histograms.get(operation);
+        return histogram != null ? histogram.getTotalCount() : 0;
+    }
+
+    long totalCount() {
+        return histograms.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    long totalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long errorCount(String operation) {
+        LongAdder adder = errors.get(operation);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    double percentileMillis(String operation, double percentile) {
+        Histogram histogram = histograms.get(operation);
+        return histogram != null ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
+    }
+
+    String format(double seconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-18s %8s %8s %7s %9s %9s %9s %9s%n",
+                "Operation", "Requests", "Req/s", "Errors", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue();
+            total += histogram.getTotalCount();
+            out.append(String.format("%-18s %8d %8.1f %7d %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                    errorCount(entry.getKey()),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0, histogram.getMaxValue() / 1000.0));
+        }
+        out.append(String.format("Total: %d requests, %.1f req/s%n", total, total / seconds));
+        return out.toString();
+    }
+
+    /**
+     * Operations over their p95 / p99 budget or error rate; empty when all are within budget.
+     */
+    List<String> violations(Map<String, Double> p95BudgetMillis, Map<String, Double> p99BudgetMillis,
+            double maxErrorRate) {
+        List<String> violations = new ArrayList<>();
+        for (String operation : new TreeMap<>(histograms).keySet()) {
+            double p95 = percentileMillis(operation, 95);
+            double p99 = percentileMillis(operation, 99);
+            double errorRate = (double) errorCount(operation) / count(operation);
+            if (p95 > p95BudgetMillis.get(operation)) {
+                violations.add(operation + " p95 " + p95 + " ms > " + p95BudgetMillis.get(operation) + " ms");
+            }
+            if (p99 > p99BudgetMillis.get(operation)) {
+                violations.add(operation + " p99 " + p99 + " ms > " + p99BudgetMillis.get(operation) + " ms");
+            }
+            if (errorRate > maxErrorRate) {
+                violations.add(operation + " error rate " + String.format("%.2f%%", errorRate * 100)
+                        + " > " + String.format("%.2f%%", maxErrorRate * 100));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,170 @@
+package com.glassshop.ai.performance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.repository.ShopRepository;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.JwtUtil;
+
+/**
+ * Load Test: stock reads during a login storm
+ * Tests that GET /stock/all keeps its latency while many clients log in at once,
+ * on a real server with a small request thread pool
+ *
+ * Tagged "load" and skipped by the default build. Run with: mvn test -Pload-test
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=20",
+        "auth.throttle.ip.capacity=1000000",
+        "auth.throttle.user.capacity=1000000",
+        "tenant.rate-limit.enabled=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Login Storm Load Tests")
+class LoginStormLoadTest {
+
+    private static final int STORM_CLIENTS = 64;
+    private static final int STOCK_REQUESTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(STORM_CLIENTS + 4))
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        shopRepository.deleteAll();
+
+        Shop shop = new Shop();
+        shop.setShopName("Load Shop");
+        shop.setEmail("load@shop.com");
+        shop = shopRepository.save(shop);
+
+        User user = new User();
+        user.setUserName("loaduser");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setRole("ROLE_ADMIN");
+        user.setShop(shop);
+        userRepository.save(user);
+
+        token = jwtUtil.generateToken("loaduser", "ROLE_ADMIN");
+    }
+
+    private long stockRequestMillis() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/stock/all"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, response.statusCode());
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private long p95(List<Long> millis) {
+        List<Long> sorted = new ArrayList<>(millis);
+        Collections.sort(sorted);
+        return sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1);
+    }
+
+    private List<Long> measureStock() throws Exception {
+        List<Long> millis = new ArrayList<>();
+        for (int i = 0; i < STOCK_REQUESTS; i++) {
+            millis.add(stockRequestMillis());
+        }
+        return millis;
+    }
+
+    @Test
+    @DisplayName("Login storm - Stock p95 latency stays close to the quiet baseline")
+    void testStockLatency_DuringLoginStorm() throws Exception {
+        // Warm up, then the quiet baseline
+        measureStock();
+        long baseline = p95(measureStock());
+
+        AtomicBoolean storming = new AtomicBoolean(true);
+        AtomicInteger logins = new AtomicInteger();
+        AtomicInteger throttled = new AtomicInteger();
+        ExecutorService storm = Executors.newFixedThreadPool(STORM_CLIENTS);
+        HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"loaduser\",\"password\":\"password123\"}"))
+                .build();
+        for (int i = 0; i < STORM_CLIENTS; i++) {
+            storm.submit(() -> {
+                while (storming.get()) {
+                    try {
+                        int status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        (status == 429 ? throttled : logins).incrementAndGet();
+                    } catch (Exception e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        List<Long> during;
+        try {
+            Thread.sleep(500); // let the storm fill the hashing pool
+            during = measureStock();
+        } finally {
+            storming.set(false);
+            storm.shutdown();
+            storm.awaitTermination(30, TimeUnit.SECONDS);
+        }
+        long stormP95 = p95(during);
+
+        System.out.println("Stock p95: baseline " + baseline + " ms, during login storm " + stormP95
+                + " ms (" + logins.get() + " logins served, " + throttled.get() + " refused with 429)");
+        assertTrue(logins.get() > 0, "The storm should have logged in");
+        assertTrue(stormP95 <= Math.max(3 * baseline, baseline + 250),
+                "Stock p95 during the login storm was " + stormP95 + " ms against a baseline of " + baseline + " ms");
+    }
+}
@@ -0,0 +1,101 @@
+package com.glassshop.ai.performance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.glassshop.ai.performance.WorkloadSeeder.ShopFixture;
+import com.glassshop.ai.security.JwtUtil;
+
+/**
+ * Load Test: multi-tenant workload replay
+ * Seeds several shops with stock, customers, quotations, invoices and stock
+ * history, then replays a weighted mix of the shop's day-to-day calls over
+ * real HTTP with JWTs, each client working for one shop. Reports throughput
+ * and p50/p95/p99/max per operation and fails when a budget is exceeded.
+ *
+ * Everything is configurable with -D, e.g.
+ * mvn test -Pload-test -Dtest=MultiTenantWorkloadLoadTest -Dworkload.shops=10
+ *     -Dworkload.clients=32 -Dworkload.duration-seconds=120
+ *     -Dworkload.mix=stock-list=50,pdf-download=50 -Dworkload.budget.pdf-download.p95-ms=800
+ *
+ * Per-shop rate limits and SQL budget failures are off: this measures
+ * capacity, not the limits.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "auth.throttle.ip.capacity=1000000",
+        "auth.throttle.user.capacity=1000000",
+        "tenant.rate-limit.enabled=false",
+        "sql.profiler.fail-on-violation=false"
+})
+@ActiveProfiles("test")
+@DisplayName("Multi-Tenant Workload Load Tests")
+class MultiTenantWorkloadLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private Environment environment;
+
+    private int setting(String key, int defaultValue) {
+        return environment.getProperty("workload." + key, Integer.class, defaultValue);
+    }
+
+    private double setting(String key, double defaultValue) {
+        return environment.getProperty("workload." + key, Double.class, defaultValue);
+    }
+
+    @Test
+    @DisplayName("Workload mix - Every operation stays within its latency and error budget")
+    void testWorkload_WithinBudgets() throws Exception {
+        int shops = setting("shops", 4);
+        int clients = setting("clients", 16);
+        WorkloadClient client = new WorkloadClient(port, clients);
+        WorkloadSeeder seeder = new WorkloadSeeder(client, jwtUtil);
+        WorkloadRunner runner = new WorkloadRunner(client, seeder);
+
+        long seedStart = System.nanoTime();
+        List<ShopFixture> fixtures = seeder.seed(shops, setting("seed.customers", 20), setting("seed.quotations", 20),
+                setting("seed.invoices", 5), setting("seed.audit-events", 100));
+        System.out.println("Seeded " + shops + " shops in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart) + " ms");
+
+        Map<String, Integer> mix = WorkloadRunner.parseMix(
+                environment.getProperty("workload.mix", WorkloadRunner.DEFAULT_MIX));
+
+        assertTrue(runner.run(fixtures, mix, clients, setting("warmup-seconds", 5), new LatencyReport()),
+                "Workload clients did not finish");
+        LatencyReport report = new LatencyReport();
+        int seconds = setting("duration-seconds", 30);
+        assertTrue(runner.run(fixtures, mix, clients, seconds, report), "Workload clients did not finish");
+
+        System.out.println("Workload: " + shops + " shops, " + clients + " clients, " + seconds + " s, mix " + mix);
+        System.out.print(report.format(seconds));
+
+        Map<String, Double> p95 = new LinkedHashMap<>();
+        Map<String, Double> p99 = new LinkedHashMap<>();
+        for (String operation : mix.keySet()) {
+            p95.put(operation, setting("budget." + operation + ".p95-ms", setting("budget.p95-ms", 500.0)));
+            p99.put(operation, setting("budget." + operation + ".p99-ms", setting("budget.p99-ms", 1500.0)));
+        }
+        List<String> violations = report.violations(p95, p99, setting("max-error-rate", 0.01));
+        assertTrue(violations.isEmpty(), "Over budget: " + violations);
+    }
+}
@@ -0,0 +1,150 @@
+package com.glassshop.ai.performance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.entity.Invoice;
+import com.glassshop.ai.entity.InvoiceItem;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.enums.InvoiceType;
+import com.glassshop.ai.pdf.PdfLayoutEngine;
+import com.glassshop.ai.service.PdfService;
+
+/**
+ * Memory Benchmark for PDF rendering
+ * Renders a 500-line invoice in a separate JVM capped at 64 MB heap
+ */
+@DisplayName("PDF Memory Benchmark")
+class PdfMemoryBenchmarkTest {
+
+    private static final int LINES = 500;
+    private static final String MAX_HEAP = "-Xmx64m";
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    @DisplayName("Memory Test: 500-line invoice should stream to disk under 64 MB heap")
+    void testLargeInvoice_RendersUnder64MbHeap() throws Exception {
+        Path output = workDir.resolve("invoice-" + LINES + ".pdf");
+        Path log = workDir.resolve("renderer.log");
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, MAX_HEAP,
+                "-Djava.io.tmpdir=" + workDir,
+                "-cp", System.getProperty("java.class.path"),
+                Renderer.class.getName(), output.toString(), String.valueOf(LINES))
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES), "Renderer did not finish within 2 minutes");
+        String report = Files.readString(log, StandardCharsets.UTF_8);
+        System.out.println(report);
+
+        assertEquals(0, process.exitValue(), "Renderer failed under " + MAX_HEAP + ":\n" + report);
+        assertTrue(Files.size(output) > 0, "PDF should not be empty");
+        assertTrue(report.contains("peakHeapBytes="), "Renderer should report peak heap usage");
+    }
+
+    /**
+     * Entry point for the forked JVM. Builds the invoice in memory (no Spring context,
+     * no database) and streams the PDF straight to a file.
+     */
+    static class Renderer {
+
+        public static void main(String[] args) throws Exception {
+            Path output = Path.of(args[0]);
+            int lines = Integer.parseInt(args[1]);
+
+            PdfService pdfService = new PdfService();
+            ReflectionTestUtils.setField(pdfService, "maxMainMemoryBytes", 1024L * 1024);
+            ReflectionTestUtils.setField(pdfService, "layoutEngine", new PdfLayoutEngine());
+
+            Invoice invoice = largeInvoice(lines);
+
+            long start = System.nanoTime();
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+                pdfService.renderInvoicePdf(invoice, out);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long peakHeap = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peakHeap += pool.getPeakUsage().getUsed();
+                }
+            }
+
+            System.out.println("lines=" + lines);
+            System.out.println("pdfBytes=" + Files.size(output));
+            System.out.println("renderMillis=" + elapsedMs);
+            System.out.println("maxHeapBytes=" + Runtime.getRuntime().maxMemory());
+            System.out.println("peakHeapBytes=" + peakHeap);
+        }
+
+        private static Invoice largeInvoice(int lines) {
+            Shop shop = new Shop();
+            shop.setShopName("Benchmark Glass House");
+            shop.setOwnerName("Owner");
+            shop.setEmail("owner@example.com");
+            shop.setWhatsappNumber("9999999999");
+
+            Invoice invoice = new Invoice();
+            invoice.setId(1L);
+            invoice.setShop(shop);
+            invoice.setInvoiceNumber("INV-BENCH-0001");
+            invoice.setInvoiceType(InvoiceType.FINAL);
+            invoice.setBillingType(BillingType.GST);
+            invoice.setInvoiceDate(LocalDate.of(2024, 1, 1));
+            invoice.setCustomerName("Benchmark Customer");
+            invoice.setCustomerMobile("8888888888");
+            invoice.setCustomerAddress("Line 1\nLine 2");
+
+            List<InvoiceItem> items = new ArrayList<>();
+            double subtotal = 0;
+            for (int i = 0; i < lines; i++) {
+                InvoiceItem item = new InvoiceItem();
+                item.setInvoice(invoice);
+                item.setGlassType(i % 2 == 0 ? "Clear Float" : "Toughened");
+                item.setThickness(String.valueOf(4 + i % 8));
+                item.setHeight(2.0 + (i % 10) * 0.5);
+                item.setWidth(1.5 + (i % 7) * 0.25);
+                item.setQuantity(1 + i % 5);
+                item.setRatePerSqft(45.0);
+                item.setArea(item.getHeight() * item.getWidth());
+                item.setSubtotal(item.getArea() * item.getRatePerSqft() * item.getQuantity());
+                item.setItemOrder(i);
+                subtotal += item.getSubtotal();
+                items.add(item);
+            }
+            invoice.setItems(items);
+
+            invoice.setSubtotal(subtotal);
+            invoice.setGstPercentage(18.0);
+            invoice.setGstAmount(subtotal * 0.18);
+            invoice.setGrandTotal(subtotal * 1.18);
+            invoice.setDueAmount(subtotal * 1.18);
+            return invoice;
+        }
+    }
+}
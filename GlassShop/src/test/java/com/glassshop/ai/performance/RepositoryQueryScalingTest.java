@@ -0,0 +1,253 @@
+package com.glassshop.ai.performance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.glassshop.ai.entity.Customer;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.enums.PaymentStatus;
+import com.glassshop.ai.enums.QuotationStatus;
+import com.glassshop.ai.repository.AuditLogRepository;
+import com.glassshop.ai.repository.CustomerRepository;
+import com.glassshop.ai.repository.GlassRepository;
+import com.glassshop.ai.repository.InvoiceRepository;
+import com.glassshop.ai.repository.QuotationRepository;
+import com.glassshop.ai.repository.ShopRepository;
+import com.glassshop.ai.repository.StockRepository;
+
+/**
+ * Load Test: repository query scaling
+ * Loads the synthetic dataset at several sizes and times every repository
+ * query the services rely on at each one (median of several runs). Each
+ * query declares how it should grow with the data: BOUNDED queries (top-N,
+ * unique lookups) should stay flat, LINEAR ones (everything for a shop) may
+ * grow with the shop. A query growing faster than declared - a lost index,
+ * a sort without one, an N+1 over a growing list - is flagged and fails the test.
+ *
+ * Sizes are audit_log rows; the other tables scale with them, e.g.
+ * mvn test -Pload-test -Dtest=RepositoryQueryScalingTest -Ddataset.scales=100000,400000,1600000
+ *
+ * Against PostgreSQL (COPY loading, real plans), on a scratch database:
+ * -Dspring.datasource.url=jdbc:postgresql://localhost:5432/glassshop_perf -Dspring.datasource.username=...
+ * -Dspring.datasource.password=... -Dspring.datasource.driver-class-name=org.postgresql.Driver
+ * -Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect
+ * -Dspring.flyway.enabled=true -Dspring.jpa.hibernate.ddl-auto=validate
+ */
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Repository Query Scaling Load Tests")
+class RepositoryQueryScalingTest {
+
+    /**
+     * How a query's time may grow with the dataset, as the largest exponent k in time ~ size^k.
+     */
+    enum Growth {
+        BOUNDED(0.5), LINEAR(1.25);
+
+        final double maxExponent;
+
+        Growth(double maxExponent) {
+            this.maxExponent = maxExponent;
+        }
+    }
+
+    private record TimedQuery(String name, Growth growth, Callable<?> call) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private GlassRepository glassRepository;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private QuotationRepository quotationRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    @DisplayName("Repository queries - None grows faster than its declared bound")
+    void testRepositoryQueries_ScaleWithinBounds() throws Exception {
+        long[] scales = Arrays.stream(environment.getProperty("dataset.scales", "10000,40000,160000").split(","))
+                .mapToLong(scale -> Long.parseLong(scale.trim()))
+                .sorted()
+                .toArray();
+        assertTrue(scales.length >= 2, "dataset.scales needs at least two sizes");
+        int shops = environment.getProperty("dataset.shops", Integer.class, 10);
+        int warmup = environment.getProperty("dataset.warmup", Integer.class, 3);
+        int runs = environment.getProperty("dataset.runs", Integer.class, 7);
+        double minMillis = environment.getProperty("dataset.flag.min-millis", Double.class, 2.0);
+        SyntheticDataset dataset = new SyntheticDataset(dataSource,
+                environment.getProperty("dataset.seed", Long.class, 42L));
+
+        Map<String, double[]> millis = new LinkedHashMap<>();
+        Map<String, Growth> growth = new LinkedHashMap<>();
+        for (int s = 0; s < scales.length; s++) {
+            SyntheticDataset.Size size = SyntheticDataset.Size.of(shops, scales[s]);
+            long start = System.nanoTime();
+            dataset.load(size);
+            System.out.println("Loaded " + size + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+            for (TimedQuery query : queries()) {
+                growth.put(query.name(), query.growth());
+                millis.computeIfAbsent(query.name(), key -> new double[scales.length])[s] =
+                        medianMillis(query.call(), warmup, runs);
+            }
+        }
+
+        List<String> flagged = new ArrayList<>();
+        StringBuilder table = new StringBuilder(String.format("%-62s %-8s", "Query", "Growth"));
+        for (long scale : scales) {
+            table.append(String.format(" %11s", scale + " ms"));
+        }
+        table.append(String.format(" %9s%n", "Exponent"));
+        for (Map.Entry<String, double[]> entry : millis.entrySet()) {
+            double[] times = entry.getValue();
+            double first = Math.max(times[0], 0.01);
+            double last = times[times.length - 1];
+            double exponent = Math.log(Math.max(last, 0.01) / first)
+                    / Math.log((double) scales[scales.length - 1] / scales[0]);
+            Growth expected = growth.get(entry.getKey());
+            boolean flag = last >= minMillis && exponent > expected.maxExponent;
+            if (flag) {
+                flagged.add(entry.getKey() + " grows as size^" + String.format("%.2f", exponent)
+                        + ", declared " + expected + " (<= " + expected.maxExponent + ")");
+            }
+            table.append(String.format("%-62s %-8s", entry.getKey(), expected));
+            for (double time : times) {
+                table.append(String.format(" %11.2f", time));
+            }
+            table.append(String.format(" %9.2f%s%n", exponent, flag ? "  ⚠" : ""));
+        }
+        System.out.print(table);
+
+        assertTrue(flagged.isEmpty(), "Queries growing faster than declared: " + flagged);
+    }
+
+    /**
+     * The queries under test, with parameters that hit shop 1's data at any size.
+     */
+    private List<TimedQuery> queries() {
+        Shop shop = shopRepository.findById(1L).orElseThrow();
+        Glass glass = glassRepository.findById(1L).orElseThrow();
+        Customer customer = customerRepository.findById(1L).orElseThrow();
+        Long shopId = shop.getId();
+        String glassType = glass.getType();
+        LocalDate to = SyntheticDataset.END_DATE;
+        LocalDate from = to.minusDays(30);
+
+        List<TimedQuery> queries = new ArrayList<>();
+        queries.add(new TimedQuery("Stock.findByShopId", Growth.LINEAR, () -> stockRepository.findByShopId(shopId)));
+        queries.add(new TimedQuery("Stock.findLowStockByShopId", Growth.LINEAR,
+                () -> stockRepository.findLowStockByShopId(shopId)));
+        queries.add(new TimedQuery("Stock.findInStockByShopId", Growth.LINEAR,
+                () -> stockRepository.findInStockByShopId(shopId)));
+        queries.add(new TimedQuery("Stock.findLastUpdatedAtByShopId", Growth.LINEAR,
+                () -> stockRepository.findLastUpdatedAtByShopId(shopId)));
+        queries.add(new TimedQuery("Stock.findSheetsAtLeast", Growth.LINEAR,
+                () -> stockRepository.findSheetsAtLeast(shopId, glassType, 1500, 1200)));
+        queries.add(new TimedQuery("Stock.findLowStock", Growth.LINEAR, () -> stockRepository.findLowStock()));
+        queries.add(new TimedQuery("Stock.findTop3ByShopOrderByUpdatedAtDesc", Growth.BOUNDED,
+                () -> stockRepository.findTop3ByShopOrderByUpdatedAtDesc(shop)));
+        queries.add(new TimedQuery("Stock.findByGlassAndHeightAndWidthAndStandNoAndShop", Growth.BOUNDED,
+                () -> stockRepository.findByGlassAndHeightAndWidthAndStandNoAndShop(glass,
+                        SyntheticDataset.stockHeight(0), SyntheticDataset.stockWidth(0),
+                        SyntheticDataset.stockStand(0), shop)));
+
+        queries.add(new TimedQuery("AuditLog.findTop10ByShopIdOrderByTimestampDesc", Growth.BOUNDED,
+                () -> auditLogRepository.findTop10ByShopIdOrderByTimestampDesc(shopId)));
+        queries.add(new TimedQuery("AuditLog.findTopByShopAndGlassType...OrderByTimestampDesc", Growth.BOUNDED,
+                () -> auditLogRepository.findTopByShopAndGlassTypeAndStandNoAndHeightAndWidthOrderByTimestampDesc(
+                        shop, glassType, SyntheticDataset.stockStand(0), SyntheticDataset.stockHeight(0),
+                        SyntheticDataset.stockWidth(0))));
+        queries.add(new TimedQuery("AuditLog.findByShopAndTimestampBetween", Growth.LINEAR,
+                () -> auditLogRepository.findByShopAndTimestampBetween(shop, from.atStartOfDay(),
+                        to.atStartOfDay())));
+        queries.add(new TimedQuery("AuditLog.findBySizeRange", Growth.LINEAR,
+                () -> auditLogRepository.findBySizeRange(shop, glassType, 600, 900, 400, 500)));
+        queries.add(new TimedQuery("AuditLog.findMostUsedGlassTypes", Growth.LINEAR,
+                () -> auditLogRepository.findMostUsedGlassTypes(shop)));
+        queries.add(new TimedQuery("AuditLog.countTransfersByShop", Growth.LINEAR,
+                () -> auditLogRepository.countTransfersByShop(shop)));
+        queries.add(new TimedQuery("AuditLog.findByShop", Growth.LINEAR, () -> auditLogRepository.findByShop(shop)));
+
+        queries.add(new TimedQuery("Invoice.findByShopOrderByCreatedAtDesc", Growth.LINEAR,
+                () -> invoiceRepository.findByShopOrderByCreatedAtDesc(shop)));
+        queries.add(new TimedQuery("Invoice.findByShopAndPaymentStatus", Growth.LINEAR,
+                () -> invoiceRepository.findByShopAndPaymentStatus(shop, PaymentStatus.DUE)));
+        queries.add(new TimedQuery("Invoice.findExportRowsByShopAndInvoiceDateBetween", Growth.LINEAR,
+                () -> invoiceRepository.findExportRowsByShopAndInvoiceDateBetween(shop, from, to)));
+        queries.add(new TimedQuery("Invoice.findByInvoiceNumberAndShop", Growth.BOUNDED,
+                () -> invoiceRepository.findByInvoiceNumberAndShop(SyntheticDataset.invoiceNumber(1, 0), shop)));
+        queries.add(new TimedQuery("Invoice.findWithItemsById", Growth.BOUNDED,
+                () -> invoiceRepository.findWithItemsById(1L)));
+        queries.add(new TimedQuery("Invoice.findByCustomer", Growth.BOUNDED,
+                () -> invoiceRepository.findByCustomer(customer)));
+
+        queries.add(new TimedQuery("Quotation.findByShopAndStatus", Growth.LINEAR,
+                () -> quotationRepository.findByShopAndStatus(shop, QuotationStatus.DRAFT)));
+        queries.add(new TimedQuery("Quotation.findExportRowsByShopAndQuotationDateBetween", Growth.LINEAR,
+                () -> quotationRepository.findExportRowsByShopAndQuotationDateBetween(shop, from, to)));
+        queries.add(new TimedQuery("Quotation.findByQuotationNumberAndShop", Growth.BOUNDED,
+                () -> quotationRepository.findByQuotationNumberAndShop(SyntheticDataset.quotationNumber(1, 0), shop)));
+        queries.add(new TimedQuery("Quotation.findWithItemsById", Growth.BOUNDED,
+                () -> quotationRepository.findWithItemsById(1L)));
+
+        queries.add(new TimedQuery("Customer.findByShopOrderByNameAsc", Growth.LINEAR,
+                () -> customerRepository.findByShopOrderByNameAsc(shop)));
+        queries.add(new TimedQuery("Customer.findByShopAndNameContainingIgnoreCase", Growth.LINEAR,
+                () -> customerRepository.findByShopAndNameContainingIgnoreCase(shop, "ram")));
+        queries.add(new TimedQuery("Customer.findByMobileAndShop", Growth.BOUNDED,
+                () -> customerRepository.findByMobileAndShop(SyntheticDataset.customerMobile(0), shop)));
+        return queries;
+    }
+
+    private static double medianMillis(Callable<?> call, int warmup, int runs) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            call.call();
+        }
+        double[] times = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            call.call();
+            times[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+}
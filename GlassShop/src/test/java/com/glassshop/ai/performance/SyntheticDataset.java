@@ -0,0 +1,450 @@
+package com.glassshop.ai.performance;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Deterministic synthetic dataset for query performance work: shops with
+ * stock, customers, quotations and invoices (two items each) and a long
+ * audit_log history, sized by the number of audit rows. The same seed and
+ * size always give the same rows, with ids assigned here so foreign keys line
+ * up, and timestamps spread over the year before END_DATE.
+ *
+ * PostgreSQL is loaded with COPY, anything else (H2) with batched INSERTs.
+ * load() empties the tables first and resets their identity sequences.
+ *
+ * Load a local database directly with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.glassshop.ai.performance.SyntheticDataset
+ *     -Dexec.args="jdbc:postgresql://localhost:5432/glassshop_perf user password 4000000"
+ */
+class SyntheticDataset {
+
+    static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+    static final String[] GLASS_TYPES = { "4MM", "5MM", "6MM", "8MM", "10MM", "12MM" };
+    static final int STANDS = 20;
+
+    private static final String[] FIRST_NAMES = { "Ramesh", "Suresh", "Priya", "Anita", "Rahul", "Kiran", "Vijay",
+            "Meena", "Arjun", "Lakshmi", "Imran", "Farah", "Joseph", "Gurpreet" };
+    private static final String[] LAST_NAMES = { "Sharma", "Patil", "Iyer", "Khan", "Reddy", "Singh", "Das",
+            "Joshi", "Naik", "Fernandes" };
+    private static final String[] STATES = { "Maharashtra", "Karnataka", "Gujarat", "Goa" };
+    private static final String[] ACTIONS = { "ADD", "REMOVE", "REMOVE", "REMOVE", "TRANSFER" };
+
+    // Tables in the order they are emptied (children first)
+    private static final List<String> TABLES = List.of("payments", "invoice_items", "invoices", "stock_reservation",
+            "quotation_items", "quotations", "customers", "stock_history", "audit_log", "stock", "installation",
+            "site", "users", "glass", "shop");
+
+    /**
+     * Row counts for one dataset size; everything but shops grows with the audit rows.
+     */
+    record Size(int shops, long auditRows, long stockRows, long customerRows, long documentRows) {
+
+        static Size of(int shops, long auditRows) {
+            long documents = Math.max(shops, auditRows / 20);
+            return new Size(shops, auditRows, Math.max(shops * 12L, auditRows / 10), documents, documents);
+        }
+    }
+
+    private final DataSource dataSource;
+    private final long seed;
+
+    SyntheticDataset(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.seed = seed;
+    }
+
+    void load(Size size) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            connection.setAutoCommit(false);
+            truncate(connection, postgres);
+            loadShops(connection, postgres, size);
+            loadStock(connection, postgres, size);
+            loadCustomers(connection, postgres, size);
+            loadDocuments(connection, postgres, size);
+            loadAuditLog(connection, postgres, size);
+            connection.commit();
+            resetIdentities(connection, postgres);
+            if (postgres) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ANALYZE");
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    /* ===============================
+       SAMPLE KEYS (shop 1), for queries
+       =============================== */
+
+    static String stockHeight(long perShopIndex) {
+        return String.valueOf(600 + (perShopIndex / (GLASS_TYPES.length * STANDS)) % 200 * 10);
+    }
+
+    static String stockWidth(long perShopIndex) {
+        return String.valueOf(400 + (perShopIndex / (GLASS_TYPES.length * STANDS)) / 200 * 10);
+    }
+
+    static int stockStand(long perShopIndex) {
+        return (int) (perShopIndex / GLASS_TYPES.length % STANDS) + 1;
+    }
+
+    static String invoiceNumber(int shopId, long perShopIndex) {
+        return String.format("INV-%d-%07d", shopId, perShopIndex);
+    }
+
+    static String quotationNumber(int shopId, long perShopIndex) {
+        return String.format("QUO-%d-%07d", shopId, perShopIndex);
+    }
+
+    static String customerMobile(long customerIndex) {
+        return String.format("9%09d", customerIndex);
+    }
+
+    /* ===============================
+       TABLES
+       =============================== */
+
+    private void loadShops(Connection connection, boolean postgres, Size size) throws SQLException {
+        try (RowWriter shops = writer(connection, postgres, "shop", "id", "shop_name", "owner_name", "email",
+                "plan", "created_at")) {
+            for (int s = 1; s <= size.shops(); s++) {
+                shops.row((long) s, "Dataset Shop " + s, "Owner " + s, "shop" + s + "@example.com",
+                        s % 5 == 0 ? "PREMIUM" : "STANDARD", END_DATE.minusYears(2).atStartOfDay());
+            }
+        }
+        try (RowWriter users = writer(connection, postgres, "users", "id", "user_name", "password", "role",
+                "shop_id")) {
+            for (int s = 1; s <= size.shops(); s++) {
+                // Not a usable password: these accounts are not for logging in
+                users.row((long) s, "dataset-admin-" + s, "{noop}disabled", "ROLE_ADMIN", (long) s);
+            }
+        }
+        try (RowWriter glass = writer(connection, postgres, "glass", "id", "type", "thickness", "unit")) {
+            for (int g = 0; g < GLASS_TYPES.length; g++) {
+                glass.row((long) g + 1, GLASS_TYPES[g], Integer.parseInt(GLASS_TYPES[g].replace("MM", "")), "MM");
+            }
+        }
+    }
+
+    private void loadStock(Connection connection, boolean postgres, Size size) throws SQLException {
+        Random random = new Random(seed ^ 0x5700CL);
+        LocalDateTime start = END_DATE.minusYears(1).atStartOfDay();
+        try (RowWriter stock = writer(connection, postgres, "stock", "id", "glass_id", "shop_id", "stand_no",
+                "quantity", "min_quantity", "reserved", "height", "width", "height_mm", "width_mm", "area_sqmm",
+                "hsn_no", "updated_at")) {
+            for (long i = 0; i < size.stockRows(); i++) {
+                long shop = i % size.shops() + 1;
+                long index = i / size.shops();
+                String height = stockHeight(index);
+                String width = stockWidth(index);
+                double heightMm = Double.parseDouble(height);
+                double widthMm = Double.parseDouble(width);
+                stock.row(i + 1, index % GLASS_TYPES.length + 1, shop, stockStand(index), random.nextInt(60),
+                        5, 0, height, width, heightMm, widthMm, heightMm * widthMm, "7005",
+                        start.plusMinutes(random.nextInt(365 * 24 * 60)));
+            }
+        }
+    }
+
+    private void loadCustomers(Connection connection, boolean postgres, Size size) throws SQLException {
+        Random random = new Random(seed ^ 0xC057L);
+        LocalDateTime start = END_DATE.minusYears(2).atStartOfDay();
+        try (RowWriter customers = writer(connection, postgres, "customers", "id", "shop_id", "name", "mobile",
+                "email", "address", "state", "city", "pincode", "created_at", "updated_at")) {
+            for (long c = 0; c < size.customerRows(); c++) {
+                String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                        + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                LocalDateTime created = start.plusMinutes(random.nextInt(365 * 24 * 60));
+                customers.row(c + 1, c % size.shops() + 1, name, customerMobile(c), null,
+                        (1 + random.nextInt(300)) + " Market Road", STATES[random.nextInt(STATES.length)], "Pune",
+                        String.valueOf(411000 + random.nextInt(100)), created, created);
+            }
+        }
+    }
+
+    /**
+     * Quotations and the invoices raised from them: document i belongs to shop
+     * i % shops + 1 and to one of that shop's customers, with two items each.
+     */
+    private void loadDocuments(Connection connection, boolean postgres, Size size) throws SQLException {
+        Random random = new Random(seed ^ 0xD0CL);
+        long customersPerShop = Math.max(1, size.customerRows() / size.shops());
+        String[] documentColumns = { "id", "shop_id", "customer_id", "billing_type", "customer_name",
+                "customer_mobile", "customer_state", "subtotal", "gst_percentage", "cgst", "sgst", "igst", "gst_amount",
+                "grand_total", "created_by", "created_at", "updated_at" };
+        String[] itemColumns = { "id", "glass_type", "thickness", "height", "width", "quantity", "rate_per_sqft",
+                "area", "subtotal", "hsn_code", "item_order" };
+        try (RowWriter quotations = writer(connection, postgres, "quotations",
+                concat(documentColumns, "quotation_number", "version", "status", "quotation_date", "valid_until"));
+                RowWriter quotationItems = writer(connection, postgres, "quotation_items",
+                        concat(itemColumns, "quotation_id", "height_unit", "width_unit"));
+                RowWriter invoices = writer(connection, postgres, "invoices",
+                        concat(documentColumns, "quotation_id", "invoice_number", "invoice_type", "invoice_date",
+                                "payment_status", "paid_amount", "due_amount"));
+                RowWriter invoiceItems = writer(connection, postgres, "invoice_items",
+                        concat(itemColumns, "invoice_id"))) {
+            for (long i = 0; i < size.documentRows(); i++) {
+                long id = i + 1;
+                int shop = (int) (i % size.shops()) + 1;
+                long perShop = i / size.shops();
+                long customer = random.nextLong(customersPerShop) * size.shops() + shop;
+                LocalDate date = END_DATE.minusDays(random.nextInt(365));
+                LocalDateTime created = date.atTime(9 + random.nextInt(9), random.nextInt(60));
+                boolean gst = random.nextInt(3) > 0;
+
+                double subtotal = 0;
+                for (int line = 0; line < 2; line++) {
+                    double height = 2 + random.nextInt(6);
+                    double width = 1 + random.nextInt(5);
+                    int quantity = 1 + random.nextInt(4);
+                    double area = height * width;
+                    double lineTotal = area * 85 * quantity;
+                    subtotal += lineTotal;
+                    String glassType = GLASS_TYPES[random.nextInt(GLASS_TYPES.length)];
+                    Object[] item = { id * 2 + line - 1, "Clear Float", glassType, height, width, quantity, 85.0,
+                            area, lineTotal, "7005", line };
+                    quotationItems.row(concat(item, id, "FEET", "FEET"));
+                    invoiceItems.row(concat(item, id));
+                }
+                // Whole rupees keep paid_amount + due_amount = grand_total exact
+                double gstAmount = gst ? Math.round(subtotal * 0.18) : 0;
+                double grandTotal = subtotal + gstAmount;
+                Object[] document = { id, (long) shop, customer, gst ? "GST" : "NON_GST",
+                        "Customer " + customer, customerMobile(customer - 1), "Maharashtra", subtotal,
+                        gst ? 18.0 : null, gst ? gstAmount / 2 : null, gst ? gstAmount / 2 : null, gst ? 0.0 : null,
+                        gstAmount, grandTotal, "dataset-admin-" + shop, created, created };
+
+                String status = random.nextInt(4) == 0 ? "DRAFT" : "CONFIRMED";
+                quotations.row(concat(document, quotationNumber(shop, perShop), 1, status, date, date.plusDays(15)));
+
+                int payment = random.nextInt(3);
+                double paid = payment == 0 ? grandTotal : payment == 1 ? Math.floor(grandTotal / 2) : 0;
+                invoices.row(concat(document, id, invoiceNumber(shop, perShop), "FINAL", date,
+                        payment == 0 ? "PAID" : payment == 1 ? "PARTIAL" : "DUE", paid, grandTotal - paid));
+            }
+        }
+    }
+
+    /**
+     * Stock movements on the shops' own stock lines, so size and stand lookups find matches.
+     */
+    private void loadAuditLog(Connection connection, boolean postgres, Size size) throws SQLException {
+        Random random = new Random(seed ^ 0xA0D17L);
+        long stockPerShop = Math.max(1, size.stockRows() / size.shops());
+        LocalDateTime start = END_DATE.minusYears(1).atStartOfDay();
+        try (RowWriter audit = writer(connection, postgres, "audit_log", "id", "username", "role", "action",
+                "glass_type", "quantity", "stand_no", "from_stand", "to_stand", "height", "width", "unit", "price",
+                "shop_id", "timestamp", "height_mm", "width_mm", "area_sqmm")) {
+            for (long a = 0; a < size.auditRows(); a++) {
+                long shop = a % size.shops() + 1;
+                long index = random.nextLong(stockPerShop);
+                String action = ACTIONS[random.nextInt(ACTIONS.length)];
+                int stand = stockStand(index);
+                boolean transfer = "TRANSFER".equals(action);
+                String height = stockHeight(index);
+                String width = stockWidth(index);
+                double heightMm = Double.parseDouble(height);
+                double widthMm = Double.parseDouble(width);
+                audit.row(a + 1, random.nextInt(3) == 0 ? "dataset-staff-" + shop : "dataset-admin-" + shop,
+                        random.nextInt(3) == 0 ? "ROLE_STAFF" : "ROLE_ADMIN", action,
+                        GLASS_TYPES[(int) (index % GLASS_TYPES.length)], 1 + random.nextInt(10), stand,
+                        transfer ? stand : null, transfer ? stand % STANDS + 1 : null, height, width, "MM",
+                        "REMOVE".equals(action) ? 400.0 + random.nextInt(800) : null, shop,
+                        start.plusSeconds(random.nextLong(365L * 24 * 3600)), heightMm, widthMm, heightMm * widthMm);
+            }
+        }
+    }
+
+    /* ===============================
+       LOADING
+       =============================== */
+
+    private static void truncate(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("TRUNCATE " + String.join(", ", TABLES) + " RESTART IDENTITY CASCADE");
+            } else {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                for (String table : TABLES) {
+                    statement.execute("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+                }
+                statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Ids were given explicitly, so move each id sequence past the highest one. The entities
+     * take ids in pooled blocks of 50 and read each sequence value as the top of a block,
+     * hence MAX(id) + 50 (see V10__Pooled_id_sequences.sql).
+     */
+    private static void resetIdentities(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                if (postgres) {
+                    statement.execute("SELECT setval('" + table + "_id_seq', "
+                            + "COALESCE((SELECT MAX(id) FROM " + table + "), 0) + 50, false)");
+                } else {
+                    long next;
+                    try (var rows = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 50 FROM " + table)) {
+                        rows.next();
+                        next = rows.getLong(1);
+                    }
+                    statement.execute("ALTER SEQUENCE " + table + "_id_seq RESTART WITH " + next);
+                }
+            }
+        }
+    }
+
+    private static RowWriter writer(Connection connection, boolean postgres, String table, String... columns)
+            throws SQLException {
+        return postgres ? new CopyRowWriter(connection, table, columns) : new BatchRowWriter(connection, table, columns);
+    }
+
+    private static Object[] concat(Object[] first, Object... rest) {
+        Object[] all = new Object[first.length + rest.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(rest, 0, all, first.length, rest.length);
+        return all;
+    }
+
+    private static String[] concat(String[] first, String... rest) {
+        String[] all = new String[first.length + rest.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(rest, 0, all, first.length, rest.length);
+        return all;
+    }
+
+    interface RowWriter extends AutoCloseable {
+        void row(Object... values) throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    /**
+     * Batched INSERTs, committed every BATCH_SIZE rows.
+     */
+    private static final class BatchRowWriter implements RowWriter {
+        private static final int BATCH_SIZE = 1000;
+
+        private final Connection connection;
+        private final PreparedStatement insert;
+        private int pending;
+
+        BatchRowWriter(Connection connection, String table, String[] columns) throws SQLException {
+            this.connection = connection;
+            this.insert = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + "?, ".repeat(columns.length - 1) + "?)");
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                insert.setObject(i + 1, values[i]);
+            }
+            insert.addBatch();
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending > 0) {
+                insert.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                insert.close();
+            }
+        }
+    }
+
+    /**
+     * COPY ... FROM STDIN in CSV, streamed to the server in 1 MB chunks.
+     */
+    private static final class CopyRowWriter implements RowWriter {
+        private static final int CHUNK_BYTES = 1 << 20;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(CHUNK_BYTES + 4096);
+
+        CopyRowWriter(Connection connection, String table, String[] columns) throws SQLException {
+            this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                Object value = values[i];
+                if (value instanceof String text) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else if (value != null) {
+                    buffer.append(value); // numbers and ISO dates / timestamps
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= CHUNK_BYTES) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (copyIn.isActive()) {
+                flush();
+                copyIn.endCopy();
+            }
+        }
+    }
+
+    /**
+     * Args: jdbcUrl user password auditRows [shops] [seed]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: SyntheticDataset <jdbcUrl> <user> <password> <auditRows> [shops] [seed]");
+            System.exit(1);
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(args[0], args[1], args[2]);
+        Size size = Size.of(args.length > 4 ? Integer.parseInt(args[4]) : 10, Long.parseLong(args[3]));
+        long start = System.nanoTime();
+        new SyntheticDataset(dataSource, args.length > 5 ? Long.parseLong(args[5]) : 42L).load(size);
+        System.out.println("✅ Loaded " + size + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,201 @@
+package com.glassshop.ai.performance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.glassshop.ai.GlassShopApplication;
+import com.glassshop.ai.performance.WorkloadSeeder.ShopFixture;
+import com.glassshop.ai.security.JwtUtil;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Load Test: platform vs virtual threads
+ * Starts the application twice, once per spring.threads.virtual.enabled value,
+ * each on its own in-memory database. Seeds both the same way and replays the
+ * same workload mix, then prints throughput, latency, peak heap and peak
+ * platform-thread count side by side.
+ *
+ * The virtual run records JFR jdk.VirtualThreadPinned events. It fails if a
+ * carrier thread was pinned inside our own code (synchronized around blocking
+ * work). Pinning inside libraries is listed but not failed. The virtual run
+ * must also keep at least threads.min-throughput-ratio of the platform
+ * throughput.
+ *
+ * mvn test -Pload-test -Dtest=VirtualThreadComparisonLoadTest -Dworkload.clients=400
+ *     -Dworkload.duration-seconds=60 -Dthreads.tomcat-max=200
+ */
+@Tag("load")
+@DisplayName("Virtual Thread Comparison Load Tests")
+class VirtualThreadComparisonLoadTest {
+
+    private record RunResult(String mode, LatencyReport report, int seconds, long peakHeapBytes, int peakThreads,
+            Map<String, Integer> pinnedBy) {
+
+        double throughput() {
+            return report.totalCount() / (double) seconds;
+        }
+    }
+
+    private static int setting(String key, int defaultValue) {
+        return Integer.getInteger(key, defaultValue);
+    }
+
+    private static double setting(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    @Test
+    @DisplayName("Virtual threads - No pinning in our code and throughput at least on par with platform threads")
+    void testVirtualThreads_NoPinningAndThroughputOnPar() throws Exception {
+        RunResult platform = run(false);
+        RunResult virtual = run(true);
+
+        System.out.printf("%-10s %10s %10s %9s %9s %14s %13s%n",
+                "Mode", "Requests", "Req/s", "Errors", "Worst p99", "Peak heap MB", "Peak threads");
+        for (RunResult result : List.of(platform, virtual)) {
+            double worstP99 = WorkloadRunner.parseMix(mix()).keySet().stream()
+                    .mapToDouble(operation -> result.report().percentileMillis(operation, 99)).max().orElse(0);
+            System.out.printf("%-10s %10d %10.1f %9d %9.1f %14d %13d%n", result.mode(),
+                    result.report().totalCount(), result.throughput(), result.report().totalErrors(), worstP99,
+                    result.peakHeapBytes() / (1024 * 1024), result.peakThreads());
+            System.out.print(result.report().format(result.seconds()));
+        }
+        if (!virtual.pinnedBy().isEmpty()) {
+            System.out.println("⚠ Pinned virtual threads (top non-JDK frame → events): " + virtual.pinnedBy());
+        }
+
+        double maxErrorRate = setting("workload.max-error-rate", 0.01);
+        for (RunResult result : List.of(platform, virtual)) {
+            assertTrue(result.report().totalErrors() <= result.report().totalCount() * maxErrorRate,
+                    result.mode() + " error rate over " + maxErrorRate);
+        }
+        List<String> ownPinning = virtual.pinnedBy().keySet().stream()
+                .filter(frame -> frame.startsWith("com.glassshop."))
+                .toList();
+        assertTrue(ownPinning.isEmpty(), "Virtual threads pinned in our code: " + ownPinning);
+        double ratio = setting("threads.min-throughput-ratio", 0.8);
+        assertTrue(virtual.throughput() >= platform.throughput() * ratio,
+                String.format("Virtual threads %.1f req/s < %.0f%% of platform threads %.1f req/s",
+                        virtual.throughput(), ratio * 100, platform.throughput()));
+    }
+
+    private static String mix() {
+        return System.getProperty("workload.mix", WorkloadRunner.DEFAULT_MIX);
+    }
+
+    private RunResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        int clients = setting("workload.clients", 256);
+        int seconds = setting("workload.duration-seconds", 30);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GlassShopApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + setting("threads.tomcat-max", 200),
+                        "spring.datasource.url=jdbc:h2:mem:threads-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.jmx.enabled=false",
+                        "logging.level.com.glassshop.ai=INFO",
+                        "logging.level.org.springframework.security=INFO",
+                        "auth.throttle.ip.capacity=1000000",
+                        "auth.throttle.user.capacity=1000000",
+                        "tenant.rate-limit.enabled=false",
+                        "sql.profiler.fail-on-violation=false")
+                .run();
+        RecordingStream pinning = null;
+        Map<String, Integer> pinnedBy = new TreeMap<>();
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            WorkloadClient client = new WorkloadClient(port, clients);
+            WorkloadSeeder seeder = new WorkloadSeeder(client, context.getBean(JwtUtil.class));
+            WorkloadRunner runner = new WorkloadRunner(client, seeder);
+            List<ShopFixture> fixtures = seeder.seed(setting("workload.shops", 4), 20, 20, 5, 100);
+            Map<String, Integer> mix = WorkloadRunner.parseMix(mix());
+
+            assertTrue(runner.run(fixtures, mix, clients, setting("workload.warmup-seconds", 5), new LatencyReport()),
+                    mode + " warmup did not finish");
+
+            if (virtualThreads) {
+                pinning = new RecordingStream();
+                pinning.enable("jdk.VirtualThreadPinned").withStackTrace()
+                        .withThreshold(Duration.ofMillis(setting("threads.pinned-threshold-ms", 20)));
+                pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                    String frame = topApplicationFrame(event.getStackTrace() != null
+                            ? event.getStackTrace().getFrames() : List.of());
+                    synchronized (pinnedBy) {
+                        pinnedBy.merge(frame, 1, Integer::sum);
+                    }
+                });
+                pinning.startAsync();
+            }
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            System.gc();
+            AtomicLong peakHeap = new AtomicLong();
+            AtomicInteger peakThreads = new AtomicInteger();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+            }, 0, 200, TimeUnit.MILLISECONDS);
+
+            LatencyReport report = new LatencyReport();
+            try {
+                assertTrue(runner.run(fixtures, mix, clients, seconds, report), mode + " workload did not finish");
+            } finally {
+                sampler.shutdownNow();
+                if (pinning != null) {
+                    pinning.stop(); // delivers the events still buffered
+                }
+            }
+            return new RunResult(mode, report, seconds, peakHeap.get(), peakThreads.get(), pinnedBy);
+        } finally {
+            if (pinning != null) {
+                pinning.close();
+            }
+            context.close();
+        }
+    }
+
+    /**
+     * The first frame outside the JDK: where the pinned thread was in our code or a library.
+     */
+    private static String topApplicationFrame(List<RecordedFrame> frames) {
+        List<String> names = new ArrayList<>();
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod() == null || frame.getMethod().getType() == null) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+            names.add(type);
+        }
+        return names.isEmpty() ? "unknown" : names.get(0);
+    }
+}
@@ -0,0 +1,59 @@
+package com.glassshop.ai.performance;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Minimal JSON-over-HTTP client for the load-test harness: one shared
+ * HttpClient, bodies as maps serialized with Jackson, responses as text.
+ */
+class WorkloadClient {
+
+    record Response(int status, String body) {
+
+        boolean ok() {
+            // Several endpoints answer 200 with a "❌ ..." message instead of an error status
+            return status >= 200 && status < 300 && !body.startsWith("❌");
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client;
+    private final String baseUrl;
+
+    WorkloadClient(int port, int clients) {
+        this.baseUrl = "http://localhost:" + port;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(clients + 4))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    Response send(String method, String path, Object body, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        return new Response(response.statusCode(), response.body() != null ? response.body() : "");
+    }
+
+    JsonNode json(Response response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,193 @@
+package com.glassshop.ai.performance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.glassshop.ai.performance.WorkloadSeeder.ShopFixture;
+
+/**
+ * Replays a weighted mix of the shop's day-to-day calls against seeded
+ * shops for the load-test harness, each client working for one shop, and
+ * records every call in a LatencyReport.
+ */
+class WorkloadRunner {
+
+    static final String DEFAULT_MIX = "stock-list=25,stock-add=8,stock-remove=8,stock-transfer=4,"
+            + "quotation-create=12,quotation-confirm=8,invoice-create=6,invoice-payment=6,pdf-download=15,ai-advice=8";
+
+    private final WorkloadClient client;
+    private final WorkloadSeeder seeder;
+
+    WorkloadRunner(WorkloadClient client, WorkloadSeeder seeder) {
+        this.client = client;
+        this.seeder = seeder;
+    }
+
+    /**
+     * Runs the mix with the given number of clients for the given time; returns false when
+     * the clients did not finish within two minutes of the deadline.
+     */
+    boolean run(List<ShopFixture> fixtures, Map<String, Integer> mix, int clients, int seconds,
+            LatencyReport report) throws InterruptedException {
+        String[] operations = mix.keySet().toArray(new String[0]);
+        int[] cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulative[i] = total;
+        }
+        int weightTotal = total;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            ShopFixture shop = fixtures.get(c % fixtures.size());
+            pool.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int pick = random.nextInt(weightTotal);
+                    int index = 0;
+                    while (cumulative[index] <= pick) {
+                        index++;
+                    }
+                    try {
+                        execute(operations[index], shop, random, report);
+                    } catch (Exception e) {
+                        report.record(operations[index], 0, false);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        return pool.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * One operation for one shop. Steps that only set up the operation (a draft
+     * to confirm, a confirmed quotation to invoice) are not recorded.
+     */
+    private void execute(String operation, ShopFixture shop, ThreadLocalRandom random, LatencyReport report)
+            throws Exception {
+        String glassType = WorkloadSeeder.GLASS_TYPES[random.nextInt(WorkloadSeeder.GLASS_TYPES.length)];
+        int stand = 1 + random.nextInt(WorkloadSeeder.STANDS);
+        switch (operation) {
+            case "stock-list" -> timed(operation, report, () -> client.send("GET", "/stock/all", null, shop.token));
+            case "stock-add" -> timed(operation, report, () -> client.send("POST", "/stock/update",
+                    WorkloadSeeder.stockUpdate(glassType, stand, "ADD", 1 + random.nextInt(5)), shop.token));
+            case "stock-remove" -> timed(operation, report, () -> client.send("POST", "/stock/update",
+                    WorkloadSeeder.stockUpdate(glassType, stand, "REMOVE", 1 + random.nextInt(3)), shop.token));
+            case "stock-transfer" -> {
+                Map<String, Object> transfer = new LinkedHashMap<>();
+                transfer.put("glassType", glassType);
+                transfer.put("thickness", Integer.parseInt(glassType.replace("MM", "")));
+                transfer.put("height", WorkloadSeeder.SHEET_HEIGHT);
+                transfer.put("width", WorkloadSeeder.SHEET_WIDTH);
+                transfer.put("unit", "MM");
+                transfer.put("fromStand", stand);
+                transfer.put("toStand", stand % WorkloadSeeder.STANDS + 1);
+                transfer.put("quantity", 1);
+                timed(operation, report, () -> client.send("POST", "/stock/transfer", transfer, shop.token));
+            }
+            case "quotation-create" -> {
+                long start = System.nanoTime();
+                boolean ok = true;
+                try {
+                    shop.draftQuotationIds.add(seeder.createQuotation(shop, random.nextInt(1000)));
+                } catch (IllegalStateException e) {
+                    ok = false;
+                }
+                report.record(operation, System.nanoTime() - start, ok);
+            }
+            case "quotation-confirm" -> {
+                Long id = shop.draftQuotationIds.poll();
+                Long draft = id != null ? id : seeder.createQuotation(shop, random.nextInt(1000));
+                timed(operation, report, () -> {
+                    WorkloadClient.Response response = client.send("PUT", "/api/quotations/" + draft + "/confirm",
+                            Map.of("action", "CONFIRMED"), shop.token);
+                    if (response.ok()) {
+                        shop.confirmedQuotationIds.add(draft);
+                    }
+                    return response;
+                });
+            }
+            case "invoice-create" -> {
+                Long id = shop.confirmedQuotationIds.poll();
+                if (id == null) {
+                    id = seeder.createQuotation(shop, random.nextInt(1000));
+                    seeder.confirm(shop, id);
+                    shop.confirmedQuotationIds.remove(id);
+                }
+                long start = System.nanoTime();
+                Long invoiceId = seeder.createInvoice(shop, id);
+                report.record(operation, System.nanoTime() - start, invoiceId != null);
+            }
+            case "invoice-payment" -> {
+                if (!shop.invoiceIds.isEmpty()) {
+                    Long invoiceId = shop.invoiceIds.get(random.nextInt(shop.invoiceIds.size()));
+                    // Payments beyond the invoice total are refused; that is a valid answer, not an error
+                    long start = System.nanoTime();
+                    WorkloadClient.Response response = seeder.addPayment(shop, invoiceId);
+                    report.record(operation, System.nanoTime() - start, response.status() < 500);
+                }
+            }
+            case "pdf-download" -> {
+                if (!shop.invoiceIds.isEmpty() && random.nextBoolean()) {
+                    Long id = shop.invoiceIds.get(random.nextInt(shop.invoiceIds.size()));
+                    timed(operation, report,
+                            () -> client.send("GET", "/api/invoices/" + id + "/download-invoice", null, shop.token));
+                } else {
+                    Long id = shop.quotationIds.get(random.nextInt(shop.quotationIds.size()));
+                    timed(operation, report,
+                            () -> client.send("GET", "/api/quotations/" + id + "/download", null, shop.token));
+                }
+            }
+            case "ai-advice" -> timed(operation, report, () -> client.send("GET",
+                    "/ai/stock/advice?question=What%20should%20I%20reorder%3F", null, shop.token));
+            default -> throw new IllegalArgumentException("Unknown workload operation: " + operation);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        WorkloadClient.Response send() throws Exception;
+    }
+
+    private static void timed(String operation, LatencyReport report, Call call) throws Exception {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            ok = call.send().ok();
+        } finally {
+            report.record(operation, System.nanoTime() - start, ok);
+        }
+    }
+
+    /**
+     * "stock-list=25,stock-add=8" to operation weights, in the given order.
+     */
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        List<String> invalid = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !parts[1].trim().matches("\\d+")) {
+                invalid.add(entry);
+                continue;
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(parts[0].trim(), weight);
+            }
+        }
+        if (!invalid.isEmpty() || weights.isEmpty()) {
+            throw new IllegalArgumentException("Invalid workload.mix entries " + invalid + " in: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,186 @@
+package com.glassshop.ai.performance;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.glassshop.ai.security.JwtUtil;
+
+/**
+ * Seeds shops for the load-test harness through the public API, the way
+ * real shops fill up: register, stock every glass type on several stands,
+ * a customer list, quotations (half of them confirmed), invoices with a part
+ * payment, and a stock history from repeated adds and removes.
+ */
+class WorkloadSeeder {
+
+    static final String[] GLASS_TYPES = { "4MM", "5MM", "6MM", "8MM", "10MM", "12MM" };
+    static final int STANDS = 5;
+    static final String SHEET_HEIGHT = "2440";
+    static final String SHEET_WIDTH = "1830";
+
+    /**
+     * One seeded shop and the ids the workload draws from. The queues are
+     * shared by the clients working on this shop.
+     */
+    static class ShopFixture {
+        final String username;
+        final String token;
+        final List<Long> customerIds = new ArrayList<>();
+        final Queue<Long> draftQuotationIds = new ConcurrentLinkedQueue<>();
+        final Queue<Long> confirmedQuotationIds = new ConcurrentLinkedQueue<>();
+        final List<Long> quotationIds = new CopyOnWriteArrayList<>();
+        final List<Long> invoiceIds = new CopyOnWriteArrayList<>();
+
+        ShopFixture(String username, String token) {
+            this.username = username;
+            this.token = token;
+        }
+    }
+
+    private final WorkloadClient client;
+    private final JwtUtil jwtUtil;
+
+    WorkloadSeeder(WorkloadClient client, JwtUtil jwtUtil) {
+        this.client = client;
+        this.jwtUtil = jwtUtil;
+    }
+
+    List<ShopFixture> seed(int shops, int customers, int quotations, int invoices, int auditEvents) throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<ShopFixture> fixtures = new ArrayList<>();
+        for (int s = 0; s < shops; s++) {
+            String username = "load-" + run + "-" + s;
+            expectOk(client.send("POST", "/auth/register-shop", Map.of(
+                    "shopName", "Load Shop " + s,
+                    "username", username,
+                    "password", "password123",
+                    "email", username + "@example.com"), null), "register shop");
+            ShopFixture shop = new ShopFixture(username, jwtUtil.generateToken(username, "ROLE_ADMIN"));
+
+            for (String glassType : GLASS_TYPES) {
+                for (int stand = 1; stand <= STANDS; stand++) {
+                    expectOk(client.send("POST", "/stock/update", stockUpdate(glassType, stand, "ADD", 500), shop.token),
+                            "add stock");
+                }
+            }
+            for (int i = 0; i < auditEvents; i++) {
+                String glassType = GLASS_TYPES[i % GLASS_TYPES.length];
+                int stand = 1 + i % STANDS;
+                client.send("POST", "/stock/update", stockUpdate(glassType, stand, i % 2 == 0 ? "REMOVE" : "ADD", 2),
+                        shop.token);
+            }
+            for (int i = 0; i < customers; i++) {
+                WorkloadClient.Response response = expectOk(client.send("POST", "/api/customers",
+                        customer(s, i), shop.token), "create customer");
+                shop.customerIds.add(client.json(response).get("id").asLong());
+            }
+            for (int i = 0; i < quotations; i++) {
+                Long id = createQuotation(shop, i);
+                if (i % 2 == 0) {
+                    confirm(shop, id);
+                } else {
+                    shop.draftQuotationIds.add(id);
+                }
+            }
+            for (int i = 0; i < invoices && !shop.confirmedQuotationIds.isEmpty(); i++) {
+                Long invoiceId = createInvoice(shop, shop.confirmedQuotationIds.poll());
+                if (invoiceId != null) {
+                    addPayment(shop, invoiceId);
+                }
+            }
+            fixtures.add(shop);
+        }
+        return fixtures;
+    }
+
+    static Map<String, Object> stockUpdate(String glassType, int stand, String action, int quantity) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("glassType", glassType);
+        request.put("quantity", quantity);
+        request.put("action", action);
+        request.put("standNo", stand);
+        request.put("height", SHEET_HEIGHT);
+        request.put("width", SHEET_WIDTH);
+        request.put("unit", "MM");
+        request.put("hsnNo", "7005");
+        return request;
+    }
+
+    static Map<String, Object> customer(int shop, int i) {
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("name", "Customer " + shop + "-" + i);
+        customer.put("mobile", String.format("9%09d", shop * 100000 + i));
+        customer.put("address", i + " Market Road");
+        customer.put("state", "Maharashtra");
+        customer.put("city", "Pune");
+        return customer;
+    }
+
+    Long createQuotation(ShopFixture shop, int i) throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int line = 0; line < 1 + i % 4; line++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("glassType", "Clear Float");
+            item.put("thickness", GLASS_TYPES[(i + line) % GLASS_TYPES.length]);
+            item.put("height", 3.0 + line);
+            item.put("width", 2.0 + i % 3);
+            item.put("heightUnit", "FEET");
+            item.put("widthUnit", "FEET");
+            item.put("quantity", 1 + line % 2);
+            item.put("ratePerSqft", 85.0);
+            items.add(item);
+        }
+        Map<String, Object> request = new HashMap<>();
+        request.put("customerId", shop.customerIds.get(i % shop.customerIds.size()));
+        request.put("billingType", i % 3 == 0 ? "NON_GST" : "GST");
+        request.put("gstPercentage", i % 3 == 0 ? null : 18.0);
+        request.put("quotationDate", LocalDate.now().toString());
+        request.put("validUntil", LocalDate.now().plusDays(15).toString());
+        request.put("customerState", "Maharashtra");
+        request.put("items", items);
+        WorkloadClient.Response response = expectOk(client.send("POST", "/api/quotations", request, shop.token),
+                "create quotation");
+        Long id = client.json(response).get("id").asLong();
+        shop.quotationIds.add(id);
+        return id;
+    }
+
+    void confirm(ShopFixture shop, Long quotationId) throws Exception {
+        expectOk(client.send("PUT", "/api/quotations/" + quotationId + "/confirm", Map.of("action", "CONFIRMED"),
+                shop.token), "confirm quotation");
+        shop.confirmedQuotationIds.add(quotationId);
+    }
+
+    Long createInvoice(ShopFixture shop, Long quotationId) throws Exception {
+        WorkloadClient.Response response = client.send("POST", "/api/invoices/from-quotation", Map.of(
+                "quotationId", quotationId,
+                "invoiceType", "FINAL",
+                "invoiceDate", LocalDate.now().toString()), shop.token);
+        if (!response.ok()) {
+            return null;
+        }
+        Long id = client.json(response).get("id").asLong();
+        shop.invoiceIds.add(id);
+        return id;
+    }
+
+    WorkloadClient.Response addPayment(ShopFixture shop, Long invoiceId) throws Exception {
+        return client.send("POST", "/api/invoices/" + invoiceId + "/payments", Map.of(
+                "paymentMode", "UPI",
+                "amount", 100.0,
+                "referenceNumber", "UPI-" + invoiceId), shop.token);
+    }
+
+    private static WorkloadClient.Response expectOk(WorkloadClient.Response response, String step) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Seeding failed to " + step + ": " + response.status() + " " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,118 @@
+package com.glassshop.ai.profiling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Tests for SqlProfiler
+ * Tests statement shapes, per-endpoint budgets, the N+1 guard and the top-offenders list
+ */
+@DisplayName("SqlProfiler Unit Tests")
+class SqlProfilerTest {
+
+    private static final String BY_ID = "select g1_0.id,g1_0.type from glass g1_0 where g1_0.id=?";
+
+    private SqlProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        profiler = new SqlProfiler();
+        ReflectionTestUtils.setField(profiler, "defaultBudget", 5);
+        ReflectionTestUtils.setField(profiler, "repeatLimit", 3);
+    }
+
+    @QueryBudget(statements = 2, sameStatement = 1)
+    private void tightBudget() {
+    }
+
+    private static QueryBudget budget(String method) throws Exception {
+        return SqlProfilerTest.class.getDeclaredMethod(method).getAnnotation(QueryBudget.class);
+    }
+
+    @Test
+    @DisplayName("shape - Literals and IN lists folded, whitespace collapsed")
+    void testShape_FoldsLiterals() {
+        assertEquals("select * from stock where shop_id=? and type=? and id in (?)",
+                SqlProfiler.shape("select *  from stock\n where shop_id=42 and type='8MM' and id in (?, ?, ?)"));
+        assertEquals("select s1_0.id from stock s1_0", SqlProfiler.shape("select s1_0.id from stock s1_0"));
+    }
+
+    @Test
+    @DisplayName("end - Within the default budget: No violations")
+    void testEnd_WithinDefaultBudget() {
+        profiler.begin();
+        SqlProfiler.statement("select 1");
+        SqlProfiler.statement(BY_ID);
+
+        assertTrue(profiler.end("GET /stock/all", null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("end - Over the declared statement budget and repeat limit: Both reported")
+    void testEnd_DeclaredBudgetExceeded() throws Exception {
+        profiler.begin();
+        SqlProfiler.statement(BY_ID.replace("?", "1"));
+        SqlProfiler.statement(BY_ID.replace("?", "2"));
+        SqlProfiler.statement("select 1");
+
+        List<String> violations = profiler.end("GET /api/invoices", budget("tightBudget"));
+
+        assertEquals(2, violations.size());
+        assertTrue(violations.get(0).contains("ran 3 SQL statements (budget 2)"));
+        assertTrue(violations.get(1).contains("same statement 2 times"));
+    }
+
+    @Test
+    @DisplayName("end - Same statement shape over the repeat limit: N+1 reported")
+    void testEnd_RepeatedShape() {
+        profiler.begin();
+        for (int id = 1; id <= 4; id++) {
+            SqlProfiler.statement(BY_ID.replace("?", String.valueOf(id)));
+        }
+
+        List<String> violations = profiler.end("GET /api/quotations", null);
+
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).contains("4 times (limit 3)"));
+    }
+
+    @Test
+    @DisplayName("end - Statements outside a request: Not counted")
+    void testEnd_OutsideRequest() {
+        SqlProfiler.statement("select 1");
+
+        assertTrue(profiler.end("GET /stock/all", null).isEmpty());
+        assertTrue(profiler.getTopOffenders(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("getTopOffenders - Violating endpoints first, with the repeated statement")
+    void testGetTopOffenders_ViolationsFirst() {
+        profiler.begin();
+        SqlProfiler.statement("select 1");
+        profiler.end("GET /api/customers", null);
+
+        profiler.begin();
+        for (int id = 1; id <= 4; id++) {
+            SqlProfiler.statement(BY_ID.replace("?", String.valueOf(id)));
+        }
+        SqlProfiler.entityLoaded();
+        profiler.end("GET /api/invoices", null);
+
+        List<Map<String, Object>> top = profiler.getTopOffenders(10);
+
+        assertEquals("GET /api/invoices", top.get(0).get("endpoint"));
+        assertEquals(1L, top.get(0).get("violations"));
+        assertEquals(4, top.get(0).get("maxStatements"));
+        assertEquals(4, top.get(0).get("mostRepeatedCount"));
+        assertEquals(1.0, top.get(0).get("avgEntitiesLoaded"));
+        assertEquals("GET /api/customers", top.get(1).get("endpoint"));
+    }
+}
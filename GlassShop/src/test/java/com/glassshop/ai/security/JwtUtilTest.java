@@ -0,0 +1,96 @@
+package com.glassshop.ai.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Unit Tests for JwtUtil
+ * Tests single-parse verification, the verified-token cache and expiry handling
+ */
+@DisplayName("JwtUtil Unit Tests")
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+    }
+
+    private static String signed(String username, long expiresInMillis) {
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("role", "ROLE_STAFF")
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor("glassshopglassshopglassshopglassshop".getBytes()),
+                        SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    @DisplayName("verify - Success: Subject and role from one parse")
+    void testVerify_Success() {
+        String token = jwtUtil.generateToken("testuser", "ROLE_ADMIN");
+
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token);
+
+        assertEquals("testuser", verified.getUsername());
+        assertEquals("ROLE_ADMIN", verified.getRole());
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    @DisplayName("verify - Cached: A repeat token is answered without parsing again")
+    void testVerify_Cached() {
+        String token = jwtUtil.generateToken("testuser", "ROLE_ADMIN");
+
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("verify - Failure: Tampered token is rejected even after the original was cached")
+    void testVerify_Tampered() {
+        String token = jwtUtil.generateToken("testuser", "ROLE_ADMIN");
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertFalse(jwtUtil.validateToken(tampered));
+    }
+
+    @Test
+    @DisplayName("verify - Failure: Cached token is rejected once it expires")
+    void testVerify_ExpiredAfterCaching() throws InterruptedException {
+        String token = signed("testuser", 1500);
+        assertEquals("testuser", jwtUtil.verify(token).getUsername());
+
+        Thread.sleep(1600);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("verify - Cache bounded: Least recently used token is evicted")
+    void testVerify_Bounded() {
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 1);
+        String first = jwtUtil.generateToken("first", "ROLE_ADMIN");
+        String second = jwtUtil.generateToken("second", "ROLE_ADMIN");
+
+        JwtUtil.VerifiedToken cached = jwtUtil.verify(first);
+        jwtUtil.verify(second);
+
+        assertNotSame(cached, jwtUtil.verify(first));
+    }
+}
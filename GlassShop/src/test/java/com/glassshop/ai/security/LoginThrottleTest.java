@@ -0,0 +1,63 @@
+package com.glassshop.ai.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit Tests for LoginThrottle
+ * Tests per-username and per-IP token buckets and the Retry-After hint
+ */
+@DisplayName("LoginThrottle Unit Tests")
+class LoginThrottleTest {
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new LoginThrottle();
+        ReflectionTestUtils.setField(throttle, "userCapacity", 3);
+        ReflectionTestUtils.setField(throttle, "userRefillPerMinute", 6);
+        ReflectionTestUtils.setField(throttle, "ipCapacity", 5);
+        ReflectionTestUtils.setField(throttle, "ipRefillPerMinute", 60);
+    }
+
+    @Test
+    @DisplayName("acquire - Username bucket: Refused after its burst, whatever the IP")
+    void testAcquire_PerUsername() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("admin", "10.0.0." + i);
+        }
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> throttle.acquire("ADMIN ", "10.0.0.9"));
+        assertTrue(e.getRetryAfterSeconds() > 0 && e.getRetryAfterSeconds() <= 10);
+    }
+
+    @Test
+    @DisplayName("acquire - IP bucket: Refused after its burst, whatever the username")
+    void testAcquire_PerIp() {
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("someone", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquire("someone", "10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("acquire - A refused username does not use up the IP's attempts")
+    void testAcquire_UserRefusalKeepsIpToken() {
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("admin", "10.0.0.1");
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("admin", "10.0.0.1"));
+        assertThrows(TooManyRequestsException.class, () -> throttle.acquire("admin", "10.0.0.1"));
+
+        assertDoesNotThrow(() -> throttle.acquire("staff", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.acquire("staff", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,144 @@
+package com.glassshop.ai.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.User;
+import com.glassshop.ai.repository.UserRepository;
+import com.glassshop.ai.security.TenantRateLimiter.RequestClass;
+
+/**
+ * Unit Tests for TenantRateLimiter
+ * Tests per-shop budgets by request class and plan, Retry-After and stats
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TenantRateLimiter Unit Tests")
+class TenantRateLimiterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TenantRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("tenant.rate-limit.standard.read.per-minute", "60")
+                .withProperty("tenant.rate-limit.standard.read.burst", "3")
+                .withProperty("tenant.rate-limit.standard.write.per-minute", "60")
+                .withProperty("tenant.rate-limit.standard.write.burst", "1")
+                .withProperty("tenant.rate-limit.standard.heavy.per-minute", "6")
+                .withProperty("tenant.rate-limit.standard.heavy.burst", "1")
+                .withProperty("tenant.rate-limit.premium.read.burst", "10");
+        ReflectionTestUtils.setField(limiter, "environment", environment);
+    }
+
+    private void user(String username, Long shopId, String plan) {
+        Shop shop = new Shop();
+        shop.setId(shopId);
+        shop.setPlan(plan);
+        User user = new User();
+        user.setUserName(username);
+        user.setShop(shop);
+        when(userRepository.findByUserName(username)).thenReturn(Optional.of(user));
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Burst allowed, then 429 with a Retry-After for that class only")
+    void testTryAcquire_BurstThenThrottled() {
+        user("admin", 1L, "STANDARD");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("admin", RequestClass.READ));
+        }
+        long retryAfter = limiter.tryAcquire("admin", RequestClass.READ);
+
+        assertTrue(retryAfter >= 1 && retryAfter <= 2);
+        assertEquals(0, limiter.tryAcquire("admin", RequestClass.WRITE));
+        verify(userRepository, times(1)).findByUserName("admin");
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Shops have separate budgets, staff share their shop's")
+    void testTryAcquire_PerShop() {
+        user("admin", 1L, "STANDARD");
+        user("staff", 1L, "STANDARD");
+        user("other", 2L, "STANDARD");
+
+        assertEquals(0, limiter.tryAcquire("admin", RequestClass.HEAVY));
+        assertTrue(limiter.tryAcquire("staff", RequestClass.HEAVY) >= 9);
+        assertEquals(0, limiter.tryAcquire("other", RequestClass.HEAVY));
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Plan settings override the standard plan, the rest fall back to it")
+    void testTryAcquire_Plan() {
+        user("admin", 1L, "PREMIUM");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, limiter.tryAcquire("admin", RequestClass.READ));
+        }
+        assertTrue(limiter.tryAcquire("admin", RequestClass.READ) > 0);
+        assertEquals(0, limiter.tryAcquire("admin", RequestClass.WRITE));
+        assertTrue(limiter.tryAcquire("admin", RequestClass.WRITE) > 0);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Users without a shop are not limited")
+    void testTryAcquire_NoShop() {
+        when(userRepository.findByUserName("ghost")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("ghost", RequestClass.WRITE));
+        }
+    }
+
+    @Test
+    @DisplayName("getStats - Allowed and throttled counts per class")
+    void testGetStats() {
+        user("admin", 1L, "STANDARD");
+        limiter.tryAcquire("admin", RequestClass.WRITE);
+        limiter.tryAcquire("admin", RequestClass.WRITE);
+
+        Map<String, Object> stats = limiter.getStats(1L);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> write = (Map<String, Object>) stats.get("write");
+        assertEquals("standard", stats.get("plan"));
+        assertEquals(1L, write.get("allowed"));
+        assertEquals(1L, write.get("throttled"));
+        assertEquals(60L, write.get("perMinute"));
+    }
+
+    @Test
+    @DisplayName("classify - PDFs, exports and AI are heavy; GETs read; the rest write")
+    void testClassify() {
+        assertEquals(RequestClass.HEAVY, TenantRateLimiter.classify(request("GET", "/api/invoices/5/download-invoice")));
+        assertEquals(RequestClass.HEAVY, TenantRateLimiter.classify(request("GET", "/api/invoices/export")));
+        assertEquals(RequestClass.HEAVY, TenantRateLimiter.classify(request("POST", "/ai/ask")));
+        assertEquals(RequestClass.READ, TenantRateLimiter.classify(request("GET", "/stock/all")));
+        assertEquals(RequestClass.WRITE, TenantRateLimiter.classify(request("POST", "/stock/update")));
+    }
+}
@@ -0,0 +1,176 @@
+package com.glassshop.ai.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.cutting.CutPiece;
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.cutting.Placement;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Stock;
+
+/**
+ * Unit Tests for CuttingPlanService
+ * Tests grouping by glass type / thickness, unit conversion and stock matching
+ */
+@DisplayName("CuttingPlanService Unit Tests")
+class CuttingPlanServiceTest {
+
+    private CuttingPlanService service;
+    private List<Stock> stock;
+
+    @BeforeEach
+    void setUp() {
+        service = new CuttingPlanService();
+        stock = new ArrayList<>();
+        stock.add(stock(1L, 5, "FEET", "8", "6", 10));
+        stock.add(stock(2L, 8, "MM", "2440", "1830", 10));
+        stock.add(stock(3L, 8, "MM", "3210", "2250", 0));
+    }
+
+    private static Stock stock(Long id, int thickness, String unit, String height, String width, int quantity) {
+        Glass glass = new Glass();
+        glass.setType(thickness + "MM");
+        glass.setThickness(thickness);
+        glass.setUnit(unit);
+        Stock line = new Stock();
+        line.setId(id);
+        line.setGlass(glass);
+        line.setStandNo(id.intValue());
+        line.setHeight(height);
+        line.setWidth(width);
+        line.setQuantity(quantity);
+        ReflectionTestUtils.invokeMethod(line, "normalizeDimensions");
+        return line;
+    }
+
+    private static QuotationItem item(String glassType, String thickness, double height, double width, int quantity) {
+        QuotationItem item = new QuotationItem();
+        item.setGlassType(glassType);
+        item.setThickness(thickness);
+        item.setHeight(height);
+        item.setWidth(width);
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    private static Quotation quotation(String number, QuotationItem... items) {
+        Quotation quotation = new Quotation();
+        quotation.setQuotationNumber(number);
+        quotation.setItems(new ArrayList<>(List.of(items)));
+        return quotation;
+    }
+
+    @Test
+    @DisplayName("Should plan each glass type and thickness separately")
+    void testPlan_GroupsByTypeAndThickness() {
+        Quotation quotation = quotation("QUO-1",
+                item("Clear", "5", 2, 1.5, 2),
+                item("Clear", "8mm", 2, 1.5, 1),
+                item("clear", "5", 1, 1, 1));
+
+        List<CuttingPlan> plans = service.plan(List.of(quotation), stock);
+
+        assertEquals(2, plans.size());
+        assertEquals(3, plans.get(0).getPieceCount());
+        assertEquals(1, plans.get(1).getPieceCount());
+    }
+
+    @Test
+    @DisplayName("Should only use in-stock sheets of the matching thickness, converted to mm")
+    void testPlan_MatchesStock() {
+        Quotation quotation = quotation("QUO-1", item("Clear", "5", 2, 1.5, 1), item("Toughened", "8", 2, 1.5, 1));
+
+        List<CuttingPlan> plans = service.plan(List.of(quotation), stock);
+
+        assertEquals(1L, plans.get(0).getSheets().get(0).getStockId());
+        assertEquals(2438, plans.get(0).getSheets().get(0).getSheetHeight());
+        assertEquals(1828, plans.get(0).getSheets().get(0).getSheetWidth());
+        assertEquals(2L, plans.get(1).getSheets().get(0).getStockId());
+    }
+
+    @Test
+    @DisplayName("Should take an item with no unit as feet, like the quotation default")
+    void testPlan_MissingUnitIsFeet() {
+        QuotationItem item = item("Clear", "5", 2, 1.5, 1);
+        item.setHeightUnit(null);
+        item.setWidthUnit(null);
+
+        List<CuttingPlan> plans = service.plan(List.of(quotation("QUO-1", item)), stock);
+
+        Placement placement = plans.get(0).getSheets().get(0).getPlacements().get(0);
+        assertEquals(610, Math.max(placement.getWidth(), placement.getHeight()));
+        assertEquals(458, Math.min(placement.getWidth(), placement.getHeight()));
+    }
+
+    @Test
+    @DisplayName("Should size sheets from the stored mm columns, not the free-text size")
+    void testPlan_SheetsFromMmColumns() {
+        Stock line = stock(4L, 6, "MM", "2440", "1830", 5);
+        line.setHeight("unreadable");
+        line.setWidth("");
+
+        List<CuttingPlan> plans = service.plan(List.of(quotation("QUO-1", item("Clear", "6", 1, 1, 1))), List.of(line));
+
+        assertEquals(2440, plans.get(0).getSheets().get(0).getSheetHeight());
+        assertEquals(1830, plans.get(0).getSheets().get(0).getSheetWidth());
+    }
+
+    @Test
+    @DisplayName("Should label pieces by line number, quantity index and quotation number")
+    void testPlan_Labels() {
+        Quotation first = quotation("QUO-1", item("Clear", "5", 2, 1.5, 2));
+        Quotation second = quotation("QUO-2", item("Clear", "5", 1, 1, 1));
+
+        List<CuttingPlan> plans = service.plan(List.of(first, second), stock);
+
+        List<String> labels = new ArrayList<>();
+        for (Placement placement : plans.get(0).getSheets().get(0).getPlacements()) {
+            labels.add(placement.getLabel());
+        }
+        assertTrue(labels.containsAll(List.of("QUO-1 #1.1", "QUO-1 #1.2", "QUO-2 #1")));
+    }
+
+    @Test
+    @DisplayName("Should report pieces as unplaced when no sheet of that thickness is stocked")
+    void testPlan_NoStock() {
+        Quotation quotation = quotation("QUO-1", item("Clear", "12", 2, 1.5, 1));
+
+        List<CuttingPlan> plans = service.plan(List.of(quotation), stock);
+
+        assertTrue(plans.get(0).getSheets().isEmpty());
+        assertEquals(1, plans.get(0).getUnplaced().size());
+    }
+
+    @Test
+    @DisplayName("Should carry the item position on each piece, whatever the label")
+    void testPlan_ItemNo() {
+        Quotation first = quotation("QUO-1", item("Clear", "5", 1, 1, 1), item("Clear", "12", 2, 1.5, 2));
+        Quotation second = quotation("QUO-2", item("Clear", "12", 1, 1, 1));
+
+        List<CuttingPlan> plans = service.plan(List.of(first, second), stock);
+
+        List<Integer> itemNos = new ArrayList<>();
+        for (CutPiece piece : plans.get(1).getUnplaced()) {
+            itemNos.add(piece.getItemNo());
+        }
+        assertEquals(List.of(2, 2, 1), itemNos);
+    }
+
+    @Test
+    @DisplayName("Should read thickness from the item, falling back to the glass type")
+    void testThickness() {
+        assertEquals(8, CuttingPlanService.thickness(item("Clear", "8 mm", 1, 1, 1)));
+        assertEquals(10, CuttingPlanService.thickness(item("10MM", null, 1, 1, 1)));
+        assertNull(CuttingPlanService.thickness(item("Clear", null, 1, 1, 1)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.glassshop.ai.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.enums.PdfDocumentType;
+import com.glassshop.ai.service.PdfCacheService.CachedPdf;
+
+/**
+ * Unit Tests for PdfCacheService
+ * Tests hit/miss behaviour, version keys, invalidation and the disk tier
+ */
+@DisplayName("PdfCacheService Unit Tests")
+class PdfCacheServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private PdfCacheService cacheService;
+    private AtomicInteger renders;
+    private LocalDateTime updatedAt;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = newCache(1024 * 1024);
+        renders = new AtomicInteger();
+        updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+    }
+
+    private PdfCacheService newCache(long memoryMaxBytes) {
+        PdfCacheService service = new PdfCacheService();
+        ReflectionTestUtils.setField(service, "diskDir", cacheDir.toString());
+        ReflectionTestUtils.setField(service, "memoryMaxBytes", memoryMaxBytes);
+        service.init();
+        return service;
+    }
+
+    private byte[] render(String content) {
+        renders.incrementAndGet();
+        return content.getBytes();
+    }
+
+    @Test
+    @DisplayName("Should render once and serve the second request from cache")
+    void testGetOrRender_Hit() throws Exception {
+        CachedPdf first = cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 1, out -> out.write(render("v1")));
+        CachedPdf second = cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 1, out -> out.write(render("v1")));
+
+        assertEquals(1, renders.get());
+        assertArrayEquals(first.getBytes(), second.getBytes());
+        assertEquals(1L, cacheService.getStats().get("memoryHits"));
+    }
+
+    @Test
+    @DisplayName("Should re-render when updatedAt or template version changes")
+    void testGetOrRender_NewVersion() throws Exception {
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 1, out -> out.write(render("v1")));
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt.plusSeconds(1), 1, out -> out.write(render("v2")));
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 2, out -> out.write(render("v3")));
+
+        assertEquals(3, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should keep document types separate for the same id")
+    void testGetOrRender_TypesIsolated() throws Exception {
+        CachedPdf invoice = cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 1, out -> out.write(render("invoice")));
+        CachedPdf challan = cacheService.getOrRender(PdfDocumentType.TRANSPORT_CHALLAN, 1L, updatedAt, 1, out -> out.write(render("challan")));
+
+        assertEquals("invoice", new String(invoice.getBytes()));
+        assertEquals("challan", new String(challan.getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should drop every invoice document on evictInvoice")
+    void testEvictInvoice() throws Exception {
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 7L, updatedAt, 1, out -> out.write(render("a")));
+        cacheService.getOrRender(PdfDocumentType.DELIVERY_CHALLAN, 7L, updatedAt, 1, out -> out.write(render("b")));
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 70L, updatedAt, 1, out -> out.write(render("c")));
+
+        cacheService.evictInvoice(7L);
+
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 7L, updatedAt, 1, out -> out.write(render("a")));
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 70L, updatedAt, 1, out -> out.write(render("c")));
+        assertEquals(4, renders.get());
+    }
+
+    @Test
+    @DisplayName("Should serve from disk when the memory tier cannot hold the document")
+    void testDiskTier() throws Exception {
+        PdfCacheService tiny = newCache(8);
+        byte[] pdf = new byte[4096];
+
+        tiny.getOrRender(PdfDocumentType.QUOTATION, 3L, updatedAt, 1, out -> out.write(pdf));
+        CachedPdf cached = tiny.getOrRender(PdfDocumentType.QUOTATION, 3L, updatedAt, 1, out -> {
+            throw new AssertionError("should not re-render");
+        });
+
+        assertTrue(cached.isFileBacked());
+        assertEquals(4096, cached.getSize());
+        assertTrue(Files.exists(cached.getPath()));
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        cached.writeTo(response);
+        assertEquals(4096, response.size());
+    }
+
+    @Test
+    @DisplayName("Should stream the whole document even if the file is evicted after lookup")
+    void testDiskTier_EvictedDuringDownload() throws Exception {
+        PdfCacheService tiny = newCache(8);
+        byte[] pdf = new byte[4096];
+        pdf[4095] = 7;
+
+        tiny.getOrRender(PdfDocumentType.INVOICE, 9L, updatedAt, 1, out -> out.write(pdf));
+        CachedPdf cached = tiny.getOrRender(PdfDocumentType.INVOICE, 9L, updatedAt, 1, out -> {
+            throw new AssertionError("should not re-render");
+        });
+        tiny.evictInvoice(9L);
+        assertFalse(Files.exists(cached.getPath()));
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        cached.writeTo(response);
+        assertArrayEquals(pdf, response.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Should pick up files left on disk by a previous run")
+    void testDiskTier_SurvivesRestart() throws Exception {
+        cacheService.getOrRender(PdfDocumentType.CUTTING_PAD, 5L, updatedAt, 1, out -> out.write(render("pad")));
+
+        PdfCacheService restarted = newCache(1024 * 1024);
+        CachedPdf cached = restarted.getOrRender(PdfDocumentType.CUTTING_PAD, 5L, updatedAt, 1, out -> out.write(render("pad")));
+
+        assertEquals(1, renders.get());
+        assertEquals("pad", new String(cached.getBytes()));
+        Map<String, Object> stats = restarted.getStats();
+        assertEquals(1L, stats.get("diskHits"));
+    }
+
+    @Test
+    @DisplayName("Should delete renders left half-written by a previous run")
+    void testInit_DeletesPartialRenders() throws Exception {
+        Path partial = Files.write(cacheDir.resolve("render-123.tmp"), new byte[1024]);
+
+        PdfCacheService restarted = newCache(1024 * 1024);
+
+        assertFalse(Files.exists(partial));
+        assertEquals(0L, restarted.getStats().get("diskBytes"));
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void testDisabled() throws Exception {
+        ReflectionTestUtils.setField(cacheService, "enabled", false);
+
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 1, out -> out.write(render("v1")));
+        cacheService.getOrRender(PdfDocumentType.INVOICE, 1L, updatedAt, 1, out -> out.write(render("v1")));
+
+        assertEquals(2, renders.get());
+    }
+}
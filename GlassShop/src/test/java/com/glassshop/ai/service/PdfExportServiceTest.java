@@ -0,0 +1,174 @@
+package com.glassshop.ai.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.service.PdfCacheService.CachedPdf;
+import com.glassshop.ai.service.PdfExportService.ExportJob;
+
+/**
+ * Unit Tests for PdfExportService
+ * Tests ZIP contents, failure handling and the in-flight bound
+ */
+@DisplayName("PdfExportService Unit Tests")
+class PdfExportServiceTest {
+
+    private PdfExportService exportService;
+    private ExecutorService executor;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        exportService = new PdfExportService();
+        ReflectionTestUtils.setField(exportService, "pdfExportExecutor", executor);
+        ReflectionTestUtils.setField(exportService, "maxInFlight", 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private ExportJob job(int count) {
+        List<Long> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            ids.add(id);
+            names.add("INV-" + id + ".pdf");
+        }
+        return new ExportJob(10L, ids, names);
+    }
+
+    private Map<String, String> unzip(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    @DisplayName("Should write one entry per document")
+    void testWriteZip_AllDocuments() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeZip(job(20), (id, shopId) ->
+                CachedPdf.ofBytes(("pdf-" + id + "-shop-" + shopId).getBytes(StandardCharsets.UTF_8)), out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(20, entries.size());
+        assertEquals("pdf-7-shop-10", entries.get("INV-7.pdf"));
+    }
+
+    @Test
+    @DisplayName("Should skip failed documents and list them in export-errors.txt")
+    void testWriteZip_FailureReported() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeZip(job(5), (id, shopId) -> {
+            if (id == 3L) {
+                throw new RuntimeException("Invoice not found");
+            }
+            return CachedPdf.ofBytes(new byte[] {1, 2, 3});
+        }, out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(5, entries.size());
+        assertFalse(entries.containsKey("INV-3.pdf"));
+        assertTrue(entries.get("export-errors.txt").contains("INV-3.pdf: Invoice not found"));
+    }
+
+    @Test
+    @DisplayName("Should never have more than max-in-flight documents rendering at once")
+    void testWriteZip_BoundedInFlight() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        exportService.writeZip(job(30), (id, shopId) -> {
+            int now = active.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            return CachedPdf.ofBytes(new byte[] {1});
+        }, new ByteArrayOutputStream());
+
+        assertTrue(peak.get() <= 3, "Peak in-flight renders: " + peak.get());
+    }
+
+    @Test
+    @DisplayName("Should close every rendered file when the client goes away")
+    void testWriteZip_ClientGoneClosesRenders() throws Exception {
+        List<CachedPdf> renders = Collections.synchronizedList(new ArrayList<>());
+        OutputStream client = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThrows(IOException.class, () -> exportService.writeZip(job(10), (id, shopId) -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                // Cancelled: finish the render anyway, as PDFBox would
+            }
+            Path file = Files.write(tempDir.resolve("doc-" + id + ".pdf"), new byte[] {1, 2, 3});
+            CachedPdf pdf = CachedPdf.ofFile(file, 3);
+            renders.add(pdf);
+            return pdf;
+        }, client));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertFalse(renders.isEmpty());
+        for (CachedPdf pdf : renders) {
+            assertThrows(ClosedChannelException.class, pdf::getBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce a valid empty archive when nothing matches")
+    void testWriteZip_Empty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeZip(job(0), (id, shopId) -> CachedPdf.ofBytes(new byte[0]), out);
+
+        assertTrue(unzip(out.toByteArray()).isEmpty());
+    }
+}
@@ -0,0 +1,213 @@
+package com.glassshop.ai.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.dto.StockDeductionLine;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.repository.StockRepository;
+
+/**
+ * Unit Tests for StockDeductionService
+ * Tests matching items to stock lines, the shortfall report and the batched writes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockDeductionService Unit Tests")
+class StockDeductionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockIndexService stockIndexService;
+
+    @Mock
+    private ShopDataVersions shopDataVersions;
+
+    @InjectMocks
+    private StockDeductionService deductionService;
+
+    private Shop shop;
+    private Quotation quotation;
+    private List<Stock> stock;
+
+    @BeforeEach
+    void setUp() {
+        shop = new Shop();
+        shop.setId(1L);
+
+        quotation = new Quotation();
+        quotation.setId(10L);
+        quotation.setShop(shop);
+        quotation.setQuotationNumber("Q-2024-01-0001");
+
+        stock = new ArrayList<>();
+        stock.add(stock(1L, 8, "2440", "1830", 4, 0));
+        stock.add(stock(2L, 8, "1220", "610", 3, 1));
+        stock.add(stock(3L, 5, "1220", "610", 9, 0));
+    }
+
+    private Stock stock(Long id, int thickness, String height, String width, int quantity, int reserved) {
+        Glass glass = new Glass();
+        glass.setId(id * 100);
+        glass.setType(thickness + "MM");
+        glass.setThickness(thickness);
+        glass.setUnit("MM");
+        Stock line = new Stock();
+        line.setId(id);
+        line.setShop(shop);
+        line.setGlass(glass);
+        line.setStandNo(id.intValue());
+        line.setHeight(height);
+        line.setWidth(width);
+        line.setQuantity(quantity);
+        line.setReserved(reserved);
+        ReflectionTestUtils.invokeMethod(line, "normalizeDimensions");
+        return line;
+    }
+
+    private static QuotationItem item(String thickness, double height, double width, int quantity) {
+        QuotationItem item = new QuotationItem();
+        item.setGlassType("Clear");
+        item.setThickness(thickness);
+        item.setHeight(height);
+        item.setWidth(width);
+        item.setHeightUnit("MM");
+        item.setWidthUnit("MM");
+        item.setQuantity(quantity);
+        return item;
+    }
+
+    @Test
+    @DisplayName("match - Own-size line first, then the smallest line the piece fits")
+    void testMatch_ExactBeforeFitting() {
+        List<StockDeductionLine> lines = deductionService.match(List.of(
+                item("8mm", 610, 1220, 1),
+                item("8mm", 1000, 500, 1),
+                item("5mm", 600, 600, 1)), stock);
+
+        assertEquals(2L, lines.get(0).getStockId()); // same size, turned round
+        assertEquals(2L, lines.get(1).getStockId()); // smallest 8mm sheet that holds it
+        assertEquals(3L, lines.get(2).getStockId());
+        assertTrue(lines.stream().allMatch(l -> l.getShortfall() == 0));
+        assertEquals(1, lines.get(0).getItemOrder());
+    }
+
+    @Test
+    @DisplayName("match - Free sheets are drawn down item by item, reserved sheets are not used")
+    void testMatch_CumulativeAvailability() {
+        List<StockDeductionLine> lines = deductionService.match(List.of(
+                item("8", 1220, 610, 2),
+                item("8", 1220, 610, 1)), stock);
+
+        assertEquals(2L, lines.get(0).getStockId());
+        assertEquals(1L, lines.get(1).getStockId()); // line 2 has only 2 unreserved sheets
+        assertEquals(0, lines.get(1).getShortfall());
+    }
+
+    @Test
+    @DisplayName("match - Shortfall reported per line")
+    void testMatch_Shortfall() {
+        List<StockDeductionLine> lines = deductionService.match(List.of(
+                item("8", 2440, 1830, 6),
+                item("12", 1000, 1000, 1)), stock);
+
+        assertEquals(1L, lines.get(0).getStockId());
+        assertEquals(4, lines.get(0).getAvailable());
+        assertEquals(2, lines.get(0).getShortfall());
+        assertNull(lines.get(1).getStockId());
+        assertEquals(1, lines.get(1).getShortfall());
+    }
+
+    @Test
+    @DisplayName("deduct - Failure: Shortfall throws before anything is written")
+    void testDeduct_ShortfallWritesNothing() {
+        quotation.setItems(List.of(item("8", 2440, 1830, 6)));
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+
+        StockShortfallException e = assertThrows(StockShortfallException.class,
+                () -> deductionService.deduct(quotation, "admin", "ROLE_ADMIN"));
+
+        assertEquals(1, e.getLines().size());
+        verifyNoInteractions(jdbcTemplate);
+        verify(stockIndexService, never()).evict(anyLong());
+    }
+
+    @Test
+    @DisplayName("deduct - Success: One batched UPDATE per stock line plus batched audit and history")
+    void testDeduct_Success() {
+        quotation.setItems(List.of(
+                item("8", 1220, 610, 1),
+                item("8", 1220, 610, 1),
+                item("8", 2000, 1500, 1)));
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+        when(jdbcTemplate.batchUpdate(contains("UPDATE stock SET quantity"), anyList())).thenReturn(new int[] { 1, 1 });
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO audit_log"), anyList())).thenReturn(new int[] { 1, 1, 1 });
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO stock_history"), anyList())).thenReturn(new int[] { 1, 1, 1 });
+
+        List<StockDeductionLine> lines = deductionService.deduct(quotation, "admin", "ROLE_ADMIN");
+
+        assertEquals(3, lines.size());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE stock SET quantity"), updates.capture());
+        assertEquals(2, updates.getValue().size());
+        assertEquals(1L, updates.getValue().get(0)[2]);
+        assertEquals(2L, updates.getValue().get(1)[2]);
+        assertEquals(2, updates.getValue().get(1)[0]);
+        verify(stockIndexService).evict(1L);
+    }
+
+    @Test
+    @DisplayName("deductPieces - Only the given pieces, reported under their item positions")
+    void testDeductPieces_ShortfallByPosition() {
+        quotation.setItems(List.of(
+                item("8", 1220, 610, 2),
+                item("8", 5000, 3000, 3)));
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+
+        StockShortfallException e = assertThrows(StockShortfallException.class,
+                () -> deductionService.deductPieces(quotation, Map.of(2, 1), "admin", "ROLE_ADMIN"));
+
+        assertEquals(1, e.getLines().size());
+        assertEquals(2, e.getLines().get(0).getItemOrder());
+        assertEquals(1, e.getLines().get(0).getQuantity());
+        assertEquals(1, e.getLines().get(0).getShortfall());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("deduct - Failure: Stock taken by a concurrent invoice rolls back")
+    void testDeduct_Conflict() {
+        quotation.setItems(List.of(item("8", 1220, 610, 1)));
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+        when(jdbcTemplate.batchUpdate(contains("UPDATE stock SET quantity"), anyList())).thenReturn(new int[] { 0 });
+
+        assertThrows(RuntimeException.class, () -> deductionService.deduct(quotation, "admin", "ROLE_ADMIN"));
+        verify(jdbcTemplate, never()).batchUpdate(contains("INSERT INTO audit_log"), anyList());
+    }
+}
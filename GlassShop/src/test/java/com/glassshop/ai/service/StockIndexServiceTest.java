@@ -0,0 +1,158 @@
+package com.glassshop.ai.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.dto.BestFitResponse;
+import com.glassshop.ai.dto.QuotationItemDto;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.repository.StockRepository;
+
+/**
+ * Unit Tests for StockIndexService
+ * Tests lazy loading per shop, thickness matching, quantities and updates from stock changes
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockIndexService Unit Tests")
+class StockIndexServiceTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @InjectMocks
+    private StockIndexService stockIndexService;
+
+    private Shop shop;
+    private List<Stock> stock;
+
+    @BeforeEach
+    void setUp() {
+        shop = new Shop();
+        shop.setId(1L);
+        stock = new ArrayList<>();
+        stock.add(stock(1L, 8, "2440", "1830", 4));
+        stock.add(stock(2L, 8, "1830", "1220", 2));
+        stock.add(stock(3L, 5, "1830", "1220", 2));
+    }
+
+    private Stock stock(Long id, int thickness, String height, String width, int quantity) {
+        Glass glass = new Glass();
+        glass.setType(thickness + "MM");
+        glass.setThickness(thickness);
+        glass.setUnit("MM");
+        Stock line = new Stock();
+        line.setId(id);
+        line.setShop(shop);
+        line.setGlass(glass);
+        line.setStandNo(id.intValue());
+        line.setHeight(height);
+        line.setWidth(width);
+        line.setQuantity(quantity);
+        ReflectionTestUtils.invokeMethod(line, "normalizeDimensions");
+        return line;
+    }
+
+    private static QuotationItemDto item(String glassType, double height, double width, String unit) {
+        QuotationItemDto item = new QuotationItemDto();
+        item.setGlassType(glassType);
+        item.setHeight(height);
+        item.setWidth(width);
+        item.setHeightUnit(unit);
+        item.setWidthUnit(unit);
+        return item;
+    }
+
+    @Test
+    @DisplayName("bestFit - Success: Smallest sheet of the same thickness, loaded once per shop")
+    void testBestFit_Success() {
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+
+        BestFitResponse small = stockIndexService.bestFit(1L, 0, item("8MM", 1200, 900, "MM"));
+        BestFitResponse large = stockIndexService.bestFit(1L, 1, item("8MM", 6, 5, "FEET"));
+
+        assertTrue(small.isAvailable());
+        assertEquals(2L, small.getStockId());
+        assertEquals(1, large.getItemIndex());
+        assertEquals(1L, large.getStockId());
+        assertEquals(1829, large.getPieceHeightMm());
+        verify(stockRepository, times(1)).findInStockByShopId(1L);
+    }
+
+    @Test
+    @DisplayName("bestFit - Failure: No sheet large enough or no stock of that thickness")
+    void testBestFit_NotAvailable() {
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+
+        assertFalse(stockIndexService.bestFit(1L, 0, item("8MM", 3000, 2000, "MM")).isAvailable());
+        assertFalse(stockIndexService.bestFit(1L, 0, item("12MM", 100, 100, "MM")).isAvailable());
+    }
+
+    @Test
+    @DisplayName("bestFit - Shortfall: Fewer sheets on the best line than pieces asked for")
+    void testBestFit_Quantity() {
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+        QuotationItemDto two = item("8MM", 1200, 900, "MM");
+        two.setQuantity(2);
+        QuotationItemDto three = item("8MM", 1200, 900, "MM");
+        three.setQuantity(3);
+
+        BestFitResponse enough = stockIndexService.bestFit(1L, 0, two);
+        BestFitResponse notEnough = stockIndexService.bestFit(1L, 1, three);
+
+        assertTrue(enough.isAvailable());
+        assertEquals(0, enough.getShortfall());
+        assertFalse(notEnough.isAvailable());
+        assertEquals(2L, notEnough.getStockId());
+        assertEquals(2, notEnough.getSheetsInStock());
+        assertEquals(1, notEnough.getShortfall());
+        assertEquals(1, stockIndexService.bestFit(1L, 0, item("12MM", 100, 100, "MM")).getShortfall());
+    }
+
+    @Test
+    @DisplayName("stockSaved - A change committed while the index loads is not lost")
+    void testStockChanges_DuringLoad() {
+        List<Stock> afterChange = List.of(stock.get(0), stock.get(2));
+        when(stockRepository.findInStockByShopId(1L)).thenAnswer(invocation -> {
+            stockIndexService.stockSaved(stock(2L, 8, "1830", "1220", 0));
+            return stock; // read before the change
+        }).thenReturn(afterChange);
+
+        assertEquals(2L, stockIndexService.bestFit(1L, 8, 1200, 900).getStockId());
+        assertEquals(1L, stockIndexService.bestFit(1L, 8, 1200, 900).getStockId());
+        assertEquals(1L, stockIndexService.bestFit(1L, 8, 1200, 900).getStockId());
+        verify(stockRepository, times(2)).findInStockByShopId(1L);
+    }
+
+    @Test
+    @DisplayName("stockSaved / stockRemoved - Index follows stock changes without reloading")
+    void testStockChanges_UpdateIndex() {
+        when(stockRepository.findInStockByShopId(1L)).thenReturn(stock);
+        assertEquals(2L, stockIndexService.bestFit(1L, 8, 1200, 900).getStockId());
+
+        Stock emptied = stock.get(1);
+        emptied.setQuantity(0);
+        stockIndexService.stockSaved(emptied);
+        assertEquals(1L, stockIndexService.bestFit(1L, 8, 1200, 900).getStockId());
+
+        stockIndexService.stockSaved(stock(4L, 8, "1300", "1000", 1));
+        assertEquals(4L, stockIndexService.bestFit(1L, 8, 1200, 900).getStockId());
+
+        stockIndexService.stockRemoved(stock.get(0));
+        assertNull(stockIndexService.bestFit(1L, 8, 2000, 1500));
+        verify(stockRepository, times(1)).findInStockByShopId(1L);
+    }
+}
@@ -0,0 +1,212 @@
+package com.glassshop.ai.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.glassshop.ai.cutting.CutPiece;
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.cutting.GuillotinePacker;
+import com.glassshop.ai.cutting.StockSheet;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.entity.StockReservation;
+import com.glassshop.ai.enums.ReservationStatus;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.repository.StockRepository;
+import com.glassshop.ai.repository.StockReservationRepository;
+
+/**
+ * Unit Tests for StockReservationService
+ * Tests reserving from the cutting plan, conflicts, release, expiry and consumption on invoicing
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockReservationService Unit Tests")
+class StockReservationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private StockReservationRepository reservationRepository;
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockDeductionService stockDeductionService;
+
+    @Mock
+    private CuttingPlanService cuttingPlanService;
+
+    @Mock
+    private StockIndexService stockIndexService;
+
+    @Mock
+    private ShopDataVersions shopDataVersions;
+
+    @InjectMocks
+    private StockReservationService reservationService;
+
+    private Shop shop;
+    private Quotation quotation;
+
+    @BeforeEach
+    void setUp() {
+        shop = new Shop();
+        shop.setId(1L);
+
+        quotation = new Quotation();
+        quotation.setId(10L);
+        quotation.setShop(shop);
+        quotation.setQuotationNumber("Q-2024-01-0001");
+        quotation.setValidUntil(LocalDate.of(2024, 1, 31));
+    }
+
+    private static StockReservation hold(Long id, Long stockId, int quantity) {
+        StockReservation hold = new StockReservation();
+        hold.setId(id);
+        hold.setShopId(1L);
+        hold.setQuotationId(10L);
+        hold.setStockId(stockId);
+        hold.setQuantity(quantity);
+        return hold;
+    }
+
+    /**
+     * Two full sheets from stock line 5 and one piece nothing in stock can hold.
+     */
+    private static CuttingPlan twoSheetPlan() {
+        List<CutPiece> pieces = new ArrayList<>();
+        pieces.add(new CutPiece("#1.1", 2440, 1830, true, 1));
+        pieces.add(new CutPiece("#1.2", 2440, 1830, true, 1));
+        pieces.add(new CutPiece("#2", 5000, 3000, true, 2));
+        return new GuillotinePacker(0).pack(pieces, List.of(new StockSheet(5L, 1, 2440, 1830, 4)));
+    }
+
+    @Test
+    @DisplayName("reserve - Success: Holds the sheets of the cutting plan in one batch")
+    void testReserve_Success() {
+        when(cuttingPlanService.planForQuotation(quotation)).thenReturn(List.of(twoSheetPlan()));
+        when(jdbcTemplate.batchUpdate(contains("reserved = reserved +"), anyList())).thenReturn(new int[] { 1 });
+        when(jdbcTemplate.batchUpdate(contains("INSERT INTO stock_reservation"), anyList())).thenReturn(new int[] { 1 });
+
+        int reserved = reservationService.reserve(quotation);
+
+        assertEquals(2, reserved);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> holds = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT INTO stock_reservation"), holds.capture());
+        assertEquals(1, holds.getValue().size());
+        assertEquals(5L, holds.getValue().get(0)[2]);
+        assertEquals(2, holds.getValue().get(0)[3]);
+        verify(stockIndexService).evict(1L);
+    }
+
+    @Test
+    @DisplayName("reserve - Failure: Stock taken by a concurrent confirmation rolls back")
+    void testReserve_Conflict() {
+        when(cuttingPlanService.planForQuotation(quotation)).thenReturn(List.of(twoSheetPlan()));
+        when(jdbcTemplate.batchUpdate(contains("reserved = reserved +"), anyList())).thenReturn(new int[] { 0 });
+
+        assertThrows(RuntimeException.class, () -> reservationService.reserve(quotation));
+        verify(jdbcTemplate, never()).batchUpdate(contains("INSERT INTO stock_reservation"), anyList());
+    }
+
+    @Test
+    @DisplayName("uncoveredPieces - Pieces the held sheets cannot supply, per item position")
+    void testUncoveredPieces() {
+        when(cuttingPlanService.planOnHolds(quotation)).thenReturn(List.of(twoSheetPlan()));
+
+        assertEquals(Map.of(2, 1), reservationService.uncoveredPieces(quotation));
+    }
+
+    @Test
+    @DisplayName("release - Success: Only holds still active are given back")
+    void testRelease_OnlyActive() {
+        when(reservationRepository.findByQuotationIdAndStatus(10L, ReservationStatus.ACTIVE))
+                .thenReturn(List.of(hold(1L, 5L, 2), hold(2L, 6L, 1)));
+        when(jdbcTemplate.batchUpdate(contains("UPDATE stock_reservation"), anyList())).thenReturn(new int[] { 1, 0 });
+        when(jdbcTemplate.batchUpdate(contains("reserved = reserved - ?, updated_at"), anyList()))
+                .thenReturn(new int[] { 1 });
+
+        int released = reservationService.release(10L);
+
+        assertEquals(1, released);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("reserved = reserved - ?, updated_at"), updates.capture());
+        assertEquals(1, updates.getValue().size());
+        assertEquals(5L, updates.getValue().get(0)[2]);
+    }
+
+    @Test
+    @DisplayName("expireDue - Success: Expires due holds found by the indexed sweep")
+    void testExpireDue() {
+        when(jdbcTemplate.query(contains("expires_at <= ?"), any(RowMapper.class), any(), any()))
+                .thenReturn(List.of(hold(1L, 5L, 2)));
+        when(jdbcTemplate.batchUpdate(contains("UPDATE stock_reservation"), anyList())).thenReturn(new int[] { 1 });
+        when(jdbcTemplate.batchUpdate(contains("reserved = reserved - ?, updated_at"), anyList()))
+                .thenReturn(new int[] { 1 });
+
+        assertEquals(1, reservationService.expireDue());
+        verify(stockIndexService).evict(1L);
+    }
+
+    @Test
+    @DisplayName("consume - Success: Holds become stock removals with audit entries")
+    void testConsume() {
+        Glass glass = new Glass();
+        glass.setType("8MM");
+        glass.setUnit("MM");
+        Stock stock = new Stock();
+        stock.setId(5L);
+        stock.setGlass(glass);
+        stock.setShop(shop);
+        stock.setStandNo(3);
+
+        when(reservationRepository.findByQuotationIdAndStatus(10L, ReservationStatus.ACTIVE))
+                .thenReturn(List.of(hold(1L, 5L, 2)));
+        when(jdbcTemplate.batchUpdate(contains("UPDATE stock_reservation"), anyList())).thenReturn(new int[] { 1 });
+        when(jdbcTemplate.batchUpdate(contains("quantity = quantity - ?"), anyList())).thenReturn(new int[] { 1 });
+        when(stockRepository.findByIdIn(anyList())).thenReturn(List.of(stock));
+
+        assertEquals(1, reservationService.consume(quotation, "admin", "ROLE_ADMIN"));
+
+        verify(jdbcTemplate).batchUpdate(contains("quantity = quantity - ?"), anyList());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockDeductionService.Removal>> removals = ArgumentCaptor.forClass(List.class);
+        verify(stockDeductionService).recordRemovals(removals.capture(), eq("admin"), eq("ROLE_ADMIN"));
+        assertEquals(5L, removals.getValue().get(0).stock.getId());
+        assertEquals(2, removals.getValue().get(0).quantity);
+    }
+
+    @Test
+    @DisplayName("expiresAt - End of the valid-until day, or the default hold without one")
+    void testExpiresAt() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), reservationService.expiresAt(quotation, now));
+        quotation.setValidUntil(null);
+        assertEquals(now.plusDays(7), reservationService.expiresAt(quotation, now));
+    }
+}
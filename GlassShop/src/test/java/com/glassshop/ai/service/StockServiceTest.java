@@ -36,6 +36,8 @@ import com.glassshop.ai.entity.Shop;
 import com.glassshop.ai.entity.Stock;
 import com.glassshop.ai.entity.StockHistory;
 import com.glassshop.ai.entity.User;
+import com.glassshop.ai.etag.ShopDataVersions;
+import com.glassshop.ai.etag.ShopResource;
 import com.glassshop.ai.repository.AuditLogRepository;
 import com.glassshop.ai.repository.GlassRepository;
 import com.glassshop.ai.repository.StockHistoryRepository;
@@ -74,6 +76,9 @@ class StockServiceTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private ShopDataVersions shopDataVersions;
+
     @InjectMocks
     private StockService stockService;
 
@@ -149,6 +154,7 @@ class StockServiceTest {
         assertEquals(150, testStock.getQuantity()); // 100 + 50
         verify(stockRepository, times(1)).save(testStock);
         verify(auditLogRepository, times(1)).save(any(AuditLog.class));
+        verify(shopDataVersions).changed(1L, ShopResource.STOCK);
     }
 
     @Test
@@ -196,6 +202,7 @@ class StockServiceTest {
         assertTrue(result.contains("❌ Not enough stock"));
         assertEquals(100, testStock.getQuantity()); // Unchanged
         verify(stockRepository, never()).save(any(Stock.class));
+        verifyNoInteractions(shopDataVersions);
     }
 
     @Test
@@ -359,5 +366,20 @@ class StockServiceTest {
         assertTrue(result.contains("❌") || result.contains("No"));
         verify(stockRepository, never()).save(any(Stock.class));
     }
-}
 
+    @Test
+    @DisplayName("findSheetsAtLeast - Success: Converts sizes to mm and queries by size in SQL")
+    void testFindSheetsAtLeast_Success() {
+        // Arrange
+        when(userRepository.findByUserName("testuser")).thenReturn(Optional.of(testUser));
+        when(stockRepository.findSheetsAtLeast(testShop.getId(), "8MM", 1219.2, 609.6))
+                .thenReturn(java.util.List.of(testStock));
+
+        // Act
+        var result = stockService.findSheetsAtLeast("8mm", 4, 2, "FEET");
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(stockRepository, never()).findByShopId(anyLong());
+    }
+}
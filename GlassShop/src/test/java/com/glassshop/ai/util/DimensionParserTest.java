@@ -0,0 +1,58 @@
+package com.glassshop.ai.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit Tests for DimensionParser
+ * Tests parsing of free-text sizes and conversion to millimetres
+ */
+@DisplayName("DimensionParser Unit Tests")
+class DimensionParserTest {
+
+    @Test
+    @DisplayName("parse - Whole, decimal, mixed fraction and plain fraction sizes")
+    void testParse_Formats() {
+        assertEquals(26.0, DimensionParser.parse("26"));
+        assertEquals(26.5, DimensionParser.parse(" 26.5 "));
+        assertEquals(26.25, DimensionParser.parse("26 1/4"));
+        assertEquals(0.25, DimensionParser.parse("1/4"));
+    }
+
+    @Test
+    @DisplayName("parse - Empty or malformed sizes give 0")
+    void testParse_Invalid() {
+        assertEquals(0.0, DimensionParser.parse(null));
+        assertEquals(0.0, DimensionParser.parse(""));
+        assertEquals(0.0, DimensionParser.parse("abc"));
+        assertEquals(0.0, DimensionParser.parse("1/0"));
+    }
+
+    @Test
+    @DisplayName("toMillimetres - Converts each unit, unknown units taken as MM")
+    void testToMillimetres_Units() {
+        assertEquals(2438.4, DimensionParser.toMillimetres("8", "FEET"), 1e-9);
+        assertEquals(666.75, DimensionParser.toMillimetres("26 1/4", "INCH"), 1e-9);
+        assertEquals(120.0, DimensionParser.toMillimetres("12", "cm"), 1e-9);
+        assertEquals(1200.0, DimensionParser.toMillimetres("1200", "MM"), 1e-9);
+        assertEquals(1200.0, DimensionParser.toMillimetres("1200", null), 1e-9);
+    }
+
+    @Test
+    @DisplayName("itemMillimetres - Missing unit taken as FEET, missing value as 0")
+    void testItemMillimetres() {
+        assertEquals(609.6, DimensionParser.itemMillimetres(2.0, null), 1e-9);
+        assertEquals(50.8, DimensionParser.itemMillimetres(2.0, "INCH"), 1e-9);
+        assertEquals(0.0, DimensionParser.itemMillimetres(null, "FEET"));
+    }
+
+    @Test
+    @DisplayName("toMillimetresOrNull - Null for sizes that cannot be parsed")
+    void testToMillimetresOrNull() {
+        assertEquals(304.8, DimensionParser.toMillimetresOrNull("1", "FEET"), 1e-9);
+        assertNull(DimensionParser.toMillimetresOrNull("n/a", "FEET"));
+        assertNull(DimensionParser.toMillimetresOrNull(null, "MM"));
+    }
+}
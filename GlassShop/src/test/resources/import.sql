@@ -0,0 +1,5 @@
+-- Run by Hibernate after create-drop. Gives the tables written with plain SQL the id default
+-- their BIGSERIAL columns have in Postgres (StockDeductionService, StockReservationService).
+ALTER TABLE audit_log ALTER COLUMN id SET DEFAULT NEXT VALUE FOR audit_log_id_seq;
+ALTER TABLE stock_history ALTER COLUMN id SET DEFAULT NEXT VALUE FOR stock_history_id_seq;
+ALTER TABLE stock_reservation ALTER COLUMN id SET DEFAULT NEXT VALUE FOR stock_reservation_id_seq;
@@ -0,0 +1,97 @@
+#!/bin/bash
+#
+# Time from launch to the first successful request, and resident memory, for
+# each way of starting the backend:
+#
+#   jar         java -jar GlassShop-<version>.jar
+#   aot         the same with Spring AOT (-Dspring.aot.enabled=true)
+#   cds         unpacked jar with an AppCDS archive
+#   cds+aot     both
+#   native      GraalVM image target/glassshop, if built (mvn -Pnative native:compile)
+#
+#   ./startup-report.sh               build with -Pfast-startup, train the CDS archives, measure
+#   RUNS=5 ./startup-report.sh        average over more starts per mode
+#
+# Runs against the database from the usual DB_* / SPRING_PROFILES_ACTIVE
+# environment, on PORT (default 18080). Set SKIP_BUILD=1 to reuse target/.
+# Results go to results/startup-<commit>-<timestamp>.txt (not checked in).
+
+set -e
+
+MODULE_DIR="$(cd "$(dirname "$0")" && pwd)"
+TARGET="$MODULE_DIR/target"
+PORT="${PORT:-18080}"
+RUNS="${RUNS:-3}"
+URL="http://localhost:$PORT/actuator/health"
+
+if [ "$SKIP_BUILD" != "1" ]; then
+    echo "Building with -Pfast-startup..."
+    (cd "$MODULE_DIR" && mvn -B -q package -Pfast-startup -DskipTests -Djacoco.skip=true)
+fi
+
+JAR="$(ls "$TARGET"/GlassShop-*.jar | grep -v -e '-plain.jar' | head -1)"
+UNPACKED="$(ls "$TARGET"/fast-startup/GlassShop-*-fast-startup.jar | head -1)"
+
+# CDS training: start until the context is refreshed, then dump the loaded classes
+train() {
+    local archive="$1"
+    shift
+    if [ ! -f "$archive" ] || [ "$SKIP_BUILD" != "1" ]; then
+        echo "Training $(basename "$archive")..."
+        SERVER_PORT="$PORT" java -XX:ArchiveClassesAtExit="$archive" -Dspring.context.exit=onRefresh \
+            "$@" -jar "$UNPACKED" > "$TARGET/fast-startup/training.log" 2>&1
+    fi
+}
+train "$TARGET/fast-startup/app.jsa"
+train "$TARGET/fast-startup/app-aot.jsa" -Dspring.aot.enabled=true
+
+# Prints "<ms to first 200> <VmRSS in MB>" for one start of the given command
+measure() {
+    local start pid elapsed rss
+    start=$(date +%s%N)
+    SERVER_PORT="$PORT" "$@" > "$TARGET/startup-run.log" 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$URL")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ Exited before serving, see $TARGET/startup-run.log" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+report() {
+    local mode="$1" total_ms=0 total_rss=0 i result
+    shift
+    for i in $(seq "$RUNS"); do
+        result="$(measure "$@")" || return 0
+        total_ms=$(( total_ms + ${result% *} ))
+        total_rss=$(( total_rss + ${result#* } ))
+    done
+    printf "%-10s %10d %10d\n" "$mode" $(( total_ms / RUNS )) $(( total_rss / RUNS ))
+}
+
+COMMIT="$(git -C "$MODULE_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+mkdir -p "$MODULE_DIR/results"
+RESULT="$MODULE_DIR/results/startup-$COMMIT-$(date +%Y%m%d-%H%M%S).txt"
+
+{
+    echo "Startup to first request, average of $RUNS ($(java -version 2>&1 | head -1))"
+    printf "%-10s %10s %10s\n" "mode" "ms" "RSS MB"
+    report jar java -jar "$JAR"
+    report aot java -Dspring.aot.enabled=true -jar "$JAR"
+    report cds java -XX:SharedArchiveFile="$TARGET/fast-startup/app.jsa" -jar "$UNPACKED"
+    report cds+aot java -XX:SharedArchiveFile="$TARGET/fast-startup/app-aot.jsa" -Dspring.aot.enabled=true \
+        -jar "$UNPACKED"
+    if [ -x "$TARGET/glassshop" ]; then
+        report native "$TARGET/glassshop"
+    fi
+} | tee "$RESULT"
+
+echo ""
+echo "✅ Results saved to $RESULT"
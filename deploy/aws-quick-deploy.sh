@@ -85,18 +85,23 @@ echo "[1/6] Installing dependencies..."
 # Update package lists
 $UPDATE_CMD
 
-# Install Java 17
+# Install Java 21
 if [[ "$OS" == "ubuntu" || "$OS" == "debian" ]]; then
-    $INSTALL_CMD openjdk-17-jdk > /dev/null 2>&1
+    $INSTALL_CMD openjdk-21-jdk > /dev/null 2>&1
 elif [[ "$OS" == "amzn" || "$OS" == "amazon" ]]; then
     # Amazon Linux 2023 uses dnf, older versions use yum
     if command -v dnf &> /dev/null; then
-        dnf install -y java-17-amazon-corretto-devel > /dev/null 2>&1
+        dnf install -y java-21-amazon-corretto-devel > /dev/null 2>&1
     else
-        yum install -y java-17-amazon-corretto-devel > /dev/null 2>&1
+        yum install -y java-21-amazon-corretto-devel > /dev/null 2>&1
     fi
 fi
 
+# Install Noto fonts for PDFs (application-prod.properties points at Noto Sans)
+if [[ "$OS" == "ubuntu" || "$OS" == "debian" ]]; then
+    $INSTALL_CMD fonts-noto-core > /dev/null 2>&1
+fi
+
 # Install Node.js 18
 if ! command -v node &> /dev/null || ! node --version | grep -q "v18"; then
     if [[ "$OS" == "ubuntu" || "$OS" == "debian" ]]; then
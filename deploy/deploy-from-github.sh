@@ -64,13 +64,13 @@ if [[ "$OS" == "ubuntu" || "$OS" == "debian" ]]; then
     PKG_MANAGER="apt"
     UPDATE_CMD="apt update -qq"
     INSTALL_CMD="apt install -y -qq"
-    JAVA_PKG="openjdk-17-jdk"
+    JAVA_PKG="openjdk-21-jdk"
     POSTGRES_SERVICE="postgresql"
 elif [[ "$OS" == "amzn" || "$OS" == "amazon" ]]; then
     PKG_MANAGER="yum"
     UPDATE_CMD="yum update -y -q"
     INSTALL_CMD="yum install -y -q"
-    JAVA_PKG="java-17-amazon-corretto-devel"
+    JAVA_PKG="java-21-amazon-corretto-devel"
     POSTGRES_SERVICE="postgresql"
 else
     echo -e "${RED}Unsupported OS: $OS${NC}"
@@ -86,16 +86,21 @@ if ! command -v git &> /dev/null; then
 fi
 echo -e "${GREEN}✓ Git installed${NC}"
 
-# Step 2: Install Java 17
+# Step 2: Install Java 21
 echo ""
-echo -e "${YELLOW}[Step 2/10] Installing Java 17...${NC}"
-if ! command -v java &> /dev/null || ! java -version 2>&1 | grep -q "17"; then
+echo -e "${YELLOW}[Step 2/10] Installing Java 21...${NC}"
+if ! command -v java &> /dev/null || ! java -version 2>&1 | grep -q "version \"21"; then
     $UPDATE_CMD
     $INSTALL_CMD $JAVA_PKG
 fi
-echo -e "${GREEN}✓ Java 17 installed${NC}"
+echo -e "${GREEN}✓ Java 21 installed${NC}"
 java -version
 
+# Noto Sans is the PDF font in application-prod.properties (Debian/Ubuntu path)
+if [[ "$OS" == "ubuntu" || "$OS" == "debian" ]]; then
+    $INSTALL_CMD fonts-noto-core
+fi
+
 # Step 3: Install Node.js 18
 echo ""
 echo -e "${YELLOW}[Step 3/10] Installing Node.js 18...${NC}"
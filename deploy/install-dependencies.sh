@@ -13,9 +13,9 @@ echo "=========================================="
 echo "Updating system packages..."
 apt update && apt upgrade -y
 
-# Install Java 17
-echo "Installing Java 17..."
-apt install -y openjdk-17-jdk
+# Install Java 21
+echo "Installing Java 21..."
+apt install -y openjdk-21-jdk
 
 # Verify Java installation
 java -version
@@ -53,6 +53,10 @@ npm install -g pm2
 echo "Installing Git..."
 apt install -y git
 
+# Install fonts for PDFs (application-prod.properties points at Noto Sans, which has the rupee sign)
+echo "Installing Noto fonts..."
+apt install -y fonts-noto-core
+
 # Install Maven (optional, for building)
 echo "Installing Maven..."
 apt install -y maven
@@ -31,13 +31,16 @@ FRONTEND_DIR="$APP_DIR/glass-ai-agent-frontend"
 echo -e "${YELLOW}[1/10] Updating system...${NC}"
 apt update && apt upgrade -y
 
-# Step 2: Install Java 17
-echo -e "${YELLOW}[2/10] Installing Java 17...${NC}"
-if ! command -v java &> /dev/null || ! java -version 2>&1 | grep -q "17"; then
-    apt install -y openjdk-17-jdk
+# Step 2: Install Java 21
+echo -e "${YELLOW}[2/10] Installing Java 21...${NC}"
+if ! command -v java &> /dev/null || ! java -version 2>&1 | grep -q "version \"21"; then
+    apt install -y openjdk-21-jdk
 fi
 java -version
 
+# Noto Sans is the PDF font in application-prod.properties
+apt install -y fonts-noto-core
+
 # Step 3: Install Node.js 18
 echo -e "${YELLOW}[3/10] Installing Node.js 18...${NC}"
 if ! command -v node &> /dev/null; then
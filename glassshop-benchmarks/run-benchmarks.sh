@@ -0,0 +1,50 @@
+#!/bin/bash
+#
+# Build and run the JMH benchmarks, saving results as JSON per commit.
+#
+#   ./run-benchmarks.sh                       all benchmarks
+#   ./run-benchmarks.sh JwtUtilBenchmark      only those matching the pattern(s)
+#   ./run-benchmarks.sh -f 2 -wi 5 Pdf        extra arguments are passed to JMH
+#   ./run-benchmarks.sh --compare a.json b.json
+#                                             score change per benchmark, b against a
+#
+# Results go to results/<commit>[-dirty]-<timestamp>.json (not checked in).
+# Set SKIP_BUILD=1 to reuse target/benchmarks.jar.
+
+set -e
+
+MODULE_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$MODULE_DIR")"
+JAR="$MODULE_DIR/target/benchmarks.jar"
+
+if [ "$1" = "--compare" ]; then
+    if [ $# -ne 3 ]; then
+        echo "Usage: $0 --compare <baseline.json> <candidate.json>"
+        exit 1
+    fi
+    java -cp "$JAR" com.glassshop.ai.benchmark.CompareResults "$2" "$3"
+    exit $?
+fi
+
+if [ "$SKIP_BUILD" != "1" ]; then
+    echo "Building benchmarks..."
+    (cd "$ROOT_DIR" && mvn -B -q -f pom.xml -pl glassshop-benchmarks -am package \
+        -DskipTests -Djacoco.skip=true)
+fi
+
+COMMIT="$(git -C "$ROOT_DIR" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+if [ -n "$(git -C "$ROOT_DIR" status --porcelain -- GlassShop/src glassshop-benchmarks/src 2>/dev/null)" ]; then
+    COMMIT="$COMMIT-dirty"
+fi
+mkdir -p "$MODULE_DIR/results"
+RESULT="$MODULE_DIR/results/$COMMIT-$(date +%Y%m%d-%H%M%S).json"
+
+echo "Running benchmarks (results: $RESULT)..."
+java -jar "$JAR" -rf json -rff "$RESULT" -prof gc "$@"
+
+echo ""
+echo "✅ Results saved to $RESULT"
+PREVIOUS="$(ls -t "$MODULE_DIR"/results/*.json 2>/dev/null | sed -n 2p)"
+if [ -n "$PREVIOUS" ]; then
+    echo "Compare with the previous run: $0 --compare $PREVIOUS $RESULT"
+fi
@@ -0,0 +1,90 @@
+package com.glassshop.ai.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (run-benchmarks.sh --compare): score
+ * change per benchmark and parameter set. Changes larger than the two runs'
+ * combined error are marked as a regression or an improvement, taking the
+ * mode into account (higher is better for throughput, lower for time).
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(1);
+        }
+        Map<String, JsonNode> baseline = read(args[0]);
+        Map<String, JsonNode> candidate = read(args[1]);
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  (new) %s%n", entry.getKey(), "-", newScore, "", unit);
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double error = finite(before.path("primaryMetric").path("scoreError").asDouble())
+                    + finite(after.path("primaryMetric").path("scoreError").asDouble());
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+
+            String verdict = "";
+            if (Math.abs(newScore - oldScore) > error) {
+                boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+                boolean better = higherIsBetter == newScore > oldScore;
+                verdict = better ? "  ✅ improved" : "  ❌ regressed";
+                if (!better) {
+                    regressions++;
+                }
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %s%s%n",
+                    entry.getKey(), oldScore, newScore, change, unit, verdict);
+        }
+        System.out.println();
+        System.out.println(regressions == 0 ? "No regressions beyond the measurement error"
+                : "⚠ " + regressions + " benchmark(s) regressed beyond the measurement error");
+    }
+
+    /**
+     * Results keyed by benchmark name and parameters, e.g. "JwtUtilBenchmark.verify [cached=true]"
+     */
+    private static Map<String, JsonNode> read(String path) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(new File(path))) {
+            String name = result.path("benchmark").asText().replace("com.glassshop.ai.benchmark.", "");
+            StringBuilder key = new StringBuilder(name);
+            JsonNode params = result.path("params");
+            if (params.size() > 0) {
+                key.append(" [");
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(param.getKey()).append('=').append(param.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(", ");
+                    }
+                }
+                key.append(']');
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double finite(double value) {
+        return Double.isFinite(value) ? value : 0;
+    }
+}
@@ -0,0 +1,76 @@
+package com.glassshop.ai.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.glassshop.ai.cutting.CutPiece;
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.cutting.GuillotinePacker;
+import com.glassshop.ai.cutting.StockSheet;
+
+/**
+ * Planning time for random builder orders (pieces 200-1200 mm) on three
+ * common sheet sizes with a 3 mm kerf.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh CuttingOptimizerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CuttingOptimizerBenchmark {
+
+    @Param({ "50", "200", "2000" })
+    public int pieces;
+
+    private List<CutPiece> order;
+    private List<StockSheet> sheets;
+    private GuillotinePacker packer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        order = new ArrayList<>();
+        for (int i = 0; i < pieces; i++) {
+            order.add(new CutPiece("#" + i, 200 + random.nextInt(1000), 200 + random.nextInt(1000)));
+        }
+        sheets = List.of(
+                new StockSheet(1L, 1, 3210, 2250, 10_000),
+                new StockSheet(2L, 2, 2440, 1830, 10_000),
+                new StockSheet(3L, 3, 1830, 1220, 10_000));
+        packer = new GuillotinePacker(3);
+    }
+
+    @Benchmark
+    public CuttingPlan pack() {
+        return packer.pack(order, sheets);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(CuttingOptimizerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.glassshop.ai.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.glassshop.ai.service.DailyReportService;
+
+/**
+ * Dimension parsing and area conversion the daily report runs for every sale
+ * line, over a mix of whole, decimal and fractional ("26 1/4") sizes.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh DailyReportBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DailyReportBenchmark {
+
+    private static final MethodHandle PARSE_DIMENSION = Internals.privateMethod(DailyReportService.class,
+            "parseDimension", String.class);
+    private static final MethodHandle CALCULATE_AREA = Internals.privateMethod(DailyReportService.class,
+            "calculateArea", String.class, String.class, String.class);
+
+    private static final String[] HEIGHTS = { "26", "48.5", "26 1/4", "1200", "36 3/8", "72" };
+    private static final String[] WIDTHS = { "18", "30.25", "12 1/2", "900", "24 5/8", "40" };
+    private static final String[] UNITS = { "INCH", "INCH", "INCH", "MM", "INCH", "FEET" };
+
+    @Param({ "mixed", "fractions" })
+    public String sizes;
+
+    private DailyReportService dailyReportService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        dailyReportService = new DailyReportService();
+    }
+
+    private int index() {
+        int i = next++ % HEIGHTS.length;
+        // "fractions" keeps to the fractional sizes, the slowest to parse
+        return "fractions".equals(sizes) ? (i % 2 == 0 ? 2 : 4) : i;
+    }
+
+    @Benchmark
+    public double parseDimension() throws Throwable {
+        return (double) PARSE_DIMENSION.invokeExact(dailyReportService, HEIGHTS[index()]);
+    }
+
+    @Benchmark
+    public void calculateArea(Blackhole blackhole) throws Throwable {
+        int i = index();
+        blackhole.consume((double) CALCULATE_AREA.invokeExact(dailyReportService, HEIGHTS[i], WIDTHS[i], UNITS[i]));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(DailyReportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
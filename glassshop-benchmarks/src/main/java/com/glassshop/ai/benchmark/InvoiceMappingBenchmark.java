@@ -0,0 +1,123 @@
+package com.glassshop.ai.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.glassshop.ai.dto.InvoiceResponse;
+import com.glassshop.ai.entity.Customer;
+import com.glassshop.ai.entity.Invoice;
+import com.glassshop.ai.entity.InvoiceItem;
+import com.glassshop.ai.entity.Payment;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.enums.InvoiceType;
+import com.glassshop.ai.enums.PaymentMode;
+import com.glassshop.ai.enums.PaymentStatus;
+import com.glassshop.ai.service.InvoiceService;
+
+/**
+ * InvoiceService.convertToResponse: entity to response mapping for one
+ * invoice with its items and payments, as every invoice list and detail call does.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh InvoiceMappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoiceMappingBenchmark {
+
+    private static final MethodHandle CONVERT_TO_RESPONSE = Internals.privateMethod(InvoiceService.class,
+            "convertToResponse", Invoice.class);
+
+    @Param({ "10", "100" })
+    public int lines;
+
+    private InvoiceService invoiceService;
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        invoiceService = new InvoiceService();
+
+        Customer customer = new Customer();
+        customer.setId(1L);
+        invoice = new Invoice();
+        invoice.setId(1L);
+        invoice.setCustomer(customer);
+        invoice.setInvoiceNumber("INV-BENCH-0001");
+        invoice.setInvoiceType(InvoiceType.FINAL);
+        invoice.setBillingType(BillingType.GST);
+        invoice.setInvoiceDate(LocalDate.of(2024, 1, 1));
+        invoice.setCustomerName("Benchmark Customer");
+        invoice.setCustomerMobile("8888888888");
+        invoice.setPaymentStatus(PaymentStatus.PARTIAL);
+
+        List<InvoiceItem> items = new ArrayList<>();
+        double subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            InvoiceItem item = new InvoiceItem();
+            item.setGlassType("Clear");
+            item.setThickness((5 + i % 3) + "MM");
+            item.setHeight(4.0 + i % 5);
+            item.setWidth(3.0 + i % 4);
+            item.setQuantity(1 + i % 3);
+            item.setRatePerSqft(85.0);
+            item.setArea(item.getHeight() * item.getWidth());
+            item.setSubtotal(item.getArea() * item.getRatePerSqft() * item.getQuantity());
+            item.setItemOrder(i);
+            subtotal += item.getSubtotal();
+            items.add(item);
+        }
+        invoice.setItems(items);
+        invoice.setSubtotal(subtotal);
+        invoice.setGstPercentage(18.0);
+        invoice.setGstAmount(subtotal * 0.18);
+        invoice.setGrandTotal(subtotal * 1.18);
+
+        List<Payment> payments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Payment payment = new Payment();
+            payment.setPaymentMode(PaymentMode.UPI);
+            payment.setAmount(subtotal * 0.1);
+            payment.setPaymentDate(LocalDateTime.of(2024, 1, 1 + i, 10, 0));
+            payment.setReferenceNumber("REF-" + i);
+            payments.add(payment);
+        }
+        invoice.setPayments(payments);
+    }
+
+    @Benchmark
+    public InvoiceResponse convertToResponse() throws Throwable {
+        return (InvoiceResponse) CONVERT_TO_RESPONSE.invokeExact(invoiceService, invoice);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(InvoiceMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
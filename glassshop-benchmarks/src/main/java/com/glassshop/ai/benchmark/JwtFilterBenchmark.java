@@ -0,0 +1,123 @@
+package com.glassshop.ai.benchmark;
+
+import java.io.IOException;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.security.JwtFilter;
+import com.glassshop.ai.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletException;
+
+/**
+ * Per-request overhead of JwtFilter on an authenticated request: with the
+ * verified-token cache (repeat client), with the cache off (one parse per
+ * request), and the three fresh-parser parses the filter used to do.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    // Distinct clients sending requests in turn
+    @Param({ "1", "100" })
+    public int clients;
+
+    private JwtFilter cachedFilter;
+    private JwtFilter uncachedFilter;
+    private Key key;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        JwtUtil cached = new JwtUtil();
+        JwtUtil uncached = new JwtUtil();
+        ReflectionTestUtils.setField(uncached, "verifiedCacheSize", 0);
+        cachedFilter = filter(cached);
+        uncachedFilter = filter(uncached);
+        key = (Key) ReflectionTestUtils.getField(cached, "key");
+
+        tokens = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            tokens[i] = cached.generateToken("user" + i, "ROLE_STAFF");
+        }
+    }
+
+    private static JwtFilter filter(JwtUtil jwtUtil) {
+        JwtFilter filter = new JwtFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        return filter;
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stock");
+        request.setServletPath("/api/stock");
+        request.addHeader("Authorization", "Bearer " + tokens[next++ % clients]);
+        return request;
+    }
+
+    private Object run(JwtFilter filter) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object filterCached() throws ServletException, IOException {
+        return run(cachedFilter);
+    }
+
+    @Benchmark
+    public Object filterUncached() throws ServletException, IOException {
+        return run(uncachedFilter);
+    }
+
+    @Benchmark
+    public Object threeParsesBaseline() {
+        String token = tokens[next++ % clients];
+        Claims claims = null;
+        for (int i = 0; i < 3; i++) {
+            claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        }
+        return claims;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,215 @@
+package com.glassshop.ai.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.glassshop.ai.cutting.CuttingPlan;
+import com.glassshop.ai.entity.Glass;
+import com.glassshop.ai.entity.Invoice;
+import com.glassshop.ai.entity.InvoiceItem;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.QuotationItem;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.entity.Stock;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.enums.InvoiceType;
+import com.glassshop.ai.enums.PaymentStatus;
+import com.glassshop.ai.pdf.PdfLayoutEngine;
+import com.glassshop.ai.service.CuttingPlanService;
+import com.glassshop.ai.service.PdfService;
+
+/**
+ * Render throughput and allocation per document type, with static blocks
+ * replayed from the cache vs drawn inline on every render.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh PdfLayoutBenchmark
+ * The GC profiler reports gc.alloc.rate.norm (bytes allocated per document).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfLayoutBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean staticBlocks;
+
+    @Param({ "10", "100" })
+    public int lines;
+
+    private PdfService pdfService;
+    private Quotation quotation;
+    private List<CuttingPlan> cuttingPlans;
+    private Invoice invoice;
+
+    @Setup
+    public void setUp() {
+        PdfLayoutEngine engine = new PdfLayoutEngine();
+        engine.setStaticBlocksEnabled(staticBlocks);
+        pdfService = new PdfService();
+        ReflectionTestUtils.setField(pdfService, "layoutEngine", engine);
+
+        Shop shop = new Shop();
+        shop.setShopName("Benchmark Glass House");
+        shop.setOwnerName("Owner");
+        shop.setEmail("owner@example.com");
+        shop.setWhatsappNumber("9999999999");
+        quotation = quotation(shop, lines);
+        invoice = invoice(shop, lines);
+        cuttingPlans = new CuttingPlanService().plan(List.of(quotation), stock(shop));
+    }
+
+    @Benchmark
+    public byte[] quotation() throws IOException {
+        return pdfService.renderQuotationPdf(quotation);
+    }
+
+    @Benchmark
+    public byte[] cuttingPad() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pdfService.renderCuttingPadPrintPdf(quotation, cuttingPlans, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] transportChallan() throws IOException {
+        return pdfService.renderTransportChallanPdf(invoice);
+    }
+
+    @Benchmark
+    public byte[] deliveryChallan() throws IOException {
+        return pdfService.renderDeliveryChallanPrintPdf(invoice);
+    }
+
+    @Benchmark
+    public byte[] invoice() throws IOException {
+        return pdfService.renderInvoicePdf(invoice);
+    }
+
+    @Benchmark
+    public byte[] basicInvoice() throws IOException {
+        return pdfService.renderBasicInvoicePdf(invoice);
+    }
+
+    private static Quotation quotation(Shop shop, int lines) {
+        Quotation quotation = new Quotation();
+        quotation.setShop(shop);
+        quotation.setQuotationNumber("QUO-BENCH-0001");
+        quotation.setBillingType(BillingType.GST);
+        quotation.setQuotationDate(LocalDate.of(2024, 1, 1));
+        quotation.setValidUntil(LocalDate.of(2024, 1, 31));
+        quotation.setCustomerName("Benchmark Customer");
+        quotation.setCustomerMobile("8888888888");
+        quotation.setCustomerAddress("Line 1\nLine 2");
+
+        List<QuotationItem> items = new ArrayList<>();
+        double subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            QuotationItem item = new QuotationItem();
+            item.setQuotation(quotation);
+            item.setGlassType(i % 2 == 0 ? "Clear Float" : "Toughened");
+            item.setThickness(String.valueOf(4 + i % 8));
+            item.setHeight(2.0 + (i % 10) * 0.5);
+            item.setWidth(1.5 + (i % 7) * 0.25);
+            item.setDesign(i % 3 == 0 ? "POLISH" : "BEVELING");
+            item.setQuantity(1 + i % 5);
+            item.setRatePerSqft(45.0);
+            item.setSubtotal(item.getHeight() * item.getWidth() * 45.0 * item.getQuantity());
+            subtotal += item.getSubtotal();
+            items.add(item);
+        }
+        quotation.setItems(items);
+        quotation.setSubtotal(subtotal);
+        quotation.setGstPercentage(18.0);
+        quotation.setGstAmount(subtotal * 0.18);
+        quotation.setGrandTotal(subtotal * 1.18);
+        return quotation;
+    }
+
+    private static List<Stock> stock(Shop shop) {
+        List<Stock> stock = new ArrayList<>();
+        for (int thickness = 4; thickness < 12; thickness++) {
+            Glass glass = new Glass();
+            glass.setType(thickness + "MM");
+            glass.setThickness(thickness);
+            glass.setUnit("FEET");
+            Stock line = new Stock();
+            line.setId((long) thickness);
+            line.setGlass(glass);
+            line.setShop(shop);
+            line.setStandNo(thickness);
+            line.setHeight("8");
+            line.setWidth("6");
+            line.setQuantity(100);
+            stock.add(line);
+        }
+        return stock;
+    }
+
+    private static Invoice invoice(Shop shop, int lines) {
+        Invoice invoice = new Invoice();
+        invoice.setShop(shop);
+        invoice.setInvoiceNumber("INV-BENCH-0001");
+        invoice.setInvoiceType(InvoiceType.FINAL);
+        invoice.setBillingType(BillingType.GST);
+        invoice.setInvoiceDate(LocalDate.of(2024, 1, 1));
+        invoice.setCustomerName("Benchmark Customer");
+        invoice.setCustomerMobile("8888888888");
+        invoice.setCustomerAddress("Line 1\nLine 2");
+        invoice.setPaymentStatus(PaymentStatus.DUE);
+
+        List<InvoiceItem> items = new ArrayList<>();
+        double subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            InvoiceItem item = new InvoiceItem();
+            item.setInvoice(invoice);
+            item.setGlassType(i % 2 == 0 ? "Clear Float" : "Toughened");
+            item.setThickness(String.valueOf(4 + i % 8));
+            item.setHeight(2.0 + (i % 10) * 0.5);
+            item.setWidth(1.5 + (i % 7) * 0.25);
+            item.setQuantity(1 + i % 5);
+            item.setRatePerSqft(45.0);
+            item.setSubtotal(item.getHeight() * item.getWidth() * 45.0 * item.getQuantity());
+            subtotal += item.getSubtotal();
+            items.add(item);
+        }
+        invoice.setItems(items);
+        invoice.setSubtotal(subtotal);
+        invoice.setGstPercentage(18.0);
+        invoice.setGstAmount(subtotal * 0.18);
+        invoice.setGrandTotal(subtotal * 1.18);
+        invoice.setDueAmount(subtotal * 1.18);
+        return invoice;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(PdfLayoutBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
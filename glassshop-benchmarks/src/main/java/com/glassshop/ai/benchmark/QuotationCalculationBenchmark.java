@@ -0,0 +1,102 @@
+package com.glassshop.ai.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.glassshop.ai.dto.QuotationItemDto;
+import com.glassshop.ai.entity.Quotation;
+import com.glassshop.ai.entity.Shop;
+import com.glassshop.ai.enums.BillingType;
+import com.glassshop.ai.service.QuotationService;
+
+/**
+ * Quotation arithmetic as createQuotation does it: building the items from
+ * the request lines (area, line subtotal), then GST and the grand total.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh QuotationCalculationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuotationCalculationBenchmark {
+
+    private static final MethodHandle ADD_ITEMS = Internals.privateMethod(QuotationService.class,
+            "addItems", Quotation.class, List.class);
+    private static final MethodHandle CALCULATE_GST = Internals.privateMethod(QuotationService.class,
+            "calculateGstAndGrandTotal", Quotation.class, BillingType.class, Double.class, String.class, Shop.class);
+
+    @Param({ "10", "100" })
+    public int lines;
+
+    @Param({ "GST", "NON_GST" })
+    public BillingType billingType;
+
+    private QuotationService quotationService;
+    private Shop shop;
+    private List<QuotationItemDto> items;
+
+    @Setup
+    public void setUp() {
+        quotationService = new QuotationService();
+        shop = new Shop();
+        shop.setShopName("Benchmark Glass House");
+
+        items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            QuotationItemDto item = new QuotationItemDto();
+            item.setGlassType("Clear");
+            item.setThickness((5 + i % 3) + "MM");
+            item.setHeight(4.0 + i % 5);
+            item.setWidth(3.0 + i % 4);
+            item.setHeightUnit("FEET");
+            item.setWidthUnit("FEET");
+            item.setQuantity(1 + i % 3);
+            item.setRatePerSqft(85.0);
+            // Half the lines come with the area already worked out by the frontend
+            item.setArea(i % 2 == 0 ? (4.0 + i % 5) * (3.0 + i % 4) : null);
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public Quotation itemsAndGst() throws Throwable {
+        Quotation quotation = new Quotation();
+        double subtotal = (double) ADD_ITEMS.invokeExact(quotationService, quotation, items);
+        quotation.setSubtotal(subtotal);
+        quotation.setInstallationCharge(500.0);
+        quotation.setTransportCharge(300.0);
+        quotation.setDiscount(100.0);
+        CALCULATE_GST.invokeExact(quotationService, quotation, billingType,
+                (Double) (billingType == BillingType.GST ? 18.0 : null), "Maharashtra", shop);
+        return quotation;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(QuotationCalculationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.glassshop.ai.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.glassshop.ai.cutting.SheetIndex;
+import com.glassshop.ai.cutting.StockSheet;
+
+/**
+ * Best-fit lookup time on the stock index against a linear scan of the same
+ * lines, and the cost of rebuilding one thickness after a stock change.
+ *
+ * Run with: glassshop-benchmarks/run-benchmarks.sh StockIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    // Stock lines in one thickness; 50,000 is the whole shop in the worst case
+    @Param({ "500", "50000" })
+    public int lines;
+
+    private List<StockSheet> stock;
+    private SheetIndex index;
+    private int[] widths;
+    private int[] heights;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        stock = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            stock.add(new StockSheet((long) i, i % 40, 300 + random.nextInt(3000), 300 + random.nextInt(2500),
+                    1 + random.nextInt(5)));
+        }
+        index = SheetIndex.of(stock);
+        widths = new int[QUERIES];
+        heights = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            widths[i] = 100 + random.nextInt(3300);
+            heights[i] = 100 + random.nextInt(3000);
+        }
+    }
+
+    @Benchmark
+    public StockSheet indexLookup() {
+        int i = next++ & (QUERIES - 1);
+        return index.bestFit(widths[i], heights[i]);
+    }
+
+    @Benchmark
+    public StockSheet linearScan() {
+        int i = next++ & (QUERIES - 1);
+        int width = widths[i];
+        int height = heights[i];
+        StockSheet best = null;
+        for (StockSheet s : stock) {
+            boolean fits = (s.getWidth() >= width && s.getHeight() >= height)
+                    || (s.getWidth() >= height && s.getHeight() >= width);
+            if (fits && (best == null || s.getArea() < best.getArea())) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    @Benchmark
+    public SheetIndex rebuild() {
+        return SheetIndex.of(stock);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .include(StockIndexBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}